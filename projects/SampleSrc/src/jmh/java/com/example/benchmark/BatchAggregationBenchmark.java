@@ -0,0 +1,53 @@
+package com.example.benchmark;
+
+import com.example.complex.LargeBusinessClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 집계 벤치마크 - LargeBusinessClass.processBatchData의 SEQUENTIAL / PARALLEL / PARTITIONED 비교
+ * 배치 크기별로 병렬 처리가 이득이 되는 지점(PARALLEL_THRESHOLD)을 확인하는 데 사용한다.
+ *
+ * 병렬 방식은 공용 ForkJoinPool을 쓰므로 코어 수가 다른 환경 간 결과는 직접 비교하지 않는다.
+ *   예) BenchmarkRunner BatchAggregation jmh-batch.json batchSize=1000,100000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BatchAggregationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int batchSize;
+
+    @Param({"16", "1024"})
+    public int categories;
+
+    @Param({"SEQUENTIAL", "PARALLEL", "PARTITIONED"})
+    public LargeBusinessClass.BatchMode mode;
+
+    private List<Map<String, Object>> batch;
+    private LargeBusinessClass processor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        batch = BenchmarkPayloads.batchItems(batchSize, categories);
+        processor = new LargeBusinessClass();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batch = null;
+        processor.close();
+    }
+
+    @Benchmark
+    public Map<String, Integer> processBatch() {
+        return processor.processBatchData(batch, mode);
+    }
+}
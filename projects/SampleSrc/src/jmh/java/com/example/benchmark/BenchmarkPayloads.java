@@ -0,0 +1,218 @@
+package com.example.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * 벤치마크용 페이로드 생성기
+ * HybridSqlPatternDao.generateMockResults, UserDao.generateSampleUsers와 같은 형태의 행을
+ * 고정 시드로 생성하여 실행마다 같은 데이터로 비교할 수 있게 한다.
+ */
+public final class BenchmarkPayloads {
+
+    public static final String[] MOCK_RESULT_COLUMNS = {"id", "type", "data", "value"};
+
+    // LargeDataProcessor 주문 분석 조회 형태 (10컬럼) - 라벨과 JDBC 컬럼 클래스
+    public static final String[] ORDER_ANALYSIS_COLUMNS = {
+        "order_id", "user_id", "username", "status", "order_date",
+        "total_amount", "item_count", "category_name", "payment_method", "city"
+    };
+    public static final String[] ORDER_ANALYSIS_CLASSES = {
+        "java.lang.Long", "java.lang.Long", "java.lang.String", "java.lang.String", "java.sql.Timestamp",
+        "java.lang.Double", "java.lang.Integer", "java.lang.String", "java.lang.String", "java.lang.String"
+    };
+
+    private static final String[] ORDER_STATUSES = {"PENDING", "CONFIRMED", "SHIPPED", "COMPLETED", "CANCELLED"};
+    private static final String[] PAYMENT_METHODS = {"CARD", "BANK_TRANSFER", "POINT", "MOBILE"};
+
+    public static final String[] SAMPLE_USER_COLUMNS = {
+        "userId", "username", "fullName", "email", "phone", "status", "userType",
+        "createdDate", "lastLoginDate", "isAdmin", "isPremium", "emailVerified", "phoneVerified"
+    };
+
+    private static final long SEED = 20240101L;
+    private static final long BASE_TIME = 1_704_067_200_000L; // 2024-01-01 00:00:00 UTC
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * HybridSqlPatternDao.generateMockResults 형태의 행
+     */
+    public static List<Map<String, Object>> mockResults(int count, String type) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", i + 1);
+            row.put("type", type);
+            row.put("data", type + "_data_" + i);
+            row.put("value", random.nextDouble() * 1000);
+            results.add(row);
+        }
+        return results;
+    }
+
+    /**
+     * UserDao.generateSampleUsers 형태의 사용자 행 (한글 이름, 날짜, 불리언 포함)
+     */
+    public static List<Map<String, Object>> sampleUsers(int count) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("userId", "USER" + String.format("%03d", i));
+            user.put("username", "user" + i);
+            user.put("fullName", "사용자" + i);
+            user.put("email", "user" + i + "@example.com");
+            user.put("phone", "010-1234-" + String.format("%04d", 1000 + i % 9000));
+            user.put("status", i % 4 == 0 ? "INACTIVE" : "ACTIVE");
+            user.put("userType", i % 5 == 0 ? "PREMIUM" : "NORMAL");
+            user.put("createdDate", new Date(BASE_TIME - random.nextInt(365 * 24 * 60 * 60) * 1000L));
+            user.put("lastLoginDate", new Date(BASE_TIME - random.nextInt(30 * 24 * 60 * 60) * 1000L));
+            user.put("isAdmin", i == 1);
+            user.put("isPremium", i % 5 == 0);
+            user.put("emailVerified", i % 3 != 0);
+            user.put("phoneVerified", i % 4 != 0);
+            users.add(user);
+        }
+        return users;
+    }
+
+    /**
+     * LargeBusinessClass.processBatchData 입력 행 (category + 값 몇 개, 약 1%는 빈 행)
+     */
+    public static List<Map<String, Object>> batchItems(int count, int categories) {
+        Random random = new Random(SEED);
+        List<Map<String, Object>> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> item = new HashMap<>();
+            if (random.nextInt(100) != 0) {
+                item.put("category", "CAT_" + random.nextInt(categories));
+                item.put("id", i + 1);
+                item.put("amount", random.nextInt(100_000));
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * 주문 분석 조회 결과 행 값 (ORDER_ANALYSIS_COLUMNS 순서) - 사용자 5,000명, 카테고리 20개, 도시 50개
+     */
+    public static Object[][] orderAnalysisRows(int count) {
+        Random random = new Random(SEED);
+        Object[][] rows = new Object[count][];
+        for (int i = 0; i < count; i++) {
+            int userId = random.nextInt(5_000) + 1;
+            rows[i] = new Object[] {
+                (long) i + 1,
+                (long) userId,
+                "user" + userId,
+                ORDER_STATUSES[random.nextInt(ORDER_STATUSES.length)],
+                new Timestamp(BASE_TIME - random.nextInt(180 * 24 * 60 * 60) * 1000L),
+                random.nextInt(10_000_000) / 100.0,
+                random.nextInt(10) + 1,
+                "CATEGORY_" + random.nextInt(20),
+                PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)],
+                "CITY_" + random.nextInt(50)
+            };
+        }
+        return rows;
+    }
+
+    /**
+     * 행 값을 앞으로만 읽는 메모리 ResultSet
+     * 드라이버처럼 getString/getObject/getTimestamp 호출마다 새 객체를 만들어 돌려준다
+     * (미리 만든 값을 그대로 돌려주면 행 Map 쪽이 문자열을 공유해 메모리가 실제보다 작게 측정된다).
+     */
+    public static ResultSet resultSet(String[] labels, String[] classNames, Object[][] rows) {
+        ResultSetMetaData meta = (ResultSetMetaData) Proxy.newProxyInstance(
+            BenchmarkPayloads.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getColumnCount":
+                        return labels.length;
+                    case "getColumnLabel":
+                    case "getColumnName":
+                        return labels[(Integer) args[0] - 1];
+                    case "getColumnClassName":
+                        return classNames[(Integer) args[0] - 1];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        int[] cursor = {-1};
+        boolean[] lastNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(
+            BenchmarkPayloads.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getMetaData":
+                        return meta;
+                    case "next":
+                        return ++cursor[0] < rows.length;
+                    case "wasNull":
+                        return lastNull[0];
+                    case "close":
+                        return null;
+                    default:
+                        break;
+                }
+                Object value = rows[cursor[0]][(Integer) args[0] - 1];
+                lastNull[0] = value == null;
+                switch (method.getName()) {
+                    case "getInt":
+                        return value == null ? 0 : ((Number) value).intValue();
+                    case "getLong":
+                        return value == null ? 0L : ((Number) value).longValue();
+                    case "getDouble":
+                        return value == null ? 0.0 : ((Number) value).doubleValue();
+                    case "getString":
+                    case "getTimestamp":
+                    case "getObject":
+                        return fresh(value);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    private static Object fresh(Object value) {
+        if (value instanceof String) {
+            return new String((String) value);
+        }
+        if (value instanceof Timestamp) {
+            Timestamp copy = new Timestamp(((Timestamp) value).getTime());
+            copy.setNanos(((Timestamp) value).getNanos());
+            return copy;
+        }
+        if (value instanceof Long) {
+            return Long.valueOf(((Long) value).longValue());
+        }
+        if (value instanceof Integer) {
+            return Integer.valueOf(((Integer) value).intValue());
+        }
+        if (value instanceof Double) {
+            return Double.valueOf(((Double) value).doubleValue());
+        }
+        return value;
+    }
+
+    /**
+     * 서블릿 응답 형태의 리포트 (메타데이터 + 결과 행 목록)
+     */
+    public static Map<String, Object> report(String type, List<Map<String, Object>> rows) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("type", type);
+        report.put("title", "벤치마크 리포트");
+        report.put("generatedAt", "2024-01-01 00:00:00");
+        report.put("totalRecords", rows.size());
+        report.put("success", true);
+        report.put("rows", rows);
+        return report;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 벤치마크 실행기
+ * 처리량(Throughput), 지연 백분위(SampleTime: p50/p90/p99/p99.9), 할당률(gc 프로파일러)을 함께 수집하여
+ * JSON 결과 파일로 남긴다. 성능 변경 전후 결과 파일을 비교하는 기준선으로 사용한다.
+ *
+ * 사용법: BenchmarkRunner [include 정규식] [결과 파일] [rows=1000,100000 ...]
+ *   예) BenchmarkRunner Serializer jmh-serializer.json rows=1000,100000
+ *
+ * 빌드: 이 저장소에는 빌드 스크립트가 없어 src/jmh는 자동으로 컴파일되지 않는다.
+ * main 트리 전체는 컴파일되지 않으므로(의도적으로 깨진 예제 포함) 벤치마크가 참조하는 클래스만
+ * -sourcepath로 함께 컴파일한다. 클래스패스에는 jmh-core, jmh-generator-annprocess(어노테이션 처리기)와
+ * Spring/Servlet API 등 main 의존성이 필요하다.
+ * 프로젝트 루트(projects/SampleSrc)에서:
+ *   javac -encoding UTF-8 -implicit:class -sourcepath src/main/java -cp "$CP" -d build/jmh $(find src/jmh -name '*.java')
+ *   java -cp "build/jmh:$CP" com.example.benchmark.BenchmarkRunner SqlBuilder jmh-sql.json rows=1000
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = "com\\.example\\..*Benchmark";
+    private static final String DEFAULT_RESULT = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+        String resultFile = args.length > 1 ? args[1] : DEFAULT_RESULT;
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile);
+
+        // name=v1,v2 형식으로 @Param 값 재정의 (예: 1M 행 제외하고 빠르게 실행)
+        for (int i = 2; i < args.length; i++) {
+            int eq = args[i].indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("파라미터 형식은 name=v1,v2 이어야 합니다: " + args[i]);
+            }
+            options.param(args[i].substring(0, eq), args[i].substring(eq + 1).split(","));
+        }
+
+        System.out.println("벤치마크 실행: include=" + include + ", result=" + resultFile);
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.benchmark;
+
+import com.example.dao.ColumnarResultSet;
+import com.example.dao.JdbcExecutor;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 결과 적재 벤치마크 - JdbcExecutor.toRows(행마다 LinkedHashMap) vs ColumnarResultSet.from(컬럼 배열)
+ * 같은 주문 분석 형태(10컬럼)의 ResultSet을 끝까지 읽어 결과를 만든다.
+ *
+ * 적재 시간과 할당량(gc.alloc.rate.norm)을 비교한다. 할당량에는 프록시 호출/getString 임시 객체가 섞이므로
+ * 결과가 붙잡는 보유 힙은 ColumnarResultSetTest.retainsFarLessHeapThanRowMaps에서 따로 측정한다
+ * (10컬럼 10만 행: 행 Map 약 83MB, 컬럼 약 6MB).
+ * ResultSet은 메모리 프록시라 호출 비용이 드라이버와 다르므로 시간 결과는 두 방식 간 상대 비교로만 본다.
+ *   예) BenchmarkRunner ColumnarResultSet jmh-columnar.json rows=100000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ColumnarResultSetBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private Object[][] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = BenchmarkPayloads.orderAnalysisRows(rows);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> rowMaps() throws SQLException {
+        return JdbcExecutor.toRows(BenchmarkPayloads.resultSet(
+            BenchmarkPayloads.ORDER_ANALYSIS_COLUMNS, BenchmarkPayloads.ORDER_ANALYSIS_CLASSES, values));
+    }
+
+    @Benchmark
+    public ColumnarResultSet columnar() throws SQLException {
+        return ColumnarResultSet.from(BenchmarkPayloads.resultSet(
+            BenchmarkPayloads.ORDER_ANALYSIS_COLUMNS, BenchmarkPayloads.ORDER_ANALYSIS_CLASSES, values));
+    }
+}
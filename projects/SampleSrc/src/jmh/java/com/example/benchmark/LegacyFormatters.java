@@ -0,0 +1,110 @@
+package com.example.benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기준선(baseline)용 기존 서블릿 포맷터
+ * JsonResponseWriter 도입 전 서블릿들이 각자 가지고 있던 StringBuilder 방식을 그대로 옮겨 둔 것.
+ * 출력 정확성이 아니라 "문서 전체를 문자열로 만든 뒤 한 번에 쓰는" 비용을 비교하기 위한 용도다.
+ */
+public final class LegacyFormatters {
+
+    private LegacyFormatters() {
+    }
+
+    /**
+     * DirectQueryServlet/AdvancedReportServlet formatJsonResponse
+     */
+    public static String formatJsonResponse(Map<String, Object> data) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            if (!first) json.append(",\n");
+            json.append("  \"").append(entry.getKey()).append("\": ");
+
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                json.append("\"").append(value).append("\"");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                json.append(value);
+            } else if (value instanceof List) {
+                json.append(formatList((List<?>) value));
+            } else if (value instanceof Map) {
+                json.append(formatMap((Map<?, ?>) value));
+            } else {
+                json.append("\"").append(value.toString()).append("\"");
+            }
+            first = false;
+        }
+
+        json.append("\n}");
+        return json.toString();
+    }
+
+    private static String formatList(List<?> list) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[");
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) sb.append(", ");
+            if (list.get(i) instanceof Map) {
+                sb.append(formatMap((Map<?, ?>) list.get(i)));
+            } else {
+                sb.append("\"").append(list.get(i)).append("\"");
+            }
+        }
+        sb.append("]");
+        return sb.toString();
+    }
+
+    private static String formatMap(Map<?, ?> map) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{");
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) sb.append(", ");
+            sb.append("\"").append(entry.getKey()).append("\": \"").append(entry.getValue()).append("\"");
+            first = false;
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * AdvancedReportServlet formatCsvResponse 방식을 행 목록으로 확장 (전체를 메모리에 구성)
+     */
+    public static String formatCsv(List<Map<String, Object>> rows, String[] columns) {
+        StringBuilder csv = new StringBuilder();
+        csv.append(String.join(",", columns)).append("\n");
+        for (Map<String, Object> row : rows) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) csv.append(",");
+                csv.append(row.get(columns[i]));
+            }
+            csv.append("\n");
+        }
+        return csv.toString();
+    }
+
+    /**
+     * AdvancedReportServlet formatXmlResponse 방식을 행 목록으로 확장 (전체를 메모리에 구성)
+     */
+    public static String formatXml(List<Map<String, Object>> rows, String[] columns) {
+        StringBuilder xml = new StringBuilder();
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        xml.append("<report>\n");
+        for (Map<String, Object> row : rows) {
+            xml.append("  <row>");
+            for (String column : columns) {
+                xml.append("<").append(column).append(">");
+                xml.append(row.get(column));
+                xml.append("</").append(column).append(">");
+            }
+            xml.append("</row>\n");
+        }
+        xml.append("</report>");
+        return xml.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.benchmark;
+
+import com.example.dao.SqlTemplateRegistry;
+import com.example.pagination.KeysetCursor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 조립 벤치마크 - keyset 페이지 순회에서 페이지마다 드는 쿼리 조립 + 커서 인코딩/디코딩 비용
+ * TableSyncEngine/RealTimeStreamProcessor처럼 rows개 결과를 pageSize씩 읽으며 다음 페이지 쿼리를 만드는 흐름을 재현한다.
+ *
+ * registryPaging: SqlTemplateRegistry 캐시(형태 1회 파싱, 완성 SQL 재사용)
+ * formatPaging:   페이지마다 StringBuilder로 형태를 만들고 String.format으로 테이블명을 채우는 기존 방식
+ * 두 방식 모두 마지막 행으로 KeysetCursor를 만들어 토큰으로 왕복하므로 차이는 쿼리 조립 비용이다.
+ * 조회 자체는 포함하지 않는다 (행은 HybridSqlPatternDao.generateMockResults 형태의 메모리 행).
+ *   예) BenchmarkRunner SqlBuilder jmh-sql.json rows=1000,100000 pageSize=1000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SqlBuilderBenchmark {
+
+    private static final int FLAG_SEEK = 1;
+    private static final String[] KEY_COLUMNS = {"type", "id"};
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private List<Map<String, Object>> results;
+    private SqlTemplateRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        results = BenchmarkPayloads.mockResults(rows, "ORDER");
+        registry = new SqlTemplateRegistry(SqlTemplateRegistry.DEFAULT_MAX_RENDERED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        results = null;
+        registry.clear();
+    }
+
+    @Benchmark
+    public void registryPaging(Blackhole blackhole) {
+        KeysetCursor after = null;
+        for (int from = 0; from < rows; from += pageSize) {
+            int flags = after != null ? FLAG_SEEK : 0;
+            blackhole.consume(registry.render("bench.page", flags, SqlBuilderBenchmark::pageShape, "events", "prod"));
+            after = nextCursor(from, after, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void formatPaging(Blackhole blackhole) {
+        KeysetCursor after = null;
+        for (int from = 0; from < rows; from += pageSize) {
+            int flags = after != null ? FLAG_SEEK : 0;
+            blackhole.consume(String.format(pageShape(flags), "events", "prod"));
+            after = nextCursor(from, after, blackhole);
+        }
+    }
+
+    /**
+     * 페이지 마지막 행으로 커서를 만들고 클라이언트 왕복(인코딩 -> 디코딩)을 거쳐 다음 페이지 바인드 값을 얻는다
+     */
+    private KeysetCursor nextCursor(int from, KeysetCursor previous, Blackhole blackhole) {
+        if (previous != null) {
+            blackhole.consume(previous.expandedBindValues());
+        }
+        Map<String, Object> last = results.get(Math.min(from + pageSize, rows) - 1);
+        return KeysetCursor.decode(KeysetCursor.fromRow(last, KEY_COLUMNS).encode());
+    }
+
+    /**
+     * %1$s 테이블명, %2$s 환경 - TableSyncEngine 추출 쿼리와 같은 형태
+     */
+    private static String pageShape(int flags) {
+        StringBuilder query = new StringBuilder("SELECT id, type, data, value FROM %1$s_%2$s");
+        if ((flags & FLAG_SEEK) != 0) {
+            query.append(" WHERE ").append(KeysetCursor.expandedSeekPredicate(false, KEY_COLUMNS));
+        }
+        return query.append(' ').append(KeysetCursor.orderByClause(false, KEY_COLUMNS)).toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.servlet;
+
+import com.example.benchmark.BenchmarkPayloads;
+import com.example.benchmark.LegacyFormatters;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 직렬화 벤치마크 - 기존 StringBuilder 포맷터 vs 스트리밍 기록기
+ * JsonResponseWriter / ReportExportStreamer의 행 기록기(RowFormat)에 접근하기 위해 servlet 패키지에 둔다.
+ *
+ * 출력은 바이트 수만 세는 스트림으로 보내므로 네트워크/디스크 비용은 포함되지 않는다.
+ * 할당량은 -prof gc (BenchmarkRunner에서 기본 활성화)로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SerializerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"mockResults", "sampleUsers"})
+    public String payload;
+
+    private List<Map<String, Object>> data;
+    private Map<String, Object> report;
+    private String[] columns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("sampleUsers".equals(payload)) {
+            data = BenchmarkPayloads.sampleUsers(rows);
+            columns = BenchmarkPayloads.SAMPLE_USER_COLUMNS;
+        } else {
+            data = BenchmarkPayloads.mockResults(rows, "INVENTORY");
+            columns = BenchmarkPayloads.MOCK_RESULT_COLUMNS;
+        }
+        report = BenchmarkPayloads.report(payload, data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        data = null;
+        report = null;
+    }
+
+    // ---------------------------------------------------------------- JSON
+
+    @Benchmark
+    public long legacyJson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        out.write(LegacyFormatters.formatJsonResponse(report).getBytes(StandardCharsets.UTF_8));
+        return out.count;
+    }
+
+    @Benchmark
+    public long streamingJson() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonResponseWriter writer = new JsonResponseWriter(out)) {
+            writer.value(report);
+        }
+        return out.count;
+    }
+
+    // ---------------------------------------------------------------- CSV
+
+    @Benchmark
+    public long legacyCsv() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        out.write(LegacyFormatters.formatCsv(data, columns).getBytes(StandardCharsets.UTF_8));
+        return out.count;
+    }
+
+    @Benchmark
+    public long streamingCsv(Blackhole blackhole) throws IOException {
+        return stream(ReportExportStreamer.rowFormat("csv", columns), blackhole);
+    }
+
+    // ---------------------------------------------------------------- XML
+
+    @Benchmark
+    public long legacyXml() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        out.write(LegacyFormatters.formatXml(data, columns).getBytes(StandardCharsets.UTF_8));
+        return out.count;
+    }
+
+    @Benchmark
+    public long streamingXml(Blackhole blackhole) throws IOException {
+        return stream(ReportExportStreamer.rowFormat("xml", columns), blackhole);
+    }
+
+    private long stream(ReportExportStreamer.RowFormat format, Blackhole blackhole) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192)) {
+            format.writeHeader(writer);
+            for (Map<String, Object> row : data) {
+                blackhole.consume(format.writeRow(writer, row));
+            }
+            format.writeFooter(writer, false);
+        }
+        return out.count;
+    }
+
+    /**
+     * 기록된 바이트 수만 세고 버리는 출력 스트림
+     */
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
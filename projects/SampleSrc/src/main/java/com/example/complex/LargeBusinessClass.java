@@ -1,10 +1,18 @@
 package com.example.complex;
 
+import com.example.performance.BoundedConcurrentCache;
+import com.example.performance.SequencedWorkQueue;
+
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * 테스트 케이스: 대용량 복잡한 클래스
@@ -13,10 +21,45 @@ import java.util.stream.Collectors;
  * - 긴 클래스 본문 파싱 테스트
  * - 중첩된 주석 처리 테스트
  */
-public class LargeBusinessClass {
+public class LargeBusinessClass implements AutoCloseable {
+
+    /**
+     * 배치 집계 방식
+     * - SEQUENTIAL: 호출 스레드에서 한 번에 집계
+     * - PARALLEL: parallelStream + groupingBy 수집기 (스레드별 부분 맵을 마지막에 합침)
+     * - PARTITIONED: 목록을 연속 구간으로 나눠 구간마다 로컬 카운터로 집계한 뒤 합침 (박싱/맵 병합 최소)
+     */
+    public enum BatchMode { SEQUENTIAL, PARALLEL, PARTITIONED }
+
+    // 캐시 메모리 제한 (항목 수)
+    public static final int DEFAULT_CACHE_CAPACITY = 1000;
+
+    // 처리 큐 워커가 처리를 마친 항목의 캐시 키 접두사
+    public static final String PROCESSED_PREFIX = "processed_";
+
+    // 이보다 작은 배치는 스레드 분배 비용이 집계 비용보다 커서 순차 처리 (BatchAggregationBenchmark 참고)
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    // PARTITIONED 구간의 최소 크기
+    private static final int MIN_PARTITION_SIZE = 2_048;
 
-    private Map<String, Object> dataCache = new HashMap<>();
-    private List<String> processingQueue = new ArrayList<>();
+    // 처리 큐가 가득 찼을 때 제출을 기다리는 최대 시간
+    private static final long QUEUE_SUBMIT_TIMEOUT_MS = 10;
+
+    private BoundedConcurrentCache<String, Object> dataCache = new BoundedConcurrentCache<>(DEFAULT_CACHE_CAPACITY);
+
+    // 처리 큐 - 첫 제출 때 워커와 함께 생성, close()로 종료
+    private volatile SequencedWorkQueue<ProcessingTask> processingQueue;
+    private volatile boolean closed;
+
+    // 캐시 키 시퀀스 - 같은 밀리초에 들어온 데이터도 키가 겹치지 않도록 시각 대신 사용
+    private final AtomicLong dataSequence = new AtomicLong();
+
+    // 워커가 처리 완료한 건수 (데이터 유형별)
+    private final Map<String, LongAdder> processedCounts = new ConcurrentHashMap<>();
+
+    // 처리 전에 캐시에서 밀려나 처리하지 못한 건수
+    private final LongAdder expiredBeforeProcessing = new LongAdder();
 
     /**
      * 단순 getter - simple 복잡도
@@ -27,9 +70,17 @@ public class LargeBusinessClass {
 
     /**
      * 단순 setter - simple 복잡도
+     * 일반 맵을 넘기면 용량 제한 캐시로 복사한다 (배치 처리가 여러 스레드에서 캐시에 쓰므로)
      */
+    @SuppressWarnings("unchecked")
     public void setDataCache(Map<String, Object> dataCache) {
-        this.dataCache = dataCache;
+        if (dataCache instanceof BoundedConcurrentCache) {
+            this.dataCache = (BoundedConcurrentCache<String, Object>) dataCache;
+            return;
+        }
+        BoundedConcurrentCache<String, Object> cache = new BoundedConcurrentCache<>(DEFAULT_CACHE_CAPACITY);
+        cache.putAll(dataCache);
+        this.dataCache = cache;
     }
 
     /**
@@ -38,7 +89,7 @@ public class LargeBusinessClass {
      */
     public List<String> getProcessedDataKeys() {
         return dataCache.keySet().stream()
-            .filter(key -> key.startsWith("processed_"))
+            .filter(key -> key.startsWith(PROCESSED_PREFIX))
             .collect(Collectors.toList());
     }
 
@@ -56,105 +107,208 @@ public class LargeBusinessClass {
         }
 
         // 데이터 타입별 처리 분기
+        String cacheKey;
         switch (dataType.toLowerCase()) {
             case "user":
-                processUserData(data, options);
+                cacheKey = processUserData(data, options);
                 break;
             case "order":
-                processOrderData(data, options);
+                cacheKey = processOrderData(data, options);
                 break;
             case "product":
-                processProductData(data, options);
+                cacheKey = processProductData(data, options);
                 break;
             default:
-                processGenericData(data, options);
+                cacheKey = processGenericData(data, options);
         }
 
-        // 후처리 작업
-        updateProcessingQueue(dataType);
-        validateProcessingResult(dataType, data);
+        // 후처리 작업 - 워커가 키를 옮기기 전에 검증하고 처리 큐에 넣는다
+        validateProcessingResult(dataType, cacheKey, data);
+        updateProcessingQueue(dataType, cacheKey);
     }
 
     /**
      * 사용자 데이터 처리 - business 복잡도
      */
-    private void processUserData(Object data, Map<String, String> options) {
+    private String processUserData(Object data, Map<String, String> options) {
         System.out.println("사용자 데이터 처리: " + data);
-        dataCache.put("user_" + System.currentTimeMillis(), data);
+        return cacheData("user", data);
     }
 
     /**
      * 주문 데이터 처리 - business 복잡도
      */
-    private void processOrderData(Object data, Map<String, String> options) {
+    private String processOrderData(Object data, Map<String, String> options) {
         System.out.println("주문 데이터 처리: " + data);
-        dataCache.put("order_" + System.currentTimeMillis(), data);
+        return cacheData("order", data);
     }
 
     /**
      * 상품 데이터 처리 - business 복잡도
      */
-    private void processProductData(Object data, Map<String, String> options) {
+    private String processProductData(Object data, Map<String, String> options) {
         System.out.println("상품 데이터 처리: " + data);
-        dataCache.put("product_" + System.currentTimeMillis(), data);
+        return cacheData("product", data);
     }
 
     /**
      * 일반 데이터 처리 - simple 복잡도
      */
-    private void processGenericData(Object data, Map<String, String> options) {
-        dataCache.put("generic_" + System.currentTimeMillis(), data);
+    private String processGenericData(Object data, Map<String, String> options) {
+        return cacheData("generic", data);
+    }
+
+    /**
+     * 캐시 저장 - simple 복잡도
+     * 키는 유형 + 단조 증가 시퀀스 (예: user_42)
+     */
+    private String cacheData(String prefix, Object data) {
+        String key = prefix + "_" + dataSequence.incrementAndGet();
+        dataCache.put(key, data);
+        return key;
     }
 
     /**
      * 처리 큐 업데이트 - simple 복잡도
+     * 큐가 가득 차면 잠깐 기다린 뒤 포기하고 경고만 남긴다 (호출자를 무한정 막지 않음)
      */
-    private void updateProcessingQueue(String dataType) {
-        processingQueue.add(dataType + "_" + System.currentTimeMillis());
+    private void updateProcessingQueue(String dataType, String cacheKey) {
+        long id = processingQueue().submit(dataType, new ProcessingTask(dataType, cacheKey),
+            QUEUE_SUBMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (id < 0) {
+            System.out.println("경고: 처리 큐가 가득 차 작업을 건너뜁니다 - " + cacheKey);
+        }
     }
 
     /**
      * 처리 결과 검증 - business 복잡도
+     * 방금 저장한 키로 바로 조회한다 (캐시 전체 순회 없음)
      */
-    private void validateProcessingResult(String dataType, Object data) {
-        if (dataCache.isEmpty()) {
+    private void validateProcessingResult(String dataType, String cacheKey, Object data) {
+        Object cached = dataCache.get(cacheKey);
+        if (cached == null && dataCache.isEmpty()) {
             throw new RuntimeException("데이터 처리 실패: 캐시가 비어있습니다");
         }
 
-        // 검증 로직
-        boolean isValid = dataCache.values().stream()
-            .anyMatch(value -> value.equals(data));
-
-        if (!isValid) {
+        if (cached == null || !cached.equals(data)) {
             System.out.println("경고: 데이터 검증 실패 - " + dataType);
         }
     }
 
+    /**
+     * 처리 큐 워커 - 저장된 데이터를 처리 완료 키(processed_<키>)로 옮기고 유형별 완료 건수를 센다
+     * 같은 유형은 같은 워커가 제출 순서대로 처리한다. 처리 전에 캐시에서 밀려난 항목은 건너뛴다.
+     */
+    private void completeProcessing(long id, ProcessingTask task) {
+        Object data = dataCache.remove(task.cacheKey);
+        if (data == null) {
+            expiredBeforeProcessing.increment();
+            return;
+        }
+        dataCache.put(PROCESSED_PREFIX + task.cacheKey, data);
+        processedCounts.computeIfAbsent(task.dataType, type -> new LongAdder()).increment();
+    }
+
+    private SequencedWorkQueue<ProcessingTask> processingQueue() {
+        if (closed) {
+            throw new IllegalStateException("종료된 처리기입니다");
+        }
+        SequencedWorkQueue<ProcessingTask> queue = processingQueue;
+        if (queue == null) {
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("종료된 처리기입니다");
+                }
+                queue = processingQueue;
+                if (queue == null) {
+                    queue = new SequencedWorkQueue<>("business-processing", SequencedWorkQueue.DEFAULT_WORKERS,
+                        SequencedWorkQueue.DEFAULT_CAPACITY, this::completeProcessing);
+                    processingQueue = queue;
+                }
+            }
+        }
+        return queue;
+    }
+
     /**
      * 대량 데이터 배치 처리 - complex 복잡도
      * 메모리 최적화가 필요한 대용량 데이터 처리
+     * 작은 배치는 순차, 큰 배치는 구간 분할 병렬로 집계한다.
      */
     public Map<String, Integer> processBatchData(List<Map<String, Object>> batchData) {
+        int size = batchData == null ? 0 : batchData.size();
+        return processBatchData(batchData, size < PARALLEL_THRESHOLD ? BatchMode.SEQUENTIAL : BatchMode.PARTITIONED);
+    }
+
+    /**
+     * 대량 데이터 배치 처리 (집계 방식 지정) - complex 복잡도
+     * 카테고리별 건수만 반환하고 항목은 캐시에 저장하지 않는다 (배치 항목이 단건 처리 캐시를 밀어내지 않도록).
+     * 카테고리가 없거나 null이면 "unknown"으로 집계한다.
+     */
+    public Map<String, Integer> processBatchData(List<Map<String, Object>> batchData, BatchMode mode) {
         if (batchData == null || batchData.isEmpty()) {
             return new HashMap<>();
         }
 
-        Map<String, Integer> statistics = new HashMap<>();
+        switch (mode) {
+            case SEQUENTIAL:
+                return countRange(batchData, 0, batchData.size());
+            case PARALLEL:
+                return batchData.parallelStream()
+                    .filter(LargeBusinessClass::isProcessable)
+                    .map(LargeBusinessClass::categoryOf)
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.summingInt(category -> 1)));
+            case PARTITIONED:
+                return countPartitioned(batchData);
+            default:
+                throw new IllegalArgumentException("지원하지 않는 배치 처리 방식: " + mode);
+        }
+    }
+
+    /**
+     * 구간 분할 집계 - complex 복잡도
+     * 구간마다 로컬 카운터(int[1])로 집계하므로 스레드 간 공유 쓰기가 없고, 합치기는 구간 수만큼만 일어난다.
+     */
+    private Map<String, Integer> countPartitioned(List<Map<String, Object>> batchData) {
+        int size = batchData.size();
+        int partitions = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 2,
+            size / MIN_PARTITION_SIZE));
+        if (partitions == 1) {
+            return countRange(batchData, 0, size);
+        }
+        int chunk = (size + partitions - 1) / partitions;
+        return IntStream.range(0, partitions).parallel()
+            .mapToObj(p -> countRange(batchData, p * chunk, Math.min(size, (p + 1) * chunk)))
+            .reduce(LargeBusinessClass::mergeCounts)
+            .orElseGet(HashMap::new);
+    }
 
-        // 스트림을 이용한 대용량 데이터 처리
-        batchData.parallelStream()
-            .filter(item -> item != null && !item.isEmpty())
-            .forEach(item -> {
-                String category = (String) item.getOrDefault("category", "unknown");
-                statistics.merge(category, 1, Integer::sum);
+    private Map<String, Integer> countRange(List<Map<String, Object>> batchData, int from, int to) {
+        Map<String, int[]> counters = new HashMap<>();
+        for (Map<String, Object> item : batchData.subList(from, to)) {
+            if (isProcessable(item)) {
+                counters.computeIfAbsent(categoryOf(item), category -> new int[1])[0]++;
+            }
+        }
+        Map<String, Integer> counts = new HashMap<>(counters.size() * 4 / 3 + 1);
+        counters.forEach((category, count) -> counts.put(category, count[0]));
+        return counts;
+    }
 
-                // 캐시에 저장 (메모리 관리)
-                if (dataCache.size() < 1000) {  // 메모리 제한
-                    dataCache.put(category + "_" + item.hashCode(), item);
-                }
-            });
+    private static Map<String, Integer> mergeCounts(Map<String, Integer> left, Map<String, Integer> right) {
+        Map<String, Integer> larger = left.size() >= right.size() ? left : right;
+        Map<String, Integer> smaller = larger == left ? right : left;
+        smaller.forEach((category, count) -> larger.merge(category, count, Integer::sum));
+        return larger;
+    }
 
-        return statistics;
+    private static boolean isProcessable(Map<String, Object> item) {
+        return item != null && !item.isEmpty();
+    }
+
+    private static String categoryOf(Map<String, Object> item) {
+        Object category = item.get("category");
+        return category == null ? "unknown" : (String) category;
     }
 
     /**
@@ -162,7 +316,26 @@ public class LargeBusinessClass {
      */
     public void clearCache() {
         dataCache.clear();
-        processingQueue.clear();
+        SequencedWorkQueue<ProcessingTask> queue = processingQueue;
+        if (queue != null) {
+            queue.discardPending();
+        }
+    }
+
+    /**
+     * 처리 큐 종료 - 남은 작업을 처리하고 워커를 멈춘다 (이후 processBusinessData는 IllegalStateException)
+     * 처리기를 다 쓴 쪽이 호출해야 워커 스레드가 남지 않는다.
+     */
+    @Override
+    public void close() {
+        SequencedWorkQueue<ProcessingTask> queue;
+        synchronized (this) {
+            closed = true;
+            queue = processingQueue;
+        }
+        if (queue != null) {
+            queue.close();
+        }
     }
 
     /**
@@ -171,10 +344,33 @@ public class LargeBusinessClass {
     public Map<String, Object> getSystemStatus() {
         Map<String, Object> status = new HashMap<>();
         status.put("cache_size", dataCache.size());
-        status.put("queue_size", processingQueue.size());
+        status.put("cache_capacity", dataCache.capacity());
+        status.put("cache_evictions", dataCache.evictionCount());
+        SequencedWorkQueue<ProcessingTask> queue = processingQueue;
+        status.put("queue_size", queue == null ? 0 : queue.pending());
+        if (queue != null) {
+            status.put("queue", queue.metrics());
+        }
+        Map<String, Long> processed = new HashMap<>();
+        processedCounts.forEach((type, count) -> processed.put(type, count.sum()));
+        status.put("processed_by_type", processed);
+        status.put("expired_before_processing", expiredBeforeProcessing.sum());
         status.put("memory_usage", Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
         status.put("timestamp", System.currentTimeMillis());
 
         return status;
     }
+
+    /**
+     * 처리 큐 작업 - 데이터 유형과 저장된 캐시 키
+     */
+    private static final class ProcessingTask {
+        final String dataType;
+        final String cacheKey;
+
+        ProcessingTask(String dataType, String cacheKey) {
+            this.dataType = dataType;
+            this.cacheKey = cacheKey;
+        }
+    }
 }
\ No newline at end of file
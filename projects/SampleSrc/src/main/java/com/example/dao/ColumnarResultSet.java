@@ -0,0 +1,787 @@
+package com.example.dao;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * 컬럼 기반(columnar) 조회 결과 - 행마다 Map을 만들지 않고 컬럼마다 기본형 배열 하나에 값을 모은다
+ * 연관관계: JdbcExecutor.queryForColumns, CoreSqlPatternDao / HybridSqlPatternDao / LargeDataProcessor (columnarResults 모드)
+ *
+ * - 컬럼 라벨/타입(Schema)은 결과 전체가 하나를 공유한다 (행마다 키 문자열/엔트리 없음)
+ * - INT/LONG/DOUBLE은 int[]/long[]/double[], TIMESTAMP/DATE는 epoch 밀리초 long[]로 저장 (박싱 없음)
+ * - STRING은 사전 인코딩 (int 코드 + 고유 문자열 배열) - 고유 값이 행 수의 절반을 넘으면 문자열 배열로 둔다
+ * - NULL은 컬럼별 BitSet (NULL이 처음 나올 때 생성)
+ * - 기존 호출자는 asRows()로 List&lt;Map&lt;String, Object&gt;&gt; 형태의 읽기 전용 행 뷰를 받는다
+ *   (get 결과 타입은 ResultSet.getObject와 같음, 키 순서는 SELECT 순서)
+ *
+ * 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 읽어도 된다.
+ */
+public final class ColumnarResultSet {
+
+    /**
+     * 컬럼 저장 형태 - JDBC 메타데이터의 컬럼 클래스명(getColumnClassName)으로 결정
+     */
+    public enum ColumnType {
+        INT, LONG, DOUBLE, STRING, TIMESTAMP, DATE, OBJECT;
+
+        static ColumnType forClassName(String className) {
+            if (className == null) {
+                return OBJECT;
+            }
+            switch (className) {
+                case "java.lang.Integer":
+                    return INT;
+                case "java.lang.Long":
+                    return LONG;
+                case "java.lang.Double":
+                    return DOUBLE;
+                case "java.lang.String":
+                    return STRING;
+                case "java.sql.Timestamp":
+                    return TIMESTAMP;
+                case "java.sql.Date":
+                    return DATE;
+                default:
+                    return OBJECT;
+            }
+        }
+    }
+
+    // 사전 인코딩을 유지하는 최대 고유 값 비율 (고유 값 / 행 수)
+    private static final double MAX_DICTIONARY_RATIO = 0.5;
+    private static final int MIN_CAPACITY = 16;
+
+    private final Schema schema;
+    private final int size;
+    private final Column[] columns;
+
+    private ColumnarResultSet(Schema schema, int size, Column[] columns) {
+        this.schema = schema;
+        this.size = size;
+        this.columns = columns;
+    }
+
+    /**
+     * ResultSet 전체를 컬럼 형태로 적재 - JdbcExecutor.ResultSetHandler로 바로 쓸 수 있다
+     */
+    public static ColumnarResultSet from(ResultSet rs) throws SQLException {
+        Builder builder = builder(Schema.of(rs.getMetaData()));
+        while (rs.next()) {
+            builder.addRow(rs);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder(Schema schema) {
+        return new Builder(schema, MIN_CAPACITY);
+    }
+
+    public static Builder builder(Schema schema, int expectedRows) {
+        return new Builder(schema, expectedRows);
+    }
+
+    public Schema schema() {
+        return schema;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int columnCount() {
+        return columns.length;
+    }
+
+    /**
+     * 라벨의 컬럼 번호 (0부터) - 없으면 IllegalArgumentException
+     */
+    public int column(String label) {
+        int column = schema.indexOf(label);
+        if (column < 0) {
+            throw new IllegalArgumentException("Unknown column: " + label);
+        }
+        return column;
+    }
+
+    public boolean isNull(int row, int column) {
+        checkRow(row);
+        return columns[column].isNull(row);
+    }
+
+    public int getInt(int row, int column) {
+        checkRow(row);
+        Column c = columns[column];
+        if (c.type != ColumnType.INT) {
+            throw typeMismatch(column, "int");
+        }
+        return c.ints[row];
+    }
+
+    /**
+     * INT/LONG 컬럼 값 (NULL이면 0 - isNull로 구분)
+     */
+    public long getLong(int row, int column) {
+        checkRow(row);
+        Column c = columns[column];
+        switch (c.type) {
+            case INT:
+                return c.ints[row];
+            case LONG:
+                return c.longs[row];
+            default:
+                throw typeMismatch(column, "long");
+        }
+    }
+
+    /**
+     * INT/LONG/DOUBLE 컬럼 값 (NULL이면 0 - isNull로 구분)
+     */
+    public double getDouble(int row, int column) {
+        checkRow(row);
+        Column c = columns[column];
+        switch (c.type) {
+            case INT:
+                return c.ints[row];
+            case LONG:
+                return c.longs[row];
+            case DOUBLE:
+                return c.doubles[row];
+            default:
+                throw typeMismatch(column, "double");
+        }
+    }
+
+    public String getString(int row, int column) {
+        checkRow(row);
+        Column c = columns[column];
+        if (c.type == ColumnType.STRING) {
+            return c.string(row);
+        }
+        Object value = c.get(row);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * 행 값을 ResultSet.getObject와 같은 타입으로 반환 (INT -> Integer, TIMESTAMP -> Timestamp 등)
+     * 기본형 컬럼은 호출마다 박싱/객체 생성이 일어나므로 대량 집계에는 getLong/getDouble을 쓴다
+     */
+    public Object getObject(int row, int column) {
+        checkRow(row);
+        return columns[column].get(row);
+    }
+
+    /**
+     * STRING 컬럼의 고유 값 수 - 사전 인코딩되지 않은 컬럼이면 -1
+     */
+    public int dictionarySize(int column) {
+        Column c = columns[column];
+        return c.dictionary != null ? c.dictionary.length : -1;
+    }
+
+    /**
+     * 기존 List&lt;Map&gt; 호출자용 행 뷰 - 읽기 전용, 행 Map은 접근할 때 만드는 가벼운 뷰
+     * 행을 고쳐야 하는 호출자는 new HashMap&lt;&gt;(row)로 복사해서 쓴다
+     */
+    public List<Map<String, Object>> asRows() {
+        return new RowList();
+    }
+
+    /**
+     * 대략적인 힙 사용량 (바이트) - 배열과 사전 문자열, OBJECT 컬럼 값은 개당 고정 크기로 추정
+     */
+    public long estimatedBytes() {
+        long bytes = 16 + 16 + 4L * columns.length;
+        for (Column c : columns) {
+            bytes += c.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rows", size);
+        stats.put("columns", columns.length);
+        stats.put("estimatedBytes", estimatedBytes());
+        Map<String, Object> columnStats = new LinkedHashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            Column c = columns[i];
+            columnStats.put(schema.label(i), c.dictionary != null
+                ? c.type + " (dictionary " + c.dictionary.length + ")"
+                : c.type.toString());
+        }
+        stats.put("columnTypes", columnStats);
+        return stats;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range [0, " + size + ")");
+        }
+    }
+
+    private IllegalArgumentException typeMismatch(int column, String requested) {
+        return new IllegalArgumentException("Column " + schema.label(column) + " is "
+                                            + columns[column].type + ", not " + requested);
+    }
+
+    /**
+     * 컬럼 라벨/타입 - 불변, 같은 형태의 결과끼리 공유할 수 있다
+     */
+    public static final class Schema {
+        private final String[] labels;
+        private final ColumnType[] types;
+        private final Map<String, Integer> index;
+        // 행 뷰에 보이는 컬럼 (라벨이 중복되면 마지막 컬럼만)
+        private final int[] visible;
+
+        private Schema(List<String> labels, List<ColumnType> types) {
+            this.labels = labels.toArray(new String[0]);
+            this.types = types.toArray(new ColumnType[0]);
+            Map<String, Integer> byLabel = new HashMap<>();
+            for (int i = 0; i < this.labels.length; i++) {
+                // 라벨이 중복되면 toRows(LinkedHashMap)와 같이 마지막 컬럼이 이긴다
+                byLabel.put(this.labels[i], i);
+            }
+            this.index = byLabel;
+            this.visible = new int[byLabel.size()];
+            int next = 0;
+            for (int i = 0; i < this.labels.length; i++) {
+                if (byLabel.get(this.labels[i]) == i) {
+                    visible[next++] = i;
+                }
+            }
+        }
+
+        public static SchemaBuilder builder() {
+            return new SchemaBuilder();
+        }
+
+        public static Schema of(ResultSetMetaData meta) throws SQLException {
+            SchemaBuilder builder = builder();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                builder.column(meta.getColumnLabel(i), ColumnType.forClassName(meta.getColumnClassName(i)));
+            }
+            return builder.build();
+        }
+
+        public int columnCount() {
+            return labels.length;
+        }
+
+        public String label(int column) {
+            return labels[column];
+        }
+
+        public ColumnType type(int column) {
+            return types[column];
+        }
+
+        /**
+         * 라벨의 컬럼 번호 - 없으면 -1
+         */
+        public int indexOf(Object label) {
+            Integer column = index.get(label);
+            return column != null ? column : -1;
+        }
+
+        public List<String> labels() {
+            return Collections.unmodifiableList(Arrays.asList(labels));
+        }
+    }
+
+    public static final class SchemaBuilder {
+        private final List<String> labels = new ArrayList<>();
+        private final List<ColumnType> types = new ArrayList<>();
+
+        private SchemaBuilder() {
+        }
+
+        public SchemaBuilder column(String label, ColumnType type) {
+            labels.add(Objects.requireNonNull(label, "label"));
+            types.add(Objects.requireNonNull(type, "type"));
+            return this;
+        }
+
+        public Schema build() {
+            return new Schema(labels, types);
+        }
+    }
+
+    /**
+     * 행 단위 적재기 - 한 스레드에서만 사용, build() 후에는 다시 쓸 수 없다
+     */
+    public static final class Builder {
+        private final Schema schema;
+        private final ColumnBuilder[] columns;
+        private int size;
+        private boolean built;
+
+        private Builder(Schema schema, int expectedRows) {
+            this.schema = schema;
+            int capacity = Math.max(MIN_CAPACITY, expectedRows);
+            this.columns = new ColumnBuilder[schema.columnCount()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = new ColumnBuilder(schema.type(i), capacity);
+            }
+        }
+
+        /**
+         * 현재 커서 위치의 행을 적재 - 컬럼 타입에 맞는 getter로 읽어 getObject의 박싱을 피한다
+         */
+        public Builder addRow(ResultSet rs) throws SQLException {
+            checkOpen();
+            for (int i = 0; i < columns.length; i++) {
+                ColumnBuilder c = columns[i];
+                int jdbcIndex = i + 1;
+                switch (c.type) {
+                    case INT: {
+                        int value = rs.getInt(jdbcIndex);
+                        c.addInt(value, rs.wasNull());
+                        break;
+                    }
+                    case LONG: {
+                        long value = rs.getLong(jdbcIndex);
+                        c.addLong(value, rs.wasNull());
+                        break;
+                    }
+                    case DOUBLE: {
+                        double value = rs.getDouble(jdbcIndex);
+                        c.addDouble(value, rs.wasNull());
+                        break;
+                    }
+                    case STRING:
+                        c.addString(rs.getString(jdbcIndex));
+                        break;
+                    case TIMESTAMP:
+                        c.addTimestamp(rs.getTimestamp(jdbcIndex));
+                        break;
+                    case DATE:
+                        c.addDate(rs.getDate(jdbcIndex));
+                        break;
+                    default:
+                        c.addObject(rs.getObject(jdbcIndex));
+                        break;
+                }
+            }
+            size++;
+            return this;
+        }
+
+        /**
+         * JDBC 밖에서 만든 행 적재 - 값은 Schema 순서, 컬럼 타입과 맞지 않으면 IllegalArgumentException
+         */
+        public Builder addRow(Object... values) {
+            checkOpen();
+            if (values.length != columns.length) {
+                throw new IllegalArgumentException("Expected " + columns.length + " values, got " + values.length);
+            }
+            for (int i = 0; i < columns.length; i++) {
+                try {
+                    columns[i].add(values[i]);
+                } catch (ClassCastException e) {
+                    throw new IllegalArgumentException("Column " + schema.label(i) + " (" + schema.type(i)
+                                                       + ") cannot hold " + values[i].getClass().getName(), e);
+                }
+            }
+            size++;
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public ColumnarResultSet build() {
+            checkOpen();
+            built = true;
+            Column[] finished = new Column[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                finished[i] = columns[i].build(size);
+            }
+            return new ColumnarResultSet(schema, size, finished);
+        }
+
+        private void checkOpen() {
+            if (built) {
+                throw new IllegalStateException("ColumnarResultSet already built");
+            }
+        }
+    }
+
+    /**
+     * 적재 중인 컬럼 - 배열을 1.5배씩 늘리고 build()에서 행 수에 맞게 자른다
+     */
+    private static final class ColumnBuilder {
+        final ColumnType type;
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+        Object[] objects;
+        BitSet nulls;
+        Map<String, Integer> codes;
+        List<String> dictionary;
+        int size;
+
+        ColumnBuilder(ColumnType type, int capacity) {
+            this.type = type;
+            switch (type) {
+                case INT:
+                    ints = new int[capacity];
+                    break;
+                case LONG:
+                case DATE:
+                    longs = new long[capacity];
+                    break;
+                case TIMESTAMP:
+                    longs = new long[capacity];
+                    ints = new int[capacity];
+                    break;
+                case DOUBLE:
+                    doubles = new double[capacity];
+                    break;
+                case STRING:
+                    ints = new int[capacity];
+                    codes = new HashMap<>();
+                    dictionary = new ArrayList<>();
+                    break;
+                default:
+                    objects = new Object[capacity];
+                    break;
+            }
+        }
+
+        void add(Object value) {
+            switch (type) {
+                case INT:
+                    addInt(value == null ? 0 : ((Number) value).intValue(), value == null);
+                    break;
+                case LONG:
+                    addLong(value == null ? 0L : ((Number) value).longValue(), value == null);
+                    break;
+                case DOUBLE:
+                    addDouble(value == null ? 0.0 : ((Number) value).doubleValue(), value == null);
+                    break;
+                case STRING:
+                    addString((String) value);
+                    break;
+                case TIMESTAMP:
+                    addTimestamp((Timestamp) value);
+                    break;
+                case DATE:
+                    addDate((Date) value);
+                    break;
+                default:
+                    addObject(value);
+                    break;
+            }
+        }
+
+        void addInt(int value, boolean isNull) {
+            ensureCapacity();
+            ints[size] = value;
+            markNull(isNull);
+            size++;
+        }
+
+        void addLong(long value, boolean isNull) {
+            ensureCapacity();
+            longs[size] = value;
+            markNull(isNull);
+            size++;
+        }
+
+        void addDouble(double value, boolean isNull) {
+            ensureCapacity();
+            doubles[size] = value;
+            markNull(isNull);
+            size++;
+        }
+
+        void addString(String value) {
+            ensureCapacity();
+            if (value == null) {
+                ints[size] = -1;
+            } else {
+                Integer code = codes.get(value);
+                if (code == null) {
+                    code = dictionary.size();
+                    codes.put(value, code);
+                    dictionary.add(value);
+                }
+                ints[size] = code;
+            }
+            size++;
+        }
+
+        void addTimestamp(Timestamp value) {
+            ensureCapacity();
+            if (value != null) {
+                longs[size] = value.getTime();
+                ints[size] = value.getNanos();
+            }
+            markNull(value == null);
+            size++;
+        }
+
+        void addDate(Date value) {
+            ensureCapacity();
+            if (value != null) {
+                longs[size] = value.getTime();
+            }
+            markNull(value == null);
+            size++;
+        }
+
+        void addObject(Object value) {
+            ensureCapacity();
+            objects[size] = value;
+            size++;
+        }
+
+        private void markNull(boolean isNull) {
+            if (isNull) {
+                if (nulls == null) {
+                    nulls = new BitSet();
+                }
+                nulls.set(size);
+            }
+        }
+
+        private void ensureCapacity() {
+            int capacity = ints != null ? ints.length
+                         : longs != null ? longs.length
+                         : doubles != null ? doubles.length
+                         : objects.length;
+            if (size < capacity) {
+                return;
+            }
+            int grown = capacity + (capacity >> 1);
+            if (ints != null) {
+                ints = Arrays.copyOf(ints, grown);
+            }
+            if (longs != null) {
+                longs = Arrays.copyOf(longs, grown);
+            }
+            if (doubles != null) {
+                doubles = Arrays.copyOf(doubles, grown);
+            }
+            if (objects != null) {
+                objects = Arrays.copyOf(objects, grown);
+            }
+        }
+
+        Column build(int rows) {
+            Column column = new Column(type);
+            column.nulls = nulls;
+            switch (type) {
+                case INT:
+                    column.ints = Arrays.copyOf(ints, rows);
+                    break;
+                case LONG:
+                case DATE:
+                    column.longs = Arrays.copyOf(longs, rows);
+                    break;
+                case TIMESTAMP:
+                    column.longs = Arrays.copyOf(longs, rows);
+                    column.ints = Arrays.copyOf(ints, rows);
+                    break;
+                case DOUBLE:
+                    column.doubles = Arrays.copyOf(doubles, rows);
+                    break;
+                case STRING:
+                    String[] values = dictionary.toArray(new String[0]);
+                    if (values.length > MAX_DICTIONARY_RATIO * rows && values.length > MIN_CAPACITY) {
+                        // 거의 고유한 값 (ID, 이메일 등) - 코드 배열이 오히려 낭비이므로 문자열 배열로 푼다
+                        String[] plain = new String[rows];
+                        for (int i = 0; i < rows; i++) {
+                            plain[i] = ints[i] < 0 ? null : values[ints[i]];
+                        }
+                        column.objects = plain;
+                    } else {
+                        column.ints = Arrays.copyOf(ints, rows);
+                        column.dictionary = values;
+                    }
+                    break;
+                default:
+                    column.objects = Arrays.copyOf(objects, rows);
+                    break;
+            }
+            return column;
+        }
+    }
+
+    /**
+     * 완성된 컬럼 - 타입에 따라 필요한 배열만 채워진다
+     */
+    private static final class Column {
+        final ColumnType type;
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+        Object[] objects;
+        String[] dictionary;
+        BitSet nulls;
+
+        Column(ColumnType type) {
+            this.type = type;
+        }
+
+        boolean isNull(int row) {
+            switch (type) {
+                case STRING:
+                    return dictionary != null ? ints[row] < 0 : objects[row] == null;
+                case OBJECT:
+                    return objects[row] == null;
+                default:
+                    return nulls != null && nulls.get(row);
+            }
+        }
+
+        String string(int row) {
+            if (dictionary == null) {
+                return (String) objects[row];
+            }
+            int code = ints[row];
+            return code < 0 ? null : dictionary[code];
+        }
+
+        Object get(int row) {
+            if (type == ColumnType.STRING) {
+                return string(row);
+            }
+            if (type == ColumnType.OBJECT) {
+                return objects[row];
+            }
+            if (nulls != null && nulls.get(row)) {
+                return null;
+            }
+            switch (type) {
+                case INT:
+                    return ints[row];
+                case LONG:
+                    return longs[row];
+                case DOUBLE:
+                    return doubles[row];
+                case TIMESTAMP:
+                    Timestamp timestamp = new Timestamp(longs[row]);
+                    timestamp.setNanos(ints[row]);
+                    return timestamp;
+                default:
+                    return new Date(longs[row]);
+            }
+        }
+
+        long estimatedBytes() {
+            long bytes = 48;
+            if (ints != null) {
+                bytes += 16 + 4L * ints.length;
+            }
+            if (longs != null) {
+                bytes += 16 + 8L * longs.length;
+            }
+            if (doubles != null) {
+                bytes += 16 + 8L * doubles.length;
+            }
+            if (nulls != null) {
+                bytes += 40 + nulls.size() / 8;
+            }
+            if (dictionary != null) {
+                bytes += 16 + 4L * dictionary.length;
+                for (String value : dictionary) {
+                    bytes += stringBytes(value);
+                }
+            }
+            if (objects != null) {
+                bytes += 16 + 4L * objects.length;
+                for (Object value : objects) {
+                    if (value instanceof String) {
+                        bytes += stringBytes((String) value);
+                    } else if (value != null) {
+                        bytes += 24;
+                    }
+                }
+            }
+            return bytes;
+        }
+
+        private static long stringBytes(String value) {
+            // String 헤더 + byte[] 헤더 + 내용 (LATIN1 압축 문자열 기준)
+            return 24 + 16 + value.length();
+        }
+    }
+
+    private final class RowList extends AbstractList<Map<String, Object>> implements RandomAccess {
+        @Override
+        public Map<String, Object> get(int row) {
+            checkRow(row);
+            return new RowView(row);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * 한 행의 Map 뷰 - 값은 컬럼 배열에서 바로 읽는다 (put/remove는 UnsupportedOperationException)
+     */
+    private final class RowView extends AbstractMap<String, Object> {
+        private final int row;
+
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object get(Object key) {
+            int column = schema.indexOf(key);
+            return column < 0 ? null : columns[column].get(row);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return schema.indexOf(key) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return schema.visible.length;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < schema.visible.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (next >= schema.visible.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int column = schema.visible[next++];
+                            return new SimpleImmutableEntry<>(schema.label(column), columns[column].get(row));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return schema.visible.length;
+                }
+            };
+        }
+    }
+}
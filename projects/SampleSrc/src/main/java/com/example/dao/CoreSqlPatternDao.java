@@ -2,6 +2,8 @@ package com.example.dao;
 
 import com.example.model.User;
 import com.example.model.Product;
+import javax.sql.DataSource;
+import java.sql.SQLException;
 import java.util.*;
 
 /**
@@ -10,6 +12,38 @@ import java.util.*;
  * 목표: 테이블명과 조인 관계 추출
  */
 public class CoreSqlPatternDao {
+
+    // 쿼리 형태 옵션 플래그 (SQL 템플릿 캐시 키)
+    private static final int SELECT_WITH_PAYMENTS = 1;
+    private static final int INSERT_WITH_AUDIT = 1;
+
+    private static final SqlTemplateRegistry SQL_TEMPLATES = SqlTemplateRegistry.shared();
+
+    // DataSource가 주어지면 바인드 파라미터만 쓰는 조회는 실제로 실행 (없으면 샘플 결과)
+    private final JdbcExecutor jdbcExecutor;
+
+    // true면 조회 결과를 ColumnarResultSet에 바로 채우고 읽기 전용 행 뷰로 반환 (기본: 행마다 LinkedHashMap)
+    private volatile boolean columnarResults;
+
+    public CoreSqlPatternDao() {
+        this.jdbcExecutor = null;
+    }
+
+    public CoreSqlPatternDao(DataSource dataSource) {
+        this.jdbcExecutor = new JdbcExecutor("core-sql", dataSource);
+    }
+
+    /**
+     * 컬럼 형태 결과 모드 - ResultSet을 행별 Map 없이 컬럼 배열로 적재한다
+     * 켜면 반환되는 행 Map은 읽기 전용이므로, 행을 고치는 호출자는 복사해서 써야 한다
+     */
+    public void setColumnarResults(boolean columnarResults) {
+        this.columnarResults = columnarResults;
+    }
+
+    public boolean isColumnarResults() {
+        return columnarResults;
+    }
     
     /**
      * ========================================
@@ -231,43 +265,37 @@ public class CoreSqlPatternDao {
      */
     
     /**
-     * SELECT: String.format으로 동적 테이블명과 JOIN 구성
+     * SELECT: SQL 템플릿(String.format 문법)으로 동적 테이블명과 JOIN 구성 - 형태별로 한 번만 조립
      */
     public List<Map<String, Object>> selectWithStringFormat(String tablePrefix, String environment, List<String> joinTypes, Map<String, Object> filters) {
         try {
-            // String.format으로 동적 테이블명과 JOIN 구성
-            String selectQuery = String.format(
-                "SELECT u.user_id, u.username, u.email, p.product_name, o.order_date " +
-                "FROM users_%s u " +
-                "%s JOIN products_%s p ON u.user_id = p.created_by " +
-                "%s JOIN orders_%s o ON u.user_id = o.user_id ",
-                environment,
-                joinTypes.get(0),
-                environment, 
-                joinTypes.get(1),
-                environment
-            );
-            
-            // 추가 테이블 조인 (String.format)
-            if (filters.get("includePayments") != null) {
-                String paymentJoin = String.format(
-                    "LEFT JOIN payments_%s pm ON o.order_id = pm.order_id ",
-                    environment
-                );
-                selectQuery = selectQuery + paymentJoin;
-            }
-            
-            // WHERE 절 (String.format)
-            String whereClause = String.format(
-                "WHERE u.status = '%s' AND o.order_date >= '%s' ",
+            // 환경별 테이블명/JOIN 종류는 템플릿 슬롯, 필터 값은 바인드 파라미터
+            int flags = filters.get("includePayments") != null ? SELECT_WITH_PAYMENTS : 0;
+            String finalQuery = SQL_TEMPLATES.render("core.selectWithStringFormat", flags, f -> {
+                String selectQuery =
+                    "SELECT u.user_id, u.username, u.email, p.product_name, o.order_date " +
+                    "FROM users_%1$s u " +
+                    "%2$s JOIN products_%1$s p ON u.user_id = p.created_by " +
+                    "%3$s JOIN orders_%1$s o ON u.user_id = o.user_id ";
+
+                // 추가 테이블 조인
+                if ((f & SELECT_WITH_PAYMENTS) != 0) {
+                    selectQuery = selectQuery + "LEFT JOIN payments_%1$s pm ON o.order_id = pm.order_id ";
+                }
+
+                return selectQuery + "WHERE u.status = ? AND o.order_date >= ? ORDER BY o.order_date DESC";
+            }, environment, joinTypes.get(0), joinTypes.get(1));
+
+            List<Object> params = Arrays.asList(
                 filters.getOrDefault("status", "ACTIVE"),
                 filters.getOrDefault("dateFrom", "2024-01-01")
             );
-            
-            String finalQuery = selectQuery + whereClause + "ORDER BY o.order_date DESC";
-            
-            System.out.println("String.format SELECT: " + finalQuery);
-            return generateSampleResults(15);
+
+            System.out.println("SQL 템플릿 SELECT: " + finalQuery + " " + params);
+            if (jdbcExecutor == null) {
+                return generateSampleResults(15);
+            }
+            return queryForRows(finalQuery, params);
             
         } catch (Exception e) {
             System.err.println("String.format SELECT 오류: " + e.getMessage());
@@ -276,34 +304,32 @@ public class CoreSqlPatternDao {
     }
     
     /**
-     * INSERT: String.format으로 환경별 테이블 INSERT
+     * INSERT: SQL 템플릿(String.format 문법)으로 환경별 테이블 INSERT - 형태별로 한 번만 조립
      */
     public int insertWithStringFormat(String entityType, String environment, Map<String, Object> data) {
         try {
-            // String.format으로 환경별 테이블명 구성
-            String insertQuery = String.format(
-                "INSERT INTO %s_%s (id, name, status, created_date) " +
-                "VALUES ('%s', '%s', '%s', SYSDATE)",
-                entityType,
-                environment,
-                data.get("id"),
-                data.get("name"),
-                data.get("status")
-            );
-            
-            // 관련 테이블에도 INSERT (String.format)
-            if (data.get("createAudit") != null) {
-                String auditInsert = String.format(
-                    "INSERT INTO %s_audit_%s (entity_id, action, created_date) " +
-                    "VALUES ('%s', 'INSERT', SYSDATE)",
-                    entityType,
-                    environment,
-                    data.get("id")
-                );
-                insertQuery = insertQuery + "; " + auditInsert;
+            // 엔티티/환경별 테이블명은 템플릿 슬롯, 컬럼 값은 바인드 파라미터
+            boolean createAudit = data.get("createAudit") != null;
+            String insertQuery = SQL_TEMPLATES.render("core.insertWithStringFormat", createAudit ? INSERT_WITH_AUDIT : 0, f -> {
+                String query =
+                    "INSERT INTO %1$s_%2$s (id, name, status, created_date) " +
+                    "VALUES (?, ?, ?, SYSDATE)";
+
+                // 관련 테이블에도 INSERT
+                if ((f & INSERT_WITH_AUDIT) != 0) {
+                    query = query + "; " +
+                        "INSERT INTO %1$s_audit_%2$s (entity_id, action, created_date) " +
+                        "VALUES (?, 'INSERT', SYSDATE)";
+                }
+                return query;
+            }, entityType, environment);
+
+            List<Object> params = new ArrayList<>(Arrays.asList(data.get("id"), data.get("name"), data.get("status")));
+            if (createAudit) {
+                params.add(data.get("id"));
             }
-            
-            System.out.println("String.format INSERT: " + insertQuery);
+
+            System.out.println("SQL 템플릿 INSERT: " + insertQuery + " " + params);
             return 1;
             
         } catch (Exception e) {
@@ -652,6 +678,12 @@ public class CoreSqlPatternDao {
     }
     
     // 유틸리티 메서드
+    private List<Map<String, Object>> queryForRows(String sql, List<?> params) throws SQLException {
+        return columnarResults
+            ? jdbcExecutor.queryForColumns(sql, params).asRows()
+            : jdbcExecutor.queryForRows(sql, params);
+    }
+
     private List<Map<String, Object>> generateSampleResults(int count) {
         List<Map<String, Object>> results = new ArrayList<>();
         for (int i = 1; i <= count; i++) {
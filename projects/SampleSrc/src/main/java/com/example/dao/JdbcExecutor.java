@@ -0,0 +1,338 @@
+package com.example.dao;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource 직접 실행기 - 직접 JDBC를 쓰는 DAO/서블릿용 얇은 헬퍼
+ * 목적: 커넥션 풀링과 Statement 캐시는 DataSource(컨테이너/Hikari 풀)에 맡기고,
+ *       호출마다 반복되는 대여/바인딩/반납 코드만 한곳에 모은다.
+ *
+ * 특징:
+ * 1. 커넥션은 DataSourceUtils로 얻고 돌려준다 - Spring 트랜잭션이 진행 중이면 같은 커넥션에 참여
+ * 2. 호출이 끝나면 즉시 반납하므로 커넥션을 붙잡아 두지 않는다 (유휴 관리는 DataSource 풀 몫)
+ * 3. PreparedStatement는 호출마다 만들고 닫는다 - 재사용은 드라이버의 Statement 캐시 설정으로 처리하며
+ *    (application.properties의 Oracle implicitStatementCacheSize, MySQL이면 cachePrepStmts), 이전 호출의 설정이 남지 않는다
+ *    드라이버 캐시는 적중 수를 공개하지 않으므로 이 실행기는 캐시 적중률을 따로 집계하지 않는다
+ * 4. 호출 수, 실패 수, 누적 실행 시간, 커넥션 대기 시간 통계 (Hikari 풀이면 풀 상태도 함께)
+ * 5. autonomous()로 만든 실행기는 진행 중인 트랜잭션에 참여하지 않고 풀에서 별도 커넥션을 빌려 바로 커밋
+ *    (호출자 트랜잭션이 롤백돼도 되돌아가지 않는 재고 원장 등 - 요청 하나가 커넥션 두 개를 쓰므로 풀 크기 고려)
+ */
+public class JdbcExecutor {
+
+    /**
+     * 커넥션을 직접 다루는 작업 - 커넥션을 닫지 말 것
+     */
+    public interface ConnectionCallback<T> {
+        T doInConnection(Connection connection) throws SQLException;
+    }
+
+    public interface ResultSetHandler<T> {
+        T handle(ResultSet rs) throws SQLException;
+    }
+
+    public interface TransactionCallback<T> {
+        T doInTransaction(Transaction transaction) throws SQLException;
+    }
+
+    private final String name;
+    private final DataSource dataSource;
+    private final boolean joinTransaction;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder elapsedNanos = new LongAdder();
+    private final AtomicLong maxElapsedNanos = new AtomicLong();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+
+    private static final boolean HIKARI_PRESENT =
+        ClassUtils.isPresent("com.zaxxer.hikari.HikariDataSource", JdbcExecutor.class.getClassLoader());
+
+    public JdbcExecutor(String name, DataSource dataSource) {
+        this(name, dataSource, true);
+    }
+
+    private JdbcExecutor(String name, DataSource dataSource, boolean joinTransaction) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("dataSource must not be null: " + name);
+        }
+        this.name = name;
+        this.dataSource = dataSource;
+        this.joinTransaction = joinTransaction;
+    }
+
+    /**
+     * 진행 중인 Spring 트랜잭션과 무관하게 별도 커넥션에서 실행/커밋하는 실행기
+     * dataSource는 트랜잭션 인식 프록시(TransactionAwareDataSourceProxy)가 아닌 풀 자체여야 한다.
+     */
+    public static JdbcExecutor autonomous(String name, DataSource dataSource) {
+        return new JdbcExecutor(name, dataSource, false);
+    }
+
+    /**
+     * 커넥션 콜백 실행 - 진행 중인 Spring 트랜잭션이 있으면 그 커넥션을 사용 (autonomous()는 항상 별도 커넥션)
+     */
+    public <T> T execute(ConnectionCallback<T> callback) throws SQLException {
+        long start = System.nanoTime();
+        calls.increment();
+        Connection connection = joinTransaction ? DataSourceUtils.doGetConnection(dataSource) : dataSource.getConnection();
+        long acquired = System.nanoTime() - start;
+        acquireNanos.add(acquired);
+        maxAcquireNanos.accumulateAndGet(acquired, Math::max);
+        try {
+            return callback.doInConnection(connection);
+        } catch (SQLException | RuntimeException | Error e) {
+            failures.increment();
+            throw e;
+        } finally {
+            if (joinTransaction) {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            } else {
+                connection.close();
+            }
+            long elapsed = System.nanoTime() - start;
+            elapsedNanos.add(elapsed);
+            maxElapsedNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    /**
+     * 트랜잭션 안에서 실행
+     * - Spring 트랜잭션이 이미 있으면 참여하고, setRollbackOnly()는 세이브포인트까지만 되돌린다
+     * - 없으면(또는 autonomous()) autoCommit을 끄고 직접 커밋/롤백한 뒤 원래 상태로 복구
+     */
+    public <T> T inTransaction(TransactionCallback<T> callback) throws SQLException {
+        return execute(connection -> {
+            if (joinTransaction && DataSourceUtils.isConnectionTransactional(connection, dataSource)) {
+                return inSavepoint(connection, callback);
+            }
+            return inLocalTransaction(connection, callback);
+        });
+    }
+
+    public <T> T query(String sql, List<?> parameters, ResultSetHandler<T> handler) throws SQLException {
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                bind(statement, parameters);
+                try (ResultSet rs = statement.executeQuery()) {
+                    return handler.handle(rs);
+                }
+            }
+        });
+    }
+
+    public List<Map<String, Object>> queryForRows(String sql, List<?> parameters) throws SQLException {
+        return query(sql, parameters, JdbcExecutor::toRows);
+    }
+
+    /**
+     * 컬럼 형태로 조회 - 행마다 Map을 만들지 않는다 (기존 형태가 필요하면 asRows())
+     */
+    public ColumnarResultSet queryForColumns(String sql, List<?> parameters) throws SQLException {
+        return query(sql, parameters, ColumnarResultSet::from);
+    }
+
+    public int update(String sql, List<?> parameters) throws SQLException {
+        return execute(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                bind(statement, parameters);
+                return statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * 파라미터 바인딩 - java.util.Date는 Timestamp로 변환
+     */
+    public static void bind(PreparedStatement statement, List<?> parameters) throws SQLException {
+        if (parameters == null) {
+            return;
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            if (value instanceof java.util.Date && !(value instanceof java.sql.Date)
+                    && !(value instanceof Timestamp)) {
+                statement.setTimestamp(i + 1, new Timestamp(((java.util.Date) value).getTime()));
+            } else {
+                statement.setObject(i + 1, value);
+            }
+        }
+    }
+
+    /**
+     * ResultSet 전체를 컬럼 라벨 키의 행 목록으로 변환
+     */
+    public static List<Map<String, Object>> toRows(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columnCount = meta.getColumnCount();
+        String[] labels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = meta.getColumnLabel(i + 1);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        while (rs.next()) {
+            Map<String, Object> row = new LinkedHashMap<>(columnCount * 2);
+            for (int i = 0; i < columnCount; i++) {
+                row.put(labels[i], rs.getObject(i + 1));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public Map<String, Object> stats() {
+        long count = calls.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("name", name);
+        stats.put("calls", count);
+        stats.put("failures", failures.sum());
+        stats.put("avgMillis", count == 0 ? 0.0 : elapsedNanos.sum() / 1_000_000.0 / count);
+        stats.put("maxMillis", maxElapsedNanos.get() / 1_000_000.0);
+        // 트랜잭션에 참여한 호출은 이미 묶인 커넥션을 쓰므로 대기 시간이 0에 가깝다
+        stats.put("avgAcquireMillis", count == 0 ? 0.0 : acquireNanos.sum() / 1_000_000.0 / count);
+        stats.put("maxAcquireMillis", maxAcquireNanos.get() / 1_000_000.0);
+        if (HIKARI_PRESENT) {
+            Map<String, Object> pool = HikariPoolStats.of(dataSource);
+            if (pool != null) {
+                stats.put("pool", pool);
+            }
+        }
+        return stats;
+    }
+
+    public String getName() { return name; }
+
+    public boolean isAutonomous() { return !joinTransaction; }
+
+    private static <T> T inLocalTransaction(Connection connection, TransactionCallback<T> callback) throws SQLException {
+        boolean previousAutoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            Transaction transaction = new Transaction(connection);
+            T result = callback.doInTransaction(transaction);
+            if (transaction.rollbackOnly) {
+                connection.rollback();
+            } else {
+                connection.commit();
+            }
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            rollbackQuietly(connection, null, e);
+            throw e;
+        } finally {
+            connection.setAutoCommit(previousAutoCommit);
+        }
+    }
+
+    private static <T> T inSavepoint(Connection connection, TransactionCallback<T> callback) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            Transaction transaction = new Transaction(connection);
+            T result = callback.doInTransaction(transaction);
+            if (transaction.rollbackOnly) {
+                connection.rollback(savepoint);
+            }
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            rollbackQuietly(connection, savepoint, e);
+            throw e;
+        } finally {
+            try {
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                // 일부 드라이버는 롤백된 세이브포인트 해제를 지원하지 않음 - 트랜잭션 종료 시 정리된다
+            }
+        }
+    }
+
+    private static void rollbackQuietly(Connection connection, Savepoint savepoint, Throwable cause) {
+        try {
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            } else {
+                connection.rollback();
+            }
+        } catch (SQLException rollbackError) {
+            // 원래 예외를 가리지 않도록 롤백 실패는 덧붙이기만 한다
+            cause.addSuppressed(rollbackError);
+        }
+    }
+
+    /**
+     * Hikari 풀 상태 - HikariCP가 클래스패스에 있을 때만 로딩 (JNDI 컨테이너 풀 환경 대비)
+     * 대기 시간 분포는 액추에이터의 hikaricp.connections.acquire / hikaricp.connections.pending 지표
+     */
+    private static final class HikariPoolStats {
+
+        static Map<String, Object> of(DataSource dataSource) {
+            try {
+                if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                    return null;
+                }
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                if (pool == null) {
+                    // 첫 커넥션 요청 전에는 풀이 아직 없음
+                    return null;
+                }
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("name", hikari.getPoolName());
+                stats.put("active", pool.getActiveConnections());
+                stats.put("idle", pool.getIdleConnections());
+                stats.put("total", pool.getTotalConnections());
+                stats.put("awaiting", pool.getThreadsAwaitingConnection());
+                stats.put("maximumPoolSize", hikari.getMaximumPoolSize());
+                return stats;
+            } catch (SQLException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * inTransaction 콜백에 전달되는 트랜잭션 핸들
+     */
+    public static final class Transaction {
+
+        private final Connection connection;
+        private boolean rollbackOnly;
+
+        private Transaction(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * 트랜잭션 커넥션 - 닫거나 커밋/롤백하지 말 것
+         */
+        public Connection getConnection() {
+            return connection;
+        }
+
+        /**
+         * 예외 없이 콜백을 끝내되 이 트랜잭션(또는 세이브포인트)의 변경을 되돌림
+         */
+        public void setRollbackOnly() {
+            rollbackOnly = true;
+        }
+
+        public boolean isRollbackOnly() {
+            return rollbackOnly;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 미리 파싱된 SQL 템플릿
+ * String.format과 같은 문법의 SQL을 한 번만 파싱하여 리터럴 조각과 슬롯 목록으로 보관한다.
+ *
+ * 지원 문법:
+ * - %s     : 순서대로 다음 슬롯 값
+ * - %N$s   : N번째 슬롯 값 (같은 값을 여러 번 쓰는 users_%1$s, orders_%1$s 같은 경우)
+ * - %%     : 리터럴 '%'
+ *
+ * 슬롯에는 테이블명/JOIN 종류 같은 식별자만 들어간다. 값은 ? 바인드 파라미터로 전달해야 하며,
+ * 식별자가 아닌 슬롯 값은 IllegalArgumentException으로 거부한다.
+ */
+public final class SqlTemplate {
+
+    private final String name;
+    private final String[] literals;   // literals.length == slots.length + 1
+    private final int[] slots;
+    private final int slotCount;
+    private final int literalLength;
+
+    private SqlTemplate(String name, String[] literals, int[] slots, int slotCount) {
+        this.name = name;
+        this.literals = literals;
+        this.slots = slots;
+        this.slotCount = slotCount;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * 템플릿 파싱
+     * @throws IllegalArgumentException %s, %N$s, %% 이외의 서식 지정자가 있는 경우
+     */
+    public static SqlTemplate parse(String name, String sql) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int nextSequential = 0;
+        int maxSlot = -1;
+
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c != '%') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (i + 1 >= sql.length()) {
+                throw new IllegalArgumentException("SQL 템플릿 " + name + ": 끝에 불완전한 '%'");
+            }
+            char next = sql.charAt(i + 1);
+            if (next == '%') {
+                literal.append('%');
+                i += 2;
+                continue;
+            }
+
+            int slot;
+            if (next == 's') {
+                slot = nextSequential++;
+                i += 2;
+            } else {
+                int j = i + 1;
+                while (j < sql.length() && Character.isDigit(sql.charAt(j))) {
+                    j++;
+                }
+                if (j == i + 1 || j + 1 >= sql.length() || sql.charAt(j) != '$' || sql.charAt(j + 1) != 's') {
+                    throw new IllegalArgumentException("SQL 템플릿 " + name + ": 지원하지 않는 서식 지정자 (위치 " + i + ")");
+                }
+                slot = Integer.parseInt(sql.substring(i + 1, j)) - 1;
+                if (slot < 0) {
+                    throw new IllegalArgumentException("SQL 템플릿 " + name + ": 슬롯 번호는 1부터 시작합니다 (위치 " + i + ")");
+                }
+                i = j + 2;
+            }
+
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(slot);
+            maxSlot = Math.max(maxSlot, slot);
+        }
+        literals.add(literal.toString());
+
+        int[] slotArray = new int[slots.size()];
+        for (int k = 0; k < slotArray.length; k++) {
+            slotArray[k] = slots.get(k);
+        }
+        return new SqlTemplate(name, literals.toArray(new String[0]), slotArray, maxSlot + 1);
+    }
+
+    /**
+     * 슬롯 값을 채운 SQL 생성 (서식 파싱 없이 조각 연결만 수행)
+     * @param values 슬롯 번호 순서의 식별자 값
+     */
+    public String bind(String... values) {
+        if (values.length != slotCount) {
+            throw new IllegalArgumentException("SQL 템플릿 " + name + ": 슬롯 " + slotCount + "개에 값 " + values.length + "개");
+        }
+        int length = literalLength;
+        for (int slot : slots) {
+            length += values[slot].length();
+        }
+
+        StringBuilder sql = new StringBuilder(length);
+        sql.append(literals[0]);
+        for (int k = 0; k < slots.length; k++) {
+            sql.append(values[slots[k]]);
+            sql.append(literals[k + 1]);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * 슬롯 값 검증 - 영문/숫자/밑줄로 된 식별자만 허용
+     */
+    static void checkIdentifier(String templateName, String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("SQL 템플릿 " + templateName + ": 빈 슬롯 값");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+            if (!valid) {
+                throw new IllegalArgumentException("SQL 템플릿 " + templateName + ": 식별자가 아닌 슬롯 값 '" + value + "'");
+            }
+        }
+    }
+
+    public String getName() { return name; }
+    public int getSlotCount() { return slotCount; }
+}
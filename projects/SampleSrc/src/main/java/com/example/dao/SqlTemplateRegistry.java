@@ -0,0 +1,147 @@
+package com.example.dao;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * SQL 템플릿 레지스트리 - 쿼리 형태별 템플릿 파싱 결과와 완성된 SQL 문자열을 캐시
+ * 목적: 호출마다 수 KB짜리 SQL 리터럴에 String.format을 다시 돌리지 않도록 함
+ *
+ * 캐시 단계:
+ * 1. 형태(shape): (템플릿명, 옵션 플래그) -> 파싱된 SqlTemplate (한 번만 파싱)
+ * 2. 완성 SQL: (템플릿명, 옵션 플래그, 슬롯 값) -> SQL 문자열
+ *
+ * 히트 경로는 조회 키 객체 하나만 할당하고, 같은 SQL 문자열 인스턴스를 돌려주므로
+ * 드라이버/풀의 PreparedStatement 캐시도 그대로 재사용된다.
+ * 슬롯 값 조합이 maxRendered를 넘으면 더 이상 캐시하지 않고 매번 조립만 한다.
+ */
+public class SqlTemplateRegistry {
+
+    public static final int DEFAULT_MAX_RENDERED = 4096;
+
+    private static final String[] NO_VALUES = new String[0];
+    private static final SqlTemplateRegistry SHARED = new SqlTemplateRegistry(DEFAULT_MAX_RENDERED);
+
+    private final ConcurrentHashMap<Key, SqlTemplate> templates = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, String> rendered = new ConcurrentHashMap<>();
+    private final int maxRendered;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder parses = new LongAdder();
+    private final LongAdder uncached = new LongAdder();
+
+    public SqlTemplateRegistry(int maxRendered) {
+        if (maxRendered <= 0) {
+            throw new IllegalArgumentException("maxRendered must be positive: " + maxRendered);
+        }
+        this.maxRendered = maxRendered;
+    }
+
+    /**
+     * DAO들이 공유하는 기본 레지스트리
+     */
+    public static SqlTemplateRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * 고정 형태 템플릿 렌더링
+     * @param name   템플릿 이름 (형태마다 고유)
+     * @param sql    String.format 문법의 SQL (%s, %N$s)
+     * @param values 슬롯 값 (테이블 접미사, JOIN 종류 등 식별자)
+     */
+    public String render(String name, String sql, String... values) {
+        return render(name, 0, flags -> sql, values);
+    }
+
+    /**
+     * 옵션 플래그에 따라 형태가 달라지는 템플릿 렌더링
+     * shape는 (이름, 플래그) 조합마다 한 번만 호출되므로 그 안에서 StringBuilder로 조립해도 된다.
+     */
+    public String render(String name, int flags, IntFunction<String> shape, String... values) {
+        Key lookupKey = new Key(name, flags, values);
+        String sql = rendered.get(lookupKey);
+        if (sql != null) {
+            hits.increment();
+            return sql;
+        }
+        misses.increment();
+
+        for (String value : values) {
+            SqlTemplate.checkIdentifier(name, value);
+        }
+        sql = template(name, flags, shape).bind(values);
+
+        if (rendered.size() < maxRendered) {
+            // 호출자가 넘긴 배열은 바뀔 수 있으므로 복사본으로 저장
+            String existing = rendered.putIfAbsent(new Key(name, flags, values.clone()), sql);
+            if (existing != null) {
+                sql = existing;
+            }
+        } else {
+            uncached.increment();
+        }
+        return sql;
+    }
+
+    /**
+     * (이름, 플래그) 형태의 파싱된 템플릿
+     */
+    public SqlTemplate template(String name, int flags, IntFunction<String> shape) {
+        return templates.computeIfAbsent(new Key(name, flags, NO_VALUES), key -> {
+            parses.increment();
+            return SqlTemplate.parse(flags == 0 ? name : name + "#" + flags, shape.apply(flags));
+        });
+    }
+
+    public void clear() {
+        rendered.clear();
+        templates.clear();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("templates", templates.size());
+        stats.put("renderedStatements", rendered.size());
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("parses", parses.sum());
+        stats.put("uncached", uncached.sum());
+        return stats;
+    }
+
+    private static final class Key {
+        private final String name;
+        private final int flags;
+        private final String[] values;
+        private final int hash;
+
+        Key(String name, int flags, String[] values) {
+            this.name = name;
+            this.flags = flags;
+            this.values = values;
+            this.hash = (name.hashCode() * 31 + flags) * 31 + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash == other.hash
+                && flags == other.flags
+                && name.equals(other.name)
+                && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.dao;
 
 import com.example.model.User;
+import com.example.pagination.KeysetCursor;
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
@@ -15,6 +17,9 @@ public class UserDao {
     
     private static final String USER_MAPPER_NAMESPACE = "com.example.mapper.UserMapper";
     
+    // 키셋 페이징 정렬 키 (created_date 동률은 user_id로 구분)
+    private static final String[] USER_KEYSET_COLUMNS = {"u.created_date", "u.user_id"};
+    
     // MyBatis SqlSession (실제로는 의존성 주입으로 받아야 함)
     // private SqlSession sqlSession;
     
@@ -332,12 +337,25 @@ public class UserDao {
             }
             
             // 페이징 처리
-            int page = (Integer) params.getOrDefault("page", 1);
             int pageSize = (Integer) params.getOrDefault("pageSize", 10);
-            int offset = (page - 1) * pageSize;
-            
-            query.append("ORDER BY u.created_date DESC ");
-            query.append("LIMIT ").append(pageSize).append(" OFFSET ").append(offset);
+            List<Object> bindValues = new ArrayList<>();
+            
+            if (params.containsKey("cursor")) {
+                // 키셋 페이징: 이전 페이지 마지막 (created_date, user_id) 이후부터 조회
+                KeysetCursor cursor = KeysetCursor.decodeOrNull((String) params.get("cursor"), Timestamp.class, Long.class);
+                if (cursor != null) {
+                    query.append("AND ").append(KeysetCursor.seekPredicate(true, USER_KEYSET_COLUMNS)).append(" ");
+                    bindValues.addAll(cursor.bindValues());
+                }
+                query.append(KeysetCursor.orderByClause(true, USER_KEYSET_COLUMNS)).append(" ");
+                query.append("LIMIT ").append(pageSize);
+            } else {
+                int page = (Integer) params.getOrDefault("page", 1);
+                int offset = (page - 1) * pageSize;
+                
+                query.append("ORDER BY u.created_date DESC ");
+                query.append("LIMIT ").append(pageSize).append(" OFFSET ").append(offset);
+            }
             
             System.out.println("직접 쿼리: " + query.toString());
             
@@ -353,6 +371,18 @@ public class UserDao {
         }
     }
     
+    /**
+     * 직접 쿼리 키셋 페이징용 다음 커서 토큰 생성
+     * findUsersByDirectQuery 결과의 마지막 사용자로 만든 토큰을 다음 요청의 "cursor" 파라미터로 전달
+     */
+    public String nextDirectQueryCursor(List<User> users) {
+        if (users == null || users.isEmpty()) {
+            return null;
+        }
+        User lastUser = users.get(users.size() - 1);
+        return KeysetCursor.of(lastUser.getCreatedDate(), lastUser.getId()).encode();
+    }
+    
     // 샘플 데이터 생성 메서드들 (실제로는 MyBatis 결과)
     
     private List<User> generateSampleUsers(Map<String, Object> params) {
@@ -2,6 +2,7 @@ package com.example.dao;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,6 +31,13 @@ public interface VersionedDao {
      */
     Map<String, Object> selectProductsV2(@Param("page") int page, @Param("size") int size);
 
+    /**
+     * 제품 조회 - v2 API (키셋 페이징, 커서가 null이면 첫 페이지)
+     */
+    List<Map<String, Object>> selectProductsV2ByKeyset(@Param("cursorCreatedAt") Object cursorCreatedAt,
+                                                       @Param("cursorProductId") Long cursorProductId,
+                                                       @Param("limit") int limit);
+
     /**
      * 주문 조회 - v1 API
      */
@@ -0,0 +1,227 @@
+package com.example.inheritance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 배치 파이프라인 - 추출 단계와 변환 단계마다 스레드를 두고 용량 제한 큐로 연결
+ * 연관관계: DataProcessor(EXTRACT -> VALIDATE -> RULES -> ENRICH) -> BatchPipeline
+ *
+ * - 단계 스레드는 실행마다 만들지 않고 생성자로 받은 실행기에서 빌려 쓴다 (실행기 종료는 호출자 책임)
+ * - 실행기는 한 번에 단계 병렬도 합계만큼의 작업을 동시에 돌릴 수 있어야 한다 (고정 크기 풀이면 교착)
+ * - 결과 배치 순서는 순차 실행과 같다 (분할 순서 -> 분할 안의 추출 순서)
+ * - 어느 단계든 예외가 나면 이번 실행의 나머지 단계를 중단하고 그 예외를 그대로 던진다
+ */
+final class BatchPipeline {
+
+    private final ExecutorService executor;
+    private final int queueCapacity;
+    private final List<Stage> stages = new ArrayList<>();
+
+    BatchPipeline(ExecutorService executor, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Pipeline queue capacity must be positive: " + queueCapacity);
+        }
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 변환 단계 추가 - 추가한 순서대로 연결된다
+     * parallelism이 1보다 크면 function이 스레드 안전해야 하고, 단계 안의 처리 순서는 보장되지 않는다 (결과 순서는 유지).
+     */
+    BatchPipeline stage(String name, int parallelism, StageFunction function) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Stage parallelism must be positive: " + name + "=" + parallelism);
+        }
+        stages.add(new Stage(parallelism, function));
+        return this;
+    }
+
+    /**
+     * 실행 - partitions를 extractParallelism개 스레드가 나눠 추출하고, 모든 단계를 거친 배치를 원래 순서로 반환
+     */
+    List<List<Map<String, Object>>> run(List<Map<String, Object>> partitions, int extractParallelism,
+                                        Extractor extractor) {
+        if (extractParallelism <= 0) {
+            throw new IllegalArgumentException("Stage parallelism must be positive: EXTRACT=" + extractParallelism);
+        }
+        Run run = new Run(executor);
+        try {
+            BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+            startExtract(run, partitions, extractParallelism, extractor, queue);
+            for (Stage stage : stages) {
+                BlockingQueue<Batch> out = new ArrayBlockingQueue<>(queueCapacity);
+                startStage(run, stage, queue, out);
+                queue = out;
+            }
+
+            // 수집 - 배치 키 순으로 정렬해 원래 순서로 합친다
+            TreeMap<Long, List<Map<String, Object>>> collected = new TreeMap<>();
+            while (true) {
+                Batch batch = queue.poll(100, TimeUnit.MILLISECONDS);
+                run.throwIfFailed();
+                if (batch == Batch.END) {
+                    break;
+                }
+                if (batch != null) {
+                    collected.put(batch.key, batch.records);
+                }
+            }
+            return new ArrayList<>(collected.values());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Pipeline interrupted", e);
+        } finally {
+            // 공유 실행기이므로 종료하지 않고 이번 실행의 단계 작업만 중단
+            run.cancel();
+        }
+    }
+
+    private void startExtract(Run run, List<Map<String, Object>> partitions, int parallelism,
+                              Extractor extractor, BlockingQueue<Batch> out) {
+        ConcurrentLinkedQueue<Integer> pending = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < partitions.size(); i++) {
+            pending.add(i);
+        }
+        int workers = Math.min(parallelism, Math.max(1, partitions.size()));
+        AtomicInteger remaining = new AtomicInteger(workers);
+        for (int w = 0; w < workers; w++) {
+            run.submit(() -> {
+                Integer partition;
+                while ((partition = pending.poll()) != null) {
+                    long partitionKey = (long) partition << 32;
+                    AtomicInteger sequence = new AtomicInteger();
+                    extractor.extract(partitions.get(partition),
+                        batch -> out.put(new Batch(partitionKey | sequence.getAndIncrement(), batch)));
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    out.put(Batch.END);
+                }
+            });
+        }
+    }
+
+    private void startStage(Run run, Stage stage, BlockingQueue<Batch> in, BlockingQueue<Batch> out) {
+        AtomicInteger remaining = new AtomicInteger(stage.parallelism);
+        for (int w = 0; w < stage.parallelism; w++) {
+            run.submit(() -> {
+                while (true) {
+                    Batch batch = in.take();
+                    if (batch == Batch.END) {
+                        // 같은 단계의 다른 스레드도 끝을 보도록 되돌려 놓는다
+                        in.put(batch);
+                        break;
+                    }
+                    out.put(new Batch(batch.key, stage.function.apply(batch.records)));
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    out.put(Batch.END);
+                }
+            });
+        }
+    }
+
+    /**
+     * 추출 단계 - 분할 조건 하나를 읽어 배치 단위로 sink에 넘긴다
+     */
+    interface Extractor {
+        void extract(Map<String, Object> partition, BatchSink sink) throws InterruptedException;
+    }
+
+    /**
+     * 추출 단계 출력 - 큐가 가득 차면 자리가 날 때까지 기다린다
+     */
+    interface BatchSink {
+        void accept(List<Map<String, Object>> batch) throws InterruptedException;
+    }
+
+    interface StageFunction {
+        List<Map<String, Object>> apply(List<Map<String, Object>> batch);
+    }
+
+    private interface StageTask {
+        void run() throws InterruptedException;
+    }
+
+    private static final class Stage {
+        final int parallelism;
+        final StageFunction function;
+
+        Stage(int parallelism, StageFunction function) {
+            this.parallelism = parallelism;
+            this.function = function;
+        }
+    }
+
+    /**
+     * 단계 간 전달 단위 - key = (분할 번호 << 32) | 분할 안의 배치 순번
+     */
+    private static final class Batch {
+        static final Batch END = new Batch(-1, List.of());
+
+        final long key;
+        final List<Map<String, Object>> records;
+
+        Batch(long key, List<Map<String, Object>> records) {
+            this.key = key;
+            this.records = records;
+        }
+    }
+
+    /**
+     * 한 번의 실행 - 첫 실패를 기록하고 이번 실행의 단계 작업을 모두 중단시킨다
+     */
+    private static final class Run {
+        private final ExecutorService executor;
+        private final ConcurrentLinkedQueue<Future<?>> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Run(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        void submit(StageTask task) {
+            tasks.add(executor.submit(() -> {
+                try {
+                    task.run();
+                } catch (InterruptedException e) {
+                    // 다른 단계 실패로 중단됨
+                } catch (Throwable t) {
+                    if (failure.compareAndSet(null, t)) {
+                        cancel();
+                    }
+                }
+            }));
+        }
+
+        void cancel() {
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+
+        void throwIfFailed() {
+            Throwable t = failure.get();
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            if (t != null) {
+                throw new RuntimeException("Pipeline stage failed", t);
+            }
+        }
+    }
+}
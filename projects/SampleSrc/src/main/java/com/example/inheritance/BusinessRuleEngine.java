@@ -0,0 +1,256 @@
+package com.example.inheritance;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * 컴파일된 비즈니스 규칙 엔진 - 규칙 집합을 한 번 배열로 만들어 두고 AND 조건으로 단락 평가
+ * 연관관계: BusinessProcessor -> BusinessRuleEngine
+ *
+ * - 평가 순서는 처음에는 비용 힌트가 낮은 규칙부터 (같으면 등록 순서)
+ * - 실행 중 규칙별 실패율을 모아 "비용 / 실패율"이 작은 규칙(싸고 잘 걸러내는 규칙)을 앞으로 재배치
+ *   (AND 단락 평가에서 기대 비용을 최소화하는 순서). 재배치 후 통계는 절반으로 줄여 최근 데이터를 더 반영한다.
+ * - 배치 평가는 규칙 하나씩 살아남은 레코드에만 적용하므로 한 번 실패한 레코드는 이후 규칙을 평가하지 않는다
+ * - 레코드 단건 평가는 통계를 표본(1/SAMPLE_RATE)으로만 기록해 평가 경로에 동기화가 없다
+ *
+ * 규칙 술어는 여러 스레드에서 동시에 호출될 수 있으므로 상태가 없어야 한다.
+ */
+public final class BusinessRuleEngine<T> {
+
+    private static final int SAMPLE_RATE = 64;
+    private static final long REORDER_INTERVAL = 4_096;
+    private static final double MIN_FAILURE_RATE = 0.001;
+
+    private final String name;
+    private final String[] ruleNames;
+    private final Predicate<? super T>[] predicates;
+    private final int[] costs;
+    private final Map<String, Integer> ruleIndex;
+
+    // 현재 평가 순서 (규칙 번호 배열) - 재배치 때 새 배열로 교체
+    private volatile int[] order;
+
+    // 규칙별 평가/실패 건수 - statsLock으로 보호 (배치마다 또는 표본마다 한 번씩만 갱신)
+    private final Object statsLock = new Object();
+    private final long[] evaluated;
+    private final long[] failed;
+    private long observedSinceReorder;
+    private long reorders;
+
+    private BusinessRuleEngine(String name, List<String> names, List<Predicate<? super T>> rules, List<Integer> ruleCosts) {
+        int count = names.size();
+        this.name = name;
+        this.ruleNames = names.toArray(new String[0]);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate<? super T>[] compiled = rules.toArray(new Predicate[0]);
+        this.predicates = compiled;
+        this.costs = new int[count];
+        Map<String, Integer> index = new HashMap<>();
+        Integer[] initial = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            costs[i] = ruleCosts.get(i);
+            index.put(ruleNames[i], i);
+            initial[i] = i;
+        }
+        this.ruleIndex = Collections.unmodifiableMap(index);
+        Arrays.sort(initial, Comparator.comparingInt((Integer i) -> costs[i]).thenComparingInt(i -> i));
+        this.order = Arrays.stream(initial).mapToInt(Integer::intValue).toArray();
+        this.evaluated = new long[count];
+        this.failed = new long[count];
+    }
+
+    public static <T> Builder<T> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    /**
+     * 모든 규칙을 통과하면 true - 현재 순서로 단락 평가
+     */
+    public boolean test(T record) {
+        int[] current = order;
+        if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            for (int rule : current) {
+                if (!predicates[rule].test(record)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // 표본 - 이번 평가만 통계에 반영
+        long[] sampledEvaluated = new long[predicates.length];
+        long[] sampledFailed = new long[predicates.length];
+        boolean passed = true;
+        for (int rule : current) {
+            sampledEvaluated[rule]++;
+            if (!predicates[rule].test(record)) {
+                sampledFailed[rule]++;
+                passed = false;
+                break;
+            }
+        }
+        record(sampledEvaluated, sampledFailed, 1);
+        return passed;
+    }
+
+    /**
+     * 레코드별 통과 여부 - 규칙 단위로 한 번씩 훑으며 살아남은 레코드만 다음 규칙에 넘긴다
+     */
+    public boolean[] evaluate(List<? extends T> records) {
+        int size = records.size();
+        boolean[] results = new boolean[size];
+        Arrays.fill(results, true);
+        int[] alive = new int[size];
+        for (int i = 0; i < size; i++) {
+            alive[i] = i;
+        }
+        int aliveCount = size;
+        long[] batchEvaluated = new long[predicates.length];
+        long[] batchFailed = new long[predicates.length];
+        for (int rule : order) {
+            if (aliveCount == 0) {
+                break;
+            }
+            Predicate<? super T> predicate = predicates[rule];
+            int kept = 0;
+            for (int i = 0; i < aliveCount; i++) {
+                int index = alive[i];
+                if (predicate.test(records.get(index))) {
+                    alive[kept++] = index;
+                } else {
+                    results[index] = false;
+                }
+            }
+            batchEvaluated[rule] += aliveCount;
+            batchFailed[rule] += aliveCount - kept;
+            aliveCount = kept;
+        }
+        record(batchEvaluated, batchFailed, size);
+        return results;
+    }
+
+    /**
+     * 모든 레코드가 모든 규칙을 통과하면 true - 실패한 레코드가 나오면 바로 중단
+     */
+    public boolean allMatch(List<? extends T> records) {
+        long[] batchEvaluated = new long[predicates.length];
+        long[] batchFailed = new long[predicates.length];
+        boolean passed = true;
+        outer:
+        for (int rule : order) {
+            Predicate<? super T> predicate = predicates[rule];
+            for (T record : records) {
+                batchEvaluated[rule]++;
+                if (!predicate.test(record)) {
+                    batchFailed[rule]++;
+                    passed = false;
+                    break outer;
+                }
+            }
+        }
+        record(batchEvaluated, batchFailed, records.size());
+        return passed;
+    }
+
+    /**
+     * 이름으로 규칙 하나만 평가 - 등록되지 않은 규칙은 통과 (통계에는 반영하지 않음)
+     */
+    public boolean testRule(String ruleName, T record) {
+        Integer rule = ruleIndex.get(ruleName);
+        return rule == null || predicates[rule].test(record);
+    }
+
+    public List<String> currentOrder() {
+        int[] current = order;
+        List<String> names = new ArrayList<>(current.length);
+        for (int rule : current) {
+            names.add(ruleNames[rule]);
+        }
+        return names;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("engine", name);
+        stats.put("order", currentOrder());
+        synchronized (statsLock) {
+            stats.put("reorders", reorders);
+            Map<String, Object> rules = new LinkedHashMap<>();
+            for (int i = 0; i < ruleNames.length; i++) {
+                Map<String, Object> rule = new LinkedHashMap<>();
+                rule.put("cost", costs[i]);
+                rule.put("evaluated", evaluated[i]);
+                rule.put("failed", failed[i]);
+                rule.put("failureRate", evaluated[i] == 0 ? 0.0 : (double) failed[i] / evaluated[i]);
+                rules.put(ruleNames[i], rule);
+            }
+            stats.put("rules", rules);
+        }
+        return stats;
+    }
+
+    private void record(long[] batchEvaluated, long[] batchFailed, int records) {
+        synchronized (statsLock) {
+            for (int i = 0; i < batchEvaluated.length; i++) {
+                evaluated[i] += batchEvaluated[i];
+                failed[i] += batchFailed[i];
+            }
+            observedSinceReorder += records;
+            if (observedSinceReorder >= REORDER_INTERVAL) {
+                reorder();
+            }
+        }
+    }
+
+    // statsLock 안에서 호출
+    private void reorder() {
+        double[] rank = new double[ruleNames.length];
+        Integer[] next = new Integer[ruleNames.length];
+        for (int i = 0; i < rank.length; i++) {
+            // 아직 평가되지 않은 규칙(앞 규칙이 모두 걸러냄)은 실패율을 모르므로 비용만으로 판단
+            double failureRate = evaluated[i] == 0 ? MIN_FAILURE_RATE : (double) failed[i] / evaluated[i];
+            rank[i] = costs[i] / Math.max(failureRate, MIN_FAILURE_RATE);
+            next[i] = i;
+            evaluated[i] /= 2;
+            failed[i] /= 2;
+        }
+        Arrays.sort(next, Comparator.comparingDouble((Integer i) -> rank[i]).thenComparingInt(i -> costs[i]));
+        int[] reordered = Arrays.stream(next).mapToInt(Integer::intValue).toArray();
+        if (!Arrays.equals(reordered, order)) {
+            order = reordered;
+            reorders++;
+        }
+        observedSinceReorder = 0;
+    }
+
+    /**
+     * 규칙 등록 - cost는 상대 비용 힌트 (필드 비교 1, 컬렉션 조회/숫자 비교 여러 개는 그보다 크게)
+     */
+    public static final class Builder<T> {
+        private final String name;
+        private final List<String> names = new ArrayList<>();
+        private final List<Predicate<? super T>> rules = new ArrayList<>();
+        private final List<Integer> costs = new ArrayList<>();
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder<T> rule(String ruleName, int cost, Predicate<? super T> predicate) {
+            if (names.contains(ruleName)) {
+                throw new IllegalArgumentException("Duplicate business rule: " + ruleName);
+            }
+            if (cost <= 0) {
+                throw new IllegalArgumentException("Rule cost must be positive: " + ruleName + "=" + cost);
+            }
+            names.add(ruleName);
+            rules.add(Objects.requireNonNull(predicate, "predicate"));
+            costs.add(cost);
+            return this;
+        }
+
+        public BusinessRuleEngine<T> build() {
+            return new BusinessRuleEngine<>(name, names, rules, costs);
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.example.inheritance;
 
+import com.example.performance.DaemonThreads;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 복잡한 상속 체인 테스트 (4단계) - 연관관계 도출 테스트용
@@ -51,9 +60,28 @@ abstract class BaseProcessor {
 // 2단계: 데이터 처리 기본 클래스
 abstract class DataProcessor extends BaseProcessor {
     
+    /**
+     * 파이프라인 실행 단계 - 배치(batchSize 단위)가 단계 사이의 용량 제한 큐를 따라 흐른다
+     * EXTRACT(extractDataInto) -> VALIDATE(validateData + processSingleBatch) -> RULES(checkBatchRules) -> ENRICH(enrichBatch)
+     */
+    public enum PipelineStage { EXTRACT, VALIDATE, RULES, ENRICH }
+    
     protected String dataSource;
     protected int batchSize;
     
+    // 파이프라인 실행 설정 (기본: 기존 순차 실행, 단계별 스레드 1개)
+    private boolean pipelineEnabled;
+    private int pipelineQueueCapacity = 4;
+    private final Map<PipelineStage, Integer> stageParallelism = new EnumMap<>(Map.of(
+        PipelineStage.EXTRACT, 1,
+        PipelineStage.VALIDATE, 1,
+        PipelineStage.RULES, 1,
+        PipelineStage.ENRICH, 1
+    ));
+    
+    // 단계 스레드 실행기 - 지정하지 않으면 첫 파이프라인 실행 때 처리기 전용 풀을 만들어 계속 재사용
+    private ExecutorService pipelineExecutor;
+    
     public DataProcessor(String processorId, String version, String dataSource, int batchSize) {
         super(processorId, version);
         this.dataSource = dataSource;
@@ -64,9 +92,51 @@ abstract class DataProcessor extends BaseProcessor {
     public abstract List<Map<String, Object>> extractData(Map<String, Object> criteria);
     public abstract boolean validateData(List<Map<String, Object>> data);
     
+    // 파이프라인 설정
+    public void setPipelineEnabled(boolean pipelineEnabled) {
+        this.pipelineEnabled = pipelineEnabled;
+    }
+    
+    public boolean isPipelineEnabled() {
+        return pipelineEnabled;
+    }
+    
+    /**
+     * 단계별 동시 실행 스레드 수 - 1보다 크게 주려면 해당 단계의 하위 클래스 메서드가 스레드 안전해야 한다
+     * EXTRACT는 partitionCriteria가 나눈 조건 단위로만 병렬화된다
+     */
+    public void setStageParallelism(PipelineStage stage, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Stage parallelism must be positive: " + stage + "=" + parallelism);
+        }
+        stageParallelism.put(stage, parallelism);
+    }
+    
+    /**
+     * 단계 스레드를 빌려 쓸 실행기 지정 - 단계 스레드는 큐에서 대기하므로
+     * 실행 한 번에 단계 병렬도 합계만큼의 작업을 동시에 돌릴 수 있어야 한다 (고정 크기 풀이면 교착).
+     * 실행기 종료는 호출자 책임이다.
+     */
+    public synchronized void setPipelineExecutor(ExecutorService pipelineExecutor) {
+        this.pipelineExecutor = pipelineExecutor;
+    }
+    
+    /**
+     * 단계 사이 큐 용량 (배치 수) - 뒷단계가 느리면 앞단계가 이만큼만 앞서 나간다
+     */
+    public void setPipelineQueueCapacity(int pipelineQueueCapacity) {
+        if (pipelineQueueCapacity <= 0) {
+            throw new IllegalArgumentException("Pipeline queue capacity must be positive: " + pipelineQueueCapacity);
+        }
+        this.pipelineQueueCapacity = pipelineQueueCapacity;
+    }
+    
     // 데이터 처리 공통 로직
     protected Map<String, Object> processDataBatch(Object input) {
         Map<String, Object> criteria = (Map<String, Object>) input;
+        if (pipelineEnabled) {
+            return processDataPipelined(criteria);
+        }
         
         // 데이터 추출
         List<Map<String, Object>> rawData = extractData(criteria);
@@ -81,30 +151,125 @@ abstract class DataProcessor extends BaseProcessor {
         // 배치 처리
         List<Map<String, Object>> processedData = processBatches(rawData);
         
-        Map<String, Object> result = Map.of(
+        // 하위 단계(BusinessProcessor)가 결과에 값을 추가하므로 변경 가능한 맵으로 반환
+        Map<String, Object> result = new HashMap<>(Map.of(
             "processedRecords", processedData.size(),
             "batchSize", batchSize,
             "dataSource", dataSource,
             "data", processedData
-        );
+        ));
         
         return result;
     }
     
     private List<Map<String, Object>> processBatches(List<Map<String, Object>> data) {
-        // 배치 단위로 데이터 처리
+        // 배치 단위로 데이터 처리 - 파이프라인 실행과 같은 결과가 되도록 보강도 배치 단위로 적용
+        List<Map<String, Object>> processed = new ArrayList<>(data.size());
         for (int i = 0; i < data.size(); i += batchSize) {
             int endIndex = Math.min(i + batchSize, data.size());
             List<Map<String, Object>> batch = data.subList(i, endIndex);
             processSingleBatch(batch);
+            processed.addAll(enrichBatch(batch));
         }
-        return data;
+        return processed;
     }
     
     protected void processSingleBatch(List<Map<String, Object>> batch) {
         logProcessing("Processing batch of " + batch.size() + " records");
     }
     
+    // 파이프라인 단계 훅 - 기본 구현은 기존 추상 메서드를 배치 단위로 호출하므로 하위 클래스 변경 없이 동작한다
+    
+    /**
+     * 추출 병렬화 단위 - 기본은 조건 하나 (EXTRACT 병렬도를 올리려면 기간/샤드 등으로 나눠 반환)
+     */
+    protected List<Map<String, Object>> partitionCriteria(Map<String, Object> criteria) {
+        return List.of(criteria);
+    }
+    
+    /**
+     * 추출 단계 - 기본은 extractData 결과를 batchSize로 잘라 내보낸다
+     * 페이지 단위로 읽는 하위 클래스는 읽는 즉시 sink로 넘기면 추출(I/O)과 뒷단계(CPU)가 겹친다
+     */
+    protected void extractDataInto(Map<String, Object> criteria, BatchSink sink) throws InterruptedException {
+        List<Map<String, Object>> rawData = extractData(criteria);
+        logProcessing("Extracted " + rawData.size() + " records from " + dataSource);
+        for (int i = 0; i < rawData.size(); i += batchSize) {
+            sink.accept(rawData.subList(i, Math.min(i + batchSize, rawData.size())));
+        }
+    }
+    
+    /**
+     * 비즈니스 규칙 단계 - 기본은 규칙 없음
+     */
+    protected boolean checkBatchRules(List<Map<String, Object>> batch) {
+        return true;
+    }
+    
+    /**
+     * 보강 단계 - 레코드 단위 계산을 여기서 하면 파이프라인 실행에서 다른 단계와 겹쳐 돈다
+     * 기본은 그대로 통과. 순차 실행에서도 배치마다 호출된다.
+     */
+    protected List<Map<String, Object>> enrichBatch(List<Map<String, Object>> batch) {
+        return batch;
+    }
+    
+    /**
+     * 추출 단계 출력 - 큐가 가득 차면 자리가 날 때까지 기다린다
+     */
+    protected interface BatchSink {
+        void accept(List<Map<String, Object>> batch) throws InterruptedException;
+    }
+    
+    /**
+     * 파이프라인 실행 - 단계 연결/순서 보존/실패 전파는 BatchPipeline이 맡는다
+     * validateData는 배치 단위로 호출되므로 레코드 단위 검증을 전제로 한다.
+     */
+    private Map<String, Object> processDataPipelined(Map<String, Object> criteria) {
+        AtomicBoolean rulesFailed = new AtomicBoolean();
+        BatchPipeline pipeline = new BatchPipeline(pipelineExecutor(), pipelineQueueCapacity)
+            .stage(PipelineStage.VALIDATE.name(), stageParallelism.get(PipelineStage.VALIDATE), batch -> {
+                if (!validateData(batch)) {
+                    throw new RuntimeException("Data validation failed");
+                }
+                processSingleBatch(batch);
+                return batch;
+            })
+            .stage(PipelineStage.RULES.name(), stageParallelism.get(PipelineStage.RULES), batch -> {
+                if (!checkBatchRules(batch) && rulesFailed.compareAndSet(false, true)) {
+                    logProcessing("Business rules validation failed");
+                }
+                return batch;
+            })
+            .stage(PipelineStage.ENRICH.name(), stageParallelism.get(PipelineStage.ENRICH), this::enrichBatch);
+        
+        List<List<Map<String, Object>>> batches = pipeline.run(partitionCriteria(criteria),
+            stageParallelism.get(PipelineStage.EXTRACT), (partition, sink) -> extractDataInto(partition, sink::accept));
+        List<Map<String, Object>> processedData = new ArrayList<>();
+        batches.forEach(processedData::addAll);
+        logProcessing("Pipelined " + processedData.size() + " records in " + batches.size() + " batches");
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("processedRecords", processedData.size());
+        result.put("batchSize", batchSize);
+        result.put("dataSource", dataSource);
+        result.put("data", processedData);
+        if (rulesFailed.get()) {
+            result.put("businessRulesValid", false);
+        }
+        return result;
+    }
+    
+    /**
+     * 처리기 전용 풀 - 필요한 만큼 스레드를 늘리고 유휴 스레드는 60초 후 종료되는 데몬 스레드 풀
+     */
+    private synchronized ExecutorService pipelineExecutor() {
+        if (pipelineExecutor == null) {
+            pipelineExecutor = Executors.newCachedThreadPool(DaemonThreads.factory(processorId + "-pipeline"));
+        }
+        return pipelineExecutor;
+    }
+    
     // 오버라이드된 processData 메서드
     @Override
     public Map<String, Object> processData(Object input) {
@@ -115,37 +280,60 @@ abstract class DataProcessor extends BaseProcessor {
 // 3단계: 비즈니스 로직 처리 클래스
 abstract class BusinessProcessor extends DataProcessor {
     
+    private static final List<String> DEFAULT_BUSINESS_RULES = List.of(
+        "RULE_001: User status must be ACTIVE",
+        "RULE_002: Order amount must be positive",
+        "RULE_003: Product stock must be available",
+        "RULE_004: Payment method must be valid",
+        "RULE_005: Customer credit rating must be acceptable"
+    );
+    
+    private static final Set<String> VALID_ORDER_STATUSES = Set.of("PENDING", "CONFIRMED", "SHIPPED");
+    
     protected String businessUnit;
     protected List<String> businessRules;
     
+    // 레코드 규칙 (고객/주문/상품) - 인스턴스마다 한 번 컴파일
+    protected final BusinessRuleEngine<Map<String, Object>> recordRules;
+    
     public BusinessProcessor(String processorId, String version, String dataSource, 
                            int batchSize, String businessUnit) {
         super(processorId, version, dataSource, batchSize);
         this.businessUnit = businessUnit;
         this.businessRules = initializeBusinessRules();
+        this.recordRules = compileRecordRules();
     }
     
     // 추상 메서드 - 하위 클래스에서 구현
     public abstract Map<String, Object> applyBusinessLogic(Map<String, Object> data);
     public abstract boolean validateBusinessRules(Map<String, Object> data);
     
-    // 비즈니스 규칙 초기화
+    // 비즈니스 규칙 초기화 (불변 목록 공유)
     protected List<String> initializeBusinessRules() {
-        return List.of(
-            "RULE_001: User status must be ACTIVE",
-            "RULE_002: Order amount must be positive",
-            "RULE_003: Product stock must be available",
-            "RULE_004: Payment method must be valid",
-            "RULE_005: Customer credit rating must be acceptable"
-        );
+        return DEFAULT_BUSINESS_RULES;
+    }
+    
+    /**
+     * 레코드 규칙 컴파일 - 비용 힌트: 필드 비교 위주 2, 금액 비교 + 상태 집합 조회 3
+     * 생성자에서 호출되므로 재정의할 수 없게 둔다. 술어는 메서드 참조라 평가 시점에
+     * 하위 클래스의 isValidXxx 재정의가 그대로 적용된다.
+     */
+    private BusinessRuleEngine<Map<String, Object>> compileRecordRules() {
+        return BusinessRuleEngine.<Map<String, Object>>builder(processorId + "-records")
+            .rule("CUSTOMER", 2, this::isValidCustomer)
+            .rule("ORDER", 3, this::isValidOrder)
+            .rule("PRODUCT", 2, this::isValidProduct)
+            .build();
     }
     
     // 비즈니스 로직 적용
     protected Map<String, Object> processWithBusinessLogic(Object input) {
         Map<String, Object> baseResult = super.processData(input);
         
-        // 비즈니스 규칙 검증
-        boolean rulesValid = validateBusinessRules(baseResult);
+        // 비즈니스 규칙 검증 (파이프라인 실행이면 RULES 단계에서 배치별로 이미 검증됨)
+        boolean rulesValid = isPipelineEnabled()
+            ? !Boolean.FALSE.equals(baseResult.get("businessRulesValid"))
+            : validateBusinessRules(baseResult);
         if (!rulesValid) {
             logProcessing("Business rules validation failed");
             baseResult.put("businessRulesValid", false);
@@ -165,6 +353,19 @@ abstract class BusinessProcessor extends DataProcessor {
         return processWithBusinessLogic(input);
     }
     
+    /**
+     * 파이프라인 RULES 단계 - 배치를 처리 결과와 같은 형태로 감싸 validateBusinessRules에 넘긴다
+     */
+    @Override
+    protected boolean checkBatchRules(List<Map<String, Object>> batch) {
+        Map<String, Object> batchResult = new HashMap<>();
+        batchResult.put("processedRecords", batch.size());
+        batchResult.put("batchSize", batchSize);
+        batchResult.put("dataSource", dataSource);
+        batchResult.put("data", batch);
+        return validateBusinessRules(batchResult);
+    }
+    
     // 공통 비즈니스 유틸리티 메서드들
     protected boolean isValidCustomer(Map<String, Object> customerData) {
         String status = (String) customerData.get("status");
@@ -176,7 +377,7 @@ abstract class BusinessProcessor extends DataProcessor {
         BigDecimal amount = (BigDecimal) orderData.get("totalAmount");
         String status = (String) orderData.get("status");
         return amount != null && amount.compareTo(BigDecimal.ZERO) > 0 && 
-               List.of("PENDING", "CONFIRMED", "SHIPPED").contains(status);
+               VALID_ORDER_STATUSES.contains(status);
     }
     
     protected boolean isValidProduct(Map<String, Object> productData) {
@@ -247,14 +448,13 @@ public class ComplexInheritanceChain extends BusinessProcessor {
         return true;
     }
     
-    // 추상 메서드 구현 - 비즈니스 로직 적용
+    // 추상 메서드 구현 - 비즈니스 로직 적용 (레코드 메트릭은 enrichBatch에서 이미 계산됨)
     @Override
     public Map<String, Object> applyBusinessLogic(Map<String, Object> data) {
         logProcessing("Advanced business logic application started");
         
         // 고급 비즈니스 로직 적용
-        Map<String, Object> enrichedData = enrichDataWithAdvancedMetrics(data);
-        Map<String, Object> optimizedData = optimizeDataForPerformance(enrichedData);
+        Map<String, Object> optimizedData = optimizeDataForPerformance(data);
         Map<String, Object> finalData = applyAdvancedTransformations(optimizedData);
         
         finalData.put("advancedFeatures", advancedFeatures);
@@ -264,16 +464,26 @@ public class ComplexInheritanceChain extends BusinessProcessor {
         return finalData;
     }
     
+    /**
+     * 보강 단계 - 레코드마다 고급 메트릭을 붙인 복사본을 만든다 (추출 레코드는 불변)
+     */
+    @Override
+    protected List<Map<String, Object>> enrichBatch(List<Map<String, Object>> batch) {
+        List<Map<String, Object>> enriched = new ArrayList<>(batch.size());
+        for (Map<String, Object> record : batch) {
+            enriched.add(enrichDataWithAdvancedMetrics(new HashMap<>(record)));
+        }
+        return enriched;
+    }
+    
     // 추상 메서드 구현 - 비즈니스 규칙 검증
     @Override
     public boolean validateBusinessRules(Map<String, Object> data) {
         logProcessing("Advanced business rules validation started");
         
-        // 기본 비즈니스 규칙 검증 (부모 클래스 로직 활용)
-        for (Map<String, Object> record : (List<Map<String, Object>>) data.get("data")) {
-            if (!isValidCustomer(record) || !isValidOrder(record) || !isValidProduct(record)) {
-                return false;
-            }
+        // 기본 비즈니스 규칙 검증 (부모 클래스 규칙 엔진으로 배치 한 번에 평가)
+        if (!recordRules.allMatch((List<Map<String, Object>>) data.get("data"))) {
+            return false;
         }
         
         // 고급 비즈니스 규칙 검증
@@ -317,7 +527,7 @@ public class ComplexInheritanceChain extends BusinessProcessor {
     }
     
     private Map<String, Object> enrichDataWithAdvancedMetrics(Map<String, Object> data) {
-        // 고급 메트릭 추가
+        // 레코드 단위 고급 메트릭 추가
         data.put("processingTimestamp", System.currentTimeMillis());
         data.put("qualityScore", calculateDataQualityScore(data));
         data.put("riskLevel", assessRiskLevel(data));
@@ -385,11 +595,20 @@ abstract class BusinessProcessor extends DataProcessor {
     protected String businessDomain;
     protected Map<String, String> businessConfigurations;
     
+    // 워크플로우 규칙 - 인스턴스마다 한 번 컴파일 (레코드마다 규칙 이름 분기 없음)
+    private final BusinessRuleEngine<Map<String, Object>> workflowRules;
+    
     public BusinessProcessor(String processorId, String version, String dataSource, 
                            int batchSize, String businessDomain) {
         super(processorId, version, dataSource, batchSize);
         this.businessDomain = businessDomain;
         this.businessConfigurations = initializeBusinessConfigurations();
+        this.workflowRules = BusinessRuleEngine.<Map<String, Object>>builder(processorId + "-workflow")
+            .rule("CUSTOMER_VALIDATION", 1, this::validateCustomerBusinessRules)
+            .rule("ORDER_VALIDATION", 1, this::validateOrderBusinessRules)
+            .rule("PRODUCT_VALIDATION", 1, this::validateProductBusinessRules)
+            .rule("PAYMENT_VALIDATION", 1, this::validatePaymentBusinessRules)
+            .build();
     }
     
     // 추상 메서드 - 최종 구현 클래스에서 정의
@@ -410,6 +629,19 @@ abstract class BusinessProcessor extends DataProcessor {
     protected Map<String, Object> processBusinessWorkflow(Object input) {
         Map<String, Object> baseData = super.processData(input);
         
+        // 워크플로우 규칙 - 레코드 배치를 한 번에 평가해 통과하지 못한 레코드 수를 남긴다
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> records = (List<Map<String, Object>>) baseData.get("data");
+        if (records != null) {
+            int rejected = 0;
+            for (boolean passed : executeBusinessRules(records)) {
+                if (!passed) {
+                    rejected++;
+                }
+            }
+            baseData.put("workflowRulesRejected", rejected);
+        }
+        
         // 비즈니스 워크플로우 실행
         Map<String, Object> workflowResult = executeBusinessWorkflow(baseData);
         
@@ -430,18 +662,15 @@ abstract class BusinessProcessor extends DataProcessor {
     protected boolean executeBusinessRule(String ruleName, Map<String, Object> data) {
         logProcessing("Executing business rule: " + ruleName);
         
-        switch (ruleName) {
-            case "CUSTOMER_VALIDATION":
-                return validateCustomerBusinessRules(data);
-            case "ORDER_VALIDATION":
-                return validateOrderBusinessRules(data);
-            case "PRODUCT_VALIDATION":
-                return validateProductBusinessRules(data);
-            case "PAYMENT_VALIDATION":
-                return validatePaymentBusinessRules(data);
-            default:
-                return true;
-        }
+        // 등록되지 않은 규칙은 통과
+        return workflowRules.testRule(ruleName, data);
+    }
+    
+    /**
+     * 배치 단위 전체 규칙 평가 - 레코드별 통과 여부
+     */
+    protected boolean[] executeBusinessRules(List<Map<String, Object>> records) {
+        return workflowRules.evaluate(records);
     }
     
     private boolean validateCustomerBusinessRules(Map<String, Object> data) {
@@ -567,6 +796,7 @@ public class ComplexInheritanceChain extends BusinessProcessor {
         workflowResult = executeWorkflowStep("DATA_PROCESSING", workflowResult);
         workflowResult = executeWorkflowStep("BUSINESS_LOGIC", workflowResult);
         workflowResult = executeWorkflowStep("VALIDATION", workflowResult);
+        workflowResult.put("paymentValidated", executeBusinessRule("PAYMENT_VALIDATION", workflowResult));
         workflowResult = executeWorkflowStep("FINALIZATION", workflowResult);
         
         workflowResult.put("workflowCompleted", true);
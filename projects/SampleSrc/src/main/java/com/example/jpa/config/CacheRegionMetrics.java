@@ -0,0 +1,91 @@
+package com.example.jpa.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 2차 캐시 영역별 적중률 - actuator metrics 엔드포인트로 노출
+ *
+ * GET /actuator/metrics/hibernate.cache.region.hit.ratio?tag=region:catalog.product
+ * GET /actuator/metrics/hibernate.cache.region.requests?tag=region:reference.category&tag=result:miss
+ *
+ * 값은 Hibernate 통계(hibernate.generate_statistics=true)에서 읽으며, 통계가 꺼져 있으면 NaN/0으로 보고된다.
+ * 적중률은 애플리케이션 시작 이후 누적 값이다 (구간 적중률은 requests 카운터의 rate로 계산).
+ */
+@Component
+public class CacheRegionMetrics implements MeterBinder {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (Map.Entry<String, String> region : CacheRegions.all().entrySet()) {
+            String name = region.getKey();
+            String type = region.getValue();
+
+            Gauge.builder("hibernate.cache.region.hit.ratio", statistics, s -> hitRatio(s, name))
+                .description("2차 캐시 영역 적중률 (hit / (hit + miss))")
+                .tags("region", name, "type", type)
+                .register(registry);
+
+            counter(registry, statistics, name, type, "hit", CacheRegionStatistics::getHitCount);
+            counter(registry, statistics, name, type, "miss", CacheRegionStatistics::getMissCount);
+
+            FunctionCounter.builder("hibernate.cache.region.puts", statistics, s -> count(s, name, CacheRegionStatistics::getPutCount))
+                .description("2차 캐시 영역 저장 건수")
+                .tags("region", name, "type", type)
+                .register(registry);
+        }
+    }
+
+    private static void counter(MeterRegistry registry, Statistics statistics, String name, String type, String result,
+                                ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder("hibernate.cache.region.requests", statistics, s -> count(s, name, value))
+            .description("2차 캐시 영역 조회 건수")
+            .tags("region", name, "type", type, "result", result)
+            .register(registry);
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics stats = regionStatistics(statistics, region);
+        if (stats == null) {
+            return Double.NaN;
+        }
+        long hits = stats.getHitCount();
+        long requests = hits + stats.getMissCount();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    private static double count(Statistics statistics, String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        CacheRegionStatistics stats = regionStatistics(statistics, region);
+        return stats == null ? 0 : value.applyAsDouble(stats);
+    }
+
+    /**
+     * 영역은 처음 사용될 때 만들어지므로 없으면 null
+     */
+    private static CacheRegionStatistics regionStatistics(Statistics statistics, String region) {
+        if (!statistics.isStatisticsEnabled()) {
+            return null;
+        }
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
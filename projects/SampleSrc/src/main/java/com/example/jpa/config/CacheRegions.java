@@ -0,0 +1,49 @@
+package com.example.jpa.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hibernate 2차 캐시 영역 이름
+ * 엔티티의 @Cache(region), 리포지토리의 쿼리 캐시 힌트, ehcache.xml, CacheRegionMetrics가 함께 사용한다.
+ *
+ * - reference.*: 거의 바뀌지 않는 기준 데이터 (카테고리 트리)
+ * - catalog.*: 읽기가 대부분이지만 갱신도 있는 데이터 (상품)
+ * - query.*: 쿼리 캐시 결과 (엔티티 ID 목록 - 엔티티 자체는 엔티티 영역에서 읽음)
+ */
+public final class CacheRegions {
+
+    public static final String CATEGORY = "reference.category";
+    public static final String CATEGORY_CHILDREN = "reference.category.subCategories";
+    public static final String PRODUCT = "catalog.product";
+    public static final String ROOT_CATEGORIES_QUERY = "query.category.roots";
+
+    /**
+     * 재고 네이티브 UPDATE의 동기화 쿼리 공간
+     * PRODUCTS 대신 별도 공간을 지정해 Hibernate가 상품 영역 전체를 비우지 않도록 하고,
+     * 바뀐 상품 한 건만 서비스에서 무효화한다.
+     */
+    public static final String PRODUCT_STOCK_SPACE = "PRODUCTS_STOCK";
+
+    private static final Map<String, String> REGIONS;
+
+    static {
+        Map<String, String> regions = new LinkedHashMap<>();
+        regions.put(CATEGORY, "entity");
+        regions.put(CATEGORY_CHILDREN, "collection");
+        regions.put(PRODUCT, "entity");
+        regions.put(ROOT_CATEGORIES_QUERY, "query");
+        REGIONS = Collections.unmodifiableMap(regions);
+    }
+
+    private CacheRegions() {
+    }
+
+    /**
+     * 영역 이름 -> 종류 (entity, collection, query)
+     */
+    public static Map<String, String> all() {
+        return REGIONS;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.jpa.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * JPA API(/api/jpa/**) 웹 설정
+ * 영속성 설정(JpaConfig)과 분리 - MVC가 없는 컨텍스트(배치, 리포지토리 테스트)에서는 이 클래스를 제외하면 된다.
+ */
+@Configuration
+public class JpaWebConfig implements WebMvcConfigurer {
+
+    /**
+     * API별 SQL 실행 건수 측정 (@SqlStatementBudget)
+     */
+    @Bean
+    public SqlStatementBudgetInterceptor sqlStatementBudgetInterceptor() {
+        return new SqlStatementBudgetInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementBudgetInterceptor()).addPathPatterns("/api/jpa/**");
+    }
+}
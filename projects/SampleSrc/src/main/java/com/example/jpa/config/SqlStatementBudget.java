@@ -0,0 +1,15 @@
+package com.example.jpa.config;
+
+import java.lang.annotation.*;
+
+/**
+ * API 한 번 호출에 허용하는 SQL 실행 건수 (응답 직렬화 중 지연 로딩 포함)
+ * SqlStatementBudgetInterceptor가 초과 시 경고를 남긴다. 기준값은 샘플 데이터 규모 기준.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlStatementBudget {
+
+    int value();
+}
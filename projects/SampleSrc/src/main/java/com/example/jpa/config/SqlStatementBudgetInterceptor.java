@@ -0,0 +1,60 @@
+package com.example.jpa.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @SqlStatementBudget이 붙은 API의 요청당 SQL 실행 건수 측정
+ * 예산을 넘으면 경고를 남기고 API별 초과 횟수를 기록한다 (응답은 그대로 반환).
+ */
+public class SqlStatementBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetInterceptor.class);
+
+    private static final String SCOPE_ATTRIBUTE = SqlStatementBudgetInterceptor.class.getName() + ".scope";
+
+    private final Map<String, AtomicLong> violations = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (budgetOf(handler) != null) {
+            request.setAttribute(SCOPE_ATTRIBUTE, SqlStatementCounter.open());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        SqlStatementCounter.Scope scope = (SqlStatementCounter.Scope) request.getAttribute(SCOPE_ATTRIBUTE);
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+        SqlStatementBudget budget = budgetOf(handler);
+        if (scope.getCount() > budget.value()) {
+            String endpoint = ((HandlerMethod) handler).getShortLogMessage();
+            violations.computeIfAbsent(endpoint, key -> new AtomicLong()).incrementAndGet();
+            log.warn("SQL 실행 건수 초과 (N+1 의심): {} {} -> {}건 (예산 {}건)",
+                     request.getMethod(), request.getRequestURI(), scope.getCount(), budget.value());
+        }
+    }
+
+    public Map<String, AtomicLong> getViolations() {
+        return violations;
+    }
+
+    private SqlStatementBudget budgetOf(Object handler) {
+        return handler instanceof HandlerMethod
+            ? ((HandlerMethod) handler).getMethodAnnotation(SqlStatementBudget.class)
+            : null;
+    }
+}
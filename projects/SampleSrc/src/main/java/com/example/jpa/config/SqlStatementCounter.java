@@ -0,0 +1,87 @@
+package com.example.jpa.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * 스레드별 SQL 실행 건수 측정 - N+1 회귀 탐지용
+ *
+ * Hibernate가 SQL을 준비할 때마다 inspect()가 호출되므로, 열린 Scope 안에서 실행된 문장 수를 센다.
+ * 등록: spring.jpa.properties.hibernate.session_factory.statement_inspector (application.properties)
+ *
+ * 사용 예 (통합 테스트):
+ *   SqlStatementCounter.expectAtMost(3, "GET /api/jpa/orders", () -> mockMvc.perform(get("/api/jpa/orders")));
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+        }
+        return sql;
+    }
+
+    /**
+     * 측정 시작 - 닫을 때까지 이 스레드에서 실행된 SQL 수를 센다 (중첩 가능)
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static int count(Runnable action) {
+        try (Scope scope = open()) {
+            action.run();
+            return scope.getCount();
+        }
+    }
+
+    /**
+     * action 실행 중 SQL이 max건을 넘으면 IllegalStateException
+     */
+    public static <T> T expectAtMost(int max, String label, Supplier<T> action) {
+        try (Scope scope = open()) {
+            T result = action.get();
+            if (scope.getCount() > max) {
+                throw new IllegalStateException("SQL 실행 건수 초과 (" + label + "): " + scope.getCount() + " > " + max);
+            }
+            return result;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package com.example.jpa.controller;
 
+import com.example.jpa.config.SqlStatementBudget;
 import com.example.jpa.entity.Order;
 import com.example.jpa.entity.OrderStatus;
+import com.example.jpa.service.JpaOrderQueryService;
 import com.example.jpa.service.JpaOrderService;
+import com.example.jpa.dto.OrderListItem;
+import com.example.jpa.dto.OrderStatusTransitionResult;
 import com.example.jpa.dto.OrderSummaryDto;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +35,9 @@ public class JpaOrderController {
     @Autowired
     private JpaOrderService jpaOrderService;
     
+    @Autowired
+    private JpaOrderQueryService jpaOrderQueryService;
+    
     // 1. 기본 CRUD API
     /**
      * 주문 생성
@@ -98,7 +107,7 @@ public class JpaOrderController {
     
     /**
      * 주문 상세 정보 조회
-     * FRONTEND_API: GET /api/jpa/orders/details/{orderNumber} -> API_ENTRY: getOrderWithDetails() -> JPA: OrderRepository.findByOrderNumberWithDetails() -> TABLE: ORDERS, USERS, ORDER_ITEMS
+     * FRONTEND_API: GET /api/jpa/orders/details/{orderNumber} -> API_ENTRY: getOrderWithDetails() -> JPA: OrderRepository.findByOrderNumber(DETAIL) -> TABLE: ORDERS, USERS, ORDER_ITEMS, PRODUCTS
      */
     @GetMapping("/details/{orderNumber}")
     public ResponseEntity<Order> getOrderWithDetails(@PathVariable String orderNumber) {
@@ -109,7 +118,7 @@ public class JpaOrderController {
     
     /**
      * 주문 아이템과 함께 조회
-     * FRONTEND_API: GET /api/jpa/orders/{id}/with-items -> API_ENTRY: getOrderWithItems() -> JPA: OrderRepository.findByIdWithOrderItems() -> TABLE: ORDERS, ORDER_ITEMS
+     * FRONTEND_API: GET /api/jpa/orders/{id}/with-items -> API_ENTRY: getOrderWithItems() -> JPA: OrderRepository.findById(DETAIL) -> TABLE: ORDERS, USERS, ORDER_ITEMS, PRODUCTS
      */
     @GetMapping("/{id}/with-items")
     public ResponseEntity<Order> getOrderWithItems(@PathVariable Long id) {
@@ -121,101 +130,103 @@ public class JpaOrderController {
     // 3. 상태별 조회 API
     /**
      * 상태별 주문 조회
-     * FRONTEND_API: GET /api/jpa/orders/by-status/{status} -> API_ENTRY: getOrdersByStatus() -> JPA: OrderRepository.findByOrderStatus() -> TABLE: ORDERS
+     * FRONTEND_API: GET /api/jpa/orders/by-status/{status} -> API_ENTRY: getOrdersByStatus() -> JPA: OrderReadRepository.findByOrderStatus() -> TABLE: ORDERS
      */
     @GetMapping("/by-status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        List<Order> orders = jpaOrderService.getOrdersByStatus(status);
+    public ResponseEntity<List<OrderListItem>> getOrdersByStatus(@PathVariable OrderStatus status) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersByStatus(status);
         return ResponseEntity.ok(orders);
     }
     
     /**
      * 상태별 주문 (사용자 정보 포함)
-     * FRONTEND_API: GET /api/jpa/orders/by-status-with-user/{status} -> API_ENTRY: getOrdersByStatusWithUser() -> JPA: OrderRepository.findByOrderStatusWithUser() -> TABLE: ORDERS, USERS
+     * FRONTEND_API: GET /api/jpa/orders/by-status-with-user/{status} -> API_ENTRY: getOrdersByStatusWithUser() -> JPA: OrderReadRepository.findByOrderStatusWithUsername() -> TABLE: ORDERS, USERS
      */
     @GetMapping("/by-status-with-user/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatusWithUser(@PathVariable OrderStatus status) {
-        List<Order> orders = jpaOrderService.getOrdersByStatusWithUser(status);
+    public ResponseEntity<List<OrderSummaryDto>> getOrdersByStatusWithUser(@PathVariable OrderStatus status) {
+        List<OrderSummaryDto> orders = jpaOrderQueryService.getOrdersByStatusWithUser(status);
         return ResponseEntity.ok(orders);
     }
     
     // 4. 사용자별 조회 API
     /**
      * 사용자별 주문 조회
-     * FRONTEND_API: GET /api/jpa/orders/by-user/{userId} -> API_ENTRY: getOrdersByUserId() -> JPA: OrderRepository.findByUserUserId() -> TABLE: ORDERS, USERS
+     * FRONTEND_API: GET /api/jpa/orders/by-user/{userId} -> API_ENTRY: getOrdersByUserId() -> JPA: OrderReadRepository.findByUserId() -> TABLE: ORDERS, USERS
      */
+    @SqlStatementBudget(1)
     @GetMapping("/by-user/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUserId(@PathVariable Long userId) {
-        List<Order> orders = jpaOrderService.getOrdersByUserId(userId);
+    public ResponseEntity<List<OrderListItem>> getOrdersByUserId(@PathVariable Long userId) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersByUserId(userId);
         return ResponseEntity.ok(orders);
     }
     
     /**
      * 사용자별 주문 (금액순 정렬)
-     * FRONTEND_API: GET /api/jpa/orders/by-user-ordered/{userId} -> API_ENTRY: getOrdersByUserIdOrderByAmount() -> JPA: OrderRepository.findByUserUserIdOrderByTotalAmountDesc() -> TABLE: ORDERS, USERS
+     * FRONTEND_API: GET /api/jpa/orders/by-user-ordered/{userId} -> API_ENTRY: getOrdersByUserIdOrderByAmount() -> JPA: OrderReadRepository.findByUserIdOrderByTotalAmountDesc() -> TABLE: ORDERS, USERS
      */
     @GetMapping("/by-user-ordered/{userId}")
-    public ResponseEntity<List<Order>> getOrdersByUserIdOrderByAmount(@PathVariable Long userId) {
-        List<Order> orders = jpaOrderService.getOrdersByUserIdOrderByAmount(userId);
+    public ResponseEntity<List<OrderListItem>> getOrdersByUserIdOrderByAmount(@PathVariable Long userId) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersByUserIdOrderByAmount(userId);
         return ResponseEntity.ok(orders);
     }
     
     // 5. 날짜 기반 조회 API
     /**
      * 기간별 주문 조회
-     * FRONTEND_API: GET /api/jpa/orders/between-dates -> API_ENTRY: getOrdersBetweenDates() -> JPA: OrderRepository.findByOrderDateBetween() -> TABLE: ORDERS
+     * FRONTEND_API: GET /api/jpa/orders/between-dates -> API_ENTRY: getOrdersBetweenDates() -> JPA: OrderReadRepository.findByOrderDateBetween() -> TABLE: ORDERS
      */
     @GetMapping("/between-dates")
-    public ResponseEntity<List<Order>> getOrdersBetweenDates(
+    public ResponseEntity<List<OrderListItem>> getOrdersBetweenDates(
             @RequestParam String startDate,
             @RequestParam String endDate) {
         LocalDateTime start = LocalDateTime.parse(startDate);
         LocalDateTime end = LocalDateTime.parse(endDate);
-        List<Order> orders = jpaOrderService.getOrdersBetweenDates(start, end);
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersBetweenDates(start, end);
         return ResponseEntity.ok(orders);
     }
     
     /**
      * 특정 날짜 이후 주문
-     * FRONTEND_API: GET /api/jpa/orders/after-date -> API_ENTRY: getOrdersAfterDate() -> JPA: OrderRepository.findByOrderDateAfter() -> TABLE: ORDERS
+     * FRONTEND_API: GET /api/jpa/orders/after-date -> API_ENTRY: getOrdersAfterDate() -> JPA: OrderReadRepository.findByOrderDateAfter() -> TABLE: ORDERS
      */
     @GetMapping("/after-date")
-    public ResponseEntity<List<Order>> getOrdersAfterDate(@RequestParam String date) {
+    public ResponseEntity<List<OrderListItem>> getOrdersAfterDate(@RequestParam String date) {
         LocalDateTime dateTime = LocalDateTime.parse(date);
-        List<Order> orders = jpaOrderService.getOrdersAfterDate(dateTime);
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersAfterDate(dateTime);
         return ResponseEntity.ok(orders);
     }
     
     // 6. 금액 기반 조회 API
     /**
      * 최소 금액 이상 주문
-     * FRONTEND_API: GET /api/jpa/orders/above-amount/{amount} -> API_ENTRY: getOrdersAboveAmount() -> JPA: OrderRepository.findByTotalAmountGreaterThan() -> TABLE: ORDERS
+     * FRONTEND_API: GET /api/jpa/orders/above-amount/{amount} -> API_ENTRY: getOrdersAboveAmount() -> JPA: OrderReadRepository.findByTotalAmountGreaterThan() -> TABLE: ORDERS
      */
+    @SqlStatementBudget(1)
     @GetMapping("/above-amount/{amount}")
-    public ResponseEntity<List<Order>> getOrdersAboveAmount(@PathVariable BigDecimal amount) {
-        List<Order> orders = jpaOrderService.getOrdersAboveAmount(amount);
+    public ResponseEntity<List<OrderListItem>> getOrdersAboveAmount(@PathVariable BigDecimal amount) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersAboveAmount(amount);
         return ResponseEntity.ok(orders);
     }
     
     /**
      * 금액 범위별 주문
-     * FRONTEND_API: GET /api/jpa/orders/amount-range -> API_ENTRY: getOrdersByAmountRange() -> JPA: OrderRepository.findByTotalAmountBetween() -> TABLE: ORDERS
+     * FRONTEND_API: GET /api/jpa/orders/amount-range -> API_ENTRY: getOrdersByAmountRange() -> JPA: OrderReadRepository.findByTotalAmountBetween() -> TABLE: ORDERS
      */
     @GetMapping("/amount-range")
-    public ResponseEntity<List<Order>> getOrdersByAmountRange(
+    public ResponseEntity<List<OrderListItem>> getOrdersByAmountRange(
             @RequestParam BigDecimal minAmount,
             @RequestParam BigDecimal maxAmount) {
-        List<Order> orders = jpaOrderService.getOrdersByAmountRange(minAmount, maxAmount);
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersByAmountRange(minAmount, maxAmount);
         return ResponseEntity.ok(orders);
     }
     
     // 7. 동적 검색 API
     /**
      * 동적 조건 검색
-     * FRONTEND_API: GET /api/jpa/orders/search -> API_ENTRY: searchOrders() -> JPA: OrderRepository.findOrdersByDynamicCriteria() -> TABLE: ORDERS, USERS
+     * FRONTEND_API: GET /api/jpa/orders/search -> API_ENTRY: searchOrders() -> JPA: OrderReadRepository.findByDynamicCriteria() -> TABLE: ORDERS, USERS
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<Order>> searchOrders(
+    public ResponseEntity<Page<OrderListItem>> searchOrders(
             @RequestParam(required = false) Long userId,
             @RequestParam(required = false) OrderStatus status,
             @RequestParam(required = false) String fromDate,
@@ -227,7 +238,36 @@ public class JpaOrderController {
         LocalDateTime from = fromDate != null ? LocalDateTime.parse(fromDate) : null;
         LocalDateTime to = toDate != null ? LocalDateTime.parse(toDate) : null;
         
-        Page<Order> orders = jpaOrderService.searchOrders(userId, status, from, to, minAmount, maxAmount, pageable);
+        Page<OrderListItem> orders = jpaOrderQueryService.searchOrders(userId, status, from, to, minAmount, maxAmount, pageable);
+        return ResponseEntity.ok(orders);
+    }
+    
+    /**
+     * 동적 검색 (커서 기반) - 깊은 페이지도 첫 페이지와 같은 비용
+     * FRONTEND_API: GET /api/jpa/orders/search/cursor?cursor={nextCursor} -> API_ENTRY: searchOrdersByCursor() -> JPA: OrderReadRepository.findByDynamicCriteriaFirst()/After() -> TABLE: ORDERS, USERS
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<KeysetPage<OrderListItem>> searchOrdersByCursor(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String fromDate,
+            @RequestParam(required = false) String toDate,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        LocalDateTime from = fromDate != null ? LocalDateTime.parse(fromDate) : null;
+        LocalDateTime to = toDate != null ? LocalDateTime.parse(toDate) : null;
+        
+        KeysetCursor keysetCursor;
+        try {
+            keysetCursor = KeysetCursor.decodeOrNull(cursor, LocalDateTime.class, Long.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        KeysetPage<OrderListItem> orders = jpaOrderQueryService.searchOrdersByCursor(userId, status, from, to,
+                                                                       minAmount, maxAmount, keysetCursor, size);
         return ResponseEntity.ok(orders);
     }
     
@@ -306,41 +346,51 @@ public class JpaOrderController {
     // 9. 특수 검색 API
     /**
      * 프리미엄 사용자 주문
-     * FRONTEND_API: GET /api/jpa/orders/premium-users -> API_ENTRY: getOrdersByPremiumUsers() -> JPA: OrderRepository.findOrdersByPremiumUsers() -> TABLE: ORDERS, USERS
+     * FRONTEND_API: GET /api/jpa/orders/premium-users -> API_ENTRY: getOrdersByPremiumUsers() -> JPA: OrderReadRepository.findByPremiumUsers() -> TABLE: ORDERS, USERS
      */
     @GetMapping("/premium-users")
-    public ResponseEntity<List<Order>> getOrdersByPremiumUsers() {
-        List<Order> orders = jpaOrderService.getOrdersByPremiumUsers();
+    public ResponseEntity<List<OrderListItem>> getOrdersByPremiumUsers() {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersByPremiumUsers();
         return ResponseEntity.ok(orders);
     }
     
     /**
      * 카테고리별 상품이 포함된 주문
-     * FRONTEND_API: GET /api/jpa/orders/containing-category/{categoryName} -> API_ENTRY: getOrdersContainingProductsFromCategory() -> JPA: OrderRepository.findOrdersContainingProductsFromCategory() -> TABLE: ORDERS, ORDER_ITEMS, PRODUCTS, CATEGORIES
+     * FRONTEND_API: GET /api/jpa/orders/containing-category/{categoryName} -> API_ENTRY: getOrdersContainingProductsFromCategory() -> JPA: CategoryTreeIndex.idsByName(), OrderReadRepository.findContainingProductsFromCategories() -> TABLE: ORDERS, ORDER_ITEMS, PRODUCTS
      */
     @GetMapping("/containing-category/{categoryName}")
-    public ResponseEntity<List<Order>> getOrdersContainingProductsFromCategory(@PathVariable String categoryName) {
-        List<Order> orders = jpaOrderService.getOrdersContainingProductsFromCategory(categoryName);
+    public ResponseEntity<List<OrderListItem>> getOrdersContainingProductsFromCategory(@PathVariable String categoryName) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersContainingProductsFromCategory(categoryName);
+        return ResponseEntity.ok(orders);
+    }
+    
+    /**
+     * 카테고리 하위 트리 전체의 상품이 포함된 주문
+     * FRONTEND_API: GET /api/jpa/orders/containing-category-tree/{categoryId} -> API_ENTRY: getOrdersContainingProductsFromCategoryTree() -> JPA: CategoryTreeIndex.subtreeIds(), OrderReadRepository.findContainingProductsFromCategories() -> TABLE: ORDERS, ORDER_ITEMS, PRODUCTS
+     */
+    @GetMapping("/containing-category-tree/{categoryId}")
+    public ResponseEntity<List<OrderListItem>> getOrdersContainingProductsFromCategoryTree(@PathVariable Long categoryId) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersContainingProductsFromCategoryTree(categoryId);
         return ResponseEntity.ok(orders);
     }
     
     /**
      * 특정 상품이 포함된 주문
-     * FRONTEND_API: GET /api/jpa/orders/containing-product -> API_ENTRY: getOrdersContainingProduct() -> JPA: OrderRepository.findOrdersContainingProduct() -> TABLE: ORDERS, ORDER_ITEMS, PRODUCTS
+     * FRONTEND_API: GET /api/jpa/orders/containing-product -> API_ENTRY: getOrdersContainingProduct() -> JPA: OrderReadRepository.findContainingProduct() -> TABLE: ORDERS, ORDER_ITEMS, PRODUCTS
      */
     @GetMapping("/containing-product")
-    public ResponseEntity<List<Order>> getOrdersContainingProduct(@RequestParam String productName) {
-        List<Order> orders = jpaOrderService.getOrdersContainingProduct(productName);
+    public ResponseEntity<List<OrderListItem>> getOrdersContainingProduct(@RequestParam String productName) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersContainingProduct(productName);
         return ResponseEntity.ok(orders);
     }
     
     /**
      * 최소 아이템 수 이상 주문
-     * FRONTEND_API: GET /api/jpa/orders/minimum-items/{count} -> API_ENTRY: getOrdersWithMinimumItems() -> JPA: OrderRepository.findOrdersWithMinimumItems() -> TABLE: ORDERS, ORDER_ITEMS
+     * FRONTEND_API: GET /api/jpa/orders/minimum-items/{count} -> API_ENTRY: getOrdersWithMinimumItems() -> JPA: OrderReadRepository.findWithMinimumItems() -> TABLE: ORDERS, ORDER_ITEMS
      */
     @GetMapping("/minimum-items/{count}")
-    public ResponseEntity<List<Order>> getOrdersWithMinimumItems(@PathVariable int count) {
-        List<Order> orders = jpaOrderService.getOrdersWithMinimumItems(count);
+    public ResponseEntity<List<OrderListItem>> getOrdersWithMinimumItems(@PathVariable int count) {
+        List<OrderListItem> orders = jpaOrderQueryService.getOrdersWithMinimumItems(count);
         return ResponseEntity.ok(orders);
     }
     
@@ -411,6 +461,17 @@ public class JpaOrderController {
         }
     }
     
+    /**
+     * 일괄 상태 전이 - 요청 본문의 주문 ID 목록을 {status}로 변경하고 주문별 결과 반환
+     * FRONTEND_API: PUT /api/jpa/orders/status/{status} -> API_ENTRY: transitionOrders() -> JPA: OrderRepository.findStatusesForUpdate(), OrderRepository.transitionStatus() -> TABLE: ORDERS
+     */
+    @PutMapping("/status/{status}")
+    public ResponseEntity<OrderStatusTransitionResult> transitionOrders(@PathVariable OrderStatus status,
+                                                                        @RequestBody List<Long> orderIds) {
+        OrderStatusTransitionResult result = jpaOrderService.transitionOrders(orderIds, status);
+        return ResponseEntity.ok(result);
+    }
+    
     /**
      * 배송 주소 변경
      * FRONTEND_API: PUT /api/jpa/orders/{id}/shipping-address -> API_ENTRY: updateShippingAddress() -> JPA: OrderRepository.updateShippingAddress() -> TABLE: ORDERS
@@ -464,11 +525,12 @@ public class JpaOrderController {
     // 13. 전체 목록 API
     /**
      * 전체 주문 목록
-     * FRONTEND_API: GET /api/jpa/orders -> API_ENTRY: getAllOrders() -> JPA: OrderRepository.findAll() -> TABLE: ORDERS
+     * FRONTEND_API: GET /api/jpa/orders -> API_ENTRY: getAllOrders() -> JPA: OrderReadRepository.findAllItems() -> TABLE: ORDERS
      */
+    @SqlStatementBudget(1)
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = jpaOrderService.getAllOrders();
+    public ResponseEntity<List<OrderListItem>> getAllOrders() {
+        List<OrderListItem> orders = jpaOrderQueryService.getAllOrders();
         return ResponseEntity.ok(orders);
     }
 }
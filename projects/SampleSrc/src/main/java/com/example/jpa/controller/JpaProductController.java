@@ -2,8 +2,12 @@ package com.example.jpa.controller;
 
 import com.example.jpa.entity.Product;
 import com.example.jpa.entity.ProductStatus;
+import com.example.jpa.service.JpaProductQueryService;
 import com.example.jpa.service.JpaProductService;
+import com.example.jpa.dto.ProductListItem;
 import com.example.jpa.dto.ProductSummaryDto;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +33,9 @@ public class JpaProductController {
     @Autowired
     private JpaProductService jpaProductService;
     
+    @Autowired
+    private JpaProductQueryService jpaProductQueryService;
+    
     // 1. 기본 CRUD API
     /**
      * 상품 생성
@@ -98,106 +105,116 @@ public class JpaProductController {
     
     /**
      * 상태별 상품 조회
-     * FRONTEND_API: GET /api/jpa/products/by-status/{status} -> API_ENTRY: getProductsByStatus() -> JPA: ProductRepository.findByStatus() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/by-status/{status} -> API_ENTRY: getProductsByStatus() -> JPA: ProductReadRepository.findByStatus() -> TABLE: PRODUCTS
      */
     @GetMapping("/by-status/{status}")
-    public ResponseEntity<List<Product>> getProductsByStatus(@PathVariable ProductStatus status) {
-        List<Product> products = jpaProductService.getProductsByStatus(status);
+    public ResponseEntity<List<ProductListItem>> getProductsByStatus(@PathVariable ProductStatus status) {
+        List<ProductListItem> products = jpaProductQueryService.getProductsByStatus(status);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 카테고리별 상품 조회
-     * FRONTEND_API: GET /api/jpa/products/by-category/{categoryId} -> API_ENTRY: getProductsByCategory() -> JPA: ProductRepository.findByCategoryCategoryId() -> TABLE: PRODUCTS, CATEGORIES
+     * FRONTEND_API: GET /api/jpa/products/by-category/{categoryId} -> API_ENTRY: getProductsByCategory() -> JPA: ProductReadRepository.findByCategoryId() -> TABLE: PRODUCTS, CATEGORIES
      */
     @GetMapping("/by-category/{categoryId}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable Long categoryId) {
-        List<Product> products = jpaProductService.getProductsByCategory(categoryId);
+    public ResponseEntity<List<ProductListItem>> getProductsByCategory(@PathVariable Long categoryId) {
+        List<ProductListItem> products = jpaProductQueryService.getProductsByCategory(categoryId);
+        return ResponseEntity.ok(products);
+    }
+    
+    /**
+     * 카테고리 하위 트리 전체의 상품 조회
+     * FRONTEND_API: GET /api/jpa/products/category-tree/{categoryId} -> API_ENTRY: getProductsInCategoryTree() -> JPA: CategoryTreeIndex.subtreeIds(), ProductReadRepository.findByCategoryIdIn() -> TABLE: PRODUCTS
+     */
+    @GetMapping("/category-tree/{categoryId}")
+    public ResponseEntity<List<ProductListItem>> getProductsInCategoryTree(@PathVariable Long categoryId) {
+        List<ProductListItem> products = jpaProductQueryService.getProductsInCategoryTree(categoryId);
         return ResponseEntity.ok(products);
     }
     
     // 3. 상품명 검색 API
     /**
      * 상품명 검색
-     * FRONTEND_API: GET /api/jpa/products/search/name?q={query} -> API_ENTRY: searchProductsByName() -> JPA: ProductRepository.findByProductNameContaining() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/search/name?q={query} -> API_ENTRY: searchProductsByName() -> JPA: ProductReadRepository.findByProductNameContaining() -> TABLE: PRODUCTS
      */
     @GetMapping("/search/name")
-    public ResponseEntity<List<Product>> searchProductsByName(@RequestParam String q) {
-        List<Product> products = jpaProductService.searchProductsByName(q);
+    public ResponseEntity<List<ProductListItem>> searchProductsByName(@RequestParam String q) {
+        List<ProductListItem> products = jpaProductQueryService.searchProductsByName(q);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 상품명 검색 (대소문자 무시)
-     * FRONTEND_API: GET /api/jpa/products/search/name-ignore-case?q={query} -> API_ENTRY: searchProductsByNameIgnoreCase() -> JPA: ProductRepository.findByProductNameContainingIgnoreCase() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/search/name-ignore-case?q={query} -> API_ENTRY: searchProductsByNameIgnoreCase() -> JPA: ProductReadRepository.findByProductNameContainingIgnoreCase() -> TABLE: PRODUCTS
      */
     @GetMapping("/search/name-ignore-case")
-    public ResponseEntity<List<Product>> searchProductsByNameIgnoreCase(@RequestParam String q) {
-        List<Product> products = jpaProductService.searchProductsByNameIgnoreCase(q);
+    public ResponseEntity<List<ProductListItem>> searchProductsByNameIgnoreCase(@RequestParam String q) {
+        List<ProductListItem> products = jpaProductQueryService.searchProductsByNameIgnoreCase(q);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 설명으로 검색
-     * FRONTEND_API: GET /api/jpa/products/search/description?q={query} -> API_ENTRY: searchProductsByDescription() -> JPA: ProductRepository.findByDescriptionContaining() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/search/description?q={query} -> API_ENTRY: searchProductsByDescription() -> JPA: ProductReadRepository.findByDescriptionContaining() -> TABLE: PRODUCTS
      */
     @GetMapping("/search/description")
-    public ResponseEntity<List<Product>> searchProductsByDescription(@RequestParam String q) {
-        List<Product> products = jpaProductService.searchProductsByDescription(q);
+    public ResponseEntity<List<ProductListItem>> searchProductsByDescription(@RequestParam String q) {
+        List<ProductListItem> products = jpaProductQueryService.searchProductsByDescription(q);
         return ResponseEntity.ok(products);
     }
     
     // 4. 가격 기반 검색 API
     /**
      * 가격 범위 검색
-     * FRONTEND_API: GET /api/jpa/products/price-range -> API_ENTRY: getProductsByPriceRange() -> JPA: ProductRepository.findByPriceBetween() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/price-range -> API_ENTRY: getProductsByPriceRange() -> JPA: ProductReadRepository.findByPriceBetween() -> TABLE: PRODUCTS
      */
     @GetMapping("/price-range")
-    public ResponseEntity<List<Product>> getProductsByPriceRange(
+    public ResponseEntity<List<ProductListItem>> getProductsByPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice) {
-        List<Product> products = jpaProductService.getProductsByPriceRange(minPrice, maxPrice);
+        List<ProductListItem> products = jpaProductQueryService.getProductsByPriceRange(minPrice, maxPrice);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 최소 가격 이상 상품
-     * FRONTEND_API: GET /api/jpa/products/price-above/{price} -> API_ENTRY: getProductsAbovePrice() -> JPA: ProductRepository.findByPriceGreaterThan() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/price-above/{price} -> API_ENTRY: getProductsAbovePrice() -> JPA: ProductReadRepository.findByPriceGreaterThan() -> TABLE: PRODUCTS
      */
     @GetMapping("/price-above/{price}")
-    public ResponseEntity<List<Product>> getProductsAbovePrice(@PathVariable BigDecimal price) {
-        List<Product> products = jpaProductService.getProductsAbovePrice(price);
+    public ResponseEntity<List<ProductListItem>> getProductsAbovePrice(@PathVariable BigDecimal price) {
+        List<ProductListItem> products = jpaProductQueryService.getProductsAbovePrice(price);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 최대 가격 이하 상품
-     * FRONTEND_API: GET /api/jpa/products/price-below/{price} -> API_ENTRY: getProductsBelowPrice() -> JPA: ProductRepository.findByPriceLessThanEqual() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/price-below/{price} -> API_ENTRY: getProductsBelowPrice() -> JPA: ProductReadRepository.findByPriceLessThanEqual() -> TABLE: PRODUCTS
      */
     @GetMapping("/price-below/{price}")
-    public ResponseEntity<List<Product>> getProductsBelowPrice(@PathVariable BigDecimal price) {
-        List<Product> products = jpaProductService.getProductsBelowPrice(price);
+    public ResponseEntity<List<ProductListItem>> getProductsBelowPrice(@PathVariable BigDecimal price) {
+        List<ProductListItem> products = jpaProductQueryService.getProductsBelowPrice(price);
         return ResponseEntity.ok(products);
     }
     
     // 5. 재고 관리 API
     /**
      * 재고 부족 상품 조회
-     * FRONTEND_API: GET /api/jpa/products/low-stock -> API_ENTRY: getLowStockProducts() -> JPA: ProductRepository.findLowStockProducts() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/low-stock -> API_ENTRY: getLowStockProducts() -> JPA: ProductReadRepository.findLowStock() -> TABLE: PRODUCTS
      */
     @GetMapping("/low-stock")
-    public ResponseEntity<List<Product>> getLowStockProducts() {
-        List<Product> products = jpaProductService.getLowStockProducts();
+    public ResponseEntity<List<ProductListItem>> getLowStockProducts() {
+        List<ProductListItem> products = jpaProductQueryService.getLowStockProducts();
         return ResponseEntity.ok(products);
     }
     
     /**
      * 품절 상품 조회
-     * FRONTEND_API: GET /api/jpa/products/out-of-stock -> API_ENTRY: getOutOfStockProducts() -> JPA: ProductRepository.findOutOfStockProducts() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/out-of-stock -> API_ENTRY: getOutOfStockProducts() -> JPA: ProductReadRepository.findOutOfStock() -> TABLE: PRODUCTS
      */
     @GetMapping("/out-of-stock")
-    public ResponseEntity<List<Product>> getOutOfStockProducts() {
-        List<Product> products = jpaProductService.getOutOfStockProducts();
+    public ResponseEntity<List<ProductListItem>> getOutOfStockProducts() {
+        List<ProductListItem> products = jpaProductQueryService.getOutOfStockProducts();
         return ResponseEntity.ok(products);
     }
     
@@ -238,36 +255,36 @@ public class JpaProductController {
     // 6. 복합 검색 API
     /**
      * 상태와 가격 범위로 검색
-     * FRONTEND_API: GET /api/jpa/products/status-price-range -> API_ENTRY: getProductsByStatusAndPriceRange() -> JPA: ProductRepository.findByStatusAndPriceBetween() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products/status-price-range -> API_ENTRY: getProductsByStatusAndPriceRange() -> JPA: ProductReadRepository.findByStatusAndPriceBetween() -> TABLE: PRODUCTS
      */
     @GetMapping("/status-price-range")
-    public ResponseEntity<List<Product>> getProductsByStatusAndPriceRange(
+    public ResponseEntity<List<ProductListItem>> getProductsByStatusAndPriceRange(
             @RequestParam ProductStatus status,
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice) {
-        List<Product> products = jpaProductService.getProductsByStatusAndPriceRange(status, minPrice, maxPrice);
+        List<ProductListItem> products = jpaProductQueryService.getProductsByStatusAndPriceRange(status, minPrice, maxPrice);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 카테고리와 상태로 검색
-     * FRONTEND_API: GET /api/jpa/products/category-status -> API_ENTRY: getProductsByCategoryAndStatus() -> JPA: ProductRepository.findByCategoryCategoryIdAndStatus() -> TABLE: PRODUCTS, CATEGORIES
+     * FRONTEND_API: GET /api/jpa/products/category-status -> API_ENTRY: getProductsByCategoryAndStatus() -> JPA: ProductReadRepository.findByCategoryIdAndStatus() -> TABLE: PRODUCTS, CATEGORIES
      */
     @GetMapping("/category-status")
-    public ResponseEntity<List<Product>> getProductsByCategoryAndStatus(
+    public ResponseEntity<List<ProductListItem>> getProductsByCategoryAndStatus(
             @RequestParam Long categoryId,
             @RequestParam ProductStatus status) {
-        List<Product> products = jpaProductService.getProductsByCategoryAndStatus(categoryId, status);
+        List<ProductListItem> products = jpaProductQueryService.getProductsByCategoryAndStatus(categoryId, status);
         return ResponseEntity.ok(products);
     }
     
     // 7. 동적 검색 API
     /**
      * 동적 조건 검색
-     * FRONTEND_API: GET /api/jpa/products/search -> API_ENTRY: searchProducts() -> JPA: ProductRepository.findProductsByDynamicCriteria() -> TABLE: PRODUCTS, CATEGORIES
+     * FRONTEND_API: GET /api/jpa/products/search -> API_ENTRY: searchProducts() -> JPA: ProductReadRepository.findByDynamicCriteria() -> TABLE: PRODUCTS, CATEGORIES
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<Product>> searchProducts(
+    public ResponseEntity<Page<ProductListItem>> searchProducts(
             @RequestParam(required = false) String name,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) ProductStatus status,
@@ -275,11 +292,36 @@ public class JpaProductController {
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Integer minStock,
             Pageable pageable) {
-        Page<Product> products = jpaProductService.searchProducts(name, categoryId, status, 
+        Page<ProductListItem> products = jpaProductQueryService.searchProducts(name, categoryId, status, 
                                                                  minPrice, maxPrice, minStock, pageable);
         return ResponseEntity.ok(products);
     }
     
+    /**
+     * 동적 검색 (커서 기반) - 깊은 페이지도 첫 페이지와 같은 비용
+     * FRONTEND_API: GET /api/jpa/products/search/cursor?cursor={nextCursor} -> API_ENTRY: searchProductsByCursor() -> JPA: ProductReadRepository.findByDynamicCriteriaFirst()/After() -> TABLE: PRODUCTS, CATEGORIES
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<KeysetPage<ProductListItem>> searchProductsByCursor(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) ProductStatus status,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Integer minStock,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        KeysetCursor keysetCursor;
+        try {
+            keysetCursor = KeysetCursor.decodeOrNull(cursor, LocalDateTime.class, Long.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        KeysetPage<ProductListItem> products = jpaProductQueryService.searchProductsByCursor(name, categoryId, status,
+                                                                               minPrice, maxPrice, minStock, keysetCursor, size);
+        return ResponseEntity.ok(products);
+    }
+    
     // 8. 통계 API
     /**
      * 상태별 상품 수
@@ -344,42 +386,42 @@ public class JpaProductController {
     // 9. 특수 검색 API
     /**
      * 카테고리명으로 상품 검색
-     * FRONTEND_API: GET /api/jpa/products/by-category-name/{categoryName} -> API_ENTRY: getProductsByCategoryName() -> JPA: ProductRepository.findByCategoryName() -> TABLE: PRODUCTS, CATEGORIES
+     * FRONTEND_API: GET /api/jpa/products/by-category-name/{categoryName} -> API_ENTRY: getProductsByCategoryName() -> JPA: CategoryTreeIndex.idsByName(), ProductReadRepository.findByCategoryIdIn() -> TABLE: PRODUCTS
      */
     @GetMapping("/by-category-name/{categoryName}")
-    public ResponseEntity<List<Product>> getProductsByCategoryName(@PathVariable String categoryName) {
-        List<Product> products = jpaProductService.getProductsByCategoryName(categoryName);
+    public ResponseEntity<List<ProductListItem>> getProductsByCategoryName(@PathVariable String categoryName) {
+        List<ProductListItem> products = jpaProductQueryService.getProductsByCategoryName(categoryName);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 인기 상품 조회
-     * FRONTEND_API: GET /api/jpa/products/popular -> API_ENTRY: getPopularProducts() -> JPA: ProductRepository.findPopularProducts() -> TABLE: PRODUCTS, ORDER_ITEMS, ORDERS
+     * FRONTEND_API: GET /api/jpa/products/popular -> API_ENTRY: getPopularProducts() -> JPA: ProductReadRepository.findPopular() -> TABLE: PRODUCTS, ORDER_ITEMS, ORDERS
      */
     @GetMapping("/popular")
-    public ResponseEntity<List<Product>> getPopularProducts(@RequestParam Long minOrderCount) {
-        List<Product> products = jpaProductService.getPopularProducts(minOrderCount);
+    public ResponseEntity<List<ProductListItem>> getPopularProducts(@RequestParam Long minOrderCount) {
+        List<ProductListItem> products = jpaProductQueryService.getPopularProducts(minOrderCount);
         return ResponseEntity.ok(products);
     }
     
     /**
      * 주문된 적 없는 상품
-     * FRONTEND_API: GET /api/jpa/products/never-ordered -> API_ENTRY: getNeverOrderedProducts() -> JPA: ProductRepository.findNeverOrderedProducts() -> TABLE: PRODUCTS, ORDER_ITEMS
+     * FRONTEND_API: GET /api/jpa/products/never-ordered -> API_ENTRY: getNeverOrderedProducts() -> JPA: ProductReadRepository.findNeverOrdered() -> TABLE: PRODUCTS, ORDER_ITEMS
      */
     @GetMapping("/never-ordered")
-    public ResponseEntity<List<Product>> getNeverOrderedProducts() {
-        List<Product> products = jpaProductService.getNeverOrderedProducts();
+    public ResponseEntity<List<ProductListItem>> getNeverOrderedProducts() {
+        List<ProductListItem> products = jpaProductQueryService.getNeverOrderedProducts();
         return ResponseEntity.ok(products);
     }
     
     /**
      * 특정 날짜 이후 주문된 상품
-     * FRONTEND_API: GET /api/jpa/products/ordered-after -> API_ENTRY: getProductsOrderedAfterDate() -> JPA: ProductRepository.findProductsOrderedAfterDate() -> TABLE: PRODUCTS, ORDER_ITEMS, ORDERS
+     * FRONTEND_API: GET /api/jpa/products/ordered-after -> API_ENTRY: getProductsOrderedAfterDate() -> JPA: ProductReadRepository.findOrderedAfterDate() -> TABLE: PRODUCTS, ORDER_ITEMS, ORDERS
      */
     @GetMapping("/ordered-after")
-    public ResponseEntity<List<Product>> getProductsOrderedAfterDate(@RequestParam String date) {
+    public ResponseEntity<List<ProductListItem>> getProductsOrderedAfterDate(@RequestParam String date) {
         LocalDateTime dateTime = LocalDateTime.parse(date);
-        List<Product> products = jpaProductService.getProductsOrderedAfterDate(dateTime);
+        List<ProductListItem> products = jpaProductQueryService.getProductsOrderedAfterDate(dateTime);
         return ResponseEntity.ok(products);
     }
     
@@ -440,11 +482,11 @@ public class JpaProductController {
     // 12. 전체 목록 API
     /**
      * 전체 상품 목록
-     * FRONTEND_API: GET /api/jpa/products -> API_ENTRY: getAllProducts() -> JPA: ProductRepository.findAll() -> TABLE: PRODUCTS
+     * FRONTEND_API: GET /api/jpa/products -> API_ENTRY: getAllProducts() -> JPA: ProductReadRepository.findAllItems() -> TABLE: PRODUCTS
      */
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        List<Product> products = jpaProductService.getAllProducts();
+    public ResponseEntity<List<ProductListItem>> getAllProducts() {
+        List<ProductListItem> products = jpaProductQueryService.getAllProducts();
         return ResponseEntity.ok(products);
     }
 }
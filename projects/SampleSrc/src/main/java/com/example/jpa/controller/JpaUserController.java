@@ -1,10 +1,15 @@
 package com.example.jpa.controller;
 
+import com.example.jpa.config.SqlStatementBudget;
 import com.example.jpa.entity.User;
 import com.example.jpa.entity.UserStatus;
 import com.example.jpa.entity.UserType;
+import com.example.jpa.service.JpaUserQueryService;
 import com.example.jpa.service.JpaUserService;
+import com.example.jpa.dto.UserListItem;
 import com.example.jpa.dto.UserSummaryDto;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +35,9 @@ public class JpaUserController {
     @Autowired
     private JpaUserService jpaUserService;
     
+    @Autowired
+    private JpaUserQueryService jpaUserQueryService;
+    
     // 1. 기본 CRUD API
     /**
      * 사용자 생성
@@ -110,104 +118,126 @@ public class JpaUserController {
     
     /**
      * 상태별 사용자 조회
-     * FRONTEND_API: GET /api/jpa/users/by-status/{status} -> API_ENTRY: getUsersByStatus() -> JPA: UserRepository.findByStatus() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/by-status/{status} -> API_ENTRY: getUsersByStatus() -> JPA: UserReadRepository.findByStatus() -> TABLE: USERS
      */
     @GetMapping("/by-status/{status}")
-    public ResponseEntity<List<User>> getUsersByStatus(@PathVariable UserStatus status) {
-        List<User> users = jpaUserService.getUsersByStatus(status);
+    public ResponseEntity<List<UserListItem>> getUsersByStatus(@PathVariable UserStatus status) {
+        List<UserListItem> users = jpaUserQueryService.getUsersByStatus(status);
         return ResponseEntity.ok(users);
     }
     
     /**
      * 사용자 타입별 조회
-     * FRONTEND_API: GET /api/jpa/users/by-type/{userType} -> API_ENTRY: getUsersByUserType() -> JPA: UserRepository.findByUserType() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/by-type/{userType} -> API_ENTRY: getUsersByUserType() -> JPA: UserReadRepository.findByUserType() -> TABLE: USERS
      */
     @GetMapping("/by-type/{userType}")
-    public ResponseEntity<List<User>> getUsersByUserType(@PathVariable UserType userType) {
-        List<User> users = jpaUserService.getUsersByUserType(userType);
+    public ResponseEntity<List<UserListItem>> getUsersByUserType(@PathVariable UserType userType) {
+        List<UserListItem> users = jpaUserQueryService.getUsersByUserType(userType);
         return ResponseEntity.ok(users);
     }
     
     // 3. 검색 API
     /**
      * 사용자명 검색
-     * FRONTEND_API: GET /api/jpa/users/search/username?q={query} -> API_ENTRY: searchUsersByUsername() -> JPA: UserRepository.findByUsernameContaining() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/search/username?q={query} -> API_ENTRY: searchUsersByUsername() -> JPA: UserReadRepository.findByUsernameContaining() -> TABLE: USERS
      */
     @GetMapping("/search/username")
-    public ResponseEntity<List<User>> searchUsersByUsername(@RequestParam String q) {
-        List<User> users = jpaUserService.searchUsersByUsername(q);
+    public ResponseEntity<List<UserListItem>> searchUsersByUsername(@RequestParam String q) {
+        List<UserListItem> users = jpaUserQueryService.searchUsersByUsername(q);
         return ResponseEntity.ok(users);
     }
     
     /**
      * 이메일 검색
-     * FRONTEND_API: GET /api/jpa/users/search/email?q={query} -> API_ENTRY: searchUsersByEmail() -> JPA: UserRepository.findByEmailContaining() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/search/email?q={query} -> API_ENTRY: searchUsersByEmail() -> JPA: UserReadRepository.findByEmailContaining() -> TABLE: USERS
      */
     @GetMapping("/search/email")
-    public ResponseEntity<List<User>> searchUsersByEmail(@RequestParam String q) {
-        List<User> users = jpaUserService.searchUsersByEmail(q);
+    public ResponseEntity<List<UserListItem>> searchUsersByEmail(@RequestParam String q) {
+        List<UserListItem> users = jpaUserQueryService.searchUsersByEmail(q);
         return ResponseEntity.ok(users);
     }
     
     /**
      * 전체 이름 검색
-     * FRONTEND_API: GET /api/jpa/users/search/fullname?q={query} -> API_ENTRY: searchUsersByFullName() -> JPA: UserRepository.findByFullNameContainingIgnoreCase() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/search/fullname?q={query} -> API_ENTRY: searchUsersByFullName() -> JPA: UserReadRepository.findByFullNameContainingIgnoreCase() -> TABLE: USERS
      */
     @GetMapping("/search/fullname")
-    public ResponseEntity<List<User>> searchUsersByFullName(@RequestParam String q) {
-        List<User> users = jpaUserService.searchUsersByFullName(q);
+    public ResponseEntity<List<UserListItem>> searchUsersByFullName(@RequestParam String q) {
+        List<UserListItem> users = jpaUserQueryService.searchUsersByFullName(q);
         return ResponseEntity.ok(users);
     }
     
     // 4. 동적 검색 API
     /**
      * 동적 조건 검색
-     * FRONTEND_API: GET /api/jpa/users/search -> API_ENTRY: searchUsers() -> JPA: UserRepository.findUsersByDynamicCriteria() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/search -> API_ENTRY: searchUsers() -> JPA: UserReadRepository.findByDynamicCriteria() -> TABLE: USERS
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<User>> searchUsers(
+    public ResponseEntity<Page<UserListItem>> searchUsers(
             @RequestParam(required = false) String username,
             @RequestParam(required = false) String email,
             @RequestParam(required = false) UserStatus status,
             @RequestParam(required = false) UserType userType,
             Pageable pageable) {
-        Page<User> users = jpaUserService.searchUsers(username, email, status, userType, pageable);
+        Page<UserListItem> users = jpaUserQueryService.searchUsers(username, email, status, userType, pageable);
+        return ResponseEntity.ok(users);
+    }
+    
+    /**
+     * 동적 조건 검색 (커서 기반) - 깊은 페이지도 첫 페이지와 같은 비용
+     * FRONTEND_API: GET /api/jpa/users/search/cursor?cursor={nextCursor} -> API_ENTRY: searchUsersByCursor() -> JPA: UserReadRepository.findByDynamicCriteriaFirst()/After() -> TABLE: USERS
+     */
+    @GetMapping("/search/cursor")
+    public ResponseEntity<KeysetPage<UserListItem>> searchUsersByCursor(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) UserStatus status,
+            @RequestParam(required = false) UserType userType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        KeysetCursor keysetCursor;
+        try {
+            keysetCursor = KeysetCursor.decodeOrNull(cursor, LocalDateTime.class, Long.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        KeysetPage<UserListItem> users = jpaUserQueryService.searchUsersByCursor(username, email, status, userType, keysetCursor, size);
         return ResponseEntity.ok(users);
     }
     
     // 5. 날짜 기반 검색 API
     /**
      * 기간별 가입 사용자 조회
-     * FRONTEND_API: GET /api/jpa/users/created-between -> API_ENTRY: getUsersCreatedBetween() -> JPA: UserRepository.findByCreatedAtBetween() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/created-between -> API_ENTRY: getUsersCreatedBetween() -> JPA: UserReadRepository.findByCreatedAtBetween() -> TABLE: USERS
      */
     @GetMapping("/created-between")
-    public ResponseEntity<List<User>> getUsersCreatedBetween(
+    public ResponseEntity<List<UserListItem>> getUsersCreatedBetween(
             @RequestParam String startDate,
             @RequestParam String endDate) {
         LocalDateTime start = LocalDateTime.parse(startDate);
         LocalDateTime end = LocalDateTime.parse(endDate);
-        List<User> users = jpaUserService.getUsersCreatedBetween(start, end);
+        List<UserListItem> users = jpaUserQueryService.getUsersCreatedBetween(start, end);
         return ResponseEntity.ok(users);
     }
     
     /**
      * 특정 날짜 이후 가입 사용자
-     * FRONTEND_API: GET /api/jpa/users/created-after -> API_ENTRY: getUsersCreatedAfter() -> JPA: UserRepository.findByCreatedAtAfter() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/created-after -> API_ENTRY: getUsersCreatedAfter() -> JPA: UserReadRepository.findByCreatedAtAfter() -> TABLE: USERS
      */
     @GetMapping("/created-after")
-    public ResponseEntity<List<User>> getUsersCreatedAfter(@RequestParam String date) {
+    public ResponseEntity<List<UserListItem>> getUsersCreatedAfter(@RequestParam String date) {
         LocalDateTime dateTime = LocalDateTime.parse(date);
-        List<User> users = jpaUserService.getUsersCreatedAfter(dateTime);
+        List<UserListItem> users = jpaUserQueryService.getUsersCreatedAfter(dateTime);
         return ResponseEntity.ok(users);
     }
     
     /**
      * 로그인 이력이 없는 사용자
-     * FRONTEND_API: GET /api/jpa/users/never-logged-in -> API_ENTRY: getUsersWithoutLogin() -> JPA: UserRepository.findByLastLoginAtIsNull() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/never-logged-in -> API_ENTRY: getUsersWithoutLogin() -> JPA: UserReadRepository.findWithoutLogin() -> TABLE: USERS
      */
     @GetMapping("/never-logged-in")
-    public ResponseEntity<List<User>> getUsersWithoutLogin() {
-        List<User> users = jpaUserService.getUsersWithoutLogin();
+    public ResponseEntity<List<UserListItem>> getUsersWithoutLogin() {
+        List<UserListItem> users = jpaUserQueryService.getUsersWithoutLogin();
         return ResponseEntity.ok(users);
     }
     
@@ -246,11 +276,11 @@ public class JpaUserController {
     // 7. 특수 검색 API
     /**
      * 이메일 도메인별 사용자 조회
-     * FRONTEND_API: GET /api/jpa/users/by-email-domain/{domain} -> API_ENTRY: getUsersByEmailDomain() -> JPA: UserRepository.findByEmailDomain() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/by-email-domain/{domain} -> API_ENTRY: getUsersByEmailDomain() -> JPA: UserReadRepository.findByEmailDomain() -> TABLE: USERS
      */
     @GetMapping("/by-email-domain/{domain}")
-    public ResponseEntity<List<User>> getUsersByEmailDomain(@PathVariable String domain) {
-        List<User> users = jpaUserService.getUsersByEmailDomain(domain);
+    public ResponseEntity<List<UserListItem>> getUsersByEmailDomain(@PathVariable String domain) {
+        List<UserListItem> users = jpaUserQueryService.getUsersByEmailDomain(domain);
         return ResponseEntity.ok(users);
     }
     
@@ -258,6 +288,7 @@ public class JpaUserController {
      * 주문 정보와 함께 사용자 조회
      * FRONTEND_API: GET /api/jpa/users/{id}/with-orders -> API_ENTRY: getUserWithOrders() -> JPA: UserRepository.findByIdWithOrders() -> TABLE: USERS, ORDERS
      */
+    @SqlStatementBudget(4)
     @GetMapping("/{id}/with-orders")
     public ResponseEntity<User> getUserWithOrders(@PathVariable Long id) {
         Optional<User> user = jpaUserService.getUserWithOrders(id);
@@ -267,11 +298,11 @@ public class JpaUserController {
     
     /**
      * 고액 주문 사용자 조회
-     * FRONTEND_API: GET /api/jpa/users/high-value-orders -> API_ENTRY: getUsersWithHighValueOrders() -> JPA: UserRepository.findUsersWithOrdersAboveAmount() -> TABLE: USERS, ORDERS
+     * FRONTEND_API: GET /api/jpa/users/high-value-orders -> API_ENTRY: getUsersWithHighValueOrders() -> JPA: UserReadRepository.findWithOrdersAboveAmount() -> TABLE: USERS, ORDERS
      */
     @GetMapping("/high-value-orders")
-    public ResponseEntity<List<User>> getUsersWithHighValueOrders(@RequestParam BigDecimal minAmount) {
-        List<User> users = jpaUserService.getUsersWithHighValueOrders(minAmount);
+    public ResponseEntity<List<UserListItem>> getUsersWithHighValueOrders(@RequestParam BigDecimal minAmount) {
+        List<UserListItem> users = jpaUserQueryService.getUsersWithHighValueOrders(minAmount);
         return ResponseEntity.ok(users);
     }
     
@@ -363,25 +394,25 @@ public class JpaUserController {
     // 11. 전체 목록 API
     /**
      * 전체 사용자 목록
-     * FRONTEND_API: GET /api/jpa/users -> API_ENTRY: getAllUsers() -> JPA: UserRepository.findAll() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users -> API_ENTRY: getAllUsers() -> JPA: UserReadRepository.findAllItems() -> TABLE: USERS
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = jpaUserService.getAllUsers();
+    public ResponseEntity<List<UserListItem>> getAllUsers() {
+        List<UserListItem> users = jpaUserQueryService.getAllUsers();
         return ResponseEntity.ok(users);
     }
     
     // 12. 페이징 API
     /**
      * 페이징된 사용자 목록
-     * FRONTEND_API: GET /api/jpa/users/paged -> API_ENTRY: getUsersByStatusAndUserType() -> JPA: UserRepository.findByStatusAndUserType() -> TABLE: USERS
+     * FRONTEND_API: GET /api/jpa/users/paged -> API_ENTRY: getUsersByStatusAndUserType() -> JPA: UserReadRepository.findByStatusAndUserType() -> TABLE: USERS
      */
     @GetMapping("/paged")
-    public ResponseEntity<Page<User>> getPagedUsers(
+    public ResponseEntity<Page<UserListItem>> getPagedUsers(
             @RequestParam(required = false) UserStatus status,
             @RequestParam(required = false) UserType userType,
             Pageable pageable) {
-        Page<User> users = jpaUserService.getUsersByStatusAndUserType(status, userType, pageable);
+        Page<UserListItem> users = jpaUserQueryService.getUsersByStatusAndUserType(status, userType, pageable);
         return ResponseEntity.ok(users);
     }
 }
@@ -0,0 +1,100 @@
+package com.example.jpa.dto;
+
+import com.example.jpa.entity.OrderStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order List Item - 주문 목록/검색 API용 읽기 전용 프로젝션
+ * 생성자 표현식으로 필요한 컬럼만 조회하므로 엔티티, 스냅샷, 지연 로딩 프록시를 만들지 않는다.
+ * 사용자는 FK 값(userId)만 담아 USERS 조인 없이 조회한다.
+ */
+public class OrderListItem {
+
+    /**
+     * JPQL 선택절 - 조회 메서드에서 @Query(OrderListItem.SELECT + "WHERE ...") 형태로 사용
+     */
+    public static final String SELECT =
+        "SELECT new com.example.jpa.dto.OrderListItem(o.orderId, o.orderNumber, o.orderDate, o.orderStatus, " +
+        "o.totalAmount, o.discountAmount, o.shippingFee, o.paymentMethod, o.user.userId, o.createdAt) " +
+        "FROM Order o ";
+
+    private final Long orderId;
+    private final String orderNumber;
+    private final LocalDateTime orderDate;
+    private final OrderStatus orderStatus;
+    private final BigDecimal totalAmount;
+    private final BigDecimal discountAmount;
+    private final BigDecimal shippingFee;
+    private final String paymentMethod;
+    private final Long userId;
+    private final LocalDateTime createdAt;
+
+    // JPA Projection 생성자
+    public OrderListItem(Long orderId, String orderNumber, LocalDateTime orderDate, OrderStatus orderStatus,
+                         BigDecimal totalAmount, BigDecimal discountAmount, BigDecimal shippingFee,
+                         String paymentMethod, Long userId, LocalDateTime createdAt) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.orderDate = orderDate;
+        this.orderStatus = orderStatus;
+        this.totalAmount = totalAmount;
+        this.discountAmount = discountAmount;
+        this.shippingFee = shippingFee;
+        this.paymentMethod = paymentMethod;
+        this.userId = userId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public LocalDateTime getOrderDate() {
+        return orderDate;
+    }
+
+    public OrderStatus getOrderStatus() {
+        return orderStatus;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public BigDecimal getShippingFee() {
+        return shippingFee;
+    }
+
+    public String getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderListItem{" +
+                "orderId=" + orderId +
+                ", orderNumber='" + orderNumber + '\'' +
+                ", orderDate=" + orderDate +
+                ", orderStatus=" + orderStatus +
+                ", totalAmount=" + totalAmount +
+                ", userId=" + userId +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.jpa.dto;
+
+import com.example.jpa.entity.OrderStatus;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일괄 주문 상태 전이 결과 DTO
+ * 요청한 주문 ID마다 처리 결과와 전이 전 상태를 담는다 (요청 순서 유지, 중복 ID는 한 번만).
+ */
+public class OrderStatusTransitionResult {
+
+    public enum Outcome {
+        TRANSITIONED,       // 대상 상태로 변경됨
+        INVALID_TRANSITION, // 현재 상태에서 대상 상태로 전이할 수 없음
+        NOT_FOUND           // 주문 없음
+    }
+
+    private final OrderStatus targetStatus;
+    private final List<Item> items = new ArrayList<>();
+    private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+
+    public OrderStatusTransitionResult(OrderStatus targetStatus) {
+        this.targetStatus = targetStatus;
+        for (Outcome outcome : Outcome.values()) {
+            counts.put(outcome, 0);
+        }
+    }
+
+    public void add(Long orderId, Outcome outcome, OrderStatus previousStatus) {
+        items.add(new Item(orderId, outcome, previousStatus));
+        counts.merge(outcome, 1, Integer::sum);
+    }
+
+    public OrderStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    public Map<Outcome, Integer> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    public int getTransitionedCount() {
+        return counts.get(Outcome.TRANSITIONED);
+    }
+
+    public boolean isAllTransitioned() {
+        return getTransitionedCount() == items.size();
+    }
+
+    /**
+     * 주문별 결과 - previousStatus는 NOT_FOUND이면 null
+     */
+    public static class Item {
+        private final Long orderId;
+        private final Outcome outcome;
+        private final OrderStatus previousStatus;
+
+        public Item(Long orderId, Outcome outcome, OrderStatus previousStatus) {
+            this.orderId = orderId;
+            this.outcome = outcome;
+            this.previousStatus = previousStatus;
+        }
+
+        public Long getOrderId() {
+            return orderId;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public OrderStatus getPreviousStatus() {
+            return previousStatus;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OrderStatusTransitionResult{" +
+                "targetStatus=" + targetStatus +
+                ", requested=" + items.size() +
+                ", counts=" + counts +
+                '}';
+    }
+}
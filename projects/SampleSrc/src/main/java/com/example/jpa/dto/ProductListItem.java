@@ -0,0 +1,99 @@
+package com.example.jpa.dto;
+
+import com.example.jpa.entity.ProductStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Product List Item - 상품 목록/검색 API용 읽기 전용 프로젝션
+ * 카테고리는 FK 값(categoryId)만 담아 CATEGORIES 조인 없이 조회한다.
+ */
+public class ProductListItem {
+
+    /**
+     * JPQL 선택절 - 조회 메서드에서 @Query(ProductListItem.SELECT + "WHERE ...") 형태로 사용
+     */
+    public static final String SELECT =
+        "SELECT new com.example.jpa.dto.ProductListItem(p.productId, p.productCode, p.productName, p.description, " +
+        "p.price, p.stockQuantity, p.minStockLevel, p.status, p.category.categoryId, p.createdAt) " +
+        "FROM Product p ";
+
+    private final Long productId;
+    private final String productCode;
+    private final String productName;
+    private final String description;
+    private final BigDecimal price;
+    private final Integer stockQuantity;
+    private final Integer minStockLevel;
+    private final ProductStatus status;
+    private final Long categoryId;
+    private final LocalDateTime createdAt;
+
+    // JPA Projection 생성자
+    public ProductListItem(Long productId, String productCode, String productName, String description,
+                           BigDecimal price, Integer stockQuantity, Integer minStockLevel, ProductStatus status,
+                           Long categoryId, LocalDateTime createdAt) {
+        this.productId = productId;
+        this.productCode = productCode;
+        this.productName = productName;
+        this.description = description;
+        this.price = price;
+        this.stockQuantity = stockQuantity;
+        this.minStockLevel = minStockLevel;
+        this.status = status;
+        this.categoryId = categoryId;
+        this.createdAt = createdAt;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public String getProductCode() {
+        return productCode;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Integer getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public Integer getMinStockLevel() {
+        return minStockLevel;
+    }
+
+    public ProductStatus getStatus() {
+        return status;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductListItem{" +
+                "productId=" + productId +
+                ", productCode='" + productCode + '\'' +
+                ", productName='" + productName + '\'' +
+                ", price=" + price +
+                ", stockQuantity=" + stockQuantity +
+                ", status=" + status +
+                '}';
+    }
+}
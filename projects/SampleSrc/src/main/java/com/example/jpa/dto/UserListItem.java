@@ -0,0 +1,91 @@
+package com.example.jpa.dto;
+
+import com.example.jpa.entity.UserStatus;
+import com.example.jpa.entity.UserType;
+import java.time.LocalDateTime;
+
+/**
+ * User List Item - 사용자 목록/검색 API용 읽기 전용 프로젝션
+ * 비밀번호 컬럼과 프로필/주문 연관관계는 조회하지 않는다.
+ */
+public class UserListItem {
+
+    /**
+     * JPQL 선택절 - 조회 메서드에서 @Query(UserListItem.SELECT + "WHERE ...") 형태로 사용
+     */
+    public static final String SELECT =
+        "SELECT new com.example.jpa.dto.UserListItem(u.userId, u.username, u.email, u.fullName, u.phoneNumber, " +
+        "u.status, u.userType, u.createdAt, u.lastLoginAt) " +
+        "FROM User u ";
+
+    private final Long userId;
+    private final String username;
+    private final String email;
+    private final String fullName;
+    private final String phoneNumber;
+    private final UserStatus status;
+    private final UserType userType;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime lastLoginAt;
+
+    // JPA Projection 생성자
+    public UserListItem(Long userId, String username, String email, String fullName, String phoneNumber,
+                        UserStatus status, UserType userType, LocalDateTime createdAt, LocalDateTime lastLoginAt) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+        this.phoneNumber = phoneNumber;
+        this.status = status;
+        this.userType = userType;
+        this.createdAt = createdAt;
+        this.lastLoginAt = lastLoginAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public UserType getUserType() {
+        return userType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getLastLoginAt() {
+        return lastLoginAt;
+    }
+
+    @Override
+    public String toString() {
+        return "UserListItem{" +
+                "userId=" + userId +
+                ", username='" + username + '\'' +
+                ", email='" + email + '\'' +
+                ", status=" + status +
+                ", userType=" + userType +
+                '}';
+    }
+}
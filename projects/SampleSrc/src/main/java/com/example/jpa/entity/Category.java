@@ -1,5 +1,10 @@
 package com.example.jpa.entity;
 
+import com.example.jpa.config.CacheRegions;
+import com.example.jpa.service.CategoryTreeIndex;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -7,9 +12,14 @@ import java.util.List;
 /**
  * JPA Category Entity
  * TABLE: CATEGORIES
+ * 2차 캐시: 거의 바뀌지 않는 기준 데이터 - 엔티티와 하위 카테고리 트리(subCategories)를 캐시
+ * 계층 인덱스: 저장/수정/삭제를 CategoryTreeIndex에 커밋 후 반영
  */
 @Entity
 @Table(name = "CATEGORIES")
+@EntityListeners(CategoryTreeIndex.ChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = CacheRegions.CATEGORY)
 public class Category {
     
     @Id
@@ -45,6 +55,7 @@ public class Category {
     
     // JPA 연관관계 - 자식 카테고리들
     @OneToMany(mappedBy = "parentCategory", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = CacheRegions.CATEGORY_CHILDREN)
     private List<Category> subCategories;
     
     // JPA 연관관계 - 카테고리의 상품들
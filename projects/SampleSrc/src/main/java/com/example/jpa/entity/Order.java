@@ -8,6 +8,7 @@ import java.util.List;
 /**
  * JPA Order Entity
  * TABLE: ORDERS
+ * 조회 시 함께 가져올 연관관계는 엔티티 그래프로 정의 (OrderFetchPlan 참고)
  */
 @Entity
 @Table(name = "ORDERS", indexes = {
@@ -15,8 +16,28 @@ import java.util.List;
     @Index(name = "idx_order_status", columnList = "order_status"),
     @Index(name = "idx_order_date", columnList = "order_date")
 })
+// user.userProfile은 mappedBy 쪽 OneToOne이라 LAZY가 적용되지 않는다 (프록시 불가 -> 주문자마다 즉시 조회).
+// 주문자를 가져오는 그래프는 프로필까지 같은 SQL에서 조인한다.
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Order.GRAPH_WITH_USER,
+                      attributeNodes = @NamedAttributeNode(value = "user", subgraph = "user.profile"),
+                      subgraphs = @NamedSubgraph(name = "user.profile",
+                                                 attributeNodes = @NamedAttributeNode("userProfile"))),
+    @NamedEntityGraph(name = Order.GRAPH_DETAIL,
+                      attributeNodes = {
+                          @NamedAttributeNode(value = "user", subgraph = "user.profile"),
+                          @NamedAttributeNode(value = "orderItems", subgraph = "orderItems.product")
+                      },
+                      subgraphs = {
+                          @NamedSubgraph(name = "user.profile", attributeNodes = @NamedAttributeNode("userProfile")),
+                          @NamedSubgraph(name = "orderItems.product", attributeNodes = @NamedAttributeNode("product"))
+                      })
+})
 public class Order {
     
+    public static final String GRAPH_WITH_USER = "Order.withUser";
+    public static final String GRAPH_DETAIL = "Order.detail";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "ORDER_ID")
@@ -1,5 +1,11 @@
 package com.example.jpa.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 주문 상태 Enum
  */
@@ -15,6 +21,21 @@ public enum OrderStatus {
     
     private final String description;
     
+    // 대상 상태 -> 그 상태로 전이할 수 있는 현재 상태 집합 (canTransitionTo에서 도출)
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCE_STATES = new EnumMap<>(OrderStatus.class);
+    
+    static {
+        for (OrderStatus target : values()) {
+            EnumSet<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus source : values()) {
+                if (source.canTransitionTo(target)) {
+                    sources.add(source);
+                }
+            }
+            SOURCE_STATES.put(target, Collections.unmodifiableSet(sources));
+        }
+    }
+    
     OrderStatus(String description) {
         this.description = description;
     }
@@ -53,4 +74,12 @@ public enum OrderStatus {
                 return false;
         }
     }
+    
+    /**
+     * target으로 전이할 수 있는 현재 상태 집합
+     * 일괄 UPDATE의 WHERE 조건(ORDER_STATUS IN ...)에 사용 - 최종 상태만 대상이면 빈 집합
+     */
+    public static Set<OrderStatus> sourceStatesOf(OrderStatus target) {
+        return SOURCE_STATES.get(target);
+    }
 }
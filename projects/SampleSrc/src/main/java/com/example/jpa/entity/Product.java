@@ -1,5 +1,9 @@
 package com.example.jpa.entity;
 
+import com.example.jpa.config.CacheRegions;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -8,6 +12,8 @@ import java.util.List;
 /**
  * JPA Product Entity
  * TABLE: PRODUCTS
+ * 2차 캐시: READ_WRITE - 재고(stockQuantity)는 ProductRepository.addStock/reduceStock 실행 시
+ * 해당 상품 항목만 무효화된다 (JpaProductService.evictCachedProduct)
  */
 @Entity
 @Table(name = "PRODUCTS", indexes = {
@@ -15,6 +21,8 @@ import java.util.List;
     @Index(name = "idx_product_status", columnList = "status"),
     @Index(name = "idx_product_name", columnList = "product_name")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PRODUCT)
 public class Product {
     
     @Id
@@ -1,11 +1,14 @@
 package com.example.jpa.repository;
 
+import com.example.jpa.config.CacheRegions;
 import com.example.jpa.entity.Category;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,6 +52,10 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByIdWithProducts(@Param("categoryId") Long categoryId);
     
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.subCategories WHERE c.parentCategory IS NULL")
+    @org.springframework.data.jpa.repository.QueryHints({
+        @QueryHint(name = QueryHints.CACHEABLE, value = "true"),
+        @QueryHint(name = QueryHints.CACHE_REGION, value = CacheRegions.ROOT_CATEGORIES_QUERY)
+    })
     List<Category> findRootCategoriesWithSubCategories();
     
     @Query("SELECT c FROM Category c WHERE c.parentCategory.categoryId = :parentId AND c.isActive = true")
@@ -87,5 +94,19 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     // 10. 복잡한 계층 쿼리 (재귀 CTE는 JPA에서 제한적이므로 간단한 형태로)
     @Query("SELECT c FROM Category c WHERE c.parentCategory IS NULL OR c.parentCategory.categoryId = :rootId")
     List<Category> findCategoryHierarchy(@Param("rootId") Long rootId);
+    
+    // 11. 2차 캐시 - 최상위 카테고리 (쿼리 캐시: ID 목록, 엔티티/하위 트리: 엔티티·컬렉션 영역)
+    // CATEGORIES 테이블이 바뀌면 Hibernate가 결과를 자동 무효화
+    @Query("SELECT c FROM Category c WHERE c.parentCategory IS NULL ORDER BY c.displayOrder")
+    @org.springframework.data.jpa.repository.QueryHints({
+        @QueryHint(name = QueryHints.CACHEABLE, value = "true"),
+        @QueryHint(name = QueryHints.CACHE_REGION, value = CacheRegions.ROOT_CATEGORIES_QUERY)
+    })
+    List<Category> findRootCategories();
+    
+    // 12. 계층 인덱스 적재 (CategoryTreeIndex) - 엔티티 대신 ID/부모 ID/이름/표시 순서만 조회
+    // c.parentCategory.categoryId는 FK 컬럼을 그대로 읽으므로 자기 조인이 생기지 않는다
+    @Query("SELECT c.categoryId, c.parentCategory.categoryId, c.categoryName, c.displayOrder FROM Category c")
+    List<Object[]> findTreeRows();
 }
 
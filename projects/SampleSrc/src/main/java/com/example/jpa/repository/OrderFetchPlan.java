@@ -0,0 +1,36 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.Order;
+
+/**
+ * 주문 조회 시 함께 가져올 연관관계 (용도별 fetch plan)
+ *
+ * 목록 조회는 WITH_USER를 사용한다: user(ManyToOne)는 조인으로 함께 가져오고,
+ * orderItems/product는 hibernate.default_batch_fetch_size 단위의 IN 쿼리로 나눠 가져온다.
+ * 컬렉션을 조인하는 DETAIL은 행이 상품 수만큼 늘어나므로 단건 조회에만 사용한다.
+ */
+public enum OrderFetchPlan {
+
+    /** 주문 컬럼만 (응답에서 연관관계를 쓰지 않는 경우) */
+    SUMMARY(null),
+
+    /** 주문 + 주문자(프로필 포함) */
+    WITH_USER(Order.GRAPH_WITH_USER),
+
+    /** 주문 + 주문자(프로필 포함) + 주문 상품 + 상품 */
+    DETAIL(Order.GRAPH_DETAIL);
+
+    private final String graphName;
+
+    OrderFetchPlan(String graphName) {
+        this.graphName = graphName;
+    }
+
+    public String getGraphName() {
+        return graphName;
+    }
+
+    public boolean fetchesCollection() {
+        return this == DETAIL;
+    }
+}
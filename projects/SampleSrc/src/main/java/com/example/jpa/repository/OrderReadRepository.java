@@ -0,0 +1,139 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.dto.OrderListItem;
+import com.example.jpa.dto.OrderSummaryDto;
+import com.example.jpa.entity.Order;
+import com.example.jpa.entity.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA Order 읽기 전용 Repository
+ * 목록/검색 API의 조건을 OrderRepository와 동일하게 유지하되 OrderListItem 프로젝션으로 조회한다.
+ * save/delete를 노출하지 않도록 Repository 마커 인터페이스만 상속한다.
+ */
+public interface OrderReadRepository extends Repository<Order, Long> {
+
+    // 1. 상태/사용자 기준 조회
+    @Query(OrderListItem.SELECT + "WHERE o.orderStatus = :status")
+    List<OrderListItem> findByOrderStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT new com.example.jpa.dto.OrderSummaryDto(o.orderId, o.orderNumber, o.orderDate, o.orderStatus, o.totalAmount, u.username) " +
+           "FROM Order o JOIN o.user u WHERE o.orderStatus = :status")
+    List<OrderSummaryDto> findByOrderStatusWithUsername(@Param("status") OrderStatus status);
+
+    @Query(OrderListItem.SELECT + "WHERE o.user.userId = :userId")
+    List<OrderListItem> findByUserId(@Param("userId") Long userId);
+
+    @Query(OrderListItem.SELECT + "WHERE o.user.userId = :userId ORDER BY o.totalAmount DESC")
+    List<OrderListItem> findByUserIdOrderByTotalAmountDesc(@Param("userId") Long userId);
+
+    // 2. 날짜/금액 기준 조회
+    @Query(OrderListItem.SELECT + "WHERE o.orderDate BETWEEN :startDate AND :endDate")
+    List<OrderListItem> findByOrderDateBetween(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+
+    @Query(OrderListItem.SELECT + "WHERE o.orderDate > :date")
+    List<OrderListItem> findByOrderDateAfter(@Param("date") LocalDateTime date);
+
+    @Query(OrderListItem.SELECT + "WHERE o.totalAmount > :amount")
+    List<OrderListItem> findByTotalAmountGreaterThan(@Param("amount") BigDecimal amount);
+
+    @Query(OrderListItem.SELECT + "WHERE o.totalAmount BETWEEN :minAmount AND :maxAmount")
+    List<OrderListItem> findByTotalAmountBetween(@Param("minAmount") BigDecimal minAmount,
+                                                 @Param("maxAmount") BigDecimal maxAmount);
+
+    // 3. 동적 검색 (OrderRepository.findOrdersByDynamicCriteria와 같은 조건)
+    @Query(value = OrderListItem.SELECT + "WHERE " +
+                   "(:userId IS NULL OR o.user.userId = :userId) AND " +
+                   "(:status IS NULL OR o.orderStatus = :status) AND " +
+                   "(:fromDate IS NULL OR o.orderDate >= :fromDate) AND " +
+                   "(:toDate IS NULL OR o.orderDate <= :toDate) AND " +
+                   "(:minAmount IS NULL OR o.totalAmount >= :minAmount) AND " +
+                   "(:maxAmount IS NULL OR o.totalAmount <= :maxAmount)",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE " +
+                        "(:userId IS NULL OR o.user.userId = :userId) AND " +
+                        "(:status IS NULL OR o.orderStatus = :status) AND " +
+                        "(:fromDate IS NULL OR o.orderDate >= :fromDate) AND " +
+                        "(:toDate IS NULL OR o.orderDate <= :toDate) AND " +
+                        "(:minAmount IS NULL OR o.totalAmount >= :minAmount) AND " +
+                        "(:maxAmount IS NULL OR o.totalAmount <= :maxAmount)")
+    Page<OrderListItem> findByDynamicCriteria(@Param("userId") Long userId,
+                                              @Param("status") OrderStatus status,
+                                              @Param("fromDate") LocalDateTime fromDate,
+                                              @Param("toDate") LocalDateTime toDate,
+                                              @Param("minAmount") BigDecimal minAmount,
+                                              @Param("maxAmount") BigDecimal maxAmount,
+                                              Pageable pageable);
+
+    // 키셋 페이징 첫 페이지: 커서 조건 없이 정렬 순서대로 - 건수 제한은 Pageable(size + 1)
+    @Query(OrderListItem.SELECT + "WHERE " +
+           "(:userId IS NULL OR o.user.userId = :userId) AND " +
+           "(:status IS NULL OR o.orderStatus = :status) AND " +
+           "(:fromDate IS NULL OR o.orderDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR o.orderDate <= :toDate) AND " +
+           "(:minAmount IS NULL OR o.totalAmount >= :minAmount) AND " +
+           "(:maxAmount IS NULL OR o.totalAmount <= :maxAmount) " +
+           "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<OrderListItem> findByDynamicCriteriaFirst(@Param("userId") Long userId,
+                                                   @Param("status") OrderStatus status,
+                                                   @Param("fromDate") LocalDateTime fromDate,
+                                                   @Param("toDate") LocalDateTime toDate,
+                                                   @Param("minAmount") BigDecimal minAmount,
+                                                   @Param("maxAmount") BigDecimal maxAmount,
+                                                   Pageable limit);
+
+    // 키셋 페이징 다음 페이지: (orderDate, orderId) 커서 이후 행만 조회 - 건수 제한은 Pageable(size + 1)
+    // 커서는 필수 - "orderDate <= 커서"를 따로 두어 옵티마이저가 인덱스 범위 탐색(seek)으로 시작하게 한다
+    @Query(OrderListItem.SELECT + "WHERE " +
+           "(:userId IS NULL OR o.user.userId = :userId) AND " +
+           "(:status IS NULL OR o.orderStatus = :status) AND " +
+           "(:fromDate IS NULL OR o.orderDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR o.orderDate <= :toDate) AND " +
+           "(:minAmount IS NULL OR o.totalAmount >= :minAmount) AND " +
+           "(:maxAmount IS NULL OR o.totalAmount <= :maxAmount) AND " +
+           "o.orderDate <= :cursorOrderDate AND (o.orderDate < :cursorOrderDate OR o.orderId < :cursorOrderId) " +
+           "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<OrderListItem> findByDynamicCriteriaAfter(@Param("userId") Long userId,
+                                                   @Param("status") OrderStatus status,
+                                                   @Param("fromDate") LocalDateTime fromDate,
+                                                   @Param("toDate") LocalDateTime toDate,
+                                                   @Param("minAmount") BigDecimal minAmount,
+                                                   @Param("maxAmount") BigDecimal maxAmount,
+                                                   @Param("cursorOrderDate") LocalDateTime cursorOrderDate,
+                                                   @Param("cursorOrderId") Long cursorOrderId,
+                                                   Pageable limit);
+
+    // 4. 연관관계 조건 - 조인 대신 서브쿼리로 걸러 주문 행이 중복되지 않게 한다
+    @Query(OrderListItem.SELECT + "WHERE o.user.userId IN " +
+           "(SELECT u.userId FROM User u WHERE u.userType = 'PREMIUM')")
+    List<OrderListItem> findByPremiumUsers();
+
+    @Query(OrderListItem.SELECT + "WHERE o.orderId IN " +
+           "(SELECT oi.order.orderId FROM OrderItem oi WHERE oi.product.category.categoryName = :categoryName)")
+    List<OrderListItem> findContainingProductsFromCategory(@Param("categoryName") String categoryName);
+
+    // 카테고리 ID 집합 (CategoryTreeIndex) - 하위 쿼리가 PRODUCTS의 FK만 비교하므로 CATEGORIES 조인 없음
+    @Query(OrderListItem.SELECT + "WHERE o.orderId IN " +
+           "(SELECT oi.order.orderId FROM OrderItem oi WHERE oi.product.category.categoryId IN :categoryIds)")
+    List<OrderListItem> findContainingProductsFromCategories(@Param("categoryIds") Collection<Long> categoryIds);
+
+    @Query(OrderListItem.SELECT + "WHERE o.orderId IN " +
+           "(SELECT oi.order.orderId FROM OrderItem oi WHERE oi.product.productName LIKE %:productName%)")
+    List<OrderListItem> findContainingProduct(@Param("productName") String productName);
+
+    @Query(OrderListItem.SELECT + "WHERE SIZE(o.orderItems) > :minItemCount")
+    List<OrderListItem> findWithMinimumItems(@Param("minItemCount") int minItemCount);
+
+    // 5. 전체 목록
+    @Query(OrderListItem.SELECT)
+    List<OrderListItem> findAllItems();
+}
@@ -6,13 +6,16 @@ import com.example.jpa.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,7 +24,7 @@ import java.util.Optional;
  * 주문 관련 다양한 JPA 쿼리 패턴 테스트케이스
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     
     // 1. 기본 메서드명 기반 쿼리
     Optional<Order> findByOrderNumber(String orderNumber);
@@ -95,7 +98,10 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o.orderStatus, COUNT(o) FROM Order o GROUP BY o.orderStatus")
     List<Object[]> getOrderCountByStatus();
     
-    @Query("SELECT DATE(o.orderDate), COUNT(o) FROM Order o WHERE o.orderDate >= :fromDate GROUP BY DATE(o.orderDate)")
+    // 날짜 절삭은 HQL 함수로 등록돼 있지 않아(DATE() 미등록 -> 시작 시 쿼리 검증 실패) 네이티브 TRUNC 사용
+    @Query(value = "SELECT TRUNC(o.ORDER_DATE), COUNT(*) FROM ORDERS o WHERE o.ORDER_DATE >= :fromDate " +
+                   "GROUP BY TRUNC(o.ORDER_DATE)",
+           nativeQuery = true)
     List<Object[]> getDailyOrderCount(@Param("fromDate") LocalDateTime fromDate);
     
     @Query("SELECT o.user.username, COUNT(o), SUM(o.totalAmount) FROM Order o " +
@@ -153,6 +159,44 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                                            @Param("maxAmount") BigDecimal maxAmount,
                                            Pageable pageable);
     
+    // 키셋 페이징 첫 페이지: 커서 조건 없이 정렬 순서대로 - 건수 제한은 Pageable(size + 1)
+    @Query("SELECT o FROM Order o WHERE " +
+           "(:userId IS NULL OR o.user.userId = :userId) AND " +
+           "(:status IS NULL OR o.orderStatus = :status) AND " +
+           "(:fromDate IS NULL OR o.orderDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR o.orderDate <= :toDate) AND " +
+           "(:minAmount IS NULL OR o.totalAmount >= :minAmount) AND " +
+           "(:maxAmount IS NULL OR o.totalAmount <= :maxAmount) " +
+           "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<Order> findOrdersByDynamicCriteriaFirst(@Param("userId") Long userId,
+                                                 @Param("status") OrderStatus status,
+                                                 @Param("fromDate") LocalDateTime fromDate,
+                                                 @Param("toDate") LocalDateTime toDate,
+                                                 @Param("minAmount") BigDecimal minAmount,
+                                                 @Param("maxAmount") BigDecimal maxAmount,
+                                                 Pageable limit);
+    
+    // 키셋 페이징 다음 페이지: (orderDate, orderId) 커서 이후 행만 조회 - 건수 제한은 Pageable(size + 1)
+    // 커서는 필수 - "orderDate <= 커서"를 따로 두어 옵티마이저가 인덱스 범위 탐색(seek)으로 시작하게 한다
+    @Query("SELECT o FROM Order o WHERE " +
+           "(:userId IS NULL OR o.user.userId = :userId) AND " +
+           "(:status IS NULL OR o.orderStatus = :status) AND " +
+           "(:fromDate IS NULL OR o.orderDate >= :fromDate) AND " +
+           "(:toDate IS NULL OR o.orderDate <= :toDate) AND " +
+           "(:minAmount IS NULL OR o.totalAmount >= :minAmount) AND " +
+           "(:maxAmount IS NULL OR o.totalAmount <= :maxAmount) AND " +
+           "o.orderDate <= :cursorOrderDate AND (o.orderDate < :cursorOrderDate OR o.orderId < :cursorOrderId) " +
+           "ORDER BY o.orderDate DESC, o.orderId DESC")
+    List<Order> findOrdersByDynamicCriteriaAfter(@Param("userId") Long userId,
+                                                 @Param("status") OrderStatus status,
+                                                 @Param("fromDate") LocalDateTime fromDate,
+                                                 @Param("toDate") LocalDateTime toDate,
+                                                 @Param("minAmount") BigDecimal minAmount,
+                                                 @Param("maxAmount") BigDecimal maxAmount,
+                                                 @Param("cursorOrderDate") LocalDateTime cursorOrderDate,
+                                                 @Param("cursorOrderId") Long cursorOrderId,
+                                                 Pageable limit);
+    
     // 14. 복잡한 연관관계 쿼리
     @Query("SELECT DISTINCT o FROM Order o JOIN o.orderItems oi " +
            "WHERE oi.product.productName LIKE %:productName%")
@@ -178,5 +222,19 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT o FROM Order o WHERE o.orderDate >= :fromDate AND o.orderStatus IN :statuses")
     List<Order> findRecentOrdersByStatuses(@Param("fromDate") LocalDateTime fromDate, 
                                           @Param("statuses") List<OrderStatus> statuses);
+    
+    // 17. 일괄 상태 전이 - 허용된 현재 상태(sourceStatuses)인 행만 한 번의 UPDATE로 변경
+    // 벌크 UPDATE는 @PreUpdate를 거치지 않으므로 updatedAt을 직접 지정하고, 영속성 컨텍스트는 실행 전 flush/후 clear
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.orderStatus = :targetStatus, o.updatedAt = :updatedAt " +
+           "WHERE o.orderId IN :orderIds AND o.orderStatus IN :sourceStatuses")
+    int transitionStatus(@Param("orderIds") Collection<Long> orderIds,
+                         @Param("targetStatus") OrderStatus targetStatus,
+                         @Param("sourceStatuses") Collection<OrderStatus> sourceStatuses,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // 일괄 전이 전 현재 상태 조회 (행 잠금) - [orderId, orderStatus]
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderId, o.orderStatus FROM Order o WHERE o.orderId IN :orderIds")
+    List<Object[]> findStatusesForUpdate(@Param("orderIds") Collection<Long> orderIds);
 }
-
@@ -0,0 +1,23 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.Order;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * fetch plan을 호출 시점에 고르는 주문 조회 (구현: OrderRepositoryImpl)
+ */
+public interface OrderRepositoryCustom {
+
+    List<Order> findByUserUserId(Long userId, OrderFetchPlan plan);
+
+    List<Order> findByTotalAmountGreaterThan(BigDecimal amount, OrderFetchPlan plan);
+
+    List<Order> findAll(OrderFetchPlan plan);
+
+    Optional<Order> findById(Long orderId, OrderFetchPlan plan);
+
+    Optional<Order> findByOrderNumber(String orderNumber, OrderFetchPlan plan);
+}
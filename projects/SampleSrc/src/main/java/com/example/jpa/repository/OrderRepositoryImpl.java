@@ -0,0 +1,71 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.entity.Order;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * OrderRepositoryCustom 구현 - JPQL에 fetch plan의 엔티티 그래프를 load graph 힌트로 적용
+ * (Spring Data가 OrderRepository에 이름 규칙(Impl)으로 연결)
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String LOAD_GRAPH_HINT = "javax.persistence.loadgraph";
+    private static final String PASS_DISTINCT_THROUGH_HINT = "hibernate.query.passDistinctThrough";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Order> findByUserUserId(Long userId, OrderFetchPlan plan) {
+        return query("WHERE o.user.userId = :userId", plan)
+            .setParameter("userId", userId)
+            .getResultList();
+    }
+
+    @Override
+    public List<Order> findByTotalAmountGreaterThan(BigDecimal amount, OrderFetchPlan plan) {
+        return query("WHERE o.totalAmount > :amount", plan)
+            .setParameter("amount", amount)
+            .getResultList();
+    }
+
+    @Override
+    public List<Order> findAll(OrderFetchPlan plan) {
+        return query("", plan).getResultList();
+    }
+
+    @Override
+    public Optional<Order> findById(Long orderId, OrderFetchPlan plan) {
+        return query("WHERE o.orderId = :orderId", plan)
+            .setParameter("orderId", orderId)
+            .getResultStream()
+            .findFirst();
+    }
+
+    @Override
+    public Optional<Order> findByOrderNumber(String orderNumber, OrderFetchPlan plan) {
+        return query("WHERE o.orderNumber = :orderNumber", plan)
+            .setParameter("orderNumber", orderNumber)
+            .getResultStream()
+            .findFirst();
+    }
+
+    private TypedQuery<Order> query(String where, OrderFetchPlan plan) {
+        // 컬렉션을 조인하면 주문이 상품 수만큼 중복되므로 DISTINCT (SQL에는 전달하지 않음)
+        String select = plan.fetchesCollection() ? "SELECT DISTINCT o FROM Order o " : "SELECT o FROM Order o ";
+        TypedQuery<Order> query = entityManager.createQuery(select + where, Order.class);
+        if (plan.getGraphName() != null) {
+            query.setHint(LOAD_GRAPH_HINT, entityManager.getEntityGraph(plan.getGraphName()));
+        }
+        if (plan.fetchesCollection()) {
+            query.setHint(PASS_DISTINCT_THROUGH_HINT, false);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.dto.ProductListItem;
+import com.example.jpa.entity.Product;
+import com.example.jpa.entity.ProductStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA Product 읽기 전용 Repository
+ * 목록/검색 API의 조건을 ProductRepository와 동일하게 유지하되 ProductListItem 프로젝션으로 조회한다.
+ */
+public interface ProductReadRepository extends Repository<Product, Long> {
+
+    // 1. 상태/카테고리 기준 조회
+    @Query(ProductListItem.SELECT + "WHERE p.status = :status")
+    List<ProductListItem> findByStatus(@Param("status") ProductStatus status);
+
+    @Query(ProductListItem.SELECT + "WHERE p.category.categoryId = :categoryId")
+    List<ProductListItem> findByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(ProductListItem.SELECT + "WHERE p.category.categoryName = :categoryName")
+    List<ProductListItem> findByCategoryName(@Param("categoryName") String categoryName);
+
+    // 카테고리 ID 집합 (CategoryTreeIndex가 계산한 하위 트리/이름 일치 결과) - CATEGORIES 조인 없음
+    @Query(ProductListItem.SELECT + "WHERE p.category.categoryId IN :categoryIds")
+    List<ProductListItem> findByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
+
+    // 2. 상품명/설명 검색
+    @Query(ProductListItem.SELECT + "WHERE p.productName LIKE %:name%")
+    List<ProductListItem> findByProductNameContaining(@Param("name") String name);
+
+    @Query(ProductListItem.SELECT + "WHERE UPPER(p.productName) LIKE UPPER(CONCAT('%', :name, '%'))")
+    List<ProductListItem> findByProductNameContainingIgnoreCase(@Param("name") String name);
+
+    @Query(ProductListItem.SELECT + "WHERE p.description LIKE %:description%")
+    List<ProductListItem> findByDescriptionContaining(@Param("description") String description);
+
+    // 3. 가격/재고 조건
+    @Query(ProductListItem.SELECT + "WHERE p.price BETWEEN :minPrice AND :maxPrice")
+    List<ProductListItem> findByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                             @Param("maxPrice") BigDecimal maxPrice);
+
+    @Query(ProductListItem.SELECT + "WHERE p.price > :price")
+    List<ProductListItem> findByPriceGreaterThan(@Param("price") BigDecimal price);
+
+    @Query(ProductListItem.SELECT + "WHERE p.price <= :price")
+    List<ProductListItem> findByPriceLessThanEqual(@Param("price") BigDecimal price);
+
+    @Query(ProductListItem.SELECT + "WHERE p.stockQuantity <= p.minStockLevel")
+    List<ProductListItem> findLowStock();
+
+    @Query(ProductListItem.SELECT + "WHERE p.stockQuantity = 0 OR p.stockQuantity IS NULL")
+    List<ProductListItem> findOutOfStock();
+
+    // 4. 복합 조건
+    @Query(ProductListItem.SELECT + "WHERE p.status = :status AND p.price BETWEEN :minPrice AND :maxPrice")
+    List<ProductListItem> findByStatusAndPriceBetween(@Param("status") ProductStatus status,
+                                                      @Param("minPrice") BigDecimal minPrice,
+                                                      @Param("maxPrice") BigDecimal maxPrice);
+
+    @Query(ProductListItem.SELECT + "WHERE p.category.categoryId = :categoryId AND p.status = :status")
+    List<ProductListItem> findByCategoryIdAndStatus(@Param("categoryId") Long categoryId,
+                                                    @Param("status") ProductStatus status);
+
+    // 5. 동적 검색 (ProductRepository.findProductsByDynamicCriteria와 같은 조건)
+    @Query(value = ProductListItem.SELECT + "WHERE " +
+                   "(:name IS NULL OR p.productName LIKE %:name%) AND " +
+                   "(:categoryId IS NULL OR p.category.categoryId = :categoryId) AND " +
+                   "(:status IS NULL OR p.status = :status) AND " +
+                   "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+                   "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+                   "(:minStock IS NULL OR p.stockQuantity >= :minStock)",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE " +
+                        "(:name IS NULL OR p.productName LIKE %:name%) AND " +
+                        "(:categoryId IS NULL OR p.category.categoryId = :categoryId) AND " +
+                        "(:status IS NULL OR p.status = :status) AND " +
+                        "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+                        "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+                        "(:minStock IS NULL OR p.stockQuantity >= :minStock)")
+    Page<ProductListItem> findByDynamicCriteria(@Param("name") String name,
+                                                @Param("categoryId") Long categoryId,
+                                                @Param("status") ProductStatus status,
+                                                @Param("minPrice") BigDecimal minPrice,
+                                                @Param("maxPrice") BigDecimal maxPrice,
+                                                @Param("minStock") Integer minStock,
+                                                Pageable pageable);
+
+    // 키셋 페이징 첫 페이지: 커서 조건 없이 정렬 순서대로 - 건수 제한은 Pageable(size + 1)
+    @Query(ProductListItem.SELECT + "WHERE " +
+           "(:name IS NULL OR p.productName LIKE %:name%) AND " +
+           "(:categoryId IS NULL OR p.category.categoryId = :categoryId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:minStock IS NULL OR p.stockQuantity >= :minStock) " +
+           "ORDER BY p.createdAt DESC, p.productId DESC")
+    List<ProductListItem> findByDynamicCriteriaFirst(@Param("name") String name,
+                                                     @Param("categoryId") Long categoryId,
+                                                     @Param("status") ProductStatus status,
+                                                     @Param("minPrice") BigDecimal minPrice,
+                                                     @Param("maxPrice") BigDecimal maxPrice,
+                                                     @Param("minStock") Integer minStock,
+                                                     Pageable limit);
+
+    // 키셋 페이징 다음 페이지: (createdAt, productId) 커서 이후 행만 조회 - 건수 제한은 Pageable(size + 1)
+    // 커서는 필수 - "createdAt <= 커서"를 따로 두어 옵티마이저가 인덱스 범위 탐색(seek)으로 시작하게 한다
+    @Query(ProductListItem.SELECT + "WHERE " +
+           "(:name IS NULL OR p.productName LIKE %:name%) AND " +
+           "(:categoryId IS NULL OR p.category.categoryId = :categoryId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:minStock IS NULL OR p.stockQuantity >= :minStock) AND " +
+           "p.createdAt <= :cursorCreatedAt AND (p.createdAt < :cursorCreatedAt OR p.productId < :cursorProductId) " +
+           "ORDER BY p.createdAt DESC, p.productId DESC")
+    List<ProductListItem> findByDynamicCriteriaAfter(@Param("name") String name,
+                                                     @Param("categoryId") Long categoryId,
+                                                     @Param("status") ProductStatus status,
+                                                     @Param("minPrice") BigDecimal minPrice,
+                                                     @Param("maxPrice") BigDecimal maxPrice,
+                                                     @Param("minStock") Integer minStock,
+                                                     @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                     @Param("cursorProductId") Long cursorProductId,
+                                                     Pageable limit);
+
+    // 6. 주문 이력 조건 - GROUP BY 대상이 상품 전체 컬럼이 되지 않도록 서브쿼리에서 집계
+    @Query(ProductListItem.SELECT + "WHERE p.productId IN " +
+           "(SELECT oi.product.productId FROM OrderItem oi WHERE oi.order.orderStatus = 'COMPLETED' " +
+           " GROUP BY oi.product.productId HAVING COUNT(oi) > :minOrderCount)")
+    List<ProductListItem> findPopular(@Param("minOrderCount") Long minOrderCount);
+
+    @Query(ProductListItem.SELECT + "WHERE NOT EXISTS " +
+           "(SELECT oi.orderItemId FROM OrderItem oi WHERE oi.product = p)")
+    List<ProductListItem> findNeverOrdered();
+
+    @Query(ProductListItem.SELECT + "WHERE p.productId IN " +
+           "(SELECT oi.product.productId FROM OrderItem oi WHERE oi.order.orderDate >= :fromDate)")
+    List<ProductListItem> findOrderedAfterDate(@Param("fromDate") LocalDateTime fromDate);
+
+    // 7. 전체 목록
+    @Query(ProductListItem.SELECT)
+    List<ProductListItem> findAllItems();
+}
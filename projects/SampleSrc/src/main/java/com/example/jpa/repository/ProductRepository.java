@@ -1,5 +1,6 @@
 package com.example.jpa.repository;
 
+import com.example.jpa.config.CacheRegions;
 import com.example.jpa.entity.Product;
 import com.example.jpa.entity.ProductStatus;
 import com.example.jpa.entity.Category;
@@ -8,9 +9,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -123,13 +126,19 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByStatusWithCategoryNameNative(@Param("status") String status);
     
     // 11. @Modifying 업데이트 쿼리
+    // 재고 변경은 네이티브 UPDATE + 별도 쿼리 공간 - JPQL 벌크 UPDATE는 상품 2차 캐시 영역 전체를 비우므로
+    // 호출 후 해당 상품만 캐시에서 무효화해야 한다 (JpaProductService.addStock/reduceStock)
     @Modifying
-    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity WHERE p.productId = :productId")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES, value = CacheRegions.PRODUCT_STOCK_SPACE))
+    @Query(value = "UPDATE PRODUCTS SET STOCK_QUANTITY = STOCK_QUANTITY + :quantity WHERE PRODUCT_ID = :productId",
+           nativeQuery = true)
     int addStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
     
     @Modifying
-    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity " +
-           "WHERE p.productId = :productId AND p.stockQuantity >= :quantity")
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_NATIVE_SPACES, value = CacheRegions.PRODUCT_STOCK_SPACE))
+    @Query(value = "UPDATE PRODUCTS SET STOCK_QUANTITY = STOCK_QUANTITY - :quantity " +
+                   "WHERE PRODUCT_ID = :productId AND STOCK_QUANTITY >= :quantity",
+           nativeQuery = true)
     int reduceStock(@Param("productId") Long productId, @Param("quantity") Integer quantity);
     
     @Modifying
@@ -166,6 +175,44 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                                @Param("minStock") Integer minStock,
                                                Pageable pageable);
     
+    // 키셋 페이징 첫 페이지: 커서 조건 없이 정렬 순서대로 - 건수 제한은 Pageable(size + 1)
+    @Query("SELECT p FROM Product p WHERE " +
+           "(:name IS NULL OR p.productName LIKE %:name%) AND " +
+           "(:categoryId IS NULL OR p.category.categoryId = :categoryId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:minStock IS NULL OR p.stockQuantity >= :minStock) " +
+           "ORDER BY p.createdAt DESC, p.productId DESC")
+    List<Product> findProductsByDynamicCriteriaFirst(@Param("name") String name,
+                                                     @Param("categoryId") Long categoryId,
+                                                     @Param("status") ProductStatus status,
+                                                     @Param("minPrice") BigDecimal minPrice,
+                                                     @Param("maxPrice") BigDecimal maxPrice,
+                                                     @Param("minStock") Integer minStock,
+                                                     Pageable limit);
+    
+    // 키셋 페이징 다음 페이지: (createdAt, productId) 커서 이후 행만 조회 - 건수 제한은 Pageable(size + 1)
+    // 커서는 필수 - "createdAt <= 커서"를 따로 두어 옵티마이저가 인덱스 범위 탐색(seek)으로 시작하게 한다
+    @Query("SELECT p FROM Product p WHERE " +
+           "(:name IS NULL OR p.productName LIKE %:name%) AND " +
+           "(:categoryId IS NULL OR p.category.categoryId = :categoryId) AND " +
+           "(:status IS NULL OR p.status = :status) AND " +
+           "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
+           "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
+           "(:minStock IS NULL OR p.stockQuantity >= :minStock) AND " +
+           "p.createdAt <= :cursorCreatedAt AND (p.createdAt < :cursorCreatedAt OR p.productId < :cursorProductId) " +
+           "ORDER BY p.createdAt DESC, p.productId DESC")
+    List<Product> findProductsByDynamicCriteriaAfter(@Param("name") String name,
+                                                     @Param("categoryId") Long categoryId,
+                                                     @Param("status") ProductStatus status,
+                                                     @Param("minPrice") BigDecimal minPrice,
+                                                     @Param("maxPrice") BigDecimal maxPrice,
+                                                     @Param("minStock") Integer minStock,
+                                                     @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                     @Param("cursorProductId") Long cursorProductId,
+                                                     Pageable limit);
+    
     // 14. 복잡한 연관관계 쿼리
     @Query("SELECT p FROM Product p JOIN p.orderItems oi " +
            "WHERE oi.order.orderStatus = 'COMPLETED' " +
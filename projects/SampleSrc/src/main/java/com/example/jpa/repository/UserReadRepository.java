@@ -0,0 +1,115 @@
+package com.example.jpa.repository;
+
+import com.example.jpa.dto.UserListItem;
+import com.example.jpa.entity.User;
+import com.example.jpa.entity.UserStatus;
+import com.example.jpa.entity.UserType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JPA User 읽기 전용 Repository
+ * 목록/검색 API의 조건을 UserRepository와 동일하게 유지하되 UserListItem 프로젝션으로 조회한다.
+ */
+public interface UserReadRepository extends Repository<User, Long> {
+
+    // 1. 상태/타입 기준 조회
+    @Query(UserListItem.SELECT + "WHERE u.status = :status")
+    List<UserListItem> findByStatus(@Param("status") UserStatus status);
+
+    @Query(UserListItem.SELECT + "WHERE u.userType = :userType")
+    List<UserListItem> findByUserType(@Param("userType") UserType userType);
+
+    @Query(value = UserListItem.SELECT + "WHERE u.status = :status AND u.userType = :userType",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.status = :status AND u.userType = :userType")
+    Page<UserListItem> findByStatusAndUserType(@Param("status") UserStatus status,
+                                               @Param("userType") UserType userType,
+                                               Pageable pageable);
+
+    // 2. Like 검색
+    @Query(UserListItem.SELECT + "WHERE u.username LIKE %:username%")
+    List<UserListItem> findByUsernameContaining(@Param("username") String username);
+
+    @Query(UserListItem.SELECT + "WHERE u.email LIKE %:email%")
+    List<UserListItem> findByEmailContaining(@Param("email") String email);
+
+    @Query(UserListItem.SELECT + "WHERE UPPER(u.fullName) LIKE UPPER(CONCAT('%', :fullName, '%'))")
+    List<UserListItem> findByFullNameContainingIgnoreCase(@Param("fullName") String fullName);
+
+    @Query(UserListItem.SELECT + "WHERE u.email LIKE %:domain%")
+    List<UserListItem> findByEmailDomain(@Param("domain") String domain);
+
+    // 3. 날짜 조건
+    @Query(UserListItem.SELECT + "WHERE u.createdAt BETWEEN :startDate AND :endDate")
+    List<UserListItem> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+
+    @Query(UserListItem.SELECT + "WHERE u.createdAt > :date")
+    List<UserListItem> findByCreatedAtAfter(@Param("date") LocalDateTime date);
+
+    @Query(UserListItem.SELECT + "WHERE u.lastLoginAt IS NULL")
+    List<UserListItem> findWithoutLogin();
+
+    // 4. 동적 검색 (UserRepository.findUsersByDynamicCriteria와 같은 조건)
+    @Query(value = UserListItem.SELECT + "WHERE " +
+                   "(:username IS NULL OR u.username LIKE %:username%) AND " +
+                   "(:email IS NULL OR u.email LIKE %:email%) AND " +
+                   "(:status IS NULL OR u.status = :status) AND " +
+                   "(:userType IS NULL OR u.userType = :userType)",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE " +
+                        "(:username IS NULL OR u.username LIKE %:username%) AND " +
+                        "(:email IS NULL OR u.email LIKE %:email%) AND " +
+                        "(:status IS NULL OR u.status = :status) AND " +
+                        "(:userType IS NULL OR u.userType = :userType)")
+    Page<UserListItem> findByDynamicCriteria(@Param("username") String username,
+                                             @Param("email") String email,
+                                             @Param("status") UserStatus status,
+                                             @Param("userType") UserType userType,
+                                             Pageable pageable);
+
+    // 키셋 페이징 첫 페이지: 커서 조건 없이 정렬 순서대로 - 건수 제한은 Pageable(size + 1)
+    @Query(UserListItem.SELECT + "WHERE " +
+           "(:username IS NULL OR u.username LIKE %:username%) AND " +
+           "(:email IS NULL OR u.email LIKE %:email%) AND " +
+           "(:status IS NULL OR u.status = :status) AND " +
+           "(:userType IS NULL OR u.userType = :userType) " +
+           "ORDER BY u.createdAt DESC, u.userId DESC")
+    List<UserListItem> findByDynamicCriteriaFirst(@Param("username") String username,
+                                                  @Param("email") String email,
+                                                  @Param("status") UserStatus status,
+                                                  @Param("userType") UserType userType,
+                                                  Pageable limit);
+
+    // 키셋 페이징 다음 페이지: (createdAt, userId) 커서 이후 행만 조회 - 건수 제한은 Pageable(size + 1)
+    // 커서는 필수 - "createdAt <= 커서"를 따로 두어 옵티마이저가 인덱스 범위 탐색(seek)으로 시작하게 한다
+    @Query(UserListItem.SELECT + "WHERE " +
+           "(:username IS NULL OR u.username LIKE %:username%) AND " +
+           "(:email IS NULL OR u.email LIKE %:email%) AND " +
+           "(:status IS NULL OR u.status = :status) AND " +
+           "(:userType IS NULL OR u.userType = :userType) AND " +
+           "u.createdAt <= :cursorCreatedAt AND (u.createdAt < :cursorCreatedAt OR u.userId < :cursorUserId) " +
+           "ORDER BY u.createdAt DESC, u.userId DESC")
+    List<UserListItem> findByDynamicCriteriaAfter(@Param("username") String username,
+                                                  @Param("email") String email,
+                                                  @Param("status") UserStatus status,
+                                                  @Param("userType") UserType userType,
+                                                  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                  @Param("cursorUserId") Long cursorUserId,
+                                                  Pageable limit);
+
+    // 5. 주문 조건 - 조인 대신 EXISTS로 걸러 주문 건수만큼 사용자가 중복되지 않게 한다
+    @Query(UserListItem.SELECT + "WHERE EXISTS " +
+           "(SELECT o.orderId FROM Order o WHERE o.user = u AND o.totalAmount > :minAmount)")
+    List<UserListItem> findWithOrdersAboveAmount(@Param("minAmount") BigDecimal minAmount);
+
+    // 6. 전체 목록
+    @Query(UserListItem.SELECT)
+    List<UserListItem> findAllItems();
+}
@@ -134,6 +134,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                          @Param("userType") UserType userType,
                                          Pageable pageable);
     
+    // 키셋 페이징 첫 페이지: 커서 조건 없이 정렬 순서대로 - 건수 제한은 Pageable(size + 1)
+    @Query("SELECT u FROM User u WHERE " +
+           "(:username IS NULL OR u.username LIKE %:username%) AND " +
+           "(:email IS NULL OR u.email LIKE %:email%) AND " +
+           "(:status IS NULL OR u.status = :status) AND " +
+           "(:userType IS NULL OR u.userType = :userType) " +
+           "ORDER BY u.createdAt DESC, u.userId DESC")
+    List<User> findUsersByDynamicCriteriaFirst(@Param("username") String username,
+                                               @Param("email") String email,
+                                               @Param("status") UserStatus status,
+                                               @Param("userType") UserType userType,
+                                               Pageable limit);
+    
+    // 키셋 페이징 다음 페이지: (createdAt, userId) 커서 이후 행만 조회 - 건수 제한은 Pageable(size + 1)
+    // 커서는 필수 - "createdAt <= 커서"를 따로 두어 옵티마이저가 인덱스 범위 탐색(seek)으로 시작하게 한다
+    @Query("SELECT u FROM User u WHERE " +
+           "(:username IS NULL OR u.username LIKE %:username%) AND " +
+           "(:email IS NULL OR u.email LIKE %:email%) AND " +
+           "(:status IS NULL OR u.status = :status) AND " +
+           "(:userType IS NULL OR u.userType = :userType) AND " +
+           "u.createdAt <= :cursorCreatedAt AND (u.createdAt < :cursorCreatedAt OR u.userId < :cursorUserId) " +
+           "ORDER BY u.createdAt DESC, u.userId DESC")
+    List<User> findUsersByDynamicCriteriaAfter(@Param("username") String username,
+                                               @Param("email") String email,
+                                               @Param("status") UserStatus status,
+                                               @Param("userType") UserType userType,
+                                               @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                               @Param("cursorUserId") Long cursorUserId,
+                                               Pageable limit);
+    
     // 14. 연관관계 조인 쿼리
     @Query("SELECT u FROM User u JOIN u.orders o WHERE o.totalAmount > :minAmount")
     List<User> findUsersWithOrdersAboveAmount(@Param("minAmount") java.math.BigDecimal minAmount);
@@ -0,0 +1,440 @@
+package com.example.jpa.service;
+
+import com.example.jpa.entity.Category;
+import com.example.jpa.repository.CategoryRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 카테고리 계층 인덱스 - 카테고리 트리를 메모리에 배열 형태로 올려 두고 하위 트리 질의를 DB 없이 처리
+ * 연관관계: JpaProductQueryService, JpaOrderQueryService -> CategoryTreeIndex -> CategoryRepository.findTreeRows()
+ *
+ * 트리를 전위 순회(Euler tour)한 순서로 ID를 배열에 나열하고 각 노드에 [진입 위치, 종료 위치) 구간을 둔다.
+ * X의 하위 트리는 배열의 연속 구간이므로
+ * - "Y가 X의 하위인가" = pos(X) <= pos(Y) < end(X) 범위 비교
+ * - "X의 모든 하위 카테고리" = 배열 구간 뷰 (복사 없음)
+ * 로 답한다. 형제 순서는 DISPLAY_ORDER, CATEGORY_ID 순이다.
+ *
+ * 카테고리 ID는 IDENTITY로 발급되어 하위 트리가 ID 범위로 연속되지 않으므로,
+ * 상품/주문 조회에는 구간의 ID 집합을 IN 조건으로 넘긴다 (CATEGORIES 조인/재귀 조회 없음).
+ *
+ * 갱신:
+ * - 엔티티 변경(저장/수정/삭제)은 ChangeListener가 모아 두었다가 트랜잭션 커밋 후 한 번에 반영 (DB 재조회 없음)
+ * - JPQL/네이티브 일괄 변경은 리스너를 거치지 않으므로 reload()를 호출하거나 app.category-index.max-age-seconds 경과 후 재적재
+ *   (같은 카테고리를 동시에 수정한 트랜잭션의 반영 순서가 뒤바뀐 경우도 재적재 때 바로잡힌다)
+ */
+@Service
+public class CategoryTreeIndex {
+
+    static final int IN_LIST_LIMIT = 1000;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Value("${app.category-index.max-age-seconds:600}")
+    private long maxAgeSeconds;
+
+    // 노드 원본 (ID -> 노드) - 변경 반영과 재구성은 이 객체를 잠그고 수행
+    private final Map<Long, Node> nodes = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final AtomicLong appliedChanges = new AtomicLong();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // 1. 하위 트리 질의
+    /**
+     * categoryId가 ancestorId 자신이거나 그 하위 카테고리이면 true
+     */
+    public boolean isInSubtree(Long ancestorId, Long categoryId) {
+        Snapshot current = current();
+        Integer ancestor = current.positions.get(ancestorId);
+        Integer position = current.positions.get(categoryId);
+        if (ancestor == null || position == null) {
+            return false;
+        }
+        return ancestor <= position && position < current.subtreeEnd[ancestor];
+    }
+
+    /**
+     * categoryId와 모든 하위 카테고리 ID (전위 순서) - 없는 카테고리면 빈 목록
+     * 반환 목록은 인덱스 배열의 읽기 전용 뷰다.
+     */
+    public List<Long> subtreeIds(Long categoryId) {
+        Snapshot current = current();
+        Integer position = current.positions.get(categoryId);
+        if (position == null) {
+            return Collections.emptyList();
+        }
+        return new IdSlice(current.preorderIds, position, current.subtreeEnd[position]);
+    }
+
+    public int subtreeSize(Long categoryId) {
+        Snapshot current = current();
+        Integer position = current.positions.get(categoryId);
+        return position == null ? 0 : current.subtreeEnd[position] - position;
+    }
+
+    /**
+     * 최상위부터 categoryId의 부모까지의 경로
+     */
+    public List<Long> ancestorIds(Long categoryId) {
+        Snapshot current = current();
+        Integer position = current.positions.get(categoryId);
+        if (position == null) {
+            return Collections.emptyList();
+        }
+        Long[] path = new Long[current.depth[position]];
+        for (int p = current.parentPosition[position], i = path.length - 1; p >= 0; p = current.parentPosition[p], i--) {
+            path[i] = current.preorderIds[p];
+        }
+        return Arrays.asList(path);
+    }
+
+    public int depth(Long categoryId) {
+        Snapshot current = current();
+        Integer position = current.positions.get(categoryId);
+        return position == null ? -1 : current.depth[position];
+    }
+
+    /**
+     * 이름이 정확히 일치하는 카테고리 ID (이름은 유일하지 않으므로 여러 건일 수 있음)
+     */
+    public List<Long> idsByName(String categoryName) {
+        long[] ids = current().idsByName.get(categoryName);
+        return ids == null ? Collections.emptyList() : new IdSlice(ids, 0, ids.length);
+    }
+
+    /**
+     * ID 목록을 IN 목록 한도(Oracle 1000개) 단위로 나눠 조회하고 결과를 이어 붙인다
+     */
+    public static <T> List<T> queryInChunks(List<Long> categoryIds, Function<List<Long>, List<T>> query) {
+        if (categoryIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (categoryIds.size() <= IN_LIST_LIMIT) {
+            return query.apply(categoryIds);
+        }
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < categoryIds.size(); from += IN_LIST_LIMIT) {
+            results.addAll(query.apply(categoryIds.subList(from, Math.min(from + IN_LIST_LIMIT, categoryIds.size()))));
+        }
+        return results;
+    }
+
+    public Map<String, Object> stats() {
+        Snapshot current = current();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("categories", current.preorderIds.length);
+        stats.put("roots", current.roots);
+        stats.put("excludedByCycle", current.excluded);
+        stats.put("loadedAt", new Date(current.builtAt));
+        stats.put("rebuilds", rebuilds.get());
+        stats.put("appliedChanges", appliedChanges.get());
+        return stats;
+    }
+
+    // 2. 적재/갱신
+    /**
+     * DB에서 전체 트리를 다시 읽어 인덱스를 교체 - 일괄 변경 후 호출
+     */
+    public void reload() {
+        // 조회도 잠금 안에서 수행 - 조회 이후 커밋된 변경이 재적재 결과에 덮여 사라지지 않도록 변경 반영을 뒤로 미룬다
+        synchronized (nodes) {
+            List<Object[]> rows = categoryRepository.findTreeRows();
+            nodes.clear();
+            for (Object[] row : rows) {
+                Node node = new Node((Long) row[0], (Long) row[1], (String) row[2], (Integer) row[3]);
+                nodes.put(node.id, node);
+            }
+            rebuild();
+        }
+    }
+
+    /**
+     * 커밋된 변경 반영 - 같은 변경을 두 번 적용해도 결과가 같다 (재적재와 겹쳐도 안전)
+     */
+    void apply(Collection<Change> changes) {
+        synchronized (nodes) {
+            if (snapshot == null) {
+                // 아직 적재 전이면 첫 조회 때 DB에서 최신 상태를 읽는다
+                return;
+            }
+            for (Change change : changes) {
+                if (change.removed) {
+                    nodes.remove(change.node.id);
+                } else {
+                    nodes.put(change.node.id, change.node);
+                }
+            }
+            rebuild();
+            appliedChanges.addAndGet(changes.size());
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후 한 번에 반영, 밖이면 즉시 반영
+     */
+    void onChange(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Collections.singletonList(change));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Change> pending = (List<Change>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Change> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CategoryTreeIndex.this);
+                    if (status == STATUS_COMMITTED) {
+                        apply(changes);
+                    }
+                }
+            });
+            pending = changes;
+        }
+        pending.add(change);
+    }
+
+    /**
+     * 첫 조회는 적재를 기다리고, 오래된 인덱스는 한 스레드만 재적재하는 동안 나머지는 기존 인덱스로 응답
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (nodes) {
+                if (snapshot == null) {
+                    reload();
+                }
+                return snapshot;
+            }
+        }
+        if (maxAgeSeconds > 0 && System.currentTimeMillis() - current.builtAt > maxAgeSeconds * 1000
+                && refreshing.compareAndSet(false, true)) {
+            try {
+                reload();
+                current = snapshot;
+            } catch (RuntimeException e) {
+                System.err.println("카테고리 인덱스 재적재 실패 - 기존 인덱스 사용: " + e.getMessage());
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return current;
+    }
+
+    // nodes 잠금 안에서 호출
+    private void rebuild() {
+        snapshot = Snapshot.build(nodes);
+        rebuilds.incrementAndGet();
+        if (snapshot.excluded > 0) {
+            System.err.println("카테고리 트리에 순환 참조가 있어 " + snapshot.excluded + "건을 인덱스에서 제외했습니다");
+        }
+    }
+
+    static final class Node {
+        final long id;
+        final Long parentId;
+        final String name;
+        final Integer displayOrder;
+
+        Node(long id, Long parentId, String name, Integer displayOrder) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.displayOrder = displayOrder;
+        }
+    }
+
+    static final class Change {
+        final Node node;
+        final boolean removed;
+
+        Change(Node node, boolean removed) {
+            this.node = node;
+            this.removed = removed;
+        }
+    }
+
+    /**
+     * 불변 배열 인덱스 - 재구성할 때마다 새로 만들어 volatile 참조로 교체하므로 조회는 잠금 없이 수행
+     */
+    static final class Snapshot {
+
+        private static final Comparator<Node> SIBLING_ORDER = Comparator
+            .comparing((Node n) -> n.displayOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(n -> n.id);
+
+        final long[] preorderIds;
+        final int[] subtreeEnd;
+        final int[] parentPosition;
+        final int[] depth;
+        final Map<Long, Integer> positions;
+        final Map<String, long[]> idsByName;
+        final int roots;
+        final int excluded;
+        final long builtAt = System.currentTimeMillis();
+
+        private Snapshot(long[] preorderIds, int[] subtreeEnd, int[] parentPosition, int[] depth,
+                         Map<Long, Integer> positions, Map<String, long[]> idsByName, int roots, int excluded) {
+            this.preorderIds = preorderIds;
+            this.subtreeEnd = subtreeEnd;
+            this.parentPosition = parentPosition;
+            this.depth = depth;
+            this.positions = positions;
+            this.idsByName = idsByName;
+            this.roots = roots;
+            this.excluded = excluded;
+        }
+
+        /**
+         * 부모가 없거나 인덱스에 없는 부모를 가리키는 노드는 최상위로 취급한다.
+         * 순환에 속한 노드는 어느 최상위에서도 도달할 수 없으므로 제외된다.
+         */
+        static Snapshot build(Map<Long, Node> nodes) {
+            Map<Long, List<Node>> children = new HashMap<>();
+            List<Node> roots = new ArrayList<>();
+            for (Node node : nodes.values()) {
+                if (node.parentId == null || !nodes.containsKey(node.parentId)) {
+                    roots.add(node);
+                } else {
+                    children.computeIfAbsent(node.parentId, k -> new ArrayList<>()).add(node);
+                }
+            }
+            roots.sort(SIBLING_ORDER);
+            for (List<Node> siblings : children.values()) {
+                siblings.sort(SIBLING_ORDER);
+            }
+
+            int n = nodes.size();
+            long[] ids = new long[n];
+            int[] end = new int[n];
+            int[] parent = new int[n];
+            int[] depth = new int[n];
+            Map<Long, Integer> positions = new HashMap<>(n * 4 / 3 + 1);
+            Map<String, List<Long>> names = new HashMap<>();
+
+            // 반복 DFS (깊은 트리에서도 스택 오버플로 없음) - Node 항목은 진입할 노드, Integer 항목은 구간을 닫을 위치
+            Deque<Object> stack = new ArrayDeque<>();
+            int next = 0;
+            for (int r = roots.size() - 1; r >= 0; r--) {
+                stack.push(roots.get(r));
+            }
+            Deque<Integer> openPositions = new ArrayDeque<>();
+            while (!stack.isEmpty()) {
+                Object top = stack.pop();
+                if (top instanceof Integer) {
+                    int position = (Integer) top;
+                    end[position] = next;
+                    openPositions.pop();
+                    continue;
+                }
+                Node node = (Node) top;
+                int position = next++;
+                int parentPosition = openPositions.isEmpty() ? -1 : openPositions.peek();
+                ids[position] = node.id;
+                parent[position] = parentPosition;
+                depth[position] = parentPosition < 0 ? 0 : depth[parentPosition] + 1;
+                positions.put(node.id, position);
+                if (node.name != null) {
+                    names.computeIfAbsent(node.name, k -> new ArrayList<>()).add(node.id);
+                }
+                openPositions.push(position);
+                stack.push(position);
+                List<Node> kids = children.get(node.id);
+                if (kids != null) {
+                    for (int k = kids.size() - 1; k >= 0; k--) {
+                        stack.push(kids.get(k));
+                    }
+                }
+            }
+
+            Map<String, long[]> idsByName = new HashMap<>(names.size() * 4 / 3 + 1);
+            for (Map.Entry<String, List<Long>> entry : names.entrySet()) {
+                long[] matched = new long[entry.getValue().size()];
+                for (int i = 0; i < matched.length; i++) {
+                    matched[i] = entry.getValue().get(i);
+                }
+                idsByName.put(entry.getKey(), matched);
+            }
+            return new Snapshot(Arrays.copyOf(ids, next), Arrays.copyOf(end, next), Arrays.copyOf(parent, next),
+                Arrays.copyOf(depth, next), positions, idsByName, roots.size(), n - next);
+        }
+    }
+
+    /**
+     * long[] 구간의 읽기 전용 List 뷰
+     */
+    private static final class IdSlice extends AbstractList<Long> implements RandomAccess {
+        private final long[] ids;
+        private final int from;
+        private final int to;
+
+        IdSlice(long[] ids, int from, int to) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public Long get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + (to - from));
+            }
+            return ids[from + index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
+    /**
+     * Category 엔티티 리스너 - Spring 컨테이너가 생성할 때 인덱스를 주입받는다.
+     * 컨테이너 밖(persistence.xml 단독 실행)에서 만들어지면 인덱스가 없으므로 아무것도 하지 않는다.
+     */
+    public static class ChangeListener {
+
+        @Autowired(required = false)
+        private ObjectProvider<CategoryTreeIndex> index;
+
+        @PostPersist
+        @PostUpdate
+        public void saved(Category category) {
+            publish(category, false);
+        }
+
+        @PostRemove
+        public void removed(Category category) {
+            publish(category, true);
+        }
+
+        private void publish(Category category, boolean removed) {
+            CategoryTreeIndex target = index == null ? null : index.getIfAvailable();
+            if (target == null || category.getCategoryId() == null) {
+                return;
+            }
+            Category parent = category.getParentCategory();
+            target.onChange(new Change(new Node(category.getCategoryId(),
+                parent == null ? null : parent.getCategoryId(), category.getCategoryName(), category.getDisplayOrder()),
+                removed));
+        }
+    }
+}
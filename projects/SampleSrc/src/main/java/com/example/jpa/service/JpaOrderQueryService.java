@@ -0,0 +1,141 @@
+package com.example.jpa.service;
+
+import com.example.jpa.dto.OrderListItem;
+import com.example.jpa.dto.OrderSummaryDto;
+import com.example.jpa.entity.OrderStatus;
+import com.example.jpa.repository.OrderReadRepository;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPA 기반 Order 조회 전용 Service
+ * 목록/검색 API는 엔티티 대신 OrderListItem 프로젝션을 반환한다.
+ *
+ * 클래스 전체가 readOnly 트랜잭션이므로 Hibernate 세션은 FlushMode.MANUAL + 기본 읽기 전용으로 열린다.
+ * 프로젝션은 영속성 컨텍스트에 등록되지 않아 스냅샷 복사와 커밋 시 dirty checking이 없다.
+ * 수정이 필요한 흐름은 JpaOrderService에서 엔티티를 조회해야 한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class JpaOrderQueryService {
+
+    @Autowired
+    private OrderReadRepository orderReadRepository;
+
+    @Autowired
+    private CategoryTreeIndex categoryTreeIndex;
+
+    // 1. 상태/사용자 기준 조회
+    public List<OrderListItem> getOrdersByStatus(OrderStatus status) {
+        return orderReadRepository.findByOrderStatus(status);
+    }
+
+    public List<OrderSummaryDto> getOrdersByStatusWithUser(OrderStatus status) {
+        return orderReadRepository.findByOrderStatusWithUsername(status);
+    }
+
+    public List<OrderListItem> getOrdersByUserId(Long userId) {
+        return orderReadRepository.findByUserId(userId);
+    }
+
+    public List<OrderListItem> getOrdersByUserIdOrderByAmount(Long userId) {
+        return orderReadRepository.findByUserIdOrderByTotalAmountDesc(userId);
+    }
+
+    // 2. 날짜/금액 기준 조회
+    public List<OrderListItem> getOrdersBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
+        return orderReadRepository.findByOrderDateBetween(startDate, endDate);
+    }
+
+    public List<OrderListItem> getOrdersAfterDate(LocalDateTime date) {
+        return orderReadRepository.findByOrderDateAfter(date);
+    }
+
+    public List<OrderListItem> getOrdersAboveAmount(BigDecimal amount) {
+        return orderReadRepository.findByTotalAmountGreaterThan(amount);
+    }
+
+    public List<OrderListItem> getOrdersByAmountRange(BigDecimal minAmount, BigDecimal maxAmount) {
+        return orderReadRepository.findByTotalAmountBetween(minAmount, maxAmount);
+    }
+
+    // 3. 동적 검색
+    public Page<OrderListItem> searchOrders(Long userId, OrderStatus status, LocalDateTime fromDate,
+                                            LocalDateTime toDate, BigDecimal minAmount, BigDecimal maxAmount,
+                                            Pageable pageable) {
+        return orderReadRepository.findByDynamicCriteria(userId, status, fromDate, toDate,
+                                                         minAmount, maxAmount, pageable);
+    }
+
+    // 3-1. 동적 검색 (키셋 페이징) - cursor가 null이면 첫 페이지
+    public KeysetPage<OrderListItem> searchOrdersByCursor(Long userId, OrderStatus status, LocalDateTime fromDate,
+                                                          LocalDateTime toDate, BigDecimal minAmount, BigDecimal maxAmount,
+                                                          KeysetCursor cursor, int size) {
+        PageRequest limit = PageRequest.of(0, KeysetPage.fetchSize(size));
+        List<OrderListItem> fetched = cursor == null
+                ? orderReadRepository.findByDynamicCriteriaFirst(userId, status, fromDate, toDate,
+                        minAmount, maxAmount, limit)
+                : orderReadRepository.findByDynamicCriteriaAfter(userId, status, fromDate, toDate,
+                        minAmount, maxAmount, cursor.getValue(0, LocalDateTime.class), cursor.getValue(1, Long.class), limit);
+        return KeysetPage.of(fetched, size, item -> KeysetCursor.of(item.getOrderDate(), item.getOrderId()));
+    }
+
+    // 4. 특수 검색
+    public List<OrderListItem> getOrdersByPremiumUsers() {
+        return orderReadRepository.findByPremiumUsers();
+    }
+
+    /**
+     * 이름이 일치하는 카테고리 ID를 계층 인덱스에서 찾아 ID 목록으로 조회 (CATEGORIES 조인 없음)
+     */
+    public List<OrderListItem> getOrdersContainingProductsFromCategory(String categoryName) {
+        return findContainingProductsFromCategories(categoryTreeIndex.idsByName(categoryName));
+    }
+
+    /**
+     * 카테고리와 모든 하위 카테고리의 상품이 포함된 주문
+     */
+    public List<OrderListItem> getOrdersContainingProductsFromCategoryTree(Long categoryId) {
+        return findContainingProductsFromCategories(categoryTreeIndex.subtreeIds(categoryId));
+    }
+
+    public List<OrderListItem> getOrdersContainingProduct(String productName) {
+        return orderReadRepository.findContainingProduct(productName);
+    }
+
+    public List<OrderListItem> getOrdersWithMinimumItems(int minItemCount) {
+        return orderReadRepository.findWithMinimumItems(minItemCount);
+    }
+
+    // 5. 전체 목록
+    public List<OrderListItem> getAllOrders() {
+        return orderReadRepository.findAllItems();
+    }
+
+    // IN 목록을 나눠 조회하면 여러 카테고리의 상품을 담은 주문이 중복될 수 있어 주문 ID로 합친다
+    private List<OrderListItem> findContainingProductsFromCategories(List<Long> categoryIds) {
+        List<OrderListItem> orders = CategoryTreeIndex.queryInChunks(categoryIds,
+            orderReadRepository::findContainingProductsFromCategories);
+        if (categoryIds.size() <= CategoryTreeIndex.IN_LIST_LIMIT) {
+            return orders;
+        }
+        Map<Long, OrderListItem> distinct = new LinkedHashMap<>();
+        for (OrderListItem order : orders) {
+            distinct.putIfAbsent(order.getOrderId(), order);
+        }
+        return new ArrayList<>(distinct.values());
+    }
+}
@@ -3,19 +3,31 @@ package com.example.jpa.service;
 import com.example.jpa.entity.Order;
 import com.example.jpa.entity.OrderStatus;
 import com.example.jpa.entity.User;
+import com.example.jpa.repository.OrderFetchPlan;
 import com.example.jpa.repository.OrderRepository;
 import com.example.jpa.repository.UserRepository;
+import com.example.jpa.dto.OrderStatusTransitionResult;
 import com.example.jpa.dto.OrderSummaryDto;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * JPA 기반 Order Service
@@ -25,6 +37,9 @@ import java.util.Optional;
 @Transactional
 public class JpaOrderService {
     
+    // 일괄 상태 전이 시 IN 목록 한 번에 담는 주문 수 (Oracle IN 목록 1000개 제한 이하)
+    public static final int STATUS_TRANSITION_CHUNK_SIZE = 500;
+    
     @Autowired
     private OrderRepository orderRepository;
     
@@ -52,14 +67,17 @@ public class JpaOrderService {
         return orderRepository.findByOrderNumber(orderNumber);
     }
     
+    /**
+     * 주문 상세 - 주문자, 주문 상품, 상품까지 한 번에 (응답 직렬화 중 지연 로딩 없음)
+     */
     @Transactional(readOnly = true)
     public Optional<Order> getOrderWithDetails(String orderNumber) {
-        return orderRepository.findByOrderNumberWithDetails(orderNumber);
+        return orderRepository.findByOrderNumber(orderNumber, OrderFetchPlan.DETAIL);
     }
     
     @Transactional(readOnly = true)
     public Optional<Order> getOrderWithItems(Long orderId) {
-        return orderRepository.findByIdWithOrderItems(orderId);
+        return orderRepository.findById(orderId, OrderFetchPlan.DETAIL);
     }
     
     public Order updateOrder(Order order) {
@@ -95,7 +113,7 @@ public class JpaOrderService {
     // 3. 사용자별 주문 검색
     @Transactional(readOnly = true)
     public List<Order> getOrdersByUserId(Long userId) {
-        return orderRepository.findByUserUserId(userId);
+        return orderRepository.findByUserUserId(userId, OrderFetchPlan.WITH_USER);
     }
     
     @Transactional(readOnly = true)
@@ -137,7 +155,7 @@ public class JpaOrderService {
     // 5. 금액 기반 검색
     @Transactional(readOnly = true)
     public List<Order> getOrdersAboveAmount(BigDecimal amount) {
-        return orderRepository.findByTotalAmountGreaterThan(amount);
+        return orderRepository.findByTotalAmountGreaterThan(amount, OrderFetchPlan.WITH_USER);
     }
     
     @Transactional(readOnly = true)
@@ -175,6 +193,20 @@ public class JpaOrderService {
                                                           minAmount, maxAmount, pageable);
     }
     
+    // 7-1. 동적 검색 (키셋 페이징) - cursor가 null이면 첫 페이지
+    @Transactional(readOnly = true)
+    public KeysetPage<Order> searchOrdersByCursor(Long userId, OrderStatus status, LocalDateTime fromDate,
+                                                  LocalDateTime toDate, BigDecimal minAmount, BigDecimal maxAmount,
+                                                  KeysetCursor cursor, int size) {
+        PageRequest limit = PageRequest.of(0, KeysetPage.fetchSize(size));
+        List<Order> fetched = cursor == null
+                ? orderRepository.findOrdersByDynamicCriteriaFirst(userId, status, fromDate, toDate,
+                        minAmount, maxAmount, limit)
+                : orderRepository.findOrdersByDynamicCriteriaAfter(userId, status, fromDate, toDate,
+                        minAmount, maxAmount, cursor.getValue(0, LocalDateTime.class), cursor.getValue(1, Long.class), limit);
+        return KeysetPage.of(fetched, size, order -> KeysetCursor.of(order.getOrderDate(), order.getOrderId()));
+    }
+    
     // 8. 통계 기능
     @Transactional(readOnly = true)
     public long getOrderCountByStatus(OrderStatus status) {
@@ -260,18 +292,7 @@ public class JpaOrderService {
     
     // 11. 주문 상태 변경
     public void confirmOrder(Long orderId) {
-        Optional<Order> orderOpt = orderRepository.findById(orderId);
-        if (orderOpt.isPresent()) {
-            Order order = orderOpt.get();
-            if (order.getOrderStatus().canTransitionTo(OrderStatus.CONFIRMED)) {
-                order.setOrderStatus(OrderStatus.CONFIRMED);
-                orderRepository.save(order);
-            } else {
-                throw new RuntimeException("Cannot confirm order in current status: " + order.getOrderStatus());
-            }
-        } else {
-            throw new RuntimeException("Order not found: " + orderId);
-        }
+        transitionOrder(orderId, OrderStatus.CONFIRMED, "confirm");
     }
     
     public int cancelOrder(Long orderId) {
@@ -279,48 +300,92 @@ public class JpaOrderService {
     }
     
     public void processOrder(Long orderId) {
-        Optional<Order> orderOpt = orderRepository.findById(orderId);
-        if (orderOpt.isPresent()) {
-            Order order = orderOpt.get();
-            if (order.getOrderStatus().canTransitionTo(OrderStatus.PROCESSING)) {
-                order.setOrderStatus(OrderStatus.PROCESSING);
-                orderRepository.save(order);
-            } else {
-                throw new RuntimeException("Cannot process order in current status: " + order.getOrderStatus());
-            }
-        } else {
-            throw new RuntimeException("Order not found: " + orderId);
-        }
+        transitionOrder(orderId, OrderStatus.PROCESSING, "process");
     }
     
     public void shipOrder(Long orderId) {
-        Optional<Order> orderOpt = orderRepository.findById(orderId);
-        if (orderOpt.isPresent()) {
-            Order order = orderOpt.get();
-            if (order.getOrderStatus().canTransitionTo(OrderStatus.SHIPPED)) {
-                order.setOrderStatus(OrderStatus.SHIPPED);
-                orderRepository.save(order);
-            } else {
-                throw new RuntimeException("Cannot ship order in current status: " + order.getOrderStatus());
-            }
-        } else {
-            throw new RuntimeException("Order not found: " + orderId);
-        }
+        transitionOrder(orderId, OrderStatus.SHIPPED, "ship");
     }
     
     public void completeOrder(Long orderId) {
-        Optional<Order> orderOpt = orderRepository.findById(orderId);
-        if (orderOpt.isPresent()) {
-            Order order = orderOpt.get();
-            if (order.getOrderStatus().canTransitionTo(OrderStatus.COMPLETED)) {
-                order.setOrderStatus(OrderStatus.COMPLETED);
-                orderRepository.save(order);
+        transitionOrder(orderId, OrderStatus.COMPLETED, "complete");
+    }
+    
+    /**
+     * 단건 상태 전이 - 허용된 현재 상태일 때만 바뀌는 조건부 UPDATE 한 번
+     * 갱신된 행이 없을 때만 주문을 다시 조회해 실패 사유를 구분한다.
+     */
+    private void transitionOrder(Long orderId, OrderStatus targetStatus, String action) {
+        int updated = orderRepository.transitionStatus(Collections.singletonList(orderId), targetStatus,
+                                                       OrderStatus.sourceStatesOf(targetStatus), LocalDateTime.now());
+        if (updated == 0) {
+            Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+            throw new RuntimeException("Cannot " + action + " order in current status: " + order.getOrderStatus());
+        }
+    }
+    
+    /**
+     * 일괄 상태 전이 - 주문 ID 목록을 targetStatus로 변경하고 주문별 결과를 반환
+     *
+     * 청크(STATUS_TRANSITION_CHUNK_SIZE건)마다
+     * 1. 현재 상태를 행 잠금과 함께 한 번에 조회 (SELECT ... FOR UPDATE)
+     * 2. OrderStatus.canTransitionTo가 허용하는 상태의 행만 조건부 UPDATE 한 번으로 변경
+     * 주문 수와 관계없이 청크당 2문장이며, 잠금 순서를 고정하려고 ID 오름차순으로 청크를 나눈다.
+     * 결과 항목은 요청 순서를 따르고 중복 ID는 한 번만 포함된다.
+     */
+    public OrderStatusTransitionResult transitionOrders(Collection<Long> orderIds, OrderStatus targetStatus) {
+        if (targetStatus == null) {
+            throw new IllegalArgumentException("targetStatus is required");
+        }
+        OrderStatusTransitionResult result = new OrderStatusTransitionResult(targetStatus);
+        if (orderIds == null || orderIds.isEmpty()) {
+            return result;
+        }
+        
+        Set<Long> requested = new LinkedHashSet<>(orderIds);
+        requested.remove(null);
+        List<Long> sortedIds = new ArrayList<>(requested);
+        Collections.sort(sortedIds);
+        
+        Set<OrderStatus> sourceStatuses = OrderStatus.sourceStatesOf(targetStatus);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, OrderStatus> previousStatuses = new HashMap<>();
+        
+        for (int from = 0; from < sortedIds.size(); from += STATUS_TRANSITION_CHUNK_SIZE) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + STATUS_TRANSITION_CHUNK_SIZE, sortedIds.size()));
+            
+            List<Long> eligible = new ArrayList<>();
+            for (Object[] row : orderRepository.findStatusesForUpdate(chunk)) {
+                Long orderId = (Long) row[0];
+                OrderStatus status = (OrderStatus) row[1];
+                previousStatuses.put(orderId, status);
+                if (sourceStatuses.contains(status)) {
+                    eligible.add(orderId);
+                }
+            }
+            
+            if (!eligible.isEmpty()) {
+                int updated = orderRepository.transitionStatus(eligible, targetStatus, sourceStatuses, now);
+                if (updated != eligible.size()) {
+                    // 잠금을 잡은 뒤라 발생하면 안 되는 상황 - 트랜잭션 롤백
+                    throw new IllegalStateException("Bulk status transition updated " + updated
+                                                    + " of " + eligible.size() + " locked orders");
+                }
+            }
+        }
+        
+        for (Long orderId : requested) {
+            OrderStatus previous = previousStatuses.get(orderId);
+            if (previous == null) {
+                result.add(orderId, OrderStatusTransitionResult.Outcome.NOT_FOUND, null);
+            } else if (sourceStatuses.contains(previous)) {
+                result.add(orderId, OrderStatusTransitionResult.Outcome.TRANSITIONED, previous);
             } else {
-                throw new RuntimeException("Cannot complete order in current status: " + order.getOrderStatus());
+                result.add(orderId, OrderStatusTransitionResult.Outcome.INVALID_TRANSITION, previous);
             }
-        } else {
-            throw new RuntimeException("Order not found: " + orderId);
         }
+        return result;
     }
     
     // 12. 대량 업데이트
@@ -363,7 +428,7 @@ public class JpaOrderService {
     
     @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+        return orderRepository.findAll(OrderFetchPlan.WITH_USER);
     }
 }
 
@@ -0,0 +1,140 @@
+package com.example.jpa.service;
+
+import com.example.jpa.dto.ProductListItem;
+import com.example.jpa.entity.ProductStatus;
+import com.example.jpa.repository.ProductReadRepository;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JPA 기반 Product 조회 전용 Service
+ * 목록/검색 API는 엔티티 대신 ProductListItem 프로젝션을 반환한다 (readOnly 트랜잭션, 영속성 컨텍스트 미사용).
+ */
+@Service
+@Transactional(readOnly = true)
+public class JpaProductQueryService {
+
+    @Autowired
+    private ProductReadRepository productReadRepository;
+
+    @Autowired
+    private CategoryTreeIndex categoryTreeIndex;
+
+    // 1. 상태/카테고리 기준 조회
+    public List<ProductListItem> getProductsByStatus(ProductStatus status) {
+        return productReadRepository.findByStatus(status);
+    }
+
+    public List<ProductListItem> getProductsByCategory(Long categoryId) {
+        return productReadRepository.findByCategoryId(categoryId);
+    }
+
+    /**
+     * 이름이 일치하는 카테고리 ID를 계층 인덱스에서 찾아 ID 목록으로 조회 (CATEGORIES 조인 없음)
+     */
+    public List<ProductListItem> getProductsByCategoryName(String categoryName) {
+        return CategoryTreeIndex.queryInChunks(categoryTreeIndex.idsByName(categoryName),
+            productReadRepository::findByCategoryIdIn);
+    }
+
+    /**
+     * 카테고리와 모든 하위 카테고리의 상품
+     */
+    public List<ProductListItem> getProductsInCategoryTree(Long categoryId) {
+        return CategoryTreeIndex.queryInChunks(categoryTreeIndex.subtreeIds(categoryId),
+            productReadRepository::findByCategoryIdIn);
+    }
+
+    // 2. 상품명/설명 검색
+    public List<ProductListItem> searchProductsByName(String name) {
+        return productReadRepository.findByProductNameContaining(name);
+    }
+
+    public List<ProductListItem> searchProductsByNameIgnoreCase(String name) {
+        return productReadRepository.findByProductNameContainingIgnoreCase(name);
+    }
+
+    public List<ProductListItem> searchProductsByDescription(String description) {
+        return productReadRepository.findByDescriptionContaining(description);
+    }
+
+    // 3. 가격/재고 조건
+    public List<ProductListItem> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        return productReadRepository.findByPriceBetween(minPrice, maxPrice);
+    }
+
+    public List<ProductListItem> getProductsAbovePrice(BigDecimal price) {
+        return productReadRepository.findByPriceGreaterThan(price);
+    }
+
+    public List<ProductListItem> getProductsBelowPrice(BigDecimal price) {
+        return productReadRepository.findByPriceLessThanEqual(price);
+    }
+
+    public List<ProductListItem> getLowStockProducts() {
+        return productReadRepository.findLowStock();
+    }
+
+    public List<ProductListItem> getOutOfStockProducts() {
+        return productReadRepository.findOutOfStock();
+    }
+
+    // 4. 복합 조건
+    public List<ProductListItem> getProductsByStatusAndPriceRange(ProductStatus status, BigDecimal minPrice,
+                                                                  BigDecimal maxPrice) {
+        return productReadRepository.findByStatusAndPriceBetween(status, minPrice, maxPrice);
+    }
+
+    public List<ProductListItem> getProductsByCategoryAndStatus(Long categoryId, ProductStatus status) {
+        return productReadRepository.findByCategoryIdAndStatus(categoryId, status);
+    }
+
+    // 5. 동적 검색
+    public Page<ProductListItem> searchProducts(String name, Long categoryId, ProductStatus status,
+                                                BigDecimal minPrice, BigDecimal maxPrice, Integer minStock,
+                                                Pageable pageable) {
+        return productReadRepository.findByDynamicCriteria(name, categoryId, status,
+                                                           minPrice, maxPrice, minStock, pageable);
+    }
+
+    // 5-1. 동적 검색 (키셋 페이징) - cursor가 null이면 첫 페이지
+    public KeysetPage<ProductListItem> searchProductsByCursor(String name, Long categoryId, ProductStatus status,
+                                                              BigDecimal minPrice, BigDecimal maxPrice, Integer minStock,
+                                                              KeysetCursor cursor, int size) {
+        PageRequest limit = PageRequest.of(0, KeysetPage.fetchSize(size));
+        List<ProductListItem> fetched = cursor == null
+                ? productReadRepository.findByDynamicCriteriaFirst(name, categoryId, status,
+                        minPrice, maxPrice, minStock, limit)
+                : productReadRepository.findByDynamicCriteriaAfter(name, categoryId, status,
+                        minPrice, maxPrice, minStock, cursor.getValue(0, LocalDateTime.class), cursor.getValue(1, Long.class), limit);
+        return KeysetPage.of(fetched, size, item -> KeysetCursor.of(item.getCreatedAt(), item.getProductId()));
+    }
+
+    // 6. 주문 이력 조건
+    public List<ProductListItem> getPopularProducts(Long minOrderCount) {
+        return productReadRepository.findPopular(minOrderCount);
+    }
+
+    public List<ProductListItem> getNeverOrderedProducts() {
+        return productReadRepository.findNeverOrdered();
+    }
+
+    public List<ProductListItem> getProductsOrderedAfterDate(LocalDateTime date) {
+        return productReadRepository.findOrderedAfterDate(date);
+    }
+
+    // 7. 전체 목록
+    public List<ProductListItem> getAllProducts() {
+        return productReadRepository.findAllItems();
+    }
+}
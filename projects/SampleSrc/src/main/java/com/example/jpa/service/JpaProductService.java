@@ -6,12 +6,18 @@ import com.example.jpa.entity.Category;
 import com.example.jpa.repository.ProductRepository;
 import com.example.jpa.repository.CategoryRepository;
 import com.example.jpa.dto.ProductSummaryDto;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityManagerFactory;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -31,6 +37,9 @@ public class JpaProductService {
     @Autowired
     private CategoryRepository categoryRepository;
     
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
     // 1. 기본 CRUD 작업
     public Product createProduct(Product product) {
         // 상품 코드 중복 체크
@@ -129,13 +138,19 @@ public class JpaProductService {
         return productRepository.findByStockQuantityGreaterThanEqual(quantity);
     }
     
-    // 5. 재고 업데이트
+    // 5. 재고 업데이트 (변경된 상품만 2차 캐시에서 무효화)
     public int addStock(Long productId, Integer quantity) {
-        return productRepository.addStock(productId, quantity);
+        int updated = productRepository.addStock(productId, quantity);
+        evictCachedProduct(productId);
+        return updated;
     }
     
     public int reduceStock(Long productId, Integer quantity) {
-        return productRepository.reduceStock(productId, quantity);
+        int updated = productRepository.reduceStock(productId, quantity);
+        if (updated > 0) {
+            evictCachedProduct(productId);
+        }
+        return updated;
     }
     
     public int updateOutOfStockProducts() {
@@ -167,6 +182,20 @@ public class JpaProductService {
                                                               minPrice, maxPrice, minStock, pageable);
     }
     
+    // 7-1. 동적 검색 (키셋 페이징) - cursor가 null이면 첫 페이지
+    @Transactional(readOnly = true)
+    public KeysetPage<Product> searchProductsByCursor(String name, Long categoryId, ProductStatus status,
+                                                      BigDecimal minPrice, BigDecimal maxPrice, Integer minStock,
+                                                      KeysetCursor cursor, int size) {
+        PageRequest limit = PageRequest.of(0, KeysetPage.fetchSize(size));
+        List<Product> fetched = cursor == null
+                ? productRepository.findProductsByDynamicCriteriaFirst(name, categoryId, status,
+                        minPrice, maxPrice, minStock, limit)
+                : productRepository.findProductsByDynamicCriteriaAfter(name, categoryId, status,
+                        minPrice, maxPrice, minStock, cursor.getValue(0, LocalDateTime.class), cursor.getValue(1, Long.class), limit);
+        return KeysetPage.of(fetched, size, product -> KeysetCursor.of(product.getCreatedAt(), product.getProductId()));
+    }
+    
     // 8. 페이징 검색
     @Transactional(readOnly = true)
     public Page<Product> getProductsByStatusAndName(ProductStatus status, String name, Pageable pageable) {
@@ -246,6 +275,14 @@ public class JpaProductService {
         return productRepository.findProductsInActiveCategories();
     }
     
+    /**
+     * 최상위 카테고리 (쿼리 캐시 + 카테고리 엔티티/하위 트리 캐시)
+     */
+    @Transactional(readOnly = true)
+    public List<Category> getRootCategories() {
+        return categoryRepository.findRootCategories();
+    }
+    
     // 12. 주문 관련
     @Transactional(readOnly = true)
     public List<Product> getProductsOrderedAfterDate(LocalDateTime fromDate) {
@@ -330,5 +367,22 @@ public class JpaProductService {
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
+    
+    /**
+     * 상품 한 건을 2차 캐시에서 제거 - 지금 한 번, 커밋 후 한 번
+     * 커밋 전에 다른 트랜잭션이 이전 재고를 읽어 다시 캐시에 넣을 수 있으므로 커밋 후에도 제거한다.
+     */
+    private void evictCachedProduct(Long productId) {
+        javax.persistence.Cache cache = entityManagerFactory.getCache();
+        cache.evict(Product.class, productId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(Product.class, productId);
+                }
+            });
+        }
+    }
 }
 
@@ -0,0 +1,100 @@
+package com.example.jpa.service;
+
+import com.example.jpa.dto.UserListItem;
+import com.example.jpa.entity.UserStatus;
+import com.example.jpa.entity.UserType;
+import com.example.jpa.repository.UserReadRepository;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JPA 기반 User 조회 전용 Service
+ * 목록/검색 API는 엔티티 대신 UserListItem 프로젝션을 반환한다 (readOnly 트랜잭션, 영속성 컨텍스트 미사용).
+ */
+@Service
+@Transactional(readOnly = true)
+public class JpaUserQueryService {
+
+    @Autowired
+    private UserReadRepository userReadRepository;
+
+    // 1. 상태/타입 기준 조회
+    public List<UserListItem> getUsersByStatus(UserStatus status) {
+        return userReadRepository.findByStatus(status);
+    }
+
+    public List<UserListItem> getUsersByUserType(UserType userType) {
+        return userReadRepository.findByUserType(userType);
+    }
+
+    public Page<UserListItem> getUsersByStatusAndUserType(UserStatus status, UserType userType, Pageable pageable) {
+        return userReadRepository.findByStatusAndUserType(status, userType, pageable);
+    }
+
+    // 2. 검색
+    public List<UserListItem> searchUsersByUsername(String username) {
+        return userReadRepository.findByUsernameContaining(username);
+    }
+
+    public List<UserListItem> searchUsersByEmail(String email) {
+        return userReadRepository.findByEmailContaining(email);
+    }
+
+    public List<UserListItem> searchUsersByFullName(String fullName) {
+        return userReadRepository.findByFullNameContainingIgnoreCase(fullName);
+    }
+
+    public List<UserListItem> getUsersByEmailDomain(String domain) {
+        return userReadRepository.findByEmailDomain(domain);
+    }
+
+    // 3. 동적 검색
+    public Page<UserListItem> searchUsers(String username, String email, UserStatus status,
+                                          UserType userType, Pageable pageable) {
+        return userReadRepository.findByDynamicCriteria(username, email, status, userType, pageable);
+    }
+
+    // 3-1. 동적 검색 (키셋 페이징) - cursor가 null이면 첫 페이지
+    public KeysetPage<UserListItem> searchUsersByCursor(String username, String email, UserStatus status,
+                                                        UserType userType, KeysetCursor cursor, int size) {
+        PageRequest limit = PageRequest.of(0, KeysetPage.fetchSize(size));
+        List<UserListItem> fetched = cursor == null
+                ? userReadRepository.findByDynamicCriteriaFirst(username, email, status, userType, limit)
+                : userReadRepository.findByDynamicCriteriaAfter(username, email, status, userType,
+                        cursor.getValue(0, LocalDateTime.class), cursor.getValue(1, Long.class), limit);
+        return KeysetPage.of(fetched, size, item -> KeysetCursor.of(item.getCreatedAt(), item.getUserId()));
+    }
+
+    // 4. 날짜 조건
+    public List<UserListItem> getUsersCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return userReadRepository.findByCreatedAtBetween(startDate, endDate);
+    }
+
+    public List<UserListItem> getUsersCreatedAfter(LocalDateTime date) {
+        return userReadRepository.findByCreatedAtAfter(date);
+    }
+
+    public List<UserListItem> getUsersWithoutLogin() {
+        return userReadRepository.findWithoutLogin();
+    }
+
+    // 5. 주문 조건
+    public List<UserListItem> getUsersWithHighValueOrders(BigDecimal minAmount) {
+        return userReadRepository.findWithOrdersAboveAmount(minAmount);
+    }
+
+    // 6. 전체 목록
+    public List<UserListItem> getAllUsers() {
+        return userReadRepository.findAllItems();
+    }
+}
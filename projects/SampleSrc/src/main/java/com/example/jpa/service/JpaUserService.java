@@ -5,8 +5,11 @@ import com.example.jpa.entity.UserStatus;
 import com.example.jpa.entity.UserType;
 import com.example.jpa.repository.UserRepository;
 import com.example.jpa.dto.UserSummaryDto;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -108,6 +111,18 @@ public class JpaUserService {
         return userRepository.findUsersByDynamicCriteria(username, email, status, userType, pageable);
     }
     
+    // 3-1. 동적 검색 (키셋 페이징) - cursor가 null이면 첫 페이지
+    @Transactional(readOnly = true)
+    public KeysetPage<User> searchUsersByCursor(String username, String email, UserStatus status,
+                                                UserType userType, KeysetCursor cursor, int size) {
+        PageRequest limit = PageRequest.of(0, KeysetPage.fetchSize(size));
+        List<User> fetched = cursor == null
+                ? userRepository.findUsersByDynamicCriteriaFirst(username, email, status, userType, limit)
+                : userRepository.findUsersByDynamicCriteriaAfter(username, email, status, userType,
+                        cursor.getValue(0, LocalDateTime.class), cursor.getValue(1, Long.class), limit);
+        return KeysetPage.of(fetched, size, user -> KeysetCursor.of(user.getCreatedAt(), user.getUserId()));
+    }
+    
     // 4. 날짜 기반 검색
     @Transactional(readOnly = true)
     public List<User> getUsersCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
@@ -3,8 +3,13 @@ package com.example.modern;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.example.performance.DailyAggregateStore;
+import com.example.performance.InventoryReservationEngine;
 import java.util.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -15,6 +20,9 @@ import java.time.LocalDateTime;
 @Transactional
 public class OrderEntityService {
 
+    // 종합 리포트용 일별 사전 집계 (커밋 후 반영)
+    private static final DailyAggregateStore DAILY_AGGREGATES = DailyAggregateStore.shared();
+
     @Autowired
     private OrderEntityRepository orderRepository;
     
@@ -30,6 +38,9 @@ public class OrderEntityService {
     @Autowired
     private ShipmentEntityService shipmentService;
 
+    @Autowired
+    private OrderSideRecordWriter sideRecords;
+
     /**
      * 주문 아이템과 함께 주문 생성
      * 연관 테이블: orders, order_items, products, inventory (재고 차감), payments (INFERRED)
@@ -39,24 +50,30 @@ public class OrderEntityService {
         // 1. 주문 기본 정보 저장
         OrderEntity savedOrder = saveOrder(orderEntity);
         
-        // 2. 주문 아이템들 저장 (order_items 테이블)
+        // 2. 상품 재고 일괄 예약 (inventory 테이블 - 조건부 차감 한 번, 부족하면 예외로 주문 롤백)
+        InventoryReservationEngine.Reservation reservation =
+            productService.reserveInventory("order-" + savedOrder.getId(), orderItems);
+        afterRollback(() -> productService.cancelInventoryReservation(reservation));
+        
+        // 3. 주문 아이템들 저장 (order_items 테이블)
         List<OrderItemEntity> savedItems = new ArrayList<>();
         for (OrderItemDto itemDto : orderItems) {
-            OrderItemEntity itemEntity = createOrderItem(savedOrder.getId(), itemDto);
-            savedItems.add(itemEntity);
-            
-            // 3. 상품 재고 차감 (products, inventory 테이블 연관)
-            productService.decreaseInventory(itemDto.getProductId(), itemDto.getQuantity());
+            savedItems.add(createOrderItem(savedOrder.getId(), itemDto));
         }
         
         savedOrder.setOrderItems(savedItems);
         
-        // 4. 결제 정보 생성 (INFERRED payments 테이블)
+        // 4. 결제 정보 생성 (INFERRED payments 테이블 - 주문과 함께 커밋)
         createPaymentRecord(savedOrder);
         
-        // 5. 배송 정보 생성 (INFERRED shipments 테이블)
+        // 5. 재고 로그, 초기 배송 정보는 아웃박스에 남기고 커밋 후 쓰기 지연 큐가 기록 (product_inventory_logs, shipments 테이블)
+        productService.recordReservationLogs(reservation);
         createShipmentRecord(savedOrder);
         
+        // 6. 일별 집계 반영 (트랜잭션 커밋 후)
+        DailyAggregateStore.OrderFact fact = toOrderFact(savedOrder);
+        afterCommit(() -> DAILY_AGGREGATES.recordOrder(DailyAggregateStore.DEFAULT_ENVIRONMENT, fact));
+        
         return savedOrder;
     }
 
@@ -77,7 +94,13 @@ public class OrderEntityService {
         // 상태 변경에 따른 후속 처리
         handleStatusChange(order, oldStatus, newStatus);
         
-        return saveOrder(order);
+        OrderEntity savedOrder = saveOrder(order);
+        
+        // 완료 상태 진입/이탈 시 상품 성과 집계 반영 (트랜잭션 커밋 후)
+        DailyAggregateStore.OrderFact fact = toOrderFact(savedOrder);
+        afterCommit(() -> DAILY_AGGREGATES.recordStatusChange(DailyAggregateStore.DEFAULT_ENVIRONMENT, fact, oldStatus, newStatus));
+        
+        return savedOrder;
     }
 
     /**
@@ -149,16 +172,8 @@ public class OrderEntityService {
     }
     
     private void createShipmentRecord(OrderEntity order) {
-        // INFERRED shipments 테이블 생성 유도
-        Map<String, Object> shipmentData = Map.of(
-            "orderId", order.getId(),
-            "shippingAddress", order.getShippingAddress(),
-            "status", "PREPARING",
-            "estimatedDelivery", LocalDateTime.now().plusDays(3)
-        );
-        
-        System.out.println("Shipment record created for order: " + order.getId());
-        System.out.println("Shipment data: " + shipmentData);
+        // INFERRED shipments 테이블 - 쓰기 지연 큐로 기록 (키: 주문 ID)
+        sideRecords.initialShipment(order, "CJ대한통운");
     }
     
     private void handleStatusChange(OrderEntity order, String oldStatus, String newStatus) {
@@ -189,9 +204,65 @@ public class OrderEntityService {
         // 취소된 주문의 재고 복구 (products, inventory 테이블)
         if (order.getOrderItems() != null) {
             for (OrderItemEntity item : order.getOrderItems()) {
-                productService.increaseInventory(item.getProductId(), item.getQuantity());
+                productService.increaseInventory("order-" + order.getId(), item.getProductId(), item.getQuantity());
+            }
+        }
+    }
+    
+    /**
+     * 일별 집계 입력으로 변환 - 부서는 연관 엔티티가 있을 때만 채움
+     * 상품명/부서명 같은 설명 컬럼은 엔티티에 없으므로 rebuild 때 적재된 값을 사용한다
+     */
+    private DailyAggregateStore.OrderFact toOrderFact(OrderEntity order) {
+        UserEntity user = order.getUser();
+        Long departmentId = user != null && user.getDepartment() != null ? user.getDepartment().getId() : null;
+        DailyAggregateStore.OrderFact fact = new DailyAggregateStore.OrderFact(
+            order.getUserId() != null ? order.getUserId() : 0L,
+            departmentId,
+            order.getOrderDate() != null ? order.getOrderDate().toLocalDate() : LocalDate.now(),
+            order.getStatus(),
+            order.getTotalAmount());
+        if (order.getOrderItems() != null) {
+            for (OrderItemEntity item : order.getOrderItems()) {
+                if (item.getProductId() != null && item.getQuantity() != null) {
+                    fact.item(item.getProductId(), item.getQuantity(), item.getUnitPrice());
+                }
+            }
+        }
+        return fact;
+    }
+    
+    /**
+     * 트랜잭션이 있으면 커밋 후 실행, 없으면 바로 실행 (롤백된 주문은 집계하지 않음)
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
             }
+        });
+    }
+    
+    /**
+     * 트랜잭션이 롤백되면 실행 (트랜잭션이 없으면 아무것도 하지 않음)
+     */
+    private void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
     }
     
     private List<OrderEntity> generateMockOrdersForUser(Long userId) {
@@ -0,0 +1,128 @@
+package com.example.modern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.dao.JdbcExecutor;
+import com.example.performance.WriteBehindQueue;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 주문 부가 레코드 기록기 - 재고 로그(product_inventory_logs)와 초기 배송 행(shipments)을 쓰기 지연 큐로 기록
+ * 연관관계: OrderEntityService, ProductEntityService -> OrderSideRecordWriter -> WriteBehindQueue
+ *
+ * 주문 트랜잭션 안에서 호출한다 - 아웃박스 행이 주문과 함께 커밋/롤백되고, 대상 테이블 기록은 커밋 후 백그라운드에서 한다.
+ * 아웃박스 기록이 실패하면 예외가 그대로 전파되어 주문 트랜잭션이 롤백된다.
+ * DataSource가 없는 환경(시뮬레이션)에서는 기존처럼 로그만 출력한다.
+ */
+@Component
+public class OrderSideRecordWriter {
+
+    static final String INVENTORY_LOG_TABLE = "product_inventory_logs";
+    static final String SHIPMENT_TABLE = "shipments";
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    @Value("${app.write-behind.outbox-table:" + WriteBehindQueue.DEFAULT_OUTBOX_TABLE + "}")
+    private String outboxTable;
+
+    @Value("${app.write-behind.batch-size:" + WriteBehindQueue.DEFAULT_BATCH_SIZE + "}")
+    private int batchSize;
+
+    @Value("${app.write-behind.max-attempts:" + WriteBehindQueue.DEFAULT_MAX_ATTEMPTS + "}")
+    private int maxAttempts;
+
+    private volatile WriteBehindQueue queue;
+
+    /**
+     * 시작 시 바로 큐를 열어 이전 실행에서 아웃박스에 남은 레코드부터 기록
+     */
+    @PostConstruct
+    public void start() {
+        if (dataSource == null) {
+            return;
+        }
+        JdbcExecutor jdbc = new JdbcExecutor("write-behind", dataSource);
+        queue = WriteBehindQueue.shared("order-side-records", () ->
+            new WriteBehindQueue("order-side-records", jdbc, outboxTable, batchSize, maxAttempts,
+                                 WriteBehindQueue.DEFAULT_QUEUE_CAPACITY)
+                .register(new WriteBehindQueue.TableSink(INVENTORY_LOG_TABLE, "idempotency_key",
+                    "product_id", "action", "quantity", "reason", "user_id", "created_at"))
+                .register(new WriteBehindQueue.TableSink(SHIPMENT_TABLE, "idempotency_key",
+                    "order_id", "shipping_address", "status", "estimated_delivery", "carrier", "created_at"))
+                .start());
+    }
+
+    /**
+     * 재고 변경 로그 - idempotencyKey는 같은 변경에 대해 항상 같은 값이어야 한다 (inventoryLogKey 사용)
+     */
+    public void inventoryLog(String idempotencyKey, Long productId, String action, Integer quantity,
+                             String reason, Long userId) {
+        write(Collections.singletonList(inventoryLogRecord(idempotencyKey, productId, action, quantity, reason, userId)));
+    }
+
+    public void inventoryLogs(List<WriteBehindQueue.Record> records) {
+        write(records);
+    }
+
+    /**
+     * 초기 배송 행 (PREPARING) - 주문당 하나
+     */
+    public void initialShipment(OrderEntity order, String carrier) {
+        WriteBehindQueue.Record record = WriteBehindQueue.Record.of(SHIPMENT_TABLE, "shipment-order-" + order.getId())
+            .set("order_id", order.getId())
+            .set("shipping_address", order.getShippingAddress())
+            .set("status", "PREPARING")
+            .set("estimated_delivery", LocalDateTime.now().plusDays(3))
+            .set("carrier", carrier)
+            .set("created_at", LocalDateTime.now());
+        write(Collections.singletonList(record));
+    }
+
+    /**
+     * 재고 로그 키 - 참조(예: "order-123") + 상품 + 동작
+     */
+    public static String inventoryLogKey(String reference, Long productId, String action) {
+        return reference + ":" + productId + ":" + action;
+    }
+
+    public static WriteBehindQueue.Record inventoryLogRecord(String idempotencyKey, Long productId, String action,
+                                                             Integer quantity, String reason, Long userId) {
+        return WriteBehindQueue.Record.of(INVENTORY_LOG_TABLE, idempotencyKey)
+            .set("product_id", productId)
+            .set("action", action)
+            .set("quantity", quantity)
+            .set("reason", reason)
+            .set("user_id", userId)
+            .set("created_at", LocalDateTime.now());
+    }
+
+    public Map<String, Object> metrics() {
+        WriteBehindQueue current = queue;
+        return current != null ? current.metrics() : Collections.emptyMap();
+    }
+
+    @PreDestroy
+    public void close() {
+        WriteBehindQueue current = queue;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private void write(List<WriteBehindQueue.Record> records) {
+        WriteBehindQueue current = queue;
+        if (current == null) {
+            for (WriteBehindQueue.Record record : records) {
+                System.out.println("Side record created: " + record.getTable() + " " + record.getValues());
+            }
+            return;
+        }
+        current.enqueue(records);
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.modern;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.dao.JdbcExecutor;
+import com.example.performance.InventoryReservationEngine;
+import com.example.performance.WriteBehindQueue;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
 import java.util.*;
 import java.math.BigDecimal;
 
@@ -26,6 +32,122 @@ public class ProductEntityService {
     @Autowired
     private BrandEntityRepository brandRepository;
 
+    @Autowired
+    private OrderSideRecordWriter sideRecords;
+
+    @Autowired(required = false)
+    private DataSource dataSource;
+
+    // 재고 임대 대상 인기 상품 - "상품ID:임대수량,..." (임대수량 생략 시 기본값)
+    @Value("${app.inventory.hot-products:}")
+    private String hotProducts;
+
+    private volatile InventoryReservationEngine reservationEngine;
+
+    /**
+     * 주문 품목 재고 일괄 예약 - 조건부 차감 한 문장으로 전부 예약하거나 아무것도 예약하지 않음
+     * 원장이 자체 커넥션에서 커밋하므로 주문 트랜잭션이 롤백되면 cancelInventoryReservation()으로 반환해야 한다.
+     * 재고 로그는 주문 트랜잭션 안에서 recordReservationLogs()로 남긴다.
+     * 연관 테이블: inventory
+     *
+     * @return 예약 결과, DataSource가 없는 환경(시뮬레이션)에서는 품목별 차감 후 null
+     * @throws InventoryReservationEngine.InsufficientStockException 재고 부족
+     */
+    public InventoryReservationEngine.Reservation reserveInventory(String reference, List<OrderItemDto> orderItems) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDto item : orderItems) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+
+        InventoryReservationEngine engine = reservationEngine();
+        if (engine == null) {
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                decreaseInventory(reference, entry.getKey(), entry.getValue());
+            }
+            return null;
+        }
+        return engine.reserve(reference, quantities);
+    }
+
+    /**
+     * 예약분 재고 로그 기록 (쓰기 지연) - 주문 트랜잭션 안에서 호출 (아웃박스 행이 주문과 함께 커밋)
+     * 키는 예약 참조 + 상품 + 동작이므로 같은 예약을 두 번 기록해도 한 행만 남는다.
+     * 연관 테이블: product_inventory_logs (INFERRED)
+     */
+    public void recordReservationLogs(InventoryReservationEngine.Reservation reservation) {
+        if (reservation == null) {
+            return;
+        }
+        List<WriteBehindQueue.Record> records = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : reservation.getQuantities().entrySet()) {
+            records.add(OrderSideRecordWriter.inventoryLogRecord(
+                OrderSideRecordWriter.inventoryLogKey(reservation.getReference(), entry.getKey(), "DECREASE"),
+                entry.getKey(), "DECREASE", entry.getValue(), "ORDER_CREATION", getCurrentUserId()));
+        }
+        sideRecords.inventoryLogs(records);
+    }
+
+    /**
+     * 재고 예약 취소 (주문 롤백 시) - 중복 호출 안전, 롤백된 주문은 재고 로그를 남기지 않았으므로 로그 없음
+     */
+    public void cancelInventoryReservation(InventoryReservationEngine.Reservation reservation) {
+        InventoryReservationEngine engine = reservationEngine;
+        if (engine == null || reservation == null || reservation.isReleased()) {
+            return;
+        }
+        engine.cancel(reservation);
+    }
+
+    public Map<String, Object> getInventoryReservationMetrics() {
+        InventoryReservationEngine engine = reservationEngine;
+        return engine != null ? engine.metrics() : Collections.emptyMap();
+    }
+
+    @PreDestroy
+    public void closeReservationEngine() {
+        InventoryReservationEngine engine = reservationEngine;
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    private InventoryReservationEngine reservationEngine() {
+        InventoryReservationEngine engine = reservationEngine;
+        if (engine == null && dataSource != null) {
+            synchronized (this) {
+                engine = reservationEngine;
+                if (engine == null) {
+                    JdbcExecutor jdbc = JdbcExecutor.autonomous("inventory", dataSource);
+                    engine = new InventoryReservationEngine(new InventoryReservationEngine.JdbcStockLedger(jdbc));
+                    registerHotProducts(engine);
+                    reservationEngine = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    private void registerHotProducts(InventoryReservationEngine engine) {
+        if (hotProducts == null || hotProducts.isBlank()) {
+            return;
+        }
+        for (String entry : hotProducts.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split(":");
+            try {
+                Long productId = Long.valueOf(parts[0].trim());
+                int leaseSize = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : InventoryReservationEngine.DEFAULT_LEASE_SIZE;
+                engine.registerHotProduct(productId, leaseSize);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("app.inventory.hot-products 형식 오류: " + trimmed, e);
+            }
+        }
+        System.out.println("Inventory lease enabled for hot products: " + engine.getHotProducts());
+    }
+
     /**
      * 재고 가용성 확인
      * 연관 테이블: products, inventory (INFERRED)
@@ -61,9 +183,11 @@ public class ProductEntityService {
     /**
      * 재고 차감
      * 연관 테이블: inventory, product_inventory_logs (INFERRED)
+     *
+     * @param reference 재고 로그 키의 참조 (예: "order-123") - 같은 참조/상품의 차감은 로그 한 행
      */
     @Transactional
-    public void decreaseInventory(Long productId, Integer quantity) {
+    public void decreaseInventory(String reference, Long productId, Integer quantity) {
         // 1. 현재 재고 조회
         InventoryEntity inventory = findInventoryByProductId(productId);
         if (inventory == null) {
@@ -80,7 +204,7 @@ public class ProductEntityService {
         inventory.setReservedStock(inventory.getReservedStock() + quantity);
         
         // 3. 재고 변경 로그 생성 (INFERRED product_inventory_logs 테이블)
-        createInventoryLog(productId, "DECREASE", quantity, "ORDER_CREATION");
+        createInventoryLog(reference, productId, "DECREASE", quantity, "ORDER_CREATION");
         
         System.out.println("Inventory decreased for product " + productId + 
                           ": -" + quantity + ", remaining=" + newAvailableStock);
@@ -89,9 +213,11 @@ public class ProductEntityService {
     /**
      * 재고 증가 (주문 취소 시)
      * 연관 테이블: inventory, product_inventory_logs (INFERRED)
+     *
+     * @param reference 재고 로그 키의 참조 (예: "order-123") - 같은 참조/상품의 복구는 로그 한 행
      */
     @Transactional
-    public void increaseInventory(Long productId, Integer quantity) {
+    public void increaseInventory(String reference, Long productId, Integer quantity) {
         // 1. 현재 재고 조회
         InventoryEntity inventory = findInventoryByProductId(productId);
         if (inventory == null) {
@@ -103,7 +229,7 @@ public class ProductEntityService {
         inventory.setReservedStock(Math.max(0, inventory.getReservedStock() - quantity));
         
         // 3. 재고 변경 로그 생성 (INFERRED product_inventory_logs 테이블)
-        createInventoryLog(productId, "INCREASE", quantity, "ORDER_CANCELLATION");
+        createInventoryLog(reference, productId, "INCREASE", quantity, "ORDER_CANCELLATION");
         
         System.out.println("Inventory increased for product " + productId + 
                           ": +" + quantity + ", available=" + inventory.getAvailableStock());
@@ -169,18 +295,10 @@ public class ProductEntityService {
         return inventory;
     }
     
-    private void createInventoryLog(Long productId, String action, Integer quantity, String reason) {
-        // INFERRED product_inventory_logs 테이블 생성 유도
-        Map<String, Object> logData = Map.of(
-            "productId", productId,
-            "action", action,
-            "quantity", quantity,
-            "reason", reason,
-            "timestamp", LocalDateTime.now(),
-            "userId", getCurrentUserId()
-        );
-        
-        System.out.println("Inventory log created: " + logData);
+    private void createInventoryLog(String reference, Long productId, String action, Integer quantity, String reason) {
+        // INFERRED product_inventory_logs 테이블 - 아웃박스에 남기고 커밋 후 쓰기 지연 큐가 기록
+        sideRecords.inventoryLog(OrderSideRecordWriter.inventoryLogKey(reference, productId, action),
+                                 productId, action, quantity, reason, getCurrentUserId());
     }
     
     private void createPaymentRecord(OrderEntity order) {
@@ -203,6 +203,8 @@ class PagedResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    private boolean hasNext;
+    private String nextCursor;
     private String error;
     
     // Builder 패턴
@@ -220,6 +222,8 @@ class PagedResponse<T> {
         public Builder<T> totalPages(int totalPages) { response.totalPages = totalPages; return this; }
         public Builder<T> first(boolean first) { response.first = first; return this; }
         public Builder<T> last(boolean last) { response.last = last; return this; }
+        public Builder<T> hasNext(boolean hasNext) { response.hasNext = hasNext; return this; }
+        public Builder<T> nextCursor(String nextCursor) { response.nextCursor = nextCursor; return this; }
         public Builder<T> error(String error) { response.error = error; return this; }
         
         public PagedResponse<T> build() { return response; }
@@ -233,6 +237,8 @@ class PagedResponse<T> {
     public int getTotalPages() { return totalPages; }
     public boolean isFirst() { return first; }
     public boolean isLast() { return last; }
+    public boolean isHasNext() { return hasNext; }
+    public String getNextCursor() { return nextCursor; }
     public String getError() { return error; }
 }
 
@@ -5,6 +5,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 import java.util.*;
 import java.time.LocalDateTime;
 
@@ -40,6 +42,24 @@ public class UserEntityService {
         return createMockUserPage(criteria, pageable);
     }
 
+    /**
+     * 조건별 사용자 조회 (키셋 페이징)
+     * 연관 테이블: users
+     * 정렬 키: created_date DESC, user_id DESC - COUNT 쿼리와 OFFSET 스캔 없이 size + 1 건만 조회
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<UserEntity> findUsersByKeyset(UserSearchCriteria criteria, KeysetCursor cursor, int size) {
+        LocalDateTime cursorCreatedDate = cursor != null ? cursor.getValue(0, LocalDateTime.class) : null;
+        Long cursorId = cursor != null ? cursor.getValue(1, Long.class) : null;
+        
+        // 실제로는 JPA Repository 사용
+        // List<UserEntity> fetched = userRepository.findByCriteriaAfter(criteria, cursorCreatedDate, cursorId,
+        //                                                              PageRequest.of(0, KeysetPage.fetchSize(size)));
+        List<UserEntity> fetched = createMockUserSlice(cursorCreatedDate, cursorId, KeysetPage.fetchSize(size));
+        
+        return KeysetPage.of(fetched, size, user -> KeysetCursor.of(user.getCreatedDate(), user.getId()));
+    }
+
     /**
      * 사용자 ID로 조회
      * 연관 테이블: users
@@ -186,6 +206,27 @@ public class UserEntityService {
         return new MockPage<>(users, pageable, 100L);
     }
     
+    private List<UserEntity> createMockUserSlice(LocalDateTime cursorCreatedDate, Long cursorId, int limit) {
+        // 키셋 조회 시뮬레이션: 커서 이전(더 오래된) 사용자부터 내림차순
+        List<UserEntity> users = new ArrayList<>();
+        LocalDateTime baseDate = cursorCreatedDate != null ? cursorCreatedDate : LocalDateTime.now();
+        long baseId = cursorId != null ? cursorId : 101L;
+        
+        for (int i = 1; i <= limit && baseId - i > 0; i++) {
+            UserEntity user = new UserEntity();
+            user.setId(baseId - i);
+            user.setUsername("user" + user.getId());
+            user.setEmail("user" + user.getId() + "@example.com");
+            user.setFullName("User " + user.getId());
+            user.setUserType("USER");
+            user.setStatus("ACTIVE");
+            user.setCreatedDate(baseDate.minusDays(i));
+            users.add(user);
+        }
+        
+        return users;
+    }
+    
     private Long generateNewUserId() {
         return System.currentTimeMillis() % 100000;
     }
@@ -194,6 +235,7 @@ public class UserEntityService {
 // Mock Repository 클래스들 (연결 시뮬레이션용)
 interface UserEntityRepository {
     Page<UserEntity> findByCriteria(UserSearchCriteria criteria, Pageable pageable);
+    List<UserEntity> findByCriteriaAfter(UserSearchCriteria criteria, LocalDateTime cursorCreatedDate, Long cursorId, Pageable limit);
     Optional<UserEntity> findById(Long id);
     UserEntity save(UserEntity user);
 }
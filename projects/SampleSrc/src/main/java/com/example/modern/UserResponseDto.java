@@ -4,6 +4,7 @@ import javax.validation.constraints.*;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -313,6 +314,8 @@ class PagedResponse<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    private boolean hasNext;
+    private String nextCursor;
     private String error;
     
     // Builder 패턴
@@ -330,6 +333,8 @@ class PagedResponse<T> {
         public Builder<T> totalPages(int totalPages) { response.totalPages = totalPages; return this; }
         public Builder<T> first(boolean first) { response.first = first; return this; }
         public Builder<T> last(boolean last) { response.last = last; return this; }
+        public Builder<T> hasNext(boolean hasNext) { response.hasNext = hasNext; return this; }
+        public Builder<T> nextCursor(String nextCursor) { response.nextCursor = nextCursor; return this; }
         public Builder<T> error(String error) { response.error = error; return this; }
         
         public PagedResponse<T> build() { return response; }
@@ -343,6 +348,8 @@ class PagedResponse<T> {
     public int getTotalPages() { return totalPages; }
     public boolean isFirst() { return first; }
     public boolean isLast() { return last; }
+    public boolean isHasNext() { return hasNext; }
+    public String getNextCursor() { return nextCursor; }
     public String getError() { return error; }
 }
 
@@ -480,6 +487,7 @@ class AnalyticsResponseDto {
     private LocalDateTime generatedAt;
     private Integer recordCount;
     private String processingTimeMs;
+    private Map<String, Object> sectionStatus;
     
     // Builder 패턴
     public static Builder builder() {
@@ -495,6 +503,7 @@ class AnalyticsResponseDto {
         public Builder generatedAt(LocalDateTime generatedAt) { dto.generatedAt = generatedAt; return this; }
         public Builder recordCount(Integer recordCount) { dto.recordCount = recordCount; return this; }
         public Builder processingTimeMs(String processingTimeMs) { dto.processingTimeMs = processingTimeMs; return this; }
+        public Builder sectionStatus(Map<String, Object> sectionStatus) { dto.sectionStatus = sectionStatus; return this; }
         
         public AnalyticsResponseDto build() { return dto; }
     }
@@ -506,4 +515,5 @@ class AnalyticsResponseDto {
     public LocalDateTime getGeneratedAt() { return generatedAt; }
     public Integer getRecordCount() { return recordCount; }
     public String getProcessingTimeMs() { return processingTimeMs; }
+    public Map<String, Object> getSectionStatus() { return sectionStatus; }
 }
@@ -0,0 +1,360 @@
+package com.example.pagination;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * 키셋(seek) 페이지네이션 커서
+ * 마지막으로 전달한 행의 정렬 키 값(예: created_date, user_id)을 불투명 토큰으로 인코딩하고,
+ * 다음 페이지 조회용 WHERE 조건을 생성한다.
+ *
+ * OFFSET 방식은 건너뛴 행을 매번 다시 읽지만, 키셋 방식은 정렬 인덱스에서
+ * 마지막 키 위치로 바로 이동하므로 몇 번째 페이지든 비용이 첫 페이지와 같다.
+ *
+ * 전제: 정렬 키 조합은 유일해야 하며(마지막 키는 PK 권장) NULL을 허용하지 않는다.
+ */
+public final class KeysetCursor {
+
+    private static final byte TOKEN_VERSION = 1;
+
+    private static final byte TYPE_LONG = 'L';
+    private static final byte TYPE_INTEGER = 'I';
+    private static final byte TYPE_STRING = 'S';
+    private static final byte TYPE_DECIMAL = 'D';
+    private static final byte TYPE_TIMESTAMP = 'T';
+    private static final byte TYPE_LOCAL_DATE_TIME = 'X';
+    private static final byte TYPE_LOCAL_DATE = 'Y';
+
+    private final Object[] values;
+
+    private KeysetCursor(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * 정렬 키 값으로 커서 생성 (정렬 컬럼과 같은 순서)
+     */
+    public static KeysetCursor of(Object... keyValues) {
+        if (keyValues == null || keyValues.length == 0) {
+            throw new IllegalArgumentException("키셋 커서에는 최소 하나의 키 값이 필요합니다");
+        }
+        Object[] copy = new Object[keyValues.length];
+        for (int i = 0; i < keyValues.length; i++) {
+            copy[i] = normalize(keyValues[i], i);
+        }
+        return new KeysetCursor(copy);
+    }
+
+    /**
+     * 결과 행(Map)의 마지막 행에서 커서 생성 - JDBC/MyBatis 결과용
+     */
+    public static KeysetCursor fromRow(Map<String, Object> row, String... keyColumns) {
+        Object[] keyValues = new Object[keyColumns.length];
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (!row.containsKey(keyColumns[i])) {
+                throw new IllegalArgumentException("결과 행에 키 컬럼이 없습니다: " + keyColumns[i]);
+            }
+            keyValues[i] = row.get(keyColumns[i]);
+        }
+        return of(keyValues);
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public Object getValue(int index) {
+        return values[index];
+    }
+
+    public <T> T getValue(int index, Class<T> type) {
+        Object value = values[index];
+        if (type == Long.class && value instanceof Number && !(value instanceof Long)) {
+            // 드라이버에 따라 PK가 Integer/BigDecimal로 조회되는 경우
+            return type.cast(((Number) value).longValue());
+        }
+        if (type == LocalDateTime.class && value instanceof Timestamp) {
+            return type.cast(((Timestamp) value).toLocalDateTime());
+        }
+        if (type == Timestamp.class && value instanceof LocalDateTime) {
+            return type.cast(Timestamp.valueOf((LocalDateTime) value));
+        }
+        if (!type.isInstance(value)) {
+            throw new IllegalArgumentException("커서 키 " + index + "의 타입이 " + type.getSimpleName()
+                                               + "이(가) 아닙니다: " + value.getClass().getSimpleName());
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * 행 값 비교 형식의 바인드 값: (k1, k2) < (?, ?)
+     */
+    public List<Object> bindValues() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    /**
+     * 전개 형식의 바인드 값: k1 < ? OR (k1 = ? AND k2 < ?) ...
+     * 키 i 단계에서는 앞선 키 0..i-1 의 동등 조건과 키 i 의 비교 조건이 필요하다.
+     */
+    public List<Object> expandedBindValues() {
+        List<Object> binds = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < i; j++) {
+                binds.add(values[j]);
+            }
+            binds.add(values[i]);
+        }
+        return binds;
+    }
+
+    /**
+     * 행 값 비교 조건 생성 - MySQL, PostgreSQL 등 row value constructor 지원 DB용
+     * 예: seekPredicate(true, "u.created_date", "u.user_id") -> "(u.created_date, u.user_id) < (?, ?)"
+     */
+    public static String seekPredicate(boolean descending, String... keyColumns) {
+        StringBuilder predicate = new StringBuilder("(");
+        StringBuilder placeholders = new StringBuilder("(");
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (i > 0) {
+                predicate.append(", ");
+                placeholders.append(", ");
+            }
+            predicate.append(keyColumns[i]);
+            placeholders.append("?");
+        }
+        predicate.append(descending ? ") < " : ") > ");
+        predicate.append(placeholders).append(")");
+        return predicate.toString();
+    }
+
+    /**
+     * 전개 형식 조건 생성 - row value 비교를 지원하지 않는 DB(Oracle 등)나 JPQL용
+     * 예: "(u.created_date < ? OR (u.created_date = ? AND u.user_id < ?))"
+     */
+    public static String expandedSeekPredicate(boolean descending, String... keyColumns) {
+        String operator = descending ? " < ?" : " > ?";
+        StringBuilder predicate = new StringBuilder("(");
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (i > 0) {
+                predicate.append(" OR ");
+            }
+            if (i == 0) {
+                predicate.append(keyColumns[0]).append(operator);
+                continue;
+            }
+            predicate.append("(");
+            for (int j = 0; j < i; j++) {
+                predicate.append(keyColumns[j]).append(" = ? AND ");
+            }
+            predicate.append(keyColumns[i]).append(operator).append(")");
+        }
+        predicate.append(")");
+        return predicate.toString();
+    }
+
+    /**
+     * 정렬 키에 맞는 ORDER BY 절 생성 (인덱스 순서와 일치해야 seek가 동작)
+     */
+    public static String orderByClause(boolean descending, String... keyColumns) {
+        StringBuilder orderBy = new StringBuilder("ORDER BY ");
+        for (int i = 0; i < keyColumns.length; i++) {
+            if (i > 0) {
+                orderBy.append(", ");
+            }
+            orderBy.append(keyColumns[i]).append(descending ? " DESC" : " ASC");
+        }
+        return orderBy.toString();
+    }
+
+    /**
+     * URL-safe 불투명 토큰으로 인코딩
+     */
+    public String encode() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(TOKEN_VERSION);
+            out.writeByte(values.length);
+            for (Object value : values) {
+                writeValue(out, value);
+            }
+            out.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("커서 인코딩 실패", e);
+        }
+    }
+
+    /**
+     * 토큰 디코딩 - 형식이 올바르지 않으면 IllegalArgumentException
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("커서 토큰이 비어 있습니다");
+        }
+        try {
+            byte[] raw = Base64.getUrlDecoder().decode(token.trim());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            byte version = in.readByte();
+            if (version != TOKEN_VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 커서 버전: " + version);
+            }
+            int count = in.readUnsignedByte();
+            if (count == 0) {
+                throw new IllegalArgumentException("커서에 키 값이 없습니다");
+            }
+            Object[] decoded = new Object[count];
+            for (int i = 0; i < count; i++) {
+                decoded[i] = readValue(in);
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("커서 토큰 뒤에 불필요한 데이터가 있습니다");
+            }
+            return new KeysetCursor(decoded);
+        } catch (IOException | IllegalStateException | DateTimeParseException e) {
+            throw new IllegalArgumentException("잘못된 커서 토큰: " + token, e);
+        }
+    }
+
+    /**
+     * 선택적 토큰 디코딩 - null/빈 문자열이면 첫 페이지(null)
+     */
+    public static KeysetCursor decodeOrNull(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        return decode(token);
+    }
+
+    /**
+     * 정렬 키 형태까지 검증하는 디코딩 - 키 개수나 타입이 다르면 IllegalArgumentException
+     * 다른 API의 토큰이나 조작된 토큰이 조회 단계까지 내려가 500이 되지 않도록 입력 단계에서 거른다.
+     * 타입 검사는 getValue(index, type)과 같은 변환 규칙을 따른다 (Object.class는 모든 타입 허용).
+     */
+    public static KeysetCursor decode(String token, Class<?>... keyTypes) {
+        KeysetCursor cursor = decode(token);
+        if (cursor.values.length != keyTypes.length) {
+            throw new IllegalArgumentException("커서 키 개수가 맞지 않습니다: " + cursor.values.length
+                                               + " (기대값 " + keyTypes.length + ")");
+        }
+        for (int i = 0; i < keyTypes.length; i++) {
+            cursor.getValue(i, keyTypes[i]);
+        }
+        return cursor;
+    }
+
+    /**
+     * 정렬 키 형태까지 검증하는 선택적 디코딩 - null/빈 문자열이면 첫 페이지(null)
+     */
+    public static KeysetCursor decodeOrNull(String token, Class<?>... keyTypes) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        return decode(token, keyTypes);
+    }
+
+    private static Object normalize(Object value, int index) {
+        if (value == null) {
+            throw new IllegalArgumentException("키셋 커서 키 " + index + "의 값이 NULL입니다");
+        }
+        if (value instanceof Timestamp || value instanceof Long || value instanceof Integer
+                || value instanceof String || value instanceof BigDecimal
+                || value instanceof LocalDateTime || value instanceof LocalDate) {
+            return value;
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        if (value instanceof java.util.Date) {
+            return new Timestamp(((java.util.Date) value).getTime());
+        }
+        if (value instanceof Short || value instanceof Byte) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof java.math.BigInteger) {
+            return new BigDecimal((java.math.BigInteger) value);
+        }
+        throw new IllegalArgumentException("키셋 커서에서 지원하지 않는 타입: " + value.getClass().getName());
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof Long) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof String) {
+            out.writeByte(TYPE_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(TYPE_DECIMAL);
+            out.writeUTF(((BigDecimal) value).toPlainString());
+        } else if (value instanceof Timestamp) {
+            // 나노초까지 보존해야 같은 밀리초의 행을 건너뛰지 않음
+            Timestamp timestamp = (Timestamp) value;
+            out.writeByte(TYPE_TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof LocalDateTime) {
+            out.writeByte(TYPE_LOCAL_DATE_TIME);
+            out.writeUTF(value.toString());
+        } else if (value instanceof LocalDate) {
+            out.writeByte(TYPE_LOCAL_DATE);
+            out.writeUTF(value.toString());
+        } else {
+            throw new IllegalStateException("인코딩할 수 없는 타입: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_LONG:
+                return in.readLong();
+            case TYPE_INTEGER:
+                return in.readInt();
+            case TYPE_STRING:
+                return in.readUTF();
+            case TYPE_DECIMAL:
+                return new BigDecimal(in.readUTF());
+            case TYPE_TIMESTAMP:
+                Timestamp timestamp = new Timestamp(in.readLong());
+                timestamp.setNanos(in.readInt());
+                return timestamp;
+            case TYPE_LOCAL_DATE_TIME:
+                return LocalDateTime.parse(in.readUTF());
+            case TYPE_LOCAL_DATE:
+                return LocalDate.parse(in.readUTF());
+            default:
+                throw new IllegalStateException("알 수 없는 커서 값 타입: " + (char) type);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof KeysetCursor)) return false;
+        return Arrays.equals(values, ((KeysetCursor) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor" + Arrays.toString(values);
+    }
+}
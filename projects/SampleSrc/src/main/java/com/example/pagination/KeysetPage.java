@@ -0,0 +1,67 @@
+package com.example.pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋 페이지 결과
+ * 전체 건수(COUNT) 없이 다음 페이지 존재 여부와 다음 커서 토큰만 제공한다.
+ * 조회 시 size + 1 건을 가져와 초과분 유무로 hasNext를 판단한다.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final boolean hasNext;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * size + 1 건으로 조회한 결과를 페이지로 변환
+     * @param fetched       최대 size + 1 건의 조회 결과
+     * @param size          요청 페이지 크기
+     * @param keyExtractor  행에서 정렬 키 커서를 만드는 함수
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int size, Function<T, KeysetCursor> keyExtractor) {
+        boolean hasNext = fetched.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(fetched.subList(0, size)) : fetched;
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            nextCursor = keyExtractor.apply(content.get(content.size() - 1)).encode();
+        }
+        return new KeysetPage<>(Collections.unmodifiableList(content), size, hasNext, nextCursor);
+    }
+
+    public static <T> KeysetPage<T> empty(int size) {
+        return new KeysetPage<>(Collections.<T>emptyList(), size, false, null);
+    }
+
+    /**
+     * 조회 시 사용할 LIMIT 값 (다음 페이지 판단용 1건 추가)
+     */
+    public static int fetchSize(int size) {
+        return size + 1;
+    }
+
+    public <R> KeysetPage<R> map(Function<T, R> converter) {
+        List<R> converted = new ArrayList<>(content.size());
+        for (T item : content) {
+            converted.add(converter.apply(item));
+        }
+        return new KeysetPage<>(Collections.unmodifiableList(converted), size, hasNext, nextCursor);
+    }
+
+    public List<T> getContent() { return content; }
+    public int getSize() { return size; }
+    public int getNumberOfElements() { return content.size(); }
+    public boolean isHasNext() { return hasNext; }
+    public String getNextCursor() { return nextCursor; }
+}
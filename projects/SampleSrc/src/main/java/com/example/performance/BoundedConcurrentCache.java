@@ -0,0 +1,172 @@
+package com.example.performance;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 용량 제한 동시성 캐시 - 키 해시로 나눈 구간(stripe)마다 LRU 맵을 두고 구간 단위로 잠금
+ * 연관관계: LargeBusinessClass.dataCache
+ *
+ * - 구간마다 capacity를 나눈 한도까지만 보관하고 넘치면 그 구간에서 가장 오래 사용하지 않은 항목을 제거
+ *   (전체 항목 수는 항상 capacity 이하 - 다만 키가 한 구간에 몰리면 capacity보다 먼저 제거가 일어날 수 있다)
+ * - 서로 다른 구간의 읽기/쓰기는 경합하지 않는다
+ * - 순회(entrySet/values)는 구간별로 잠그고 복사한 스냅샷이며 캐시를 바꾸지 않는다
+ * - null 키/값은 허용하지 않는다
+ */
+public class BoundedConcurrentCache<K, V> extends AbstractMap<K, V> {
+
+    private static final int MAX_STRIPES = 16;
+
+    private final int capacity;
+    private final Stripe<K, V>[] stripes;
+    private final int mask;
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedConcurrentCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("캐시 용량은 1 이상이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        int count = 1;
+        while (count < MAX_STRIPES && count * 2 <= capacity) {
+            count *= 2;
+        }
+        // 나머지는 앞 구간에 하나씩 더 배분해 구간 한도의 합이 정확히 capacity가 되게 한다
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Stripe<K, V>[] created = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            created[i] = new Stripe<>(capacity / count + (i < capacity % count ? 1 : 0), evictions);
+        }
+        this.stripes = created;
+        this.mask = count - 1;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public V get(Object key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.containsKey(key);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(value, "value");
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.put(key, value);
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                if (!stripe.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * 구간별 스냅샷 - 반환된 집합을 바꿔도 캐시에는 반영되지 않는다
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        List<Entry<K, V>> entries = new ArrayList<>();
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                for (Entry<K, V> entry : stripe.entrySet()) {
+                    entries.add(new SimpleImmutableEntry<>(entry));
+                }
+            }
+        }
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return Collections.unmodifiableList(entries).iterator();
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    private Stripe<K, V> stripeFor(Object key) {
+        int h = Objects.requireNonNull(key, "key").hashCode();
+        return stripes[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * 접근 순서 LinkedHashMap - 소유 구간의 잠금 안에서만 사용 (get도 순서를 바꾸므로)
+     */
+    private static final class Stripe<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int limit;
+        private final LongAdder evictions;
+
+        Stripe(int limit, LongAdder evictions) {
+            super(Math.min(limit, 64) * 4 / 3 + 1, 0.75f, true);
+            this.limit = limit;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > limit) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.performance;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이름 붙은 데몬 스레드/실행기 생성 헬퍼
+ * 백그라운드 작업 스레드는 모두 "용도-번호" 이름의 데몬 스레드로 만들어 스레드 덤프에서 구분되고
+ * JVM 종료를 막지 않도록 한다. 제한 시간이 있는 병렬 실행(fan-out)은 ReportOrchestrator를 사용한다.
+ */
+public final class DaemonThreads {
+
+    private static final long IDLE_KEEP_ALIVE_SECONDS = 60L;
+
+    private DaemonThreads() {
+    }
+
+    /**
+     * prefix-1, prefix-2 ... 이름의 데몬 스레드 팩토리
+     */
+    public static ThreadFactory factory(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> newThread(prefix + "-" + threadNumber.incrementAndGet(), runnable);
+    }
+
+    /**
+     * 이름 붙은 데몬 스레드를 만들어 바로 시작
+     */
+    public static Thread start(String name, Runnable task) {
+        Thread thread = newThread(name, task);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * 고정 크기 + 제한 대기열 실행기 - 대기열이 차면 RejectedExecutionException
+     * 유휴 스레드는 IDLE_KEEP_ALIVE_SECONDS 후 종료되므로 공유 static 실행기로 두어도 된다.
+     */
+    public static ThreadPoolExecutor boundedPool(String prefix, int threads, int queueCapacity) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("threads, queueCapacity는 양수여야 합니다: " + threads + ", " + queueCapacity);
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            threads, threads, IDLE_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            factory(prefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static Thread newThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
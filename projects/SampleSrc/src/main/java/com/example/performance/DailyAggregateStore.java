@@ -0,0 +1,539 @@
+package com.example.performance;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 일별 사전 집계 저장소 - 종합 리포트의 상품 성과, 부서 성과를 일별 버킷으로 증분 집계
+ *
+ * rebuild로 DB의 주문을 일별 버킷에 적재한 뒤에는 주문 저장/상태 변경을 버킷에 더하고,
+ * 리포트는 기간 내 일별 버킷을 합쳐서 응답한다.
+ * 응답 비용은 주문 수가 아니라 기간의 일수(와 일별 고유 ID 수)에 비례한다.
+ *
+ * 집계 기준 (SQL 리포트와 같은 컬럼으로 행을 만든다):
+ * - 상품 성과: product_id별 - status = 'COMPLETED' 주문만 (상태 변경 시 더하거나 뺌)
+ * - 부서 성과: dept_id별
+ * - 사용자 활동은 SQL 리포트가 가입일 기준이고 활동 수를 함께 세므로 저장소에서 집계하지 않는다
+ * 고유 건수(COUNT DISTINCT)는 일별 ID 집합을 합쳐서 계산하므로 기간을 합쳐도 정확하다.
+ *
+ * 완전성:
+ * - rebuild가 끝난 환경만, rebuild 시작일 이후 기간만 응답한다 (쓰기만으로는 완전해지지 않음)
+ * - 저장소는 프로세스 메모리에 있어 이 인스턴스의 주문 서비스를 거친 변경만 더해진다.
+ *   다른 인스턴스나 SQL로 직접 쓰는 경로(서블릿, 테이블 동기화)의 변경은 보이지 않으므로
+ *   호출자는 응답 전에 totals()를 DB의 주문 수/완료 주문 수와 비교하고, 다르면 SQL로 조회해야 한다.
+ * - 상품명/카테고리/브랜드, 부서명/관리자는 rebuild 때 함께 적재한다. 이후 처음 보는 상품/부서가
+ *   섞이면 해당 섹션은 null을 반환하므로 호출자가 SQL로 조회한다.
+ */
+public class DailyAggregateStore {
+
+    /** JPA 엔티티(orders, users ...)가 매핑되는 기본 환경 */
+    public static final String DEFAULT_ENVIRONMENT = "prod";
+    public static final String COMPLETED_STATUS = "COMPLETED";
+    public static final int DEFAULT_RETENTION_DAYS = 400;
+
+    private static final DailyAggregateStore SHARED = new DailyAggregateStore(DEFAULT_RETENTION_DAYS, ZoneId.systemDefault());
+
+    private final int retentionDays;
+    private final ZoneId zone;
+    private final Map<String, EnvironmentBuckets> environments = new ConcurrentHashMap<>();
+
+    public DailyAggregateStore(int retentionDays, ZoneId zone) {
+        if (retentionDays <= 0) {
+            throw new IllegalArgumentException("보관 일수는 양수여야 합니다: " + retentionDays);
+        }
+        this.retentionDays = retentionDays;
+        this.zone = zone;
+    }
+
+    public static DailyAggregateStore shared() {
+        return SHARED;
+    }
+
+    // ===== 쓰기 =====
+
+    /**
+     * 신규 주문 반영 - 부서 성과, 그리고 이미 완료 상태면 상품 성과까지
+     * rebuild되지 않은 환경이나 적재 범위 이전 날짜의 주문은 무시한다.
+     */
+    public void recordOrder(String environment, OrderFact order) {
+        EnvironmentBuckets buckets = environments.get(environment);
+        if (buckets == null) {
+            return;
+        }
+        record(buckets, order);
+    }
+
+    /**
+     * 주문 상태 변경 반영 - 완료 상태로 들어가거나 나갈 때 상품 성과를 더하거나 뺀다
+     */
+    public void recordStatusChange(String environment, OrderFact order, String oldStatus, String newStatus) {
+        boolean wasCompleted = COMPLETED_STATUS.equals(oldStatus);
+        boolean isCompleted = COMPLETED_STATUS.equals(newStatus);
+        if (wasCompleted == isCompleted) {
+            return;
+        }
+        DayBucket bucket = bucketForWrite(environments.get(environment), order.orderDay);
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            bucket.applyStatus(order, isCompleted ? 1 : -1);
+        }
+    }
+
+    /**
+     * 주문 적재기 - from 이후 주문을 sink에 하나씩 전달 (상품/부서 정보 포함)
+     */
+    public interface OrderLoader {
+        void load(java.util.function.Consumer<OrderFact> sink) throws Exception;
+    }
+
+    /**
+     * 환경 재적재 - 새 버킷에 from 이후 주문을 적재한 뒤 한 번에 교체하고, from부터 완전한 것으로 표시
+     * 적재 중에 들어온 변경은 교체 전 버킷에만 더해지므로 빠질 수 있다 (totals 비교로 드러남 - 다시 rebuild).
+     * @return 적재한 주문 수
+     */
+    public long rebuild(String environment, LocalDate from, OrderLoader loader) throws Exception {
+        LocalDate oldest = LocalDate.now(zone).minusDays(retentionDays);
+        EnvironmentBuckets staging = new EnvironmentBuckets(from.isBefore(oldest) ? oldest : from);
+        long[] loaded = new long[1];
+        loader.load(order -> {
+            record(staging, order);
+            loaded[0]++;
+        });
+        environments.put(environment, staging);
+        System.out.println("일별 사전 집계 재적재: " + environment + " " + staging.coveredFrom + "~ (" + loaded[0] + "건)");
+        return loaded[0];
+    }
+
+    /**
+     * 환경의 집계를 버림 - 다음 rebuild까지 dayRange는 null (SQL로 조회)
+     */
+    public void invalidate(String environment) {
+        environments.remove(environment);
+    }
+
+    private void record(EnvironmentBuckets buckets, OrderFact order) {
+        DayBucket bucket = bucketForWrite(buckets, order.orderDay);
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            bucket.orderCount++;
+            bucket.department(order.departmentId).addOrder(order);
+            if (COMPLETED_STATUS.equals(order.status)) {
+                bucket.applyStatus(order, 1);
+            }
+        }
+        if (order.departmentInfo != null) {
+            buckets.departmentInfo.put(order.departmentId, order.departmentInfo);
+        }
+        for (ItemFact item : order.items) {
+            if (item.productInfo != null) {
+                buckets.productInfo.put(item.productId, item.productInfo);
+            }
+        }
+    }
+
+    /**
+     * 쓰기 대상 버킷 - 적재 범위 밖이면 null
+     */
+    private DayBucket bucketForWrite(EnvironmentBuckets buckets, LocalDate day) {
+        if (buckets == null || day.isBefore(buckets.coveredFrom)) {
+            return null;
+        }
+        evictExpired(buckets, LocalDate.now(zone));
+        return buckets.days.computeIfAbsent(day, d -> new DayBucket());
+    }
+
+    private void evictExpired(EnvironmentBuckets buckets, LocalDate today) {
+        LocalDate oldest = today.minusDays(retentionDays);
+        if (!buckets.days.isEmpty() && buckets.days.firstKey().isBefore(oldest)) {
+            buckets.days.headMap(oldest).clear();
+        }
+        if (buckets.coveredFrom.isBefore(oldest)) {
+            buckets.coveredFrom = oldest;
+        }
+    }
+
+    // ===== 읽기 =====
+
+    /**
+     * 리포트 기간을 일 단위 범위로 변환 - 저장소로 응답할 수 없으면 null
+     * 조건: 시작이 자정이고, 끝이 자정(그 날은 제외)·하루의 마지막 시각·현재 이후 중 하나이며,
+     *       시작일이 집계가 완전한 날 이후일 것
+     */
+    public DayRange dayRange(String environment, java.util.Date start, java.util.Date end) {
+        EnvironmentBuckets buckets = environments.get(environment);
+        if (buckets == null || start == null || end == null) {
+            return null;
+        }
+        LocalDateTime startTime = toLocalDateTime(start);
+        LocalDateTime endTime = toLocalDateTime(end);
+        if (!startTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            return null;
+        }
+
+        LocalDate to;
+        if (endTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            to = endTime.toLocalDate().minusDays(1);
+        } else if (endTime.plusNanos(1_000_000).toLocalTime().equals(LocalTime.MIDNIGHT)
+                   || !endTime.isBefore(LocalDateTime.now(zone))) {
+            to = endTime.toLocalDate();
+        } else {
+            return null;
+        }
+
+        LocalDate from = startTime.toLocalDate();
+        if (from.isBefore(buckets.coveredFrom) || to.isBefore(from)) {
+            return null;
+        }
+        return new DayRange(from, to);
+    }
+
+    /**
+     * 기간 내 주문 수와 완료 주문 수 - 호출자가 DB 값과 비교해 저장소가 최신인지 확인하는 용도
+     * @return {주문 수, 완료 주문 수}
+     */
+    public long[] totals(String environment, DayRange range) {
+        long orders = 0;
+        long completed = 0;
+        for (DayBucket bucket : bucketsIn(environment, range)) {
+            synchronized (bucket) {
+                orders += bucket.orderCount;
+                completed += bucket.completedCount;
+            }
+        }
+        return new long[] {orders, completed};
+    }
+
+    /**
+     * 상품 성과 - 컬럼: product_id, product_name, category_id, category_name, brand_name, sales_count,
+     *                   total_quantity, total_sales, avg_price, unique_customers
+     *                   (total_sales, sales_count 내림차순, total_sales > 0)
+     * @return 상품 정보가 없는 상품이 있으면 null
+     */
+    public List<Map<String, Object>> productPerformance(String environment, DayRange range) {
+        EnvironmentBuckets buckets = environments.get(environment);
+        if (buckets == null) {
+            return null;
+        }
+        Map<Long, ProductAggregate> merged = new HashMap<>();
+        for (DayBucket bucket : bucketsIn(environment, range)) {
+            synchronized (bucket) {
+                bucket.products.forEach((productId, aggregate) ->
+                    merged.computeIfAbsent(productId, k -> new ProductAggregate()).mergeFrom(aggregate));
+            }
+        }
+
+        List<Map.Entry<Long, ProductAggregate>> entries = new ArrayList<>();
+        for (Map.Entry<Long, ProductAggregate> entry : merged.entrySet()) {
+            if (entry.getValue().sales.signum() > 0) {
+                entries.add(entry);
+            }
+        }
+        entries.sort((a, b) -> {
+            int bySales = b.getValue().sales.compareTo(a.getValue().sales);
+            return bySales != 0 ? bySales : Long.compare(b.getValue().salesCount, a.getValue().salesCount);
+        });
+
+        List<Map<String, Object>> rows = new ArrayList<>(entries.size());
+        for (Map.Entry<Long, ProductAggregate> entry : entries) {
+            ProductAggregate aggregate = entry.getValue();
+            ProductInfo info = buckets.productInfo.get(entry.getKey());
+            if (info == null) {
+                return null;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("product_id", entry.getKey());
+            row.put("product_name", info.productName);
+            row.put("category_id", info.categoryId);
+            row.put("category_name", info.categoryName);
+            row.put("brand_name", info.brandName);
+            row.put("sales_count", aggregate.salesCount);
+            row.put("total_quantity", aggregate.quantity);
+            row.put("total_sales", aggregate.sales);
+            row.put("avg_price", average(aggregate.unitPriceSum, aggregate.salesCount));
+            row.put("unique_customers", aggregate.customers.distinct());
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * 부서 성과 - 컬럼: dept_id, dept_name, manager_id, employee_count, dept_orders, dept_revenue,
+     *                   avg_dept_order (dept_revenue 내림차순, 부서가 없는 사용자의 주문은 제외)
+     * @return 부서 정보가 없는 부서가 있으면 null
+     */
+    public List<Map<String, Object>> departmentPerformance(String environment, DayRange range) {
+        EnvironmentBuckets buckets = environments.get(environment);
+        if (buckets == null) {
+            return null;
+        }
+        Map<Long, DepartmentAggregate> merged = new HashMap<>();
+        for (DayBucket bucket : bucketsIn(environment, range)) {
+            synchronized (bucket) {
+                bucket.departments.forEach((deptId, aggregate) -> {
+                    if (deptId != null) {
+                        merged.computeIfAbsent(deptId, k -> new DepartmentAggregate()).mergeFrom(aggregate);
+                    }
+                });
+            }
+        }
+
+        List<Map.Entry<Long, DepartmentAggregate>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort((a, b) -> b.getValue().revenue.compareTo(a.getValue().revenue));
+        List<Map<String, Object>> rows = new ArrayList<>(entries.size());
+        for (Map.Entry<Long, DepartmentAggregate> entry : entries) {
+            DepartmentAggregate aggregate = entry.getValue();
+            DepartmentInfo info = buckets.departmentInfo.get(entry.getKey());
+            if (info == null) {
+                return null;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("dept_id", entry.getKey());
+            row.put("dept_name", info.deptName);
+            row.put("manager_id", info.managerId);
+            row.put("employee_count", aggregate.employees.distinct());
+            row.put("dept_orders", aggregate.orderCount);
+            row.put("dept_revenue", aggregate.revenue);
+            row.put("avg_dept_order", average(aggregate.revenue, aggregate.orderCount));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private Collection<DayBucket> bucketsIn(String environment, DayRange range) {
+        EnvironmentBuckets buckets = environments.get(environment);
+        if (buckets == null) {
+            return Collections.emptyList();
+        }
+        return buckets.days.subMap(range.from, true, range.to, true).values();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        environments.forEach((environment, buckets) -> {
+            Map<String, Object> envStats = new LinkedHashMap<>();
+            envStats.put("days", buckets.days.size());
+            envStats.put("products", buckets.productInfo.size());
+            envStats.put("departments", buckets.departmentInfo.size());
+            envStats.put("coveredFrom", buckets.coveredFrom);
+            envStats.put("oldestDay", buckets.days.isEmpty() ? null : buckets.days.firstKey());
+            stats.put(environment, envStats);
+        });
+        return stats;
+    }
+
+    private LocalDateTime toLocalDateTime(java.util.Date date) {
+        // java.sql.Date.toInstant()는 지원되지 않으므로 epoch millis로 변환
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(date.getTime()), zone);
+    }
+
+    private static BigDecimal average(BigDecimal sum, long count) {
+        return count == 0 ? null : sum.divide(BigDecimal.valueOf(count), 4, RoundingMode.HALF_UP);
+    }
+
+    // ===== 입력 / 범위 =====
+
+    /**
+     * 집계 입력용 주문 요약 - 엔티티 대신 필요한 값만 담는다
+     */
+    public static final class OrderFact {
+        private final long userId;
+        private final Long departmentId;
+        private final LocalDate orderDay;
+        private final String status;
+        private final BigDecimal totalAmount;
+        private final List<ItemFact> items = new ArrayList<>();
+        private DepartmentInfo departmentInfo;
+
+        public OrderFact(long userId, Long departmentId, LocalDate orderDay, String status, BigDecimal totalAmount) {
+            this.userId = userId;
+            this.departmentId = departmentId;
+            this.orderDay = orderDay;
+            this.status = status;
+            this.totalAmount = totalAmount != null ? totalAmount : BigDecimal.ZERO;
+        }
+
+        public OrderFact item(long productId, int quantity, BigDecimal unitPrice) {
+            return item(productId, quantity, unitPrice, null);
+        }
+
+        /**
+         * 상품 정보와 함께 주문 항목 추가 (rebuild 적재용)
+         */
+        public OrderFact item(long productId, int quantity, BigDecimal unitPrice, ProductInfo productInfo) {
+            items.add(new ItemFact(productId, quantity, unitPrice != null ? unitPrice : BigDecimal.ZERO, productInfo));
+            return this;
+        }
+
+        public OrderFact department(DepartmentInfo departmentInfo) {
+            this.departmentInfo = departmentInfo;
+            return this;
+        }
+    }
+
+    private static final class ItemFact {
+        final long productId;
+        final int quantity;
+        final BigDecimal unitPrice;
+        final ProductInfo productInfo;
+
+        ItemFact(long productId, int quantity, BigDecimal unitPrice, ProductInfo productInfo) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.unitPrice = unitPrice;
+            this.productInfo = productInfo;
+        }
+    }
+
+    /**
+     * 상품 성과 행의 설명 컬럼
+     */
+    public static final class ProductInfo {
+        private final String productName;
+        private final Long categoryId;
+        private final String categoryName;
+        private final String brandName;
+
+        public ProductInfo(String productName, Long categoryId, String categoryName, String brandName) {
+            this.productName = productName;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.brandName = brandName;
+        }
+    }
+
+    /**
+     * 부서 성과 행의 설명 컬럼
+     */
+    public static final class DepartmentInfo {
+        private final String deptName;
+        private final Long managerId;
+
+        public DepartmentInfo(String deptName, Long managerId) {
+            this.deptName = deptName;
+            this.managerId = managerId;
+        }
+    }
+
+    public static final class DayRange {
+        private final LocalDate from;
+        private final LocalDate to;
+
+        DayRange(LocalDate from, LocalDate to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public LocalDate getFrom() { return from; }
+        public LocalDate getTo() { return to; }
+
+        public long days() {
+            return to.toEpochDay() - from.toEpochDay() + 1;
+        }
+
+        @Override
+        public String toString() {
+            return from + ".." + to;
+        }
+    }
+
+    // ===== 버킷 =====
+
+    private static final class EnvironmentBuckets {
+        final ConcurrentSkipListMap<LocalDate, DayBucket> days = new ConcurrentSkipListMap<>();
+        final Map<Long, ProductInfo> productInfo = new ConcurrentHashMap<>();
+        final Map<Long, DepartmentInfo> departmentInfo = new ConcurrentHashMap<>();
+        volatile LocalDate coveredFrom;
+
+        EnvironmentBuckets(LocalDate coveredFrom) {
+            this.coveredFrom = coveredFrom;
+        }
+    }
+
+    /**
+     * 하루치 집계 - 모든 접근은 버킷 단위 synchronized
+     */
+    private static final class DayBucket {
+        final Map<Long, ProductAggregate> products = new HashMap<>();
+        final Map<Long, DepartmentAggregate> departments = new HashMap<>();
+        long orderCount;
+        long completedCount;
+
+        DepartmentAggregate department(Long departmentId) {
+            return departments.computeIfAbsent(departmentId, key -> new DepartmentAggregate());
+        }
+
+        void applyStatus(OrderFact order, int sign) {
+            completedCount += sign;
+            BigDecimal signum = BigDecimal.valueOf(sign);
+            for (ItemFact item : order.items) {
+                ProductAggregate aggregate = products.computeIfAbsent(item.productId, key -> new ProductAggregate());
+                aggregate.salesCount += sign;
+                aggregate.quantity += (long) sign * item.quantity;
+                aggregate.sales = aggregate.sales.add(item.unitPrice.multiply(BigDecimal.valueOf(item.quantity)).multiply(signum));
+                aggregate.unitPriceSum = aggregate.unitPriceSum.add(item.unitPrice.multiply(signum));
+                aggregate.customers.add(order.userId, sign);
+            }
+        }
+    }
+
+    private static final class ProductAggregate {
+        final IdCounts customers = new IdCounts();
+        long salesCount;
+        long quantity;
+        BigDecimal sales = BigDecimal.ZERO;
+        BigDecimal unitPriceSum = BigDecimal.ZERO;
+
+        void mergeFrom(ProductAggregate other) {
+            customers.mergeFrom(other.customers);
+            salesCount += other.salesCount;
+            quantity += other.quantity;
+            sales = sales.add(other.sales);
+            unitPriceSum = unitPriceSum.add(other.unitPriceSum);
+        }
+    }
+
+    private static final class DepartmentAggregate {
+        final IdCounts employees = new IdCounts();
+        long orderCount;
+        BigDecimal revenue = BigDecimal.ZERO;
+
+        void addOrder(OrderFact order) {
+            employees.add(order.userId, 1);
+            orderCount++;
+            revenue = revenue.add(order.totalAmount);
+        }
+
+        void mergeFrom(DepartmentAggregate other) {
+            employees.mergeFrom(other.employees);
+            orderCount += other.orderCount;
+            revenue = revenue.add(other.revenue);
+        }
+    }
+
+    /**
+     * ID별 참조 횟수 - 주문 완료 취소처럼 빼는 경우에도 고유 건수를 유지
+     */
+    private static final class IdCounts {
+        private final Map<Long, Integer> counts = new HashMap<>();
+
+        void add(long id, int delta) {
+            counts.merge(id, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        void mergeFrom(IdCounts other) {
+            other.counts.forEach((id, count) -> add(id, count));
+        }
+
+        int distinct() {
+            return counts.size();
+        }
+    }
+}
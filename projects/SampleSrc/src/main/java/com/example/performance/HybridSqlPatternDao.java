@@ -2,9 +2,13 @@ package com.example.performance;
 
 import org.springframework.stereotype.Repository;
 import org.springframework.beans.factory.annotation.Autowired;
+import com.example.dao.ColumnarResultSet;
+import com.example.dao.JdbcExecutor;
+import com.example.dao.SqlTemplateRegistry;
 import javax.sql.DataSource;
 import java.util.*;
 import java.sql.*;
+import java.util.Date;
 import java.math.BigDecimal;
 
 /**
@@ -15,12 +19,55 @@ import java.math.BigDecimal;
 @Repository
 public class HybridSqlPatternDao {
 
+    // 재고 분석 쿼리 형태 옵션 (SQL 템플릿 캐시 키)
+    private static final int INVENTORY_SALES_IMPACT = 1;
+
+    private static final SqlTemplateRegistry SQL_TEMPLATES = SqlTemplateRegistry.shared();
+
+    // 환경별 병렬 조회 - DataSource 풀 크기(기본 10) 이하로만 동시에 실행, 대기열도 제한
+    private static final int ENVIRONMENT_THREADS = 10;
+    private static final ReportOrchestrator ENVIRONMENT_FAN_OUT = new ReportOrchestrator("inventory-metrics", ENVIRONMENT_THREADS);
+
+    // 조회 결과 행 형태 (columnarResults 모드에서 모든 결과가 공유)
+    private static final ColumnarResultSet.Schema RESULT_SCHEMA = ColumnarResultSet.Schema.builder()
+        .column("id", ColumnarResultSet.ColumnType.INT)
+        .column("type", ColumnarResultSet.ColumnType.STRING)
+        .column("data", ColumnarResultSet.ColumnType.STRING)
+        .column("value", ColumnarResultSet.ColumnType.DOUBLE)
+        .build();
+
     @Autowired
     private DataSource dataSource;
     
     @Autowired
     private SqlMetricsCollector metricsCollector;
 
+    // dataSource 직접 실행기 (첫 사용 시 생성)
+    private static final String EXECUTOR_NAME = "hybrid-sql";
+    private volatile JdbcExecutor jdbcExecutor;
+
+    // true면 조회 결과를 ColumnarResultSet에 바로 채우고 읽기 전용 행 뷰로 반환 (기본: 행마다 HashMap)
+    private volatile boolean columnarResults;
+
+    /**
+     * 컬럼 형태 결과 모드 - 대용량 분석 결과의 행별 Map/박싱 비용을 없앤다
+     * 켜면 반환되는 행 Map은 읽기 전용이므로, 행을 고치는 호출자는 복사해서 써야 한다
+     */
+    public void setColumnarResults(boolean columnarResults) {
+        this.columnarResults = columnarResults;
+    }
+
+    public boolean isColumnarResults() {
+        return columnarResults;
+    }
+
+    /**
+     * 임의 SQL을 컬럼 형태로 조회 - 진행 중인 Spring 트랜잭션이 있으면 참여
+     */
+    public ColumnarResultSet queryForColumns(String sql, List<?> parameters) throws SQLException {
+        return jdbcExecutor().queryForColumns(sql, parameters);
+    }
+
     /**
      * 패턴 1: StringBuilder + String.format 혼합 (사용자-주문-상품 관계)
      * 연관 테이블: users_{env}, orders_{env}, order_items_{env}, products_{env}, categories_{env}
@@ -185,64 +232,105 @@ public class HybridSqlPatternDao {
                                                         String reportType,
                                                         Date calculationDate) {
         Map<String, Object> inventoryMetrics = new HashMap<>();
+        int flags = "SALES_IMPACT".equals(reportType) ? INVENTORY_SALES_IMPACT : 0;
         
         for (String env : environments) {
-            // 환경별 재고 분석 쿼리
-            StringBuilder inventoryQuery = new StringBuilder();
-            
-            // String.format으로 환경별 테이블명 구성
-            String baseQuery = String.format(
-                "SELECT p.product_id, p.product_name, p.category_id, " +
-                "       i.current_stock, i.reserved_stock, i.available_stock, " +
-                "       s.supplier_id, s.supplier_name, s.lead_time_days ",
-                env
-            );
-            
-            inventoryQuery.append(baseQuery);
-            
-            // FROM 절 구성
-            String fromClause = String.format(
-                "FROM products_%s p " +
-                "LEFT JOIN inventory_%s i ON p.product_id = i.product_id " +
-                "LEFT JOIN suppliers_%s s ON p.supplier_id = s.supplier_id ",
-                env, env, env
-            );
+            // 환경별 재고 분석 쿼리 (형태는 리포트 타입별로 한 번만 조립, 환경별 SQL은 캐시)
+            String inventoryQuery = SQL_TEMPLATES.render("hybrid.calculateInventoryMetrics", flags,
+                                                         HybridSqlPatternDao::inventoryQueryShape, env);
             
-            inventoryQuery.append(fromClause);
-            
-            // 리포트 타입에 따른 추가 JOIN
-            if ("SALES_IMPACT".equals(reportType)) {
-                // 판매 영향 분석을 위한 주문 아이템 JOIN
-                String salesJoin = String.format(
-                    "LEFT JOIN order_items_%s oi ON p.product_id = oi.product_id " +
-                    "LEFT JOIN orders_%s o ON oi.order_id = o.order_id ",
-                    env, env
-                );
-                inventoryQuery.append(salesJoin);
-                
-                // SELECT 절에 판매 데이터 추가
-                inventoryQuery.insert(inventoryQuery.indexOf("FROM") - 1,
-                                    ", COUNT(oi.item_id) as sales_count, " +
-                                    "SUM(oi.quantity) as total_sold, " +
-                                    "SUM(oi.quantity * oi.unit_price) as sales_revenue ");
-                
-                // GROUP BY 추가
-                inventoryQuery.append("WHERE o.order_date >= DATE_SUB(?, INTERVAL 30 DAY) ");
-                inventoryQuery.append("GROUP BY p.product_id, p.product_name, p.category_id, ");
-                inventoryQuery.append("         i.current_stock, i.reserved_stock, i.available_stock, ");
-                inventoryQuery.append("         s.supplier_id, s.supplier_name, s.lead_time_days ");
+            List<Map<String, Object>> envResults = executeInventoryQuery(inventoryQuery, calculationDate);
+            inventoryMetrics.put(env + "_inventory", envResults);
+        }
+        
+        return inventoryMetrics;
+    }
+
+    /**
+     * 패턴 3 (병렬 실행): 환경별 재고 쿼리를 동시에 실행
+     * 전체 지연은 환경 수의 합이 아니라 가장 느린 환경에 맞춰진다.
+     *
+     * 환경마다 timeoutMillis 안에 끝나지 않으면 해당 작업을 취소하고 나머지 환경 결과만 반환한다.
+     * (실행기 대기열에서 기다린 시간도 제한 시간에 포함)
+     * 결과 키: {env}_inventory (완료된 환경), partial, failedEnvironments({env: 사유}), elapsedMillis
+     */
+    public Map<String, Object> calculateInventoryMetricsConcurrently(List<String> environments,
+                                                                     String reportType,
+                                                                     Date calculationDate,
+                                                                     long timeoutMillis) {
+        long startTime = System.currentTimeMillis();
+        int flags = "SALES_IMPACT".equals(reportType) ? INVENTORY_SALES_IMPACT : 0;
+        
+        // 결과는 execute()를 호출한 이 스레드에서 기록 - 취소된 환경은 기록되지 않음
+        Map<String, Object> inventoryMetrics = new HashMap<>();
+        ReportOrchestrator.Plan plan = ENVIRONMENT_FAN_OUT.plan();
+        for (String env : new LinkedHashSet<>(environments)) {
+            plan.section(env, Math.max(1L, timeoutMillis), () -> {
+                String inventoryQuery = SQL_TEMPLATES.render("hybrid.calculateInventoryMetrics", flags,
+                                                             HybridSqlPatternDao::inventoryQueryShape, env);
+                return executeInventoryQuery(inventoryQuery, calculationDate);
+            }, envResults -> inventoryMetrics.put(env + "_inventory", envResults));
+        }
+        
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (Map.Entry<String, ReportOrchestrator.SectionOutcome> outcome : plan.execute().entrySet()) {
+            ReportOrchestrator.SectionOutcome result = outcome.getValue();
+            if (!result.isCompleted()) {
+                failures.put(outcome.getKey(), result.getStatus() == ReportOrchestrator.Status.ERROR
+                    ? "ERROR: " + result.getError() : result.getStatus().name());
             }
+        }
+        
+        inventoryMetrics.put("partial", !failures.isEmpty());
+        inventoryMetrics.put("failedEnvironments", failures);
+        inventoryMetrics.put("elapsedMillis", System.currentTimeMillis() - startTime);
+        
+        if (!failures.isEmpty()) {
+            System.out.println("재고 지표 부분 결과: " + (environments.size() - failures.size()) + "/"
+                               + environments.size() + " 환경 완료, 실패: " + failures);
+        }
+        return inventoryMetrics;
+    }
+
+    /**
+     * 재고 분석 쿼리 형태 - %1$s는 환경 접미사
+     * 연관 테이블: products_{env}, inventory_{env}, suppliers_{env}, order_items_{env}, orders_{env}
+     */
+    private static String inventoryQueryShape(int flags) {
+        StringBuilder inventoryQuery = new StringBuilder();
+        inventoryQuery.append("SELECT p.product_id, p.product_name, p.category_id, ");
+        inventoryQuery.append("       i.current_stock, i.reserved_stock, i.available_stock, ");
+        inventoryQuery.append("       s.supplier_id, s.supplier_name, s.lead_time_days ");
+        
+        // FROM 절 구성 (환경별 테이블명)
+        inventoryQuery.append("FROM products_%1$s p ");
+        inventoryQuery.append("LEFT JOIN inventory_%1$s i ON p.product_id = i.product_id ");
+        inventoryQuery.append("LEFT JOIN suppliers_%1$s s ON p.supplier_id = s.supplier_id ");
+        
+        // 리포트 타입에 따른 추가 JOIN
+        if ((flags & INVENTORY_SALES_IMPACT) != 0) {
+            // 판매 영향 분석을 위한 주문 아이템 JOIN
+            inventoryQuery.append("LEFT JOIN order_items_%1$s oi ON p.product_id = oi.product_id ");
+            inventoryQuery.append("LEFT JOIN orders_%1$s o ON oi.order_id = o.order_id ");
             
-            // 재고 부족 경고 조건
-            inventoryQuery.append("HAVING i.available_stock < 10 OR ");
-            inventoryQuery.append("       (i.available_stock / NULLIF(total_sold, 0)) < s.lead_time_days ");
-            inventoryQuery.append("ORDER BY i.available_stock ASC, sales_revenue DESC");
+            // SELECT 절에 판매 데이터 추가
+            inventoryQuery.insert(inventoryQuery.indexOf("FROM") - 1,
+                                ", COUNT(oi.item_id) as sales_count, " +
+                                "SUM(oi.quantity) as total_sold, " +
+                                "SUM(oi.quantity * oi.unit_price) as sales_revenue ");
             
-            List<Map<String, Object>> envResults = executeInventoryQuery(inventoryQuery.toString(), calculationDate);
-            inventoryMetrics.put(env + "_inventory", envResults);
+            // GROUP BY 추가
+            inventoryQuery.append("WHERE o.order_date >= DATE_SUB(?, INTERVAL 30 DAY) ");
+            inventoryQuery.append("GROUP BY p.product_id, p.product_name, p.category_id, ");
+            inventoryQuery.append("         i.current_stock, i.reserved_stock, i.available_stock, ");
+            inventoryQuery.append("         s.supplier_id, s.supplier_name, s.lead_time_days ");
         }
         
-        return inventoryMetrics;
+        // 재고 부족 경고 조건
+        inventoryQuery.append("HAVING i.available_stock < 10 OR ");
+        inventoryQuery.append("       (i.available_stock / NULLIF(total_sold, 0)) < s.lead_time_days ");
+        inventoryQuery.append("ORDER BY i.available_stock ASC, sales_revenue DESC");
+        return inventoryQuery.toString();
     }
 
     /**
@@ -514,6 +602,13 @@ public class HybridSqlPatternDao {
     }
     
     private List<Map<String, Object>> generateMockResults(int count, String type) {
+        if (columnarResults) {
+            ColumnarResultSet.Builder builder = ColumnarResultSet.builder(RESULT_SCHEMA, count);
+            for (int i = 0; i < count; i++) {
+                builder.addRow(i + 1, type, type + "_data_" + i, Math.random() * 1000);
+            }
+            return builder.build().asRows();
+        }
         List<Map<String, Object>> results = new ArrayList<>();
         for (int i = 0; i < count; i++) {
             Map<String, Object> row = new HashMap<>();
@@ -533,8 +628,20 @@ public class HybridSqlPatternDao {
         }
     }
     
-    private Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+    private JdbcExecutor jdbcExecutor() {
+        JdbcExecutor executor = jdbcExecutor;
+        if (executor == null) {
+            executor = new JdbcExecutor(EXECUTOR_NAME, dataSource);
+            jdbcExecutor = executor;
+        }
+        return executor;
+    }
+    
+    /**
+     * 호출 수, 실패 수, 평균 실행 시간 등 JDBC 실행 통계
+     */
+    public Map<String, Object> getJdbcStats() {
+        return jdbcExecutor().stats();
     }
 }
 
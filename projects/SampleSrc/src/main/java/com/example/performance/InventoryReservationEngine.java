@@ -0,0 +1,626 @@
+package com.example.performance;
+
+import com.example.dao.JdbcExecutor;
+import com.example.dao.SqlTemplateRegistry;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재고 예약 엔진 - 주문 생성 시 재고 확인과 차감을 원자적으로 처리
+ * 목적: "재고 조회 -> 부족 여부 판단 -> 차감 저장"을 품목마다 따로 하던 흐름(동시 주문 시 초과 판매)을 대체
+ *
+ * 특징:
+ * 1. 주문 한 건의 모든 품목을 조건부 UPDATE 한 문장으로 차감 (available_stock >= 수량인 행만)
+ *    갱신 행 수가 품목 수와 다르면 롤백 - 전부 예약되거나 아무것도 예약되지 않음
+ * 2. 행 잠금을 먼저 잡지 않으므로 서로 다른 상품을 주문하는 요청은 서로 기다리지 않음
+ *    교착/직렬화 실패(SQLState 40xxx, SQLTransientException)는 짧게 쉬었다가 재시도
+ * 3. 인기 상품(registerHotProduct)은 노드별 재고 임대(lease)를 받아 메모리에서 CAS로 차감
+ *    임대분은 스레드별 스트라이프에 나눠 담아 코어가 늘어도 한 카운터에 경합하지 않음
+ *    임대 보충은 version 조건부 UPDATE - 버전 충돌 시 다시 읽어 재시도
+ *
+ * 임대 재고는 원장에서 reserved_stock으로 옮겨져 있으므로 다른 노드에서는 보이지 않는다.
+ * unregisterHotProduct()/close() 시 남은 임대분을 원장에 돌려준다.
+ *
+ * 원장 변경은 호출자 트랜잭션과 별도로 즉시 커밋된다 (JdbcStockLedger는 autonomous 실행기만 받음).
+ * 주문 트랜잭션이 롤백되면 호출자가 cancel()로 반환해야 하며, 원장이 주문 트랜잭션에 참여하면
+ * 롤백으로 이미 되돌아간 차감을 cancel()이 한 번 더 반환해 재고가 부풀어 오른다.
+ */
+public class InventoryReservationEngine implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final int DEFAULT_LEASE_SIZE = 100;
+
+    private static final long RETRY_BACKOFF_MILLIS = 5;
+
+    /**
+     * 재고 원장 - 예약/반환과 임대 보충에 필요한 최소 연산
+     */
+    public interface StockLedger {
+        /**
+         * 모든 상품을 한 번에 조건부 차감 (available -> reserved)
+         * @return 전부 차감했으면 true, 하나라도 부족하면 아무것도 바꾸지 않고 false
+         */
+        boolean reserveAll(SortedMap<Long, Integer> quantities) throws SQLException;
+
+        /**
+         * 예약분 반환 (reserved -> available)
+         */
+        void releaseAll(SortedMap<Long, Integer> quantities) throws SQLException;
+
+        /**
+         * 가용 재고와 버전 조회 - 상품이 없으면 null
+         */
+        StockVersion read(Long productId) throws SQLException;
+
+        /**
+         * 버전이 expectedVersion일 때만 quantity 만큼 임대 차감
+         * @return 버전 충돌 또는 재고 부족이면 false
+         */
+        boolean allocate(Long productId, int quantity, long expectedVersion) throws SQLException;
+    }
+
+    public static final class StockVersion {
+        private final int available;
+        private final long version;
+
+        public StockVersion(int available, long version) {
+            this.available = available;
+            this.version = version;
+        }
+
+        public int getAvailable() { return available; }
+        public long getVersion() { return version; }
+    }
+
+    private final StockLedger ledger;
+    private final int maxAttempts;
+    private final Map<Long, StockLease> leases = new ConcurrentHashMap<>();
+
+    private final LongAdder reservations = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder leaseHits = new LongAdder();
+    private final LongAdder leaseRefills = new LongAdder();
+    private final LongAdder leaseFallbacks = new LongAdder();
+    private final LongAdder versionConflicts = new LongAdder();
+    private final LongAdder transientRetries = new LongAdder();
+
+    public InventoryReservationEngine(StockLedger ledger) {
+        this(ledger, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public InventoryReservationEngine(StockLedger ledger, int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts는 1 이상이어야 합니다: " + maxAttempts);
+        }
+        this.ledger = ledger;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 주문 품목 전체 예약
+     * @param reference   로그/추적용 식별자 (주문 번호 등)
+     * @param quantities  상품 ID -> 수량 (양수)
+     * @throws InsufficientStockException 재고가 부족한 상품이 있으면 (아무것도 예약되지 않음)
+     */
+    public Reservation reserve(String reference, Map<Long, Integer> quantities) {
+        SortedMap<Long, Integer> requested = normalize(quantities);
+        SortedMap<Long, Integer> leased = new TreeMap<>();
+        SortedMap<Long, Integer> direct = new TreeMap<>();
+
+        try {
+            for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+                StockLease lease = leases.get(entry.getKey());
+                if (lease == null) {
+                    direct.put(entry.getKey(), entry.getValue());
+                    continue;
+                }
+                switch (takeFromLease(lease, entry.getValue())) {
+                    case TAKEN:
+                        leased.put(entry.getKey(), entry.getValue());
+                        break;
+                    case CONTENDED:
+                        // 보충 경합이 계속되면 이번 주문은 원장에서 직접 차감
+                        leaseFallbacks.increment();
+                        direct.put(entry.getKey(), entry.getValue());
+                        break;
+                    default:
+                        throw new InsufficientStockException(reference, entry.getKey(), entry.getValue());
+                }
+            }
+
+            if (!direct.isEmpty() && !withRetry(() -> ledger.reserveAll(direct))) {
+                Long shortProductId = findShortProduct(direct);
+                throw new InsufficientStockException(reference, shortProductId, direct.get(shortProductId));
+            }
+        } catch (RuntimeException e) {
+            returnToLeases(leased);
+            rejected.increment();
+            throw e;
+        }
+
+        reservations.increment();
+        return new Reservation(reference, leased, direct);
+    }
+
+    /**
+     * 예약 취소 - 주문 저장 실패/롤백 시 호출 (두 번 호출해도 한 번만 반환)
+     */
+    public void cancel(Reservation reservation) {
+        if (reservation == null || !reservation.released.compareAndSet(false, true)) {
+            return;
+        }
+        SortedMap<Long, Integer> toLedger = new TreeMap<>(reservation.direct);
+        for (Map.Entry<Long, Integer> entry : reservation.leased.entrySet()) {
+            StockLease lease = leases.get(entry.getKey());
+            if (lease != null) {
+                lease.put(entry.getValue());
+            } else {
+                // 그사이 임대가 해제됨 - 원장으로 직접 반환
+                toLedger.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (!toLedger.isEmpty()) {
+            withRetry(() -> {
+                ledger.releaseAll(toLedger);
+                return null;
+            });
+        }
+        cancelled.increment();
+    }
+
+    /**
+     * 인기 상품 재고 임대 등록 - 첫 주문 때 leaseSize 만큼 원장에서 받아온다
+     */
+    public void registerHotProduct(Long productId, int leaseSize) {
+        if (leaseSize < 1) {
+            throw new IllegalArgumentException("임대 크기는 1 이상이어야 합니다: " + productId + "=" + leaseSize);
+        }
+        leases.computeIfAbsent(productId, id -> new StockLease(id, leaseSize));
+    }
+
+    /**
+     * 임대 해제 - 남은 임대분을 원장에 반환
+     */
+    public void unregisterHotProduct(Long productId) {
+        StockLease lease = leases.remove(productId);
+        if (lease == null) {
+            return;
+        }
+        int remaining;
+        synchronized (lease.refillLock) {
+            remaining = lease.drain();
+        }
+        if (remaining > 0) {
+            SortedMap<Long, Integer> returned = new TreeMap<>();
+            returned.put(productId, remaining);
+            withRetry(() -> {
+                ledger.releaseAll(returned);
+                return null;
+            });
+        }
+    }
+
+    public Set<Long> getHotProducts() {
+        return Collections.unmodifiableSet(leases.keySet());
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("reservations", reservations.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("cancelled", cancelled.sum());
+        metrics.put("leaseHits", leaseHits.sum());
+        metrics.put("leaseRefills", leaseRefills.sum());
+        metrics.put("leaseFallbacks", leaseFallbacks.sum());
+        metrics.put("versionConflicts", versionConflicts.sum());
+        metrics.put("transientRetries", transientRetries.sum());
+        Map<Long, Integer> leased = new TreeMap<>();
+        for (StockLease lease : leases.values()) {
+            leased.put(lease.productId, lease.available());
+        }
+        metrics.put("leasedStock", leased);
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        for (Long productId : new ArrayList<>(leases.keySet())) {
+            try {
+                unregisterHotProduct(productId);
+            } catch (RuntimeException e) {
+                System.err.println("재고 임대 반환 실패: productId=" + productId + " - " + e.getMessage());
+            }
+        }
+    }
+
+    // ===== 임대 =====
+
+    private enum LeaseTake { TAKEN, INSUFFICIENT, CONTENDED }
+
+    private LeaseTake takeFromLease(StockLease lease, int quantity) {
+        if (lease.tryTake(quantity)) {
+            leaseHits.increment();
+            return LeaseTake.TAKEN;
+        }
+        synchronized (lease.refillLock) {
+            // 기다리는 동안 다른 스레드가 보충했을 수 있음
+            if (lease.tryTake(quantity)) {
+                leaseHits.increment();
+                return LeaseTake.TAKEN;
+            }
+            // 스트라이프에 흩어진 잔량을 모아 본다
+            int pooled = lease.drain();
+            if (pooled >= quantity) {
+                lease.put(pooled - quantity);
+                leaseHits.increment();
+                return LeaseTake.TAKEN;
+            }
+
+            int needed = quantity - pooled;
+            int granted;
+            try {
+                granted = allocateLease(lease.productId, Math.max(lease.leaseSize, needed), needed);
+            } catch (RuntimeException e) {
+                lease.put(pooled);
+                throw e;
+            }
+            if (granted <= 0) {
+                lease.put(pooled);
+                return granted == 0 ? LeaseTake.INSUFFICIENT : LeaseTake.CONTENDED;
+            }
+            lease.put(pooled + granted - quantity);
+            leaseRefills.increment();
+            return LeaseTake.TAKEN;
+        }
+    }
+
+    /**
+     * 원장에서 임대분 확보 - 버전 조건부 차감, 충돌 시 다시 읽어 재시도
+     * @return 확보한 수량, 가용 재고가 minimum 미만이면 0, 재시도 소진 시 -1
+     */
+    private int allocateLease(Long productId, int desired, int minimum) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            StockVersion current = withRetry(() -> ledger.read(productId));
+            if (current == null || current.available < minimum) {
+                return 0;
+            }
+            int grant = Math.min(desired, current.available);
+            if (withRetry(() -> ledger.allocate(productId, grant, current.version))) {
+                return grant;
+            }
+            versionConflicts.increment();
+            backoff(attempt);
+        }
+        return -1;
+    }
+
+    private void returnToLeases(Map<Long, Integer> leased) {
+        for (Map.Entry<Long, Integer> entry : leased.entrySet()) {
+            StockLease lease = leases.get(entry.getKey());
+            if (lease != null) {
+                lease.put(entry.getValue());
+            } else {
+                SortedMap<Long, Integer> returned = new TreeMap<>();
+                returned.put(entry.getKey(), entry.getValue());
+                withRetry(() -> {
+                    ledger.releaseAll(returned);
+                    return null;
+                });
+            }
+        }
+    }
+
+    /**
+     * 실패 원인 상품 찾기 (실패 경로에서만 조회)
+     */
+    private Long findShortProduct(SortedMap<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            StockVersion current = withRetry(() -> ledger.read(entry.getKey()));
+            if (current == null || current.available < entry.getValue()) {
+                return entry.getKey();
+            }
+        }
+        // 조회 시점에는 모두 충분 - 동시 주문과 경합한 경우
+        return quantities.firstKey();
+    }
+
+    // ===== 공통 =====
+
+    private interface LedgerCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * 일시적 실패(교착, 직렬화 실패, 잠금 대기 초과)만 재시도
+     */
+    private <T> T withRetry(LedgerCall<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (SQLException e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw new RuntimeException("재고 원장 처리 실패: " + e.getMessage(), e);
+                }
+                transientRetries.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private static boolean isTransient(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransientException || (state != null && state.startsWith("40"));
+    }
+
+    private static void backoff(int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("재고 예약 재시도 중 인터럽트", e);
+        }
+    }
+
+    private static SortedMap<Long, Integer> normalize(Map<Long, Integer> quantities) {
+        if (quantities == null || quantities.isEmpty()) {
+            throw new IllegalArgumentException("예약할 품목이 없습니다");
+        }
+        SortedMap<Long, Integer> normalized = new TreeMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Integer quantity = entry.getValue();
+            if (entry.getKey() == null || quantity == null || quantity <= 0) {
+                throw new IllegalArgumentException("잘못된 예약 품목: " + entry.getKey() + "=" + quantity);
+            }
+            normalized.merge(entry.getKey(), quantity, Integer::sum);
+        }
+        return normalized;
+    }
+
+    /**
+     * 예약 결과 - cancel()에 그대로 넘긴다
+     */
+    public static final class Reservation {
+        private final String reference;
+        private final SortedMap<Long, Integer> leased;
+        private final SortedMap<Long, Integer> direct;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Reservation(String reference, SortedMap<Long, Integer> leased, SortedMap<Long, Integer> direct) {
+            this.reference = reference;
+            this.leased = Collections.unmodifiableSortedMap(leased);
+            this.direct = Collections.unmodifiableSortedMap(direct);
+        }
+
+        public String getReference() { return reference; }
+
+        public Map<Long, Integer> getQuantities() {
+            Map<Long, Integer> all = new TreeMap<>(direct);
+            all.putAll(leased);
+            return all;
+        }
+
+        public int getLeasedItemCount() { return leased.size(); }
+
+        public boolean isReleased() { return released.get(); }
+    }
+
+    public static class InsufficientStockException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final Long productId;
+        private final int requested;
+
+        public InsufficientStockException(String reference, Long productId, int requested) {
+            super("재고가 부족합니다: productId=" + productId + ", 요청 수량=" + requested + " (" + reference + ")");
+            this.productId = productId;
+            this.requested = requested;
+        }
+
+        public Long getProductId() { return productId; }
+        public int getRequested() { return requested; }
+    }
+
+    /**
+     * 노드 로컬 임대 재고 - 스레드별 스트라이프에 나눠 담아 CAS로 차감
+     * 스트라이프는 캐시 라인(64바이트) 간격으로 떨어뜨려 거짓 공유를 피한다.
+     */
+    private static final class StockLease {
+        private static final int PAD = 16;
+
+        final Long productId;
+        final int leaseSize;
+        final Object refillLock = new Object();
+        private final int mask;
+        private final AtomicIntegerArray cells;
+
+        StockLease(Long productId, int leaseSize) {
+            this.productId = productId;
+            this.leaseSize = leaseSize;
+            int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+            this.mask = stripes - 1;
+            this.cells = new AtomicIntegerArray(stripes * PAD);
+        }
+
+        boolean tryTake(int quantity) {
+            int start = stripe();
+            for (int i = 0; i <= mask; i++) {
+                int index = ((start + i) & mask) * PAD;
+                int current;
+                while ((current = cells.get(index)) >= quantity) {
+                    if (cells.compareAndSet(index, current, current - quantity)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void put(int quantity) {
+            if (quantity > 0) {
+                cells.addAndGet(stripe() * PAD, quantity);
+            }
+        }
+
+        int drain() {
+            int total = 0;
+            for (int i = 0; i <= mask; i++) {
+                total += cells.getAndSet(i * PAD, 0);
+            }
+            return total;
+        }
+
+        int available() {
+            int total = 0;
+            for (int i = 0; i <= mask; i++) {
+                total += cells.get(i * PAD);
+            }
+            return total;
+        }
+
+        private int stripe() {
+            long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+            return (int) (id >>> 32) & mask;
+        }
+    }
+
+    /**
+     * JDBC 원장 - inventory(product_id, available_stock, reserved_stock, version) 테이블
+     */
+    public static class JdbcStockLedger implements StockLedger {
+
+        private static final SqlTemplateRegistry SQL_TEMPLATES = SqlTemplateRegistry.shared();
+
+        private final JdbcExecutor jdbc;
+        private final String table;
+
+        public JdbcStockLedger(JdbcExecutor jdbc) {
+            this(jdbc, "inventory");
+        }
+
+        public JdbcStockLedger(JdbcExecutor jdbc, String table) {
+            if (!jdbc.isAutonomous()) {
+                throw new IllegalArgumentException("재고 원장은 JdbcExecutor.autonomous() 실행기가 필요합니다: " + jdbc.getName());
+            }
+            this.jdbc = jdbc;
+            this.table = table;
+        }
+
+        @Override
+        public boolean reserveAll(SortedMap<Long, Integer> quantities) throws SQLException {
+            String sql = SQL_TEMPLATES.render("inventory.reserve", quantities.size(),
+                                              JdbcStockLedger::reserveShape, table);
+            List<Object> params = bindReserve(quantities);
+
+            // 별도 커넥션의 로컬 트랜잭션 - 주문 트랜잭션 롤백과 무관하게 커밋 (반환은 cancel() 몫)
+            return jdbc.inTransaction(transaction -> {
+                try (PreparedStatement statement = transaction.getConnection().prepareStatement(sql)) {
+                    JdbcExecutor.bind(statement, params);
+                    if (statement.executeUpdate() == quantities.size()) {
+                        return true;
+                    }
+                }
+                // 일부 상품만 조건을 만족 - 전부 되돌림
+                transaction.setRollbackOnly();
+                return false;
+            });
+        }
+
+        @Override
+        public void releaseAll(SortedMap<Long, Integer> quantities) throws SQLException {
+            String sql = SQL_TEMPLATES.render("inventory.release", quantities.size(),
+                                              JdbcStockLedger::releaseShape, table);
+            List<Object> params = new ArrayList<>(quantities.size() * 7);
+            appendCase(params, quantities);
+            appendCase(params, quantities);
+            params.addAll(quantities.keySet());
+            appendCase(params, quantities);
+            int released = jdbc.update(sql, params);
+            if (released != quantities.size()) {
+                // 예약분보다 많이 돌려주려는 호출 (중복 반환 등) - 해당 상품은 바꾸지 않음
+                System.err.println("재고 반환 건너뜀: 예약 재고가 부족한 상품이 있습니다 " + quantities
+                                   + " (반환 " + released + "/" + quantities.size() + ")");
+            }
+        }
+
+        @Override
+        public StockVersion read(Long productId) throws SQLException {
+            String sql = SQL_TEMPLATES.render("inventory.read",
+                "SELECT available_stock, version FROM %1$s WHERE product_id = ?", table);
+            return jdbc.query(sql, Collections.singletonList(productId), (ResultSet rs) ->
+                rs.next() ? new StockVersion(rs.getInt(1), rs.getLong(2)) : null);
+        }
+
+        @Override
+        public boolean allocate(Long productId, int quantity, long expectedVersion) throws SQLException {
+            String sql = SQL_TEMPLATES.render("inventory.allocate",
+                "UPDATE %1$s SET available_stock = available_stock - ?, reserved_stock = reserved_stock + ?, " +
+                "version = version + 1 WHERE product_id = ? AND version = ? AND available_stock >= ?", table);
+            return jdbc.update(sql, Arrays.asList(quantity, quantity, productId, expectedVersion, quantity)) == 1;
+        }
+
+        /**
+         * UPDATE ... SET available_stock = available_stock - CASE product_id WHEN ? THEN ? ... END, ...
+         * WHERE product_id IN (...) AND available_stock >= CASE ... END
+         * 행마다 조건 확인과 차감이 한 번에 일어나므로 동시 주문이 같은 재고를 두 번 차감할 수 없다.
+         */
+        static String reserveShape(int items) {
+            String quantityCase = quantityCase(items);
+            return "UPDATE %1$s SET available_stock = available_stock - " + quantityCase +
+                   ", reserved_stock = reserved_stock + " + quantityCase +
+                   ", version = version + 1 WHERE product_id IN (" + placeholders(items) + ")" +
+                   " AND available_stock >= " + quantityCase;
+        }
+
+        /**
+         * reserved_stock >= 수량인 행만 반환 - 중복 반환이 가용 재고를 부풀리거나 예약 재고를 음수로 만들지 않는다
+         */
+        static String releaseShape(int items) {
+            String quantityCase = quantityCase(items);
+            return "UPDATE %1$s SET available_stock = available_stock + " + quantityCase +
+                   ", reserved_stock = reserved_stock - " + quantityCase +
+                   ", version = version + 1 WHERE product_id IN (" + placeholders(items) + ")" +
+                   " AND reserved_stock >= " + quantityCase;
+        }
+
+        private static List<Object> bindReserve(SortedMap<Long, Integer> quantities) {
+            List<Object> params = new ArrayList<>(quantities.size() * 7);
+            appendCase(params, quantities);
+            appendCase(params, quantities);
+            params.addAll(quantities.keySet());
+            appendCase(params, quantities);
+            return params;
+        }
+
+        private static void appendCase(List<Object> params, SortedMap<Long, Integer> quantities) {
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                params.add(entry.getKey());
+                params.add(entry.getValue());
+            }
+        }
+
+        private static String quantityCase(int items) {
+            StringBuilder sql = new StringBuilder("CASE product_id");
+            for (int i = 0; i < items; i++) {
+                sql.append(" WHEN ? THEN ?");
+            }
+            return sql.append(" END").toString();
+        }
+
+        private static String placeholders(int items) {
+            StringBuilder sql = new StringBuilder();
+            for (int i = 0; i < items; i++) {
+                sql.append(i > 0 ? ", ?" : "?");
+            }
+            return sql.toString();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.performance;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * JDBC 스트리밍 커서 - 대용량 결과를 고정 크기 청크 단위로 전달
+ * 목적: LIMIT/OFFSET 반복 조회 대신 단일 forward-only 커서로 전체 결과를 한 번만 순회
+ * 메모리: 동시에 유지되는 행은 최대 chunkSize 개 (데이터셋 크기와 무관)
+ *
+ * 주의: 컨슈머에 전달되는 청크 리스트는 다음 청크를 위해 재사용되므로
+ *       컨슈머 밖으로 참조를 보관하면 안 된다.
+ */
+public class JdbcRowStreamer {
+
+    public static final int DEFAULT_FETCH_SIZE = 500;
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+
+    public JdbcRowStreamer(DataSource dataSource) {
+        this(dataSource, DEFAULT_FETCH_SIZE);
+    }
+
+    public JdbcRowStreamer(DataSource dataSource, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive: " + fetchSize);
+        }
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * 쿼리 결과를 chunkSize 단위로 잘라 컨슈머에 순차 전달
+     * @return 전달된 전체 행 수
+     */
+    public long stream(String query,
+                       List<Object> parameters,
+                       int chunkSize,
+                       Consumer<List<Map<String, Object>>> chunkConsumer) throws SQLException {
+        return stream(query, parameters, chunkSize, 0, chunkConsumer);
+    }
+
+    /**
+     * 최대 행 수를 지정하여 스트리밍 - 드라이버 수준(setMaxRows)에서 잘라 초과분은 전송되지 않음
+     * @param maxRows 최대 행 수 (0이면 제한 없음)
+     * @return 전달된 전체 행 수
+     */
+    public long stream(String query,
+                       List<Object> parameters,
+                       int chunkSize,
+                       int maxRows,
+                       Consumer<List<Map<String, Object>>> chunkConsumer) throws SQLException {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("maxRows must not be negative: " + maxRows);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+
+        try (Connection conn = dataSource.getConnection()) {
+            // 일부 드라이버(PostgreSQL 등)는 auto-commit 상태에서 fetchSize를 무시하고 전체를 적재함
+            boolean previousAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                long totalRows;
+                try (PreparedStatement pstmt = conn.prepareStatement(query,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    pstmt.setFetchSize(fetchSize);
+                    pstmt.setMaxRows(maxRows);
+                    pstmt.setFetchDirection(ResultSet.FETCH_FORWARD);
+                    bindParameters(pstmt, parameters);
+
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        totalRows = drain(rs, chunkSize, chunkConsumer);
+                    }
+                }
+                // 끝까지 읽은 경우에만 커밋 - 조회 실패나 컨슈머 예외는 아래에서 롤백
+                conn.commit();
+                return totalRows;
+            } catch (SQLException | RuntimeException | Error e) {
+                rollbackQuietly(conn, e);
+                throw e;
+            } finally {
+                conn.setAutoCommit(previousAutoCommit);
+            }
+        }
+    }
+
+    private long drain(ResultSet rs,
+                       int chunkSize,
+                       Consumer<List<Map<String, Object>>> chunkConsumer) throws SQLException {
+        // 컬럼 라벨은 한 번만 읽어 모든 행이 같은 키 문자열을 공유하도록 함
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        String[] labels = new String[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+        }
+        int mapCapacity = (int) (columnCount / 0.75f) + 1;
+
+        List<Map<String, Object>> chunk = new ArrayList<>(chunkSize);
+        List<Map<String, Object>> chunkView = Collections.unmodifiableList(chunk);
+        long totalRows = 0;
+
+        while (rs.next()) {
+            Map<String, Object> row = new LinkedHashMap<>(mapCapacity);
+            for (int i = 0; i < columnCount; i++) {
+                row.put(labels[i], rs.getObject(i + 1));
+            }
+            chunk.add(row);
+            totalRows++;
+
+            if (chunk.size() >= chunkSize) {
+                chunkConsumer.accept(chunkView);
+                chunk.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(chunkView);
+            chunk.clear();
+        }
+
+        return totalRows;
+    }
+
+    private static void rollbackQuietly(Connection conn, Throwable cause) {
+        try {
+            conn.rollback();
+        } catch (SQLException rollbackError) {
+            // 원래 예외를 가리지 않도록 롤백 실패는 덧붙이기만 한다
+            cause.addSuppressed(rollbackError);
+        }
+    }
+
+    private void bindParameters(PreparedStatement pstmt, List<Object> parameters) throws SQLException {
+        if (parameters == null) {
+            return;
+        }
+        for (int i = 0; i < parameters.size(); i++) {
+            Object value = parameters.get(i);
+            if (value instanceof java.util.Date && !(value instanceof java.sql.Date)
+                    && !(value instanceof Timestamp)) {
+                pstmt.setTimestamp(i + 1, new Timestamp(((java.util.Date) value).getTime()));
+            } else {
+                pstmt.setObject(i + 1, value);
+            }
+        }
+    }
+}
@@ -2,8 +2,14 @@ package com.example.performance;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import com.example.pagination.KeysetCursor;
+import com.example.dao.ColumnarResultSet;
+import com.example.dao.JdbcExecutor;
+import com.example.dao.SqlTemplateRegistry;
+import javax.sql.DataSource;
 import java.util.*;
 import java.sql.*;
+import java.util.Date;
 import java.math.BigDecimal;
 
 /**
@@ -14,6 +20,9 @@ import java.math.BigDecimal;
 @Service
 public class LargeDataProcessor {
 
+    private static final SqlTemplateRegistry SQL_TEMPLATES = SqlTemplateRegistry.shared();
+    private static final DailyAggregateStore DAILY_AGGREGATES = DailyAggregateStore.shared();
+
     @Autowired
     private HybridSqlPatternDao hybridSqlDao;
     
@@ -22,11 +31,45 @@ public class LargeDataProcessor {
     
     @Autowired
     private CacheManager cacheManager;
+    
+    @Autowired
+    private DataSource dataSource;
+
+    // 실시간 스트림 처리기 (환경별 1개)
+    private final Map<String, RealTimeStreamProcessor> streamProcessors = new java.util.concurrent.ConcurrentHashMap<>();
+    private volatile JdbcExecutor streamJdbc;
+
+    // true면 분석/리포트/스트림 조회 결과를 ColumnarResultSet에 채우고 읽기 전용 행 뷰로 반환
+    private volatile boolean columnarResults;
+
+    // 환경 동기화 체크포인트 (기본: 프로세스 메모리)
+    private final TableSyncEngine.CheckpointStore syncCheckpoints = new TableSyncEngine.InMemoryCheckpointStore();
 
     // 대용량 데이터 처리를 위한 상수들
     private static final int BATCH_SIZE = 1000;
     private static final int MAX_RETRY_COUNT = 3;
     private static final String DEFAULT_ENVIRONMENT = "prod";
+
+    // 실시간 스트림 설정
+    private static final String STREAM_EXECUTOR_NAME = "large-data-stream";
+    private static final String[] STREAM_KEY_COLUMNS = {"e.timestamp", "e.event_id"};
+    private static final String[] STREAM_SEEK_COLUMNS = {"ev.timestamp", "ev.event_id"};
+    private static final int STREAM_FLAG_SEEK = 1;
+    // 완료 표시 IN 목록 최대 길이 - 2의 거듭제곱으로 맞춘 뒤에도 Oracle 제한(1000개) 이하
+    static final int MARK_PROCESSED_CHUNK = 512;
+    private static final int STREAM_PARTITIONS = 4;
+    private static final long STREAM_MIN_POLL_MS = 10;
+    private static final int MAX_PAGED_USER_ROWS = 10000;
+    
+    // 사용자 데이터셋 키셋 페이징 정렬 키 (컬럼, 결과 라벨)
+    private static final String[] USER_DATASET_SORT_KEYS = {"u.created_date", "u.user_id"};
+    private static final String[] USER_DATASET_KEY_LABELS = {"created_date", "user_id"};
+
+    // 분석/리포트 조회 결과 행 형태 (columnarResults 모드)
+    private static final ColumnarResultSet.Schema RESULT_SCHEMA = ColumnarResultSet.Schema.builder()
+        .column("id", ColumnarResultSet.ColumnType.INT)
+        .column("data", ColumnarResultSet.ColumnType.STRING)
+        .build();
     
     // 복잡한 SQL 문자열들 (메모리 집약적)
     private static final String COMPLEX_USER_QUERY = 
@@ -81,6 +124,18 @@ public class LargeDataProcessor {
         "  AND p.status = 'ACTIVE' " +
         "ORDER BY o.order_date DESC, o.total_amount DESC";
 
+    /**
+     * 컬럼 형태 결과 모드 - 분석(analyzeComplexOrderPatterns rawData), 리포트 섹션, 실시간 스트림 조회에 적용
+     * 키셋 페이징 배치 조회는 행에 커서 컬럼을 덧붙이므로 계속 HashMap 행을 쓴다
+     */
+    public void setColumnarResults(boolean columnarResults) {
+        this.columnarResults = columnarResults;
+    }
+
+    public boolean isColumnarResults() {
+        return columnarResults;
+    }
+
     /**
      * 메서드 1: 대용량 사용자 데이터 처리
      * 연관 테이블: users, user_profiles, departments, user_roles, roles, user_settings, orders
@@ -90,9 +145,71 @@ public class LargeDataProcessor {
                                                             int batchSize) {
         List<Map<String, Object>> results = new ArrayList<>();
         
+        String orderBy = KeysetCursor.orderByClause(true, USER_DATASET_SORT_KEYS) + " ";
+        String firstPageQuery = buildLargeUserDatasetQuery(environment, null, orderBy) + "LIMIT " + batchSize;
+        String seekQuery = buildLargeUserDatasetQuery(environment,
+            KeysetCursor.seekPredicate(true, USER_DATASET_SORT_KEYS), orderBy) + "LIMIT " + batchSize;
+        
+        // 배치 처리 로직 (키셋 페이징: 직전 배치의 마지막 키 이후부터 조회하므로 OFFSET 재스캔이 없음)
+        KeysetCursor cursor = null;
+        int fetchedRows = 0;
+        while (fetchedRows < MAX_PAGED_USER_ROWS) {
+            List<Object> parameters = new ArrayList<>();
+            parameters.add(fromDate);
+            if (cursor != null) {
+                parameters.addAll(cursor.bindValues());
+            }
+            
+            List<Map<String, Object>> batch = executeBatchQuery(cursor == null ? firstPageQuery : seekQuery, parameters);
+            if (batch.isEmpty()) {
+                break;
+            }
+            results.addAll(batch);
+            fetchedRows += batch.size();
+            
+            // 메모리 관리를 위한 중간 처리
+            if (results.size() > 5000) {
+                processIntermediateResults(results, environment);
+                results.clear();
+            }
+            
+            if (batch.size() < batchSize) {
+                break;
+            }
+            cursor = KeysetCursor.fromRow(batch.get(batch.size() - 1), USER_DATASET_KEY_LABELS);
+        }
+        
+        return results;
+    }
+
+    /**
+     * 메서드 1-1: 대용량 사용자 데이터 스트리밍 처리
+     * 연관 테이블: users, user_profiles, departments, orders
+     * OFFSET 페이징 없이 forward-only 커서 하나로 전체 결과를 순회하고,
+     * processIntermediateResults에는 항상 chunkSize 이하의 청크만 전달한다.
+     * @return 처리된 전체 행 수
+     */
+    public long processLargeUserDatasetStreaming(String environment,
+                                                 Date fromDate,
+                                                 int chunkSize) {
+        String finalQuery = buildLargeUserDatasetQuery(environment, null, "ORDER BY order_count DESC ");
+        JdbcRowStreamer streamer = new JdbcRowStreamer(dataSource);
+        
+        long startTime = System.currentTimeMillis();
+        try {
+            long processed = streamer.stream(finalQuery, Collections.<Object>singletonList(fromDate), chunkSize,
+                chunk -> processIntermediateResults(chunk, environment));
+            logProcessingMetrics("processLargeUserDatasetStreaming", startTime, (int) processed);
+            return processed;
+        } catch (SQLException e) {
+            throw new RuntimeException("사용자 데이터 스트리밍 실패: " + e.getMessage(), e);
+        }
+    }
+    
+    private String buildLargeUserDatasetQuery(String environment, String seekPredicate, String orderByClause) {
         // StringBuilder를 사용한 동적 쿼리 구성
         StringBuilder queryBuilder = new StringBuilder();
-        queryBuilder.append("SELECT u.user_id, u.username, u.email, u.status, ");
+        queryBuilder.append("SELECT u.user_id, u.username, u.email, u.status, u.created_date, ");
         queryBuilder.append("       p.full_name, p.phone, p.address, ");
         queryBuilder.append("       d.dept_name, d.manager_id, ");
         queryBuilder.append("       COUNT(o.order_id) as order_count ");
@@ -108,27 +225,15 @@ public class LargeDataProcessor {
         
         queryBuilder.append(fromClause);
         queryBuilder.append("WHERE u.status = 'ACTIVE' AND u.created_date >= ? ");
-        queryBuilder.append("GROUP BY u.user_id, u.username, u.email, u.status, ");
+        if (seekPredicate != null) {
+            queryBuilder.append("  AND ").append(seekPredicate).append(" ");
+        }
+        queryBuilder.append("GROUP BY u.user_id, u.username, u.email, u.status, u.created_date, ");
         queryBuilder.append("         p.full_name, p.phone, p.address, ");
         queryBuilder.append("         d.dept_name, d.manager_id ");
-        queryBuilder.append("ORDER BY order_count DESC ");
-        
-        String finalQuery = queryBuilder.toString();
+        queryBuilder.append(orderByClause);
         
-        // 배치 처리 로직
-        for (int offset = 0; offset < 10000; offset += batchSize) {
-            String pagedQuery = finalQuery + String.format("LIMIT %d OFFSET %d", batchSize, offset);
-            List<Map<String, Object>> batch = executeBatchQuery(pagedQuery, fromDate);
-            results.addAll(batch);
-            
-            // 메모리 관리를 위한 중간 처리
-            if (results.size() > 5000) {
-                processIntermediateResults(results, environment);
-                results.clear();
-            }
-        }
-        
-        return results;
+        return queryBuilder.toString();
     }
 
     /**
@@ -205,179 +310,375 @@ public class LargeDataProcessor {
                                                  String sourceEnv,
                                                  String targetEnv,
                                                  Map<String, Object> syncOptions) {
-        boolean syncSuccess = true;
-        
-        // 동기화할 테이블 목록
-        List<String> tablesToSync = Arrays.asList(
-            "users", "user_profiles", "user_roles", "roles", "departments",
-            "orders", "order_items", "products", "categories", "brands",
-            "customers", "payments", "shipments", "invoices", "user_settings"
-        );
-        
-        for (String baseTableName : tablesToSync) {
-            try {
-                // 소스 테이블에서 데이터 추출
-                String extractQuery = buildExtractQuery(baseTableName, sourceEnv, syncOptions);
-                List<Map<String, Object>> sourceData = executeExtractQuery(extractQuery);
-                
-                // 타겟 테이블로 데이터 삽입
-                String insertQuery = buildInsertQuery(baseTableName, targetEnv, syncOptions);
-                boolean tableSync = executeBatchInsert(insertQuery, sourceData);
-                
-                if (!tableSync) {
-                    syncSuccess = false;
-                    logSyncError(baseTableName, sourceEnv, targetEnv);
-                }
-                
-            } catch (Exception e) {
-                syncSuccess = false;
-                handleSyncException(baseTableName, sourceEnv, targetEnv, e);
+        return synchronizeMultiEnvironmentDataWithReport(environments, sourceEnv, targetEnv, syncOptions).isSuccess();
+    }
+
+    /**
+     * 메서드 3-1: 다중 환경 동기화 + 테이블별 결과/지표
+     * 동기화 옵션: batchSize, parallelism, dateFilter(updated_date 하한),
+     *            syncId(재개 키, 기본 {source}_to_{target}), restart(체크포인트 무시),
+     *            checkpointStore("jdbc"면 sync_checkpoints 테이블에 저장)
+     * 실패한 실행을 같은 syncId로 다시 호출하면 완료된 테이블은 건너뛰고 마지막 커밋 배치 이후부터 이어서 동기화한다.
+     */
+    public TableSyncEngine.SyncReport synchronizeMultiEnvironmentDataWithReport(List<String> environments,
+                                                                               String sourceEnv,
+                                                                               String targetEnv,
+                                                                               Map<String, Object> syncOptions) {
+        Map<String, Object> options = syncOptions != null ? syncOptions : Collections.emptyMap();
+        int batchSize = intOption(options, "batchSize", BATCH_SIZE);
+        int parallelism = intOption(options, "parallelism", TableSyncEngine.DEFAULT_PARALLELISM);
+        String syncId = String.valueOf(options.getOrDefault("syncId", sourceEnv + "_to_" + targetEnv));
+
+        TableSyncEngine.CheckpointStore checkpoints = "jdbc".equals(options.get("checkpointStore"))
+            ? new TableSyncEngine.JdbcCheckpointStore(dataSource)
+            : syncCheckpoints;
+        if (Boolean.TRUE.equals(options.get("restart"))) {
+            checkpoints.clear(syncId);
+        }
+
+        TableSyncEngine engine = new TableSyncEngine(dataSource, checkpoints, batchSize, parallelism);
+        TableSyncEngine.SyncReport report = engine.synchronize(
+            syncId, sourceEnv, targetEnv, TableSyncEngine.DEFAULT_TABLES, options.get("dateFilter"));
+
+        for (TableSyncEngine.TableSyncResult table : report.getTables()) {
+            if (!table.isSuccess()) {
+                logSyncError(table.getTable(), sourceEnv, targetEnv);
             }
         }
-        
-        return syncSuccess;
+        System.out.println("환경 동기화 완료 (" + sourceEnv + " -> " + targetEnv + "): " + report.toMap());
+        return report;
     }
 
     /**
      * 메서드 4: 실시간 데이터 스트리밍 처리
      * 연관 테이블: real_time_events, user_activities, system_logs, performance_metrics
+     *
+     * 환경별 RealTimeStreamProcessor를 시작하고 바로 반환한다 (이미 실행 중이면 그대로 둠).
+     * processingIntervalMs는 유휴 상태에서 늘어나는 폴링 간격의 상한이며,
+     * 백로그가 있으면 간격 없이 연속으로 조회한다.
      */
     public void processRealTimeDataStream(String environment,
                                         int streamBatchSize,
                                         long processingIntervalMs) {
-        
-        // 실시간 이벤트 처리 쿼리
+        streamProcessors.compute(environment, (env, existing) -> {
+            if (existing != null && existing.isRunning()) {
+                System.out.println("실시간 스트림이 이미 실행 중입니다: " + existing.getName());
+                return existing;
+            }
+            long maxPollMillis = Math.max(1, processingIntervalMs);
+            RealTimeStreamProcessor processor = new RealTimeStreamProcessor(
+                "realtime-" + env,
+                (partition, partitions, after, maxEvents) -> executeStreamQuery(env, partition, partitions, after, maxEvents),
+                events -> processEventBatch(events, env),
+                eventIds -> markEventsAsProcessed(eventIds, env),
+                streamBatchSize,
+                Math.min(STREAM_MIN_POLL_MS, maxPollMillis),
+                maxPollMillis,
+                STREAM_PARTITIONS,
+                streamBatchSize * 4);
+            processor.start();
+            return processor;
+        });
+    }
+
+    /**
+     * 실시간 스트림 정지 - 큐에 남은 이벤트까지 처리한 뒤 종료
+     */
+    public boolean stopRealTimeDataStream(String environment, long timeoutMillis) {
+        RealTimeStreamProcessor processor = streamProcessors.remove(environment);
+        return processor == null || processor.stop(timeoutMillis);
+    }
+
+    /**
+     * 실시간 스트림 지표 (지연, 처리량, 큐 깊이) - 실행 중인 스트림이 없으면 빈 맵
+     */
+    public Map<String, Object> getRealTimeStreamMetrics(String environment) {
+        RealTimeStreamProcessor processor = streamProcessors.get(environment);
+        return processor != null ? processor.metrics() : Collections.emptyMap();
+    }
+
+    /**
+     * 실시간 이벤트 조회 쿼리 형태 - 파티션 하나의 미처리 이벤트를 (timestamp, event_id) 순으로 조회
+     * 파티션은 MOD(COALESCE(user_id, event_id), 파티션 수)이고, STREAM_FLAG_SEEK면 최고 수위 이후만 읽는다.
+     * LIMIT은 조인 전 이벤트 서브쿼리에 걸어 조인 행이 아닌 이벤트 수를 제한한다.
+     * 바인드 순서: 파티션 수, 파티션, [수위 timestamp, event_id], 이벤트 수
+     */
+    static String streamQueryShape(int flags) {
         StringBuilder eventQuery = new StringBuilder();
         eventQuery.append("SELECT e.event_id, e.event_type, e.event_data, e.timestamp, ");
         eventQuery.append("       u.user_id, u.username, u.session_id, ");
         eventQuery.append("       a.activity_id, a.action_type, a.page_url, ");
         eventQuery.append("       m.metric_id, m.response_time, m.memory_usage ");
-        
-        String streamQuery = String.format(
-            eventQuery.toString() +
-            "FROM real_time_events_%s e " +
-            "LEFT JOIN user_activities_%s a ON e.user_id = a.user_id " +
-            "LEFT JOIN users_%s u ON e.user_id = u.user_id " +
-            "LEFT JOIN performance_metrics_%s m ON e.event_id = m.event_id " +
-            "WHERE e.processed = 'N' AND e.timestamp >= ? " +
-            "ORDER BY e.timestamp ASC " +
-            "LIMIT %d",
-            environment, environment, environment, environment, streamBatchSize
-        );
-        
-        // 스트림 처리 루프 (실제로는 별도 스레드에서 실행)
-        for (int batch = 0; batch < 100; batch++) {
-            Date currentTime = new Date();
-            List<Map<String, Object>> events = executeStreamQuery(streamQuery, currentTime);
-            
-            if (!events.isEmpty()) {
-                processEventBatch(events, environment);
-                markEventsAsProcessed(events, environment);
-            }
-            
-            // 처리 간격 시뮬레이션
-            try {
-                Thread.sleep(processingIntervalMs);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+        eventQuery.append("FROM (SELECT ev.event_id, ev.event_type, ev.event_data, ev.timestamp, ev.user_id ");
+        eventQuery.append("      FROM real_time_events_%1$s ev ");
+        eventQuery.append("      WHERE ev.processed = 'N' AND MOD(COALESCE(ev.user_id, ev.event_id), ?) = ? ");
+        if ((flags & STREAM_FLAG_SEEK) != 0) {
+            eventQuery.append("      AND ").append(KeysetCursor.seekPredicate(false, STREAM_SEEK_COLUMNS)).append(' ');
         }
+        eventQuery.append("      ").append(KeysetCursor.orderByClause(false, STREAM_SEEK_COLUMNS));
+        eventQuery.append(" LIMIT ?) e ");
+        eventQuery.append("LEFT JOIN user_activities_%1$s a ON e.user_id = a.user_id ");
+        eventQuery.append("LEFT JOIN users_%1$s u ON e.user_id = u.user_id ");
+        eventQuery.append("LEFT JOIN performance_metrics_%1$s m ON e.event_id = m.event_id ");
+        eventQuery.append(KeysetCursor.orderByClause(false, STREAM_KEY_COLUMNS));
+        return eventQuery.toString();
     }
 
     /**
      * 메서드 5: 복합 집계 및 리포팅
      * 연관 테이블: 거의 모든 비즈니스 테이블
+     *
+     * 리포트 유형별 조회는 서로 독립적이므로 ReportOrchestrator에서 동시에 실행한다.
+     * 제한 시간을 넘기거나 실패한 섹션은 결과에서 빠진다.
      */
     public Map<String, Object> generateComprehensiveReport(String environment,
                                                          Date reportStartDate,
                                                          Date reportEndDate,
                                                          List<String> reportTypes) {
         Map<String, Object> comprehensiveReport = new HashMap<>();
+        ReportOrchestrator.Plan plan = ReportOrchestrator.shared().plan();
+        addReportSections(plan, comprehensiveReport, environment, reportStartDate, reportEndDate, reportTypes);
+        plan.execute();
+        return comprehensiveReport;
+    }
+
+    /**
+     * 리포트 유형별 섹션을 plan에 추가 - 결과는 execute() 호출 스레드에서 report에 채워진다
+     * 다른 섹션과 함께 한 번에 실행하려는 호출자(예: 종합 분석 API)용
+     *
+     * 상품/부서 성과는 기간 전체가 일별 사전 집계(DailyAggregateStore)로 덮이고, 저장소의 주문 수/완료 주문 수가
+     * DB와 같으면 SQL 대신 일별 버킷을 합쳐 report에 바로 채운다. 다르거나(다른 인스턴스/경로의 쓰기) 처음 보는
+     * 상품/부서가 있으면 이번 요청은 SQL 섹션으로 조회한다. 사용자 활동은 항상 SQL이다.
+     * 주문 수와 완료 수가 함께 맞는 변경(예: 다른 경로에서 주문 삭제 1건 + 추가 1건)은 검사로 드러나지 않으므로
+     * 저장소는 rebuildDailyAggregates로 주기적으로 다시 적재한다.
+     */
+    public void addReportSections(ReportOrchestrator.Plan plan,
+                                  Map<String, Object> report,
+                                  String environment,
+                                  Date reportStartDate,
+                                  Date reportEndDate,
+                                  List<String> reportTypes) {
+        DailyAggregateStore.DayRange dayRange = DAILY_AGGREGATES.dayRange(environment, reportStartDate, reportEndDate);
+        if (dayRange != null && !dailyAggregatesMatch(environment, dayRange)) {
+            dayRange = null;
+        }
         
-        // 사용자 활동 분석
         if (reportTypes.contains("USER_ACTIVITY")) {
-            String userActivityQuery = String.format(
-                "SELECT u.user_type, u.status, " +
-                "       COUNT(DISTINCT u.user_id) as user_count, " +
-                "       COUNT(DISTINCT o.order_id) as order_count, " +
-                "       SUM(o.total_amount) as total_revenue, " +
-                "       AVG(o.total_amount) as avg_order_value, " +
-                "       COUNT(DISTINCT a.activity_id) as activity_count " +
-                "FROM users_%s u " +
-                "LEFT JOIN orders_%s o ON u.user_id = o.user_id " +
-                "LEFT JOIN user_activities_%s a ON u.user_id = a.user_id " +
-                "WHERE u.created_date >= ? AND u.created_date <= ? " +
-                "GROUP BY u.user_type, u.status " +
-                "ORDER BY total_revenue DESC",
-                environment, environment, environment
-            );
-            
-            List<Map<String, Object>> userActivity = executeReportQuery(userActivityQuery, reportStartDate, reportEndDate);
-            comprehensiveReport.put("userActivity", userActivity);
+            plan.section("userActivity",
+                         () -> queryUserActivity(environment, reportStartDate, reportEndDate),
+                         rows -> report.put("userActivity", rows));
         }
-        
-        // 상품 성과 분석
         if (reportTypes.contains("PRODUCT_PERFORMANCE")) {
-            StringBuilder productQuery = new StringBuilder();
-            productQuery.append("SELECT p.product_id, p.product_name, p.category_id, ");
-            productQuery.append("       cat.category_name, b.brand_name, ");
-            productQuery.append("       COUNT(oi.item_id) as sales_count, ");
-            productQuery.append("       SUM(oi.quantity) as total_quantity, ");
-            productQuery.append("       SUM(oi.quantity * oi.unit_price) as total_sales, ");
-            productQuery.append("       AVG(oi.unit_price) as avg_price, ");
-            productQuery.append("       COUNT(DISTINCT o.user_id) as unique_customers ");
-            
-            String productAnalysisQuery = String.format(
-                productQuery.toString() +
-                "FROM products_%s p " +
-                "INNER JOIN order_items_%s oi ON p.product_id = oi.product_id " +
-                "INNER JOIN orders_%s o ON oi.order_id = o.order_id " +
-                "LEFT JOIN categories_%s cat ON p.category_id = cat.category_id " +
-                "LEFT JOIN brands_%s b ON p.brand_id = b.brand_id " +
-                "WHERE o.order_date >= ? AND o.order_date <= ? " +
-                "  AND o.status = 'COMPLETED' " +
-                "GROUP BY p.product_id, p.product_name, p.category_id, " +
-                "         cat.category_name, b.brand_name " +
-                "HAVING total_sales > 0 " +
-                "ORDER BY total_sales DESC, sales_count DESC",
-                environment, environment, environment, environment, environment
-            );
-            
-            List<Map<String, Object>> productPerformance = executeReportQuery(productAnalysisQuery, reportStartDate, reportEndDate);
-            comprehensiveReport.put("productPerformance", productPerformance);
+            List<Map<String, Object>> rows = dayRange != null ? DAILY_AGGREGATES.productPerformance(environment, dayRange) : null;
+            if (rows != null) {
+                report.put("productPerformance", rows);
+            } else {
+                plan.section("productPerformance",
+                             () -> queryProductPerformance(environment, reportStartDate, reportEndDate),
+                             sqlRows -> report.put("productPerformance", sqlRows));
+            }
         }
-        
-        // 부서별 성과 분석
         if (reportTypes.contains("DEPARTMENT_PERFORMANCE")) {
-            String deptQuery = String.format(
-                "SELECT d.dept_id, d.dept_name, d.manager_id, " +
-                "       COUNT(DISTINCT u.user_id) as employee_count, " +
-                "       COUNT(DISTINCT o.order_id) as dept_orders, " +
-                "       SUM(o.total_amount) as dept_revenue, " +
-                "       AVG(o.total_amount) as avg_dept_order " +
-                "FROM departments_%s d " +
-                "LEFT JOIN users_%s u ON d.dept_id = u.dept_id " +
-                "LEFT JOIN orders_%s o ON u.user_id = o.user_id " +
-                "WHERE o.order_date >= ? AND o.order_date <= ? " +
-                "GROUP BY d.dept_id, d.dept_name, d.manager_id " +
-                "ORDER BY dept_revenue DESC",
-                environment, environment, environment
-            );
-            
-            List<Map<String, Object>> deptPerformance = executeReportQuery(deptQuery, reportStartDate, reportEndDate);
-            comprehensiveReport.put("departmentPerformance", deptPerformance);
+            List<Map<String, Object>> rows = dayRange != null ? DAILY_AGGREGATES.departmentPerformance(environment, dayRange) : null;
+            if (rows != null) {
+                report.put("departmentPerformance", rows);
+            } else {
+                plan.section("departmentPerformance",
+                             () -> queryDepartmentPerformance(environment, reportStartDate, reportEndDate),
+                             sqlRows -> report.put("departmentPerformance", sqlRows));
+            }
         }
-        
-        return comprehensiveReport;
+    }
+
+    /**
+     * 일별 사전 집계 재적재 - from 날짜 이후 주문을 주문 항목 단위로 읽어 환경의 버킷을 교체한다
+     * 배포 직후와 주기 작업(예: 매일 새벽)에서 호출한다. 호출 전까지 해당 환경의 리포트는 SQL로 조회된다.
+     * @return 적재한 주문 수
+     */
+    public long rebuildDailyAggregates(String environment, Date from) throws Exception {
+        if (dataSource == null) {
+            throw new IllegalStateException("일별 사전 집계 재적재에는 DataSource가 필요합니다: " + environment);
+        }
+        java.time.LocalDate fromDay = new Timestamp(from.getTime()).toLocalDateTime().toLocalDate();
+        String rebuildQuery = SQL_TEMPLATES.render("large.aggregates.rebuild",
+            "SELECT o.order_id, o.user_id, o.order_date, o.status, o.total_amount, " +
+            "       u.dept_id, d.dept_id as catalog_dept_id, d.dept_name, d.manager_id, " +
+            "       oi.product_id, oi.quantity, oi.unit_price, " +
+            "       p.product_id as catalog_product_id, p.product_name, p.category_id, " +
+            "       cat.category_name, b.brand_name " +
+            "FROM orders_%1$s o " +
+            "LEFT JOIN users_%1$s u ON o.user_id = u.user_id " +
+            "LEFT JOIN departments_%1$s d ON u.dept_id = d.dept_id " +
+            "LEFT JOIN order_items_%1$s oi ON o.order_id = oi.order_id " +
+            "LEFT JOIN products_%1$s p ON oi.product_id = p.product_id " +
+            "LEFT JOIN categories_%1$s cat ON p.category_id = cat.category_id " +
+            "LEFT JOIN brands_%1$s b ON p.brand_id = b.brand_id " +
+            "WHERE o.order_date >= ? " +
+            "ORDER BY o.order_id",
+            environment
+        );
+        List<Object> params = Collections.singletonList(Timestamp.valueOf(fromDay.atStartOfDay()));
+        return DAILY_AGGREGATES.rebuild(environment, fromDay, sink ->
+            streamJdbc().query(rebuildQuery, params, rs -> {
+                readOrderFacts(rs, sink);
+                return null;
+            }));
+    }
+
+    /**
+     * 주문 항목 단위 행(order_id 순)을 주문별 OrderFact로 묶어 전달
+     */
+    private static void readOrderFacts(ResultSet rs,
+                                       java.util.function.Consumer<DailyAggregateStore.OrderFact> sink) throws SQLException {
+        DailyAggregateStore.OrderFact current = null;
+        long currentOrderId = 0;
+        while (rs.next()) {
+            long orderId = rs.getLong("order_id");
+            if (current == null || orderId != currentOrderId) {
+                if (current != null) {
+                    sink.accept(current);
+                }
+                currentOrderId = orderId;
+                current = new DailyAggregateStore.OrderFact(
+                    rs.getLong("user_id"),
+                    longOrNull(rs, "dept_id"),
+                    rs.getTimestamp("order_date").toLocalDateTime().toLocalDate(),
+                    rs.getString("status"),
+                    rs.getBigDecimal("total_amount"));
+                if (longOrNull(rs, "catalog_dept_id") != null) {
+                    current.department(new DailyAggregateStore.DepartmentInfo(
+                        rs.getString("dept_name"), longOrNull(rs, "manager_id")));
+                }
+            }
+            Long productId = longOrNull(rs, "product_id");
+            if (productId == null) {
+                continue;
+            }
+            DailyAggregateStore.ProductInfo productInfo = longOrNull(rs, "catalog_product_id") == null ? null
+                : new DailyAggregateStore.ProductInfo(rs.getString("product_name"), longOrNull(rs, "category_id"),
+                                                      rs.getString("category_name"), rs.getString("brand_name"));
+            current.item(productId, rs.getInt("quantity"), rs.getBigDecimal("unit_price"), productInfo);
+        }
+        if (current != null) {
+            sink.accept(current);
+        }
+    }
+
+    private static Long longOrNull(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * 저장소의 기간 내 주문 수/완료 주문 수를 DB와 비교 - 다르거나 확인할 수 없으면 false (SQL로 조회)
+     */
+    private boolean dailyAggregatesMatch(String environment, DailyAggregateStore.DayRange dayRange) {
+        if (dataSource == null) {
+            return false;
+        }
+        String countQuery = SQL_TEMPLATES.render("large.aggregates.verify",
+            "SELECT COUNT(*) as order_count, " +
+            "       SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END) as completed_count " +
+            "FROM orders_%1$s " +
+            "WHERE order_date >= ? AND order_date < ?",
+            environment
+        );
+        List<Object> params = Arrays.asList(Timestamp.valueOf(dayRange.getFrom().atStartOfDay()),
+                                            Timestamp.valueOf(dayRange.getTo().plusDays(1).atStartOfDay()));
+        long[] stored = DAILY_AGGREGATES.totals(environment, dayRange);
+        try {
+            long[] actual = streamJdbc().query(countQuery, params, rs -> rs.next()
+                ? new long[] {rs.getLong("order_count"), rs.getLong("completed_count")}
+                : new long[] {0, 0});
+            if (stored[0] == actual[0] && stored[1] == actual[1]) {
+                System.out.println("일별 사전 집계로 리포트 생성: " + environment + " " + dayRange + " (" + dayRange.days() + "일)");
+                return true;
+            }
+            System.out.println("일별 사전 집계 불일치로 SQL 조회: " + environment + " " + dayRange
+                               + " 저장소 " + Arrays.toString(stored) + ", DB " + Arrays.toString(actual));
+        } catch (SQLException e) {
+            System.err.println("일별 사전 집계 확인 실패로 SQL 조회: " + environment + " - " + e.getMessage());
+        }
+        return false;
+    }
+
+    // 사용자 활동 분석 (환경별 SQL은 템플릿 레지스트리에 캐시)
+    private List<Map<String, Object>> queryUserActivity(String environment, Date reportStartDate, Date reportEndDate) {
+        String userActivityQuery = SQL_TEMPLATES.render("large.report.userActivity",
+            "SELECT u.user_type, u.status, " +
+            "       COUNT(DISTINCT u.user_id) as user_count, " +
+            "       COUNT(DISTINCT o.order_id) as order_count, " +
+            "       SUM(o.total_amount) as total_revenue, " +
+            "       AVG(o.total_amount) as avg_order_value, " +
+            "       COUNT(DISTINCT a.activity_id) as activity_count " +
+            "FROM users_%1$s u " +
+            "LEFT JOIN orders_%1$s o ON u.user_id = o.user_id " +
+            "LEFT JOIN user_activities_%1$s a ON u.user_id = a.user_id " +
+            "WHERE u.created_date >= ? AND u.created_date <= ? " +
+            "GROUP BY u.user_type, u.status " +
+            "ORDER BY total_revenue DESC",
+            environment
+        );
+        return executeReportQuery(userActivityQuery, reportStartDate, reportEndDate);
+    }
+
+    // 상품 성과 분석
+    private List<Map<String, Object>> queryProductPerformance(String environment, Date reportStartDate, Date reportEndDate) {
+        String productAnalysisQuery = SQL_TEMPLATES.render("large.report.productPerformance",
+            "SELECT p.product_id, p.product_name, p.category_id, " +
+            "       cat.category_name, b.brand_name, " +
+            "       COUNT(oi.item_id) as sales_count, " +
+            "       SUM(oi.quantity) as total_quantity, " +
+            "       SUM(oi.quantity * oi.unit_price) as total_sales, " +
+            "       AVG(oi.unit_price) as avg_price, " +
+            "       COUNT(DISTINCT o.user_id) as unique_customers " +
+            "FROM products_%1$s p " +
+            "INNER JOIN order_items_%1$s oi ON p.product_id = oi.product_id " +
+            "INNER JOIN orders_%1$s o ON oi.order_id = o.order_id " +
+            "LEFT JOIN categories_%1$s cat ON p.category_id = cat.category_id " +
+            "LEFT JOIN brands_%1$s b ON p.brand_id = b.brand_id " +
+            "WHERE o.order_date >= ? AND o.order_date <= ? " +
+            "  AND o.status = 'COMPLETED' " +
+            "GROUP BY p.product_id, p.product_name, p.category_id, " +
+            "         cat.category_name, b.brand_name " +
+            "HAVING total_sales > 0 " +
+            "ORDER BY total_sales DESC, sales_count DESC",
+            environment
+        );
+        return executeReportQuery(productAnalysisQuery, reportStartDate, reportEndDate);
+    }
+
+    // 부서별 성과 분석
+    private List<Map<String, Object>> queryDepartmentPerformance(String environment, Date reportStartDate, Date reportEndDate) {
+        String deptQuery = SQL_TEMPLATES.render("large.report.departmentPerformance",
+            "SELECT d.dept_id, d.dept_name, d.manager_id, " +
+            "       COUNT(DISTINCT u.user_id) as employee_count, " +
+            "       COUNT(DISTINCT o.order_id) as dept_orders, " +
+            "       SUM(o.total_amount) as dept_revenue, " +
+            "       AVG(o.total_amount) as avg_dept_order " +
+            "FROM departments_%1$s d " +
+            "LEFT JOIN users_%1$s u ON d.dept_id = u.dept_id " +
+            "LEFT JOIN orders_%1$s o ON u.user_id = o.user_id " +
+            "WHERE o.order_date >= ? AND o.order_date <= ? " +
+            "GROUP BY d.dept_id, d.dept_name, d.manager_id " +
+            "ORDER BY dept_revenue DESC",
+            environment
+        );
+        return executeReportQuery(deptQuery, reportStartDate, reportEndDate);
     }
 
     // 이하 헬퍼 메서드들 (연관관계 도출을 위한 다양한 SQL 패턴 포함)
     
-    private List<Map<String, Object>> executeBatchQuery(String query, Date fromDate) {
+    private List<Map<String, Object>> executeBatchQuery(String query, List<Object> parameters) {
         // 실제 구현에서는 JDBC 사용
-        System.out.println("Executing batch query: " + query);
-        return generateMockResults(100);
+        System.out.println("Executing batch query: " + query + " " + parameters);
+        List<Map<String, Object>> rows = generateMockResults(100);
+        for (Map<String, Object> row : rows) {
+            // 키셋 커서 추출용 정렬 키 컬럼
+            row.put("user_id", ((Integer) row.get("id")).longValue());
+            row.put("created_date", new Timestamp(System.currentTimeMillis()));
+        }
+        return rows;
     }
     
     private void processIntermediateResults(List<Map<String, Object>> results, String environment) {
@@ -387,62 +688,111 @@ public class LargeDataProcessor {
     
     private List<Map<String, Object>> executeComplexAnalysisQuery(String query, Date startDate, Date endDate) {
         System.out.println("Executing complex analysis: " + query);
-        return generateMockResults(500);
+        return columnarResults ? generateColumnarResults(500).asRows() : generateMockResults(500);
     }
     
-    private String buildExtractQuery(String tableName, String environment, Map<String, Object> options) {
-        StringBuilder query = new StringBuilder();
-        query.append("SELECT * FROM ").append(tableName).append("_").append(environment);
-        
-        if (options.containsKey("dateFilter")) {
-            query.append(" WHERE updated_date >= ?");
+    private int intOption(Map<String, Object> options, String name, int defaultValue) {
+        Object value = options.get(name);
+        if (value == null) {
+            return defaultValue;
         }
-        
-        return query.toString();
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
     }
     
-    private List<Map<String, Object>> executeExtractQuery(String query) {
-        System.out.println("Extracting data: " + query);
-        return generateMockResults(200);
-    }
-    
-    private String buildInsertQuery(String tableName, String environment, Map<String, Object> options) {
-        return String.format("INSERT INTO %s_%s (...) VALUES (...)", tableName, environment);
+    private void logSyncError(String tableName, String sourceEnv, String targetEnv) {
+        System.err.println("Sync error: " + tableName + " from " + sourceEnv + " to " + targetEnv);
     }
     
-    private boolean executeBatchInsert(String query, List<Map<String, Object>> data) {
-        System.out.println("Batch inserting " + data.size() + " records: " + query);
-        return true;
+    private List<Map<String, Object>> executeStreamQuery(String environment, int partition, int partitions,
+                                                         KeysetCursor after, int maxEvents) throws SQLException {
+        String streamQuery = SQL_TEMPLATES.render("large.realtime.events", after != null ? STREAM_FLAG_SEEK : 0,
+                                                  LargeDataProcessor::streamQueryShape, environment);
+        List<Object> params = new ArrayList<>(5);
+        params.add(partitions);
+        params.add(partition);
+        if (after != null) {
+            params.addAll(after.bindValues());
+        }
+        params.add(maxEvents);
+        return columnarResults
+            ? streamJdbc().queryForColumns(streamQuery, params).asRows()
+            : streamJdbc().queryForRows(streamQuery, params);
     }
     
-    private void logSyncError(String tableName, String sourceEnv, String targetEnv) {
-        System.err.println("Sync error: " + tableName + " from " + sourceEnv + " to " + targetEnv);
+    private void processEventBatch(List<Map<String, Object>> events, String environment) {
+        System.out.println("Processing " + events.size() + " events for " + environment);
     }
     
-    private void handleSyncException(String tableName, String sourceEnv, String targetEnv, Exception e) {
-        System.err.println("Sync exception for " + tableName + ": " + e.getMessage());
+    /**
+     * 배치 단위 완료 표시 - MARK_PROCESSED_CHUNK개씩 나눈 UPDATE를 한 트랜잭션으로 실행
+     * IN 목록 길이는 2의 거듭제곱으로 맞춰(마지막 ID 반복) SQL 템플릿과 드라이버 Statement 캐시에 들어가는 형태 수를 제한한다.
+     */
+    private void markEventsAsProcessed(List<Object> eventIds, String environment) throws SQLException {
+        Timestamp processedDate = new Timestamp(System.currentTimeMillis());
+        int updated = streamJdbc().inTransaction(transaction -> {
+            int count = 0;
+            for (List<Object> chunk : markProcessedChunks(eventIds)) {
+                String updateQuery = SQL_TEMPLATES.render("large.realtime.markProcessed", chunk.size(),
+                                                          LargeDataProcessor::markProcessedShape, environment);
+                try (PreparedStatement statement = transaction.getConnection().prepareStatement(updateQuery)) {
+                    List<Object> params = new ArrayList<>(chunk.size() + 1);
+                    params.add(processedDate);
+                    params.addAll(chunk);
+                    JdbcExecutor.bind(statement, params);
+                    count += statement.executeUpdate();
+                }
+            }
+            return count;
+        });
+        System.out.println("Marking events as processed: " + updated + "/" + eventIds.size() + " (" + environment + ")");
     }
-    
-    private List<Map<String, Object>> executeStreamQuery(String query, Date timestamp) {
-        System.out.println("Stream query: " + query);
-        return generateMockResults(50);
+
+    /**
+     * 완료 표시 IN 목록 - 최대 MARK_PROCESSED_CHUNK개씩 나누고 각 조각을 2의 거듭제곱 길이로 채움
+     */
+    static List<List<Object>> markProcessedChunks(List<Object> eventIds) {
+        List<List<Object>> chunks = new ArrayList<>();
+        for (int from = 0; from < eventIds.size(); from += MARK_PROCESSED_CHUNK) {
+            List<Object> chunk = new ArrayList<>(eventIds.subList(from, Math.min(eventIds.size(), from + MARK_PROCESSED_CHUNK)));
+            int slots = chunk.size() == 1 ? 1 : Integer.highestOneBit(chunk.size() - 1) << 1;
+            Object last = chunk.get(chunk.size() - 1);
+            while (chunk.size() < slots) {
+                chunk.add(last);
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
     }
     
-    private void processEventBatch(List<Map<String, Object>> events, String environment) {
-        System.out.println("Processing " + events.size() + " events for " + environment);
+    static String markProcessedShape(int slots) {
+        StringBuilder updateQuery = new StringBuilder(
+            "UPDATE real_time_events_%1$s SET processed = 'Y', processed_date = ? WHERE event_id IN (");
+        for (int i = 0; i < slots; i++) {
+            updateQuery.append(i > 0 ? ", ?" : "?");
+        }
+        return updateQuery.append(")").toString();
     }
     
-    private void markEventsAsProcessed(List<Map<String, Object>> events, String environment) {
-        String updateQuery = String.format(
-            "UPDATE real_time_events_%s SET processed = 'Y', processed_date = ? WHERE event_id IN (...)",
-            environment
-        );
-        System.out.println("Marking events as processed: " + updateQuery);
+    private JdbcExecutor streamJdbc() {
+        JdbcExecutor executor = streamJdbc;
+        if (executor == null) {
+            executor = new JdbcExecutor(STREAM_EXECUTOR_NAME, dataSource);
+            streamJdbc = executor;
+        }
+        return executor;
     }
     
     private List<Map<String, Object>> executeReportQuery(String query, Date startDate, Date endDate) {
         System.out.println("Report query: " + query);
-        return generateMockResults(150);
+        return columnarResults ? generateColumnarResults(150).asRows() : generateMockResults(150);
+    }
+    
+    private ColumnarResultSet generateColumnarResults(int count) {
+        ColumnarResultSet.Builder builder = ColumnarResultSet.builder(RESULT_SCHEMA, count);
+        for (int i = 0; i < count; i++) {
+            builder.addRow(i + 1, "mock_data_" + i);
+        }
+        return builder.build();
     }
     
     private List<Map<String, Object>> generateMockResults(int count) {
@@ -9,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
 
 import javax.validation.Valid;
 import javax.validation.constraints.*;
@@ -45,6 +47,7 @@ public class ModernRestController {
     /**
      * 현대적 사용자 조회 API - 페이징 + 검증
      * 연관 서비스: UserEntityService -> UserRepository -> users 테이블
+     * cursor 파라미터가 있으면(첫 페이지는 빈 값) 키셋 페이징으로 조회하고 page/sort 조건은 무시
      */
     @GetMapping("/users")
     public ResponseEntity<PagedResponse<UserResponseDto>> getUsers(
@@ -53,9 +56,14 @@ public class ModernRestController {
             @RequestParam(required = false) @Size(min = 2, max = 50) String search,
             @RequestParam(required = false) @Pattern(regexp = "^(ACTIVE|INACTIVE|PENDING)$") String status,
             @RequestParam(required = false) @Pattern(regexp = "^(username|email|createdDate)$") String sortBy,
-            @RequestParam(required = false) @Pattern(regexp = "^(asc|desc)$") String sortDir) {
+            @RequestParam(required = false) @Pattern(regexp = "^(asc|desc)$") String sortDir,
+            @RequestParam(required = false) @Size(max = 512) String cursor) {
         
         try {
+            if (cursor != null) {
+                return getUsersByCursor(search, status, cursor, size);
+            }
+            
             // 정렬 조건 구성
             Sort.Direction direction = "desc".equalsIgnoreCase(sortDir) ? 
                                      Sort.Direction.DESC : Sort.Direction.ASC;
@@ -97,6 +105,39 @@ public class ModernRestController {
         }
     }
 
+    private ResponseEntity<PagedResponse<UserResponseDto>> getUsersByCursor(String search, String status,
+                                                                          String cursor, int size) {
+        KeysetCursor keysetCursor;
+        try {
+            keysetCursor = KeysetCursor.decodeOrNull(cursor, LocalDateTime.class, Long.class);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(PagedResponse.<UserResponseDto>builder()
+                    .error("잘못된 커서입니다: " + e.getMessage())
+                    .build());
+        }
+        
+        UserSearchCriteria criteria = UserSearchCriteria.builder()
+            .search(search)
+            .status(status)
+            .build();
+        
+        // 키셋 조회: created_date DESC, user_id DESC 기준으로 size + 1 건만 조회 (COUNT 쿼리 없음)
+        KeysetPage<UserResponseDto> userPage = userEntityService.findUsersByKeyset(criteria, keysetCursor, size)
+            .map(this::convertToUserResponseDto);
+        
+        PagedResponse<UserResponseDto> response = PagedResponse.<UserResponseDto>builder()
+            .content(userPage.getContent())
+            .size(userPage.getSize())
+            .first(keysetCursor == null)
+            .last(!userPage.isHasNext())
+            .hasNext(userPage.isHasNext())
+            .nextCursor(userPage.getNextCursor())
+            .build();
+        
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * 사용자 생성 API - 유효성 검증 + 트랜잭션
      * 연관 서비스: UserEntityService -> UserRepository + UserProfileRepository
@@ -205,17 +246,6 @@ public class ModernRestController {
             // 주문 유효성 검증
             validateOrderRequest(request);
             
-            // 재고 확인 (Product 테이블 연관)
-            boolean inventoryAvailable = productEntityService.checkInventoryAvailability(request.getOrderItems());
-            if (!inventoryAvailable) {
-                return ResponseEntity.badRequest()
-                    .body(ApiResponse.<OrderResponseDto>builder()
-                        .success(false)
-                        .message("일부 상품의 재고가 부족합니다")
-                        .timestamp(LocalDateTime.now())
-                        .build());
-            }
-            
             // 주문 엔티티 생성
             OrderEntity orderEntity = OrderEntity.builder()
                 .userId(request.getUserId())
@@ -226,7 +256,8 @@ public class ModernRestController {
                 .shippingAddress(request.getShippingAddress())
                 .build();
             
-            // 서비스 계층에서 주문 생성 (Order + OrderItems + Inventory 업데이트)
+            // 서비스 계층에서 주문 생성 (Order + OrderItems + 재고 일괄 예약)
+            // 재고 확인과 차감은 예약 한 번으로 처리 - 사전 조회 후 차감하면 동시 주문에 초과 판매됨
             OrderEntity savedOrder = orderEntityService.createOrderWithItems(orderEntity, request.getOrderItems());
             
             // 응답 DTO 변환
@@ -248,6 +279,13 @@ public class ModernRestController {
                     .message("재고 부족: " + e.getMessage())
                     .timestamp(LocalDateTime.now())
                     .build());
+        } catch (InventoryReservationEngine.InsufficientStockException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.<OrderResponseDto>builder()
+                    .success(false)
+                    .message("재고 부족: " + e.getMessage())
+                    .timestamp(LocalDateTime.now())
+                    .build());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.<OrderResponseDto>builder()
@@ -270,8 +308,16 @@ public class ModernRestController {
             // 요청 유효성 검증
             validateAnalyticsRequest(request);
             
-            // 대용량 데이터 처리기 호출 (다중 환경, 다중 테이블 연관)
-            Map<String, Object> analyticsData = dataProcessor.generateComprehensiveReport(
+            // 리포트 섹션, 하이브리드 분석, 트렌드 분석을 하나의 Plan으로 동시에 실행
+            // (응답 시간 = 가장 느린 섹션의 시간)
+            long startNanos = System.nanoTime();
+            Map<String, Object> analyticsData = new HashMap<>();
+            Map<String, List<Map<String, Object>>> analysisRows = new HashMap<>();
+            
+            ReportOrchestrator.Plan plan = ReportOrchestrator.shared().plan();
+            
+            // 대용량 데이터 처리기 섹션 (다중 환경, 다중 테이블 연관)
+            dataProcessor.addReportSections(plan, analyticsData,
                 request.getEnvironment(),
                 request.getStartDate(),
                 request.getEndDate(),
@@ -279,26 +325,36 @@ public class ModernRestController {
             );
             
             // 하이브리드 SQL 패턴으로 추가 분석
-            List<Map<String, Object>> hybridAnalysis = hybridSqlDao.findUserOrdersWithHybridPattern(
-                request.getEnvironment(),
-                request.getFilters(),
-                request.getIncludeOptions()
-            );
+            plan.section("hybridAnalysis",
+                () -> hybridSqlDao.findUserOrdersWithHybridPattern(
+                    request.getEnvironment(),
+                    request.getFilters(),
+                    request.getIncludeOptions()),
+                rows -> analysisRows.put("hybridAnalysis", rows));
             
             // 트렌드 분석 추가
-            List<Map<String, Object>> trendsData = hybridSqlDao.analyzeSalesTrends(
-                request.getEnvironment(),
-                request.getPeriodType(),
-                request.getPeriodCount()
-            );
-            
-            // 응답 DTO 구성
+            plan.section("trendsAnalysis",
+                () -> hybridSqlDao.analyzeSalesTrends(
+                    request.getEnvironment(),
+                    request.getPeriodType(),
+                    request.getPeriodCount()),
+                rows -> analysisRows.put("trendsAnalysis", rows));
+            
+            Map<String, ReportOrchestrator.SectionOutcome> outcomes = plan.execute();
+            
+            // 응답 DTO 구성 (미완료 섹션은 비어 있고 sectionStatus에 사유가 남음)
+            Map<String, Object> sectionStatus = new LinkedHashMap<>();
+            outcomes.forEach((section, outcome) -> sectionStatus.put(section, outcome.toMap()));
+            List<Map<String, Object>> hybridAnalysis = analysisRows.get("hybridAnalysis");
+            List<Map<String, Object>> trendsData = analysisRows.get("trendsAnalysis");
             AnalyticsResponseDto responseDto = AnalyticsResponseDto.builder()
                 .reportData(analyticsData)
                 .hybridAnalysis(hybridAnalysis)
                 .trendsAnalysis(trendsData)
+                .sectionStatus(sectionStatus)
                 .generatedAt(LocalDateTime.now())
                 .recordCount(calculateTotalRecords(analyticsData, hybridAnalysis, trendsData))
+                .processingTimeMs(String.valueOf((System.nanoTime() - startNanos) / 1_000_000))
                 .build();
             
             ApiResponse<AnalyticsResponseDto> response = ApiResponse.<AnalyticsResponseDto>builder()
@@ -0,0 +1,134 @@
+package com.example.performance;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 용량 제한 다중 생산자/단일 소비자(MPSC) 링 버퍼
+ * 연관관계: SequencedWorkQueue -> MpscRingBuffer
+ *
+ * - 생산자는 tail을 CAS로 하나씩 차지하고, 칸의 시퀀스 값을 올려 기록 완료를 알린다 (잠금 없음)
+ * - 차지한 tail 값이 그 항목의 시퀀스 번호이며 버퍼 안에서 단조 증가한다
+ * - 가득 차면 offer는 기다리지 않고 -1을 반환한다 (대기/거절 정책은 호출자가 결정)
+ * - poll/drain은 한 스레드에서만 호출해야 한다
+ *
+ * 칸 시퀀스 규칙: 비어 있는 칸 = 다음에 쓸 tail 값, 기록된 칸 = tail + 1
+ */
+public class MpscRingBuffer<E> {
+
+    /**
+     * 꺼낸 항목과 시퀀스 번호를 받는 소비자
+     */
+    public interface SequencedConsumer<E> {
+        void accept(long sequence, E element);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray slotSequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    // 소비자 스레드만 쓰고, size() 계산을 위해 다른 스레드도 읽는다
+    private volatile long head;
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("링 버퍼 용량은 2 이상의 2의 거듭제곱이어야 합니다: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.slotSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, i);
+        }
+    }
+
+    /**
+     * 항목을 넣고 시퀀스 번호를 반환 - 가득 찼으면 -1
+     */
+    public long offer(E element) {
+        if (element == null) {
+            throw new IllegalArgumentException("null 항목은 넣을 수 없습니다");
+        }
+        while (true) {
+            long sequence = tail.get();
+            int index = (int) (sequence & mask);
+            long gap = slotSequences.get(index) - sequence;
+            if (gap == 0) {
+                if (tail.compareAndSet(sequence, sequence + 1)) {
+                    slots.lazySet(index, element);
+                    // 시퀀스 기록이 항목 기록보다 먼저 보이지 않도록 volatile 쓰기로 공개
+                    slotSequences.set(index, sequence + 1);
+                    return sequence;
+                }
+            } else if (gap < 0) {
+                // 소비자가 아직 비우지 않은 칸 - 한 바퀴 전 항목이 남아 있음
+                return -1;
+            }
+            // gap > 0: 다른 생산자가 먼저 차지함 - tail을 다시 읽는다
+        }
+    }
+
+    /**
+     * 다음 항목을 꺼낸다 - 비었거나 다음 칸이 아직 기록 중이면 null (소비자 스레드 전용)
+     */
+    public E poll() {
+        long current = head;
+        int index = (int) (current & mask);
+        if (slotSequences.get(index) != current + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        slotSequences.set(index, current + capacity);
+        head = current + 1;
+        return element;
+    }
+
+    /**
+     * 최대 limit개를 순서대로 꺼내 consumer에 전달하고 꺼낸 개수를 반환 (소비자 스레드 전용)
+     */
+    public int drain(SequencedConsumer<E> consumer, int limit) {
+        int drained = 0;
+        long current = head;
+        while (drained < limit) {
+            int index = (int) (current & mask);
+            if (slotSequences.get(index) != current + 1) {
+                break;
+            }
+            E element = slots.get(index);
+            slots.lazySet(index, null);
+            slotSequences.set(index, current + capacity);
+            head = ++current;
+            drained++;
+            consumer.accept(current - 1, element);
+        }
+        return drained;
+    }
+
+    /**
+     * 차지된 칸 수 (기록 중인 칸 포함) - 동시 변경 중에는 근사값
+     */
+    public int size() {
+        long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 다음에 발급할 시퀀스 번호
+     */
+    public long nextSequence() {
+        return tail.get();
+    }
+}
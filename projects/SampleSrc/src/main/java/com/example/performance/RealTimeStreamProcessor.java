@@ -0,0 +1,440 @@
+package com.example.performance;
+
+import com.example.pagination.KeysetCursor;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실시간 이벤트 스트림 처리기 - real_time_events 폴링을 조회와 처리로 분리
+ *
+ * 구조:
+ *   조회 스레드 1개 --(파티션별 조회)--> 파티션별 제한 큐 N개 --> 파티션별 작업 스레드 N개
+ *
+ * 특징:
+ * 1. 적응형 폴링 - 한 번에 batchSize만큼 차 있으면(백로그) 쉬지 않고 다음 조회,
+ *    비어 있으면 minPollMillis부터 maxPollMillis까지 두 배씩 대기 시간을 늘림
+ * 2. 제한 큐 - 처리가 밀리면 큐가 가득 차 조회 스레드가 멈춤 (백프레셔)
+ * 3. 같은 user_id의 이벤트는 항상 같은 파티션에서 조회 순서대로 처리 (사용자별 순서 보장)
+ * 4. 처리 완료 표시는 배치 단위로 한 번에 acknowledge (이벤트마다 UPDATE하지 않음)
+ * 5. 조회는 파티션마다 따로 하고, 파티션별 최고 수위(마지막으로 큐에 넣은 이벤트의 키) 이후만 읽음
+ *    - 백로그가 있는 동안에는 이미 큐에 넣은 이벤트를 다시 읽지 않는다
+ *    - 조회가 새 이벤트를 하나도 찾지 못하면 그 파티션의 수위를 지우고 다음 조회는 처음부터 읽는다
+ *      (늦게 커밋된, 타임스탬프가 더 이른 이벤트는 그때 들어온다 - 처리 중(in-flight)인 이벤트는 건너뜀)
+ *    - in-flight에서 빠지는 시점은 완료 표시가 커밋된 뒤 시작한 다음 조회부터 (중복 투입 방지)
+ *
+ * 처리나 완료 표시가 MAX_ATTEMPTS번 실패하면 그 파티션을 정지한다. 정지된 파티션은 더 이상 조회하지 않고
+ * 이벤트를 processed = 'N'으로 남겨 두므로, 같은 사용자의 뒤 이벤트가 앞질러 처리되지 않고
+ * 다른 파티션의 조회 결과를 차지하지도 않는다.
+ * 처리기를 다시 시작하면 정지가 풀리고 남은 이벤트부터 다시 처리된다 (최소 한 번 처리).
+ */
+public class RealTimeStreamProcessor {
+
+    public static final String EVENT_ID = "event_id";
+    public static final String EVENT_TIMESTAMP = "timestamp";
+    public static final String PARTITION_KEY = "user_id";
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final long WORKER_POLL_MILLIS = 100;
+
+    /**
+     * 파티션 하나의 미처리 이벤트 조회 - processed = 'N'이고 파티션 키가 partition에 속하는 이벤트를
+     * (timestamp, event_id) 순으로 after 이후부터 최대 maxEvents개 반환 (after가 null이면 처음부터)
+     * 조인으로 한 이벤트가 여러 행이 되더라도 maxEvents는 이벤트 수 기준이다.
+     * 같은 user_id는 항상 같은 파티션이어야 한다 (예: MOD(COALESCE(user_id, event_id), partitions) = partition).
+     */
+    public interface EventFetcher {
+        List<Map<String, Object>> fetch(int partition, int partitions, KeysetCursor after, int maxEvents) throws Exception;
+    }
+
+    public interface EventBatchHandler {
+        void handle(List<Map<String, Object>> events) throws Exception;
+    }
+
+    /**
+     * 처리 완료 표시 - 배치 하나의 이벤트 ID 전체를 한 번에 기록
+     */
+    public interface EventAcknowledger {
+        void acknowledge(List<Object> eventIds) throws Exception;
+    }
+
+    private final String name;
+    private final EventFetcher fetcher;
+    private final EventBatchHandler handler;
+    private final EventAcknowledger acknowledger;
+    private final int batchSize;
+    private final long minPollMillis;
+    private final long maxPollMillis;
+    private final List<ArrayBlockingQueue<Map<String, Object>>> queues;
+    private final int queueCapacity;
+
+    // 큐에 넣었거나 처리 중인 이벤트 ID - 조회 결과에서 건너뜀
+    private final Set<Object> inFlight = ConcurrentHashMap.newKeySet();
+    // 완료 표시가 커밋된 이벤트 ID - 다음 조회를 시작하기 전에 inFlight에서 뺀다
+    private final ConcurrentLinkedQueue<Object> acknowledged = new ConcurrentLinkedQueue<>();
+    // 파티션별 정지 여부 (1이면 정지)
+    private final AtomicIntegerArray halted;
+    // 파티션별 최고 수위 - 조회 스레드만 읽고 쓴다 (null이면 처음부터 조회)
+    private final KeysetCursor[] highWaterMarks;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private Thread fetcherThread;
+    private volatile boolean running;
+    private volatile long pollIntervalMillis;
+    private long startNanos;
+
+    private final LongAdder fetched = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder emptyPolls = new LongAdder();
+    private final LongAdder fetchErrors = new LongAdder();
+    private final LongAdder ackErrors = new LongAdder();
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+
+    /**
+     * @param partitions    병렬 처리 파티션(작업 스레드) 수
+     * @param queueCapacity 파티션별 큐 용량
+     */
+    public RealTimeStreamProcessor(String name,
+                                   EventFetcher fetcher,
+                                   EventBatchHandler handler,
+                                   EventAcknowledger acknowledger,
+                                   int batchSize,
+                                   long minPollMillis,
+                                   long maxPollMillis,
+                                   int partitions,
+                                   int queueCapacity) {
+        if (batchSize <= 0 || partitions <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("batchSize, partitions, queueCapacity는 양수여야 합니다: "
+                                               + batchSize + ", " + partitions + ", " + queueCapacity);
+        }
+        if (minPollMillis <= 0 || maxPollMillis < minPollMillis) {
+            throw new IllegalArgumentException("폴링 간격이 올바르지 않습니다: min=" + minPollMillis + ", max=" + maxPollMillis);
+        }
+        this.name = name;
+        this.fetcher = fetcher;
+        this.handler = handler;
+        this.acknowledger = acknowledger;
+        this.batchSize = batchSize;
+        this.minPollMillis = minPollMillis;
+        this.maxPollMillis = maxPollMillis;
+        this.queueCapacity = queueCapacity;
+        this.queues = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            queues.add(new ArrayBlockingQueue<>(queueCapacity));
+        }
+        this.halted = new AtomicIntegerArray(partitions);
+        this.highWaterMarks = new KeysetCursor[partitions];
+        this.pollIntervalMillis = minPollMillis;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("이미 실행 중인 스트림 처리기입니다: " + name);
+        }
+        running = true;
+        startNanos = System.nanoTime();
+        inFlight.clear();
+        acknowledged.clear();
+
+        workers.clear();
+        for (int i = 0; i < queues.size(); i++) {
+            int partition = i;
+            halted.set(partition, 0);
+            highWaterMarks[partition] = null;
+            workers.add(DaemonThreads.start(name + "-worker-" + i, () -> runWorker(partition)));
+        }
+        fetcherThread = DaemonThreads.start(name + "-fetcher", this::runFetcher);
+        System.out.println("RealTimeStreamProcessor[" + name + "] 시작 (파티션 " + queues.size() + "개, 배치 " + batchSize + ")");
+    }
+
+    /**
+     * 정지 - 조회를 멈추고 큐에 남은 이벤트는 처리한 뒤 종료
+     * @return 제한 시간 안에 모든 스레드가 종료되었는지
+     */
+    public synchronized boolean stop(long timeoutMillis) {
+        if (!running) {
+            return true;
+        }
+        running = false;
+        fetcherThread.interrupt();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean stopped = true;
+        List<Thread> threads = new ArrayList<>(workers);
+        threads.add(fetcherThread);
+        for (Thread thread : threads) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            try {
+                thread.join(Math.max(1, remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            stopped &= !thread.isAlive();
+        }
+        if (!stopped) {
+            // 제한 시간 초과 - 처리 중인 배치를 중단 (완료 표시되지 않은 이벤트는 다음 실행에서 다시 처리)
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+        }
+        System.out.println("RealTimeStreamProcessor[" + name + "] 정지: " + metrics());
+        return stopped;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runFetcher() {
+        while (running) {
+            Object settled;
+            while ((settled = acknowledged.poll()) != null) {
+                inFlight.remove(settled);
+            }
+
+            int admitted = 0;
+            boolean backlog = false;
+            try {
+                for (int partition = 0; partition < queues.size() && running; partition++) {
+                    if (halted.get(partition) != 0) {
+                        continue;
+                    }
+                    KeysetCursor after = highWaterMarks[partition];
+                    // 처음부터 읽을 때는 처리 중인 이벤트가 결과 앞쪽을 차지하므로 그만큼 더 조회한다
+                    int limit = after == null ? batchSize + inFlight.size() : batchSize;
+                    List<Map<String, Object>> events = fetcher.fetch(partition, queues.size(), after, limit);
+                    int[] admission = admit(partition, events);
+                    admitted += admission[0];
+                    backlog |= admission[1] >= limit;
+                }
+                polls.increment();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                fetchErrors.increment();
+                System.err.println("RealTimeStreamProcessor[" + name + "] 이벤트 조회 실패: " + e.getMessage());
+                pollIntervalMillis = maxPollMillis;
+                if (!sleep(maxPollMillis)) {
+                    return;
+                }
+                continue;
+            }
+
+            if (admitted == 0) {
+                // 유휴 (새 이벤트 없음) - 대기 시간을 두 배씩 늘림
+                emptyPolls.increment();
+                pollIntervalMillis = Math.min(maxPollMillis, Math.max(minPollMillis, pollIntervalMillis * 2));
+                if (!sleep(pollIntervalMillis)) {
+                    return;
+                }
+                continue;
+            }
+
+            if (backlog) {
+                // 백로그 - 바로 다음 조회
+                pollIntervalMillis = 0;
+            } else {
+                pollIntervalMillis = minPollMillis;
+                if (!sleep(minPollMillis)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 파티션 조회 결과 중 새 이벤트만 파티션 큐에 넣고 최고 수위를 옮김
+     * 한 이벤트가 조인으로 여러 행이 되어도 같은 조회 안의 행은 모두 넣는다.
+     * @return {넣은 이벤트 수, 조회된 이벤트 수}
+     */
+    private int[] admit(int partition, List<Map<String, Object>> events) throws InterruptedException {
+        Set<Object> seenIds = new HashSet<>();
+        Set<Object> admittedIds = new HashSet<>();
+        Map<String, Object> last = null;
+        for (Map<String, Object> event : events) {
+            Object eventId = event.get(EVENT_ID);
+            seenIds.add(eventId);
+            if (!inFlight.add(eventId) && !admittedIds.contains(eventId)) {
+                continue;
+            }
+            admittedIds.add(eventId);
+            queues.get(partition).put(event);
+            last = event;
+        }
+        // 새 이벤트가 없으면 수위를 지워 다음 조회에서 늦게 커밋된 이벤트까지 처음부터 확인
+        highWaterMarks[partition] = last == null ? null : KeysetCursor.fromRow(last, EVENT_TIMESTAMP, EVENT_ID);
+        fetched.add(admittedIds.size());
+        return new int[] {admittedIds.size(), seenIds.size()};
+    }
+
+    private void runWorker(int partition) {
+        ArrayBlockingQueue<Map<String, Object>> queue = queues.get(partition);
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Map<String, Object> first;
+            try {
+                first = queue.poll(WORKER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            if (halted.get(partition) != 0) {
+                // 정지 직전에 들어온 이벤트 - 처리하지 않고 다음 실행으로 넘김
+                release(batch);
+            } else if (!processBatch(partition, batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * @return false면 인터럽트되어 작업 스레드를 종료해야 함
+     */
+    private boolean processBatch(int partition, List<Map<String, Object>> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                handler.handle(Collections.unmodifiableList(batch));
+                break;
+            } catch (Exception e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    failed.add(batch.size());
+                    haltPartition(partition, batch, "배치 처리 실패", e);
+                    return true;
+                }
+                if (!sleep(RETRY_BACKOFF_MILLIS * attempt)) {
+                    return false;
+                }
+            }
+        }
+
+        Set<Object> eventIds = new LinkedHashSet<>();
+        for (Map<String, Object> event : batch) {
+            eventIds.add(event.get(EVENT_ID));
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                acknowledger.acknowledge(new ArrayList<>(eventIds));
+                break;
+            } catch (Exception e) {
+                ackErrors.increment();
+                if (attempt >= MAX_ATTEMPTS) {
+                    // 처리는 됐지만 완료 표시가 없으므로 다시 처리된다 - 뒤 이벤트가 앞지르지 않도록 정지
+                    haltPartition(partition, batch, "완료 표시 실패", e);
+                    return true;
+                }
+                if (!sleep(RETRY_BACKOFF_MILLIS * attempt)) {
+                    return false;
+                }
+            }
+        }
+        acknowledged.addAll(eventIds);
+
+        processed.add(batch.size());
+        batches.increment();
+        Object timestamp = batch.get(batch.size() - 1).get(EVENT_TIMESTAMP);
+        if (timestamp instanceof java.util.Date) {
+            lagMillis.set(System.currentTimeMillis() - ((java.util.Date) timestamp).getTime());
+        }
+        return true;
+    }
+
+    /**
+     * 파티션 정지 - 실패한 배치와 큐에 남은 이벤트를 완료 표시 없이 내려놓는다
+     */
+    private void haltPartition(int partition, List<Map<String, Object>> batch, String reason, Exception cause) {
+        halted.set(partition, 1);
+        release(batch);
+        List<Map<String, Object>> queued = new ArrayList<>();
+        queues.get(partition).drainTo(queued);
+        release(queued);
+        System.err.println("RealTimeStreamProcessor[" + name + "] " + reason + " (" + batch.size()
+                           + "건) - 파티션 " + partition + " 정지, 대기 이벤트 " + queued.size()
+                           + "건은 다음 실행에서 처리: " + cause.getMessage());
+    }
+
+    private void release(List<Map<String, Object>> events) {
+        for (Map<String, Object> event : events) {
+            inFlight.remove(event.get(EVENT_ID));
+        }
+    }
+
+    private boolean sleep(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 처리 지표 - 지연(lag), 처리량, 큐 깊이
+     */
+    public Map<String, Object> metrics() {
+        List<Integer> depthByPartition = new ArrayList<>(queues.size());
+        int queueDepth = 0;
+        for (ArrayBlockingQueue<Map<String, Object>> queue : queues) {
+            depthByPartition.add(queue.size());
+            queueDepth += queue.size();
+        }
+        double elapsedSeconds = startNanos == 0 ? 0.0 : (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        long processedCount = processed.sum();
+        long lag = lagMillis.get();
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("name", name);
+        metrics.put("running", running);
+        metrics.put("partitions", queues.size());
+        metrics.put("queueDepth", queueDepth);
+        metrics.put("queueDepthByPartition", depthByPartition);
+        metrics.put("queueCapacity", queueCapacity * queues.size());
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("haltedPartitions", haltedPartitions());
+        metrics.put("pollIntervalMillis", pollIntervalMillis);
+        metrics.put("fetched", fetched.sum());
+        metrics.put("processed", processedCount);
+        metrics.put("failed", failed.sum());
+        metrics.put("batches", batches.sum());
+        metrics.put("polls", polls.sum());
+        metrics.put("emptyPolls", emptyPolls.sum());
+        metrics.put("fetchErrors", fetchErrors.sum());
+        metrics.put("ackErrors", ackErrors.sum());
+        metrics.put("throughputPerSecond", elapsedSeconds == 0 ? 0.0 : processedCount / elapsedSeconds);
+        metrics.put("lagMillis", lag < 0 ? null : lag);
+        return metrics;
+    }
+
+    private List<Integer> haltedPartitions() {
+        List<Integer> partitions = new ArrayList<>();
+        for (int i = 0; i < halted.length(); i++) {
+            if (halted.get(i) != 0) {
+                partitions.add(i);
+            }
+        }
+        return partitions;
+    }
+
+    public String getName() { return name; }
+}
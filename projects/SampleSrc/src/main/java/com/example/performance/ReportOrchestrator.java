@@ -0,0 +1,242 @@
+package com.example.performance;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * 리포트 섹션 병렬 실행기 - 서로 독립적인 조회(섹션)를 제한된 스레드 풀에서 동시에 실행
+ * 리포트 섹션 외에도 제한 시간이 있는 병렬 조회(fan-out)는 모두 이 클래스를 사용한다 (예: 환경별 재고 지표).
+ *
+ * 사용 예:
+ *   ReportOrchestrator.Plan plan = ReportOrchestrator.shared().plan();
+ *   plan.section("userActivity", () -> queryUserActivity(...), rows -> report.put("userActivity", rows));
+ *   plan.section("trends", 5000, () -> analyzeSalesTrends(...), builder::trendsAnalysis);
+ *   Map<String, SectionOutcome> outcomes = plan.execute();
+ *
+ * 특징:
+ * 1. 전체 소요 시간은 섹션 시간의 합이 아니라 가장 느린 섹션의 시간
+ * 2. 섹션마다 마감 시간 - 넘기면 cancel(true) 후 TIMEOUT으로 기록하고 나머지 결과로 응답
+ * 3. 결과 소비(onResult)는 execute()를 호출한 스레드에서 완료 순서대로 실행 - 결과 조립에 동기화 불필요
+ * 4. 섹션 안에서 같은 풀에 다른 섹션을 제출하고 기다리면 안 된다 (풀 고갈) - 섹션은 한 Plan에 평평하게 추가
+ */
+public class ReportOrchestrator {
+
+    public static final long DEFAULT_SECTION_TIMEOUT_MILLIS = 30_000;
+
+    // DataSource 풀 크기(기본 10) 이하 - 섹션마다 커넥션 하나를 쓴다
+    private static final int DEFAULT_THREADS = 10;
+
+    private static final ReportOrchestrator SHARED = new ReportOrchestrator("report-section", DEFAULT_THREADS);
+
+    public enum Status { COMPLETED, TIMEOUT, ERROR, REJECTED, CANCELLED }
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param threads 동시 실행 섹션 수 (섹션마다 커넥션 하나를 쓰므로 풀 크기 이하 권장)
+     */
+    public ReportOrchestrator(String threadPrefix, int threads) {
+        this.executor = DaemonThreads.boundedPool(threadPrefix, threads, threads * 8);
+    }
+
+    public static ReportOrchestrator shared() {
+        return SHARED;
+    }
+
+    public Plan plan() {
+        return new Plan();
+    }
+
+    /**
+     * 한 번의 리포트 생성에 필요한 섹션 목록 (재사용하지 않음)
+     */
+    public final class Plan {
+
+        private final List<Section<?>> sections = new ArrayList<>();
+        private boolean executed;
+
+        public <T> Plan section(String name, Callable<T> task, Consumer<? super T> onResult) {
+            return section(name, DEFAULT_SECTION_TIMEOUT_MILLIS, task, onResult);
+        }
+
+        public <T> Plan section(String name, long timeoutMillis, Callable<T> task, Consumer<? super T> onResult) {
+            if (timeoutMillis <= 0) {
+                throw new IllegalArgumentException("섹션 제한 시간은 양수여야 합니다: " + name + "=" + timeoutMillis);
+            }
+            for (Section<?> section : sections) {
+                if (section.name.equals(name)) {
+                    throw new IllegalArgumentException("중복된 섹션 이름: " + name);
+                }
+            }
+            sections.add(new Section<>(name, timeoutMillis, task, onResult));
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return sections.isEmpty();
+        }
+
+        /**
+         * 모든 섹션을 제출하고, 완료되는 순서대로 onResult를 호출
+         * 각 섹션은 완료 또는 마감 시간 경과 중 먼저 오는 시점에 정리된다.
+         *
+         * @return 섹션 이름 -> 실행 결과 (추가한 순서)
+         */
+        public Map<String, SectionOutcome> execute() {
+            if (executed) {
+                throw new IllegalStateException("이미 실행된 Plan입니다");
+            }
+            executed = true;
+
+            Map<String, SectionOutcome> outcomes = new LinkedHashMap<>();
+            for (Section<?> section : sections) {
+                outcomes.put(section.name, null);
+            }
+
+            long startNanos = System.nanoTime();
+            CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+            Map<Future<Object>, Section<?>> pending = new HashMap<>();
+            for (Section<?> section : sections) {
+                section.deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(section.timeoutMillis);
+                try {
+                    pending.put(completion.submit(section.task::call), section);
+                } catch (RejectedExecutionException e) {
+                    outcomes.put(section.name, new SectionOutcome(Status.REJECTED, 0, "섹션 실행 큐가 가득 찼습니다"));
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                long nextDeadline = Long.MAX_VALUE;
+                for (Section<?> section : pending.values()) {
+                    nextDeadline = Math.min(nextDeadline, section.deadlineNanos);
+                }
+
+                Future<Object> done;
+                try {
+                    done = completion.poll(Math.max(0, nextDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    for (Map.Entry<Future<Object>, Section<?>> entry : pending.entrySet()) {
+                        entry.getKey().cancel(true);
+                        outcomes.put(entry.getValue().name, new SectionOutcome(Status.CANCELLED, elapsedMillis(startNanos), null));
+                    }
+                    break;
+                }
+
+                if (done == null) {
+                    expire(pending, outcomes, startNanos);
+                    continue;
+                }
+                Section<?> section = pending.remove(done);
+                if (section == null) {
+                    // 마감 시간 초과로 이미 취소한 섹션
+                    continue;
+                }
+                outcomes.put(section.name, deliver(section, done, startNanos));
+            }
+
+            logIncomplete(outcomes);
+            return outcomes;
+        }
+
+        private void expire(Map<Future<Object>, Section<?>> pending, Map<String, SectionOutcome> outcomes, long startNanos) {
+            long now = System.nanoTime();
+            Iterator<Map.Entry<Future<Object>, Section<?>>> it = pending.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Future<Object>, Section<?>> entry = it.next();
+                if (entry.getValue().deadlineNanos - now <= 0) {
+                    entry.getKey().cancel(true);
+                    outcomes.put(entry.getValue().name,
+                                 new SectionOutcome(Status.TIMEOUT, elapsedMillis(startNanos),
+                                                    entry.getValue().timeoutMillis + "ms 초과"));
+                    it.remove();
+                }
+            }
+        }
+
+        private SectionOutcome deliver(Section<?> section, Future<Object> done, long startNanos) {
+            try {
+                section.deliver(done.get());
+                return new SectionOutcome(Status.COMPLETED, elapsedMillis(startNanos), null);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                return new SectionOutcome(Status.ERROR, elapsedMillis(startNanos), cause.getMessage());
+            } catch (CancellationException e) {
+                return new SectionOutcome(Status.CANCELLED, elapsedMillis(startNanos), null);
+            } catch (InterruptedException e) {
+                // done.get()은 완료된 Future라 대기하지 않음
+                Thread.currentThread().interrupt();
+                return new SectionOutcome(Status.CANCELLED, elapsedMillis(startNanos), null);
+            } catch (RuntimeException e) {
+                // onResult 실패
+                return new SectionOutcome(Status.ERROR, elapsedMillis(startNanos), e.getMessage());
+            }
+        }
+
+        private void logIncomplete(Map<String, SectionOutcome> outcomes) {
+            for (Map.Entry<String, SectionOutcome> entry : outcomes.entrySet()) {
+                if (!entry.getValue().isCompleted()) {
+                    System.err.println("리포트 섹션 미완료: " + entry.getKey() + " " + entry.getValue().toMap());
+                }
+            }
+        }
+    }
+
+    private static final class Section<T> {
+        final String name;
+        final long timeoutMillis;
+        final Callable<T> task;
+        final Consumer<? super T> onResult;
+        long deadlineNanos;
+
+        Section(String name, long timeoutMillis, Callable<T> task, Consumer<? super T> onResult) {
+            this.name = name;
+            this.timeoutMillis = timeoutMillis;
+            this.task = task;
+            this.onResult = onResult;
+        }
+
+        @SuppressWarnings("unchecked")
+        void deliver(Object value) {
+            onResult.accept((T) value);
+        }
+    }
+
+    /**
+     * 섹션 실행 결과 - elapsedMillis는 Plan 실행 시작부터 섹션이 정리된 시점까지
+     */
+    public static final class SectionOutcome {
+        private final Status status;
+        private final long elapsedMillis;
+        private final String error;
+
+        SectionOutcome(Status status, long elapsedMillis, String error) {
+            this.status = status;
+            this.elapsedMillis = elapsedMillis;
+            this.error = error;
+        }
+
+        public Status getStatus() { return status; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public String getError() { return error; }
+
+        public boolean isCompleted() {
+            return status == Status.COMPLETED;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("status", status.name());
+            map.put("elapsedMillis", elapsedMillis);
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
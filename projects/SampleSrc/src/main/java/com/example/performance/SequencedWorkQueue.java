@@ -0,0 +1,211 @@
+package com.example.performance;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 순서 보장 작업 큐 - 키별 MPSC 링 버퍼 샤드와 샤드마다 하나의 소비자 워커
+ * 연관관계: LargeBusinessClass.processingQueue -> SequencedWorkQueue -> MpscRingBuffer
+ *
+ * - 같은 키(예: 데이터 유형)는 항상 같은 샤드로 가므로 키 안에서는 제출 순서대로 처리된다
+ * - 작업 ID = 샤드 시퀀스 * 샤드 수 + 샤드 번호 (전역 유일, 샤드 안에서 단조 증가)
+ * - 용량이 차면 제출은 지정한 시간만큼만 기다리고 -1을 반환한다 (무한정 쌓이지 않음)
+ * - 워커는 비어 있으면 잠깐 돌다가 깨울 때까지 잠들고(유휴 시 주기적으로 깨어나지 않음), 생산자가 잠든 워커만 깨운다
+ * - 워커는 데몬 스레드이며 close()로 남은 작업을 처리하고 멈춘다
+ * - 처리기 예외는 워커를 멈추지 않고 실패 건수로 집계한다
+ */
+public class SequencedWorkQueue<E> implements AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final int DEFAULT_WORKERS = 2;
+
+    private static final int DRAIN_BATCH = 256;
+    private static final int IDLE_SPINS = 64;
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * 작업 처리기 - 샤드 워커 스레드에서 호출된다
+     */
+    public interface Handler<E> {
+        void handle(long id, E item) throws Exception;
+    }
+
+    private final String name;
+    private final Handler<E> handler;
+    private final Shard<E>[] shards;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param capacityPerShard 샤드별 용량 (2의 거듭제곱)
+     */
+    public SequencedWorkQueue(String name, int workers, int capacityPerShard, Handler<E> handler) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("워커 수는 1 이상이어야 합니다: " + workers);
+        }
+        this.name = name;
+        this.handler = handler;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Shard<E>[] created = new Shard[workers];
+        for (int i = 0; i < workers; i++) {
+            created[i] = new Shard<>(i, new MpscRingBuffer<>(capacityPerShard));
+        }
+        this.shards = created;
+        for (Shard<E> shard : shards) {
+            shard.worker = DaemonThreads.start(name + "-worker-" + shard.index, () -> runWorker(shard));
+        }
+    }
+
+    /**
+     * 기다리지 않고 제출 - 작업 ID, 가득 찼거나 닫혔으면 -1
+     */
+    public long offer(Object key, E item) {
+        return submit(key, item, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 자리가 날 때까지 최대 timeout 동안 기다려 제출 - 작업 ID, 시간 초과나 닫힌 큐면 -1
+     */
+    public long submit(Object key, E item, long timeout, TimeUnit unit) {
+        Shard<E> shard = shardFor(key);
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (running) {
+            long sequence = shard.ring.offer(item);
+            if (sequence >= 0) {
+                submitted.increment();
+                if (shard.parked) {
+                    LockSupport.unpark(shard.worker);
+                }
+                return sequence * shards.length + shard.index;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            // 가득 참 - 소비자가 자고 있으면 깨우고 잠깐 양보
+            LockSupport.unpark(shard.worker);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        rejected.increment();
+        return -1;
+    }
+
+    /**
+     * 지금까지 제출된 미처리 작업을 버린다 - 워커가 꺼낼 때 건너뛰므로 생산자/소비자를 멈추지 않는다
+     */
+    public void discardPending() {
+        for (Shard<E> shard : shards) {
+            shard.discardBelow = shard.ring.nextSequence();
+        }
+    }
+
+    public int pending() {
+        int pending = 0;
+        for (Shard<E> shard : shards) {
+            pending += shard.ring.size();
+        }
+        return pending;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("name", name);
+        metrics.put("workers", shards.length);
+        metrics.put("capacity", shards.length * shards[0].ring.capacity());
+        metrics.put("pending", pending());
+        metrics.put("submitted", submitted.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("processed", processed.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("discarded", discarded.sum());
+        return metrics;
+    }
+
+    /**
+     * 새 제출을 막고, 워커가 남은 작업을 처리한 뒤 종료할 때까지 기다린다
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Shard<E> shard : shards) {
+            LockSupport.unpark(shard.worker);
+        }
+        for (Shard<E> shard : shards) {
+            try {
+                shard.worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Shard<E> shardFor(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return shards[Math.floorMod(h ^ (h >>> 16), shards.length)];
+    }
+
+    private void runWorker(Shard<E> shard) {
+        MpscRingBuffer.SequencedConsumer<E> consumer = (sequence, item) -> {
+            if (sequence < shard.discardBelow) {
+                discarded.increment();
+                return;
+            }
+            try {
+                handler.handle(sequence * shards.length + shard.index, item);
+                processed.increment();
+            } catch (Exception e) {
+                failed.increment();
+                System.err.println(name + " 작업 처리 실패 (샤드 " + shard.index + ", 시퀀스 " + sequence + "): " + e.getMessage());
+            }
+        };
+
+        int idle = 0;
+        while (true) {
+            if (shard.ring.drain(consumer, DRAIN_BATCH) > 0) {
+                idle = 0;
+                continue;
+            }
+            if (!running) {
+                // 닫힌 뒤 마지막으로 한 번 더 비운다 (닫히기 직전에 제출된 작업)
+                if (shard.ring.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            if (++idle < IDLE_SPINS) {
+                Thread.onSpinWait();
+                continue;
+            }
+            shard.parked = true;
+            // parked 기록 후 다시 확인 - 그 사이 제출된 작업이 있으면 잠들지 않는다.
+            // 생산자는 tail 증가 후 parked를 읽으므로 둘 중 하나는 상대의 기록을 본다 (깨우기 누락 없음)
+            if (shard.ring.isEmpty() && running) {
+                LockSupport.park(this);
+            }
+            shard.parked = false;
+            idle = 0;
+        }
+    }
+
+    private static final class Shard<E> {
+        final int index;
+        final MpscRingBuffer<E> ring;
+        Thread worker;
+        volatile boolean parked;
+        volatile long discardBelow;
+
+        Shard(int index, MpscRingBuffer<E> ring) {
+            this.index = index;
+            this.ring = ring;
+        }
+    }
+}
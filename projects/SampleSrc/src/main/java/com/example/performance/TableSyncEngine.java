@@ -0,0 +1,802 @@
+package com.example.performance;
+
+import com.example.dao.SqlTemplateRegistry;
+import com.example.pagination.KeysetCursor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 환경 간 테이블 동기화 엔진
+ * 목적: 테이블 전체를 리스트로 읽어 한 번에 INSERT하던 방식을 스트리밍 + 배치 + 재개 가능 구조로 대체
+ *
+ * 특징:
+ * 1. 의존 순서 실행 - 선행 테이블(users -> orders -> order_items)이 끝난 뒤 시작,
+ *    서로 독립인 테이블은 parallelism 개까지 동시에 실행
+ * 2. 소스 커서(JdbcRowStreamer)에서 batchSize 행씩 받아 JDBC 배치로 기록 - 메모리에는 배치 하나만 유지
+ *    키 기준 upsert(배치 UPDATE 후 갱신되지 않은 행만 배치 INSERT)라 재전송/증분 동기화에도 중복 키가 생기지 않는다
+ * 3. 배치마다 커밋하고 마지막 키(KeysetCursor)를 체크포인트로 저장 - 실패 후 재실행 시 이어서 동기화
+ * 4. 테이블별 처리량(rows/s), 대기 시간, 지연(lag: 동기화한 행 중 가장 늦은 updated_date 이후 경과 시간) 보고
+ *
+ * 선행 테이블이 실패하면 후행 테이블은 SKIPPED로 남고, 다음 실행에서 함께 재개된다.
+ * 소스/타겟 환경은 같은 DataSource의 테이블 접미사(users_prod, users_dev)로 구분한다.
+ */
+public class TableSyncEngine {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private static final int FLAG_UPDATED_SINCE = 1;
+    private static final int FLAG_RESUME = 2;
+
+    private static final SqlTemplateRegistry SQL_TEMPLATES = SqlTemplateRegistry.shared();
+
+    /**
+     * 기본 동기화 대상 - 키 컬럼(재개용 정렬 키)과 선행 테이블
+     */
+    public static final List<TableSpec> DEFAULT_TABLES = Collections.unmodifiableList(Arrays.asList(
+        TableSpec.of("departments", "dept_id"),
+        TableSpec.of("customers", "customer_id"),
+        TableSpec.of("roles", "role_id"),
+        TableSpec.of("categories", "category_id"),
+        TableSpec.of("brands", "brand_id"),
+        TableSpec.of("users", "user_id").after("departments", "customers"),
+        TableSpec.of("user_profiles", "user_id").after("users"),
+        TableSpec.of("user_roles", "user_id", "role_id").after("users", "roles"),
+        TableSpec.of("user_settings", "setting_id").after("users"),
+        TableSpec.of("products", "product_id").after("categories", "brands"),
+        TableSpec.of("orders", "order_id").after("users", "customers"),
+        TableSpec.of("order_items", "item_id").after("orders", "products"),
+        TableSpec.of("payments", "payment_id").after("orders"),
+        TableSpec.of("shipments", "shipment_id").after("orders"),
+        TableSpec.of("invoices", "invoice_id").after("orders")
+    ));
+
+    private final DataSource dataSource;
+    private final CheckpointStore checkpoints;
+    private final int batchSize;
+    private final int parallelism;
+
+    public TableSyncEngine(DataSource dataSource, CheckpointStore checkpoints, int batchSize, int parallelism) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.dataSource = dataSource;
+        this.checkpoints = checkpoints;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 동기화 실행
+     * @param syncId       체크포인트 구분 키 (같은 syncId로 다시 실행하면 이어서 동기화)
+     * @param updatedSince null이 아니면 updated_date >= updatedSince 인 행만 동기화
+     */
+    public SyncReport synchronize(String syncId,
+                                  String sourceEnv,
+                                  String targetEnv,
+                                  List<TableSpec> tables,
+                                  Object updatedSince) {
+        List<TableSpec> ordered = topologicalOrder(tables);
+        long runStart = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, DaemonThreads.factory("table-sync"));
+
+        Map<String, CompletableFuture<TableSyncResult>> futures = new LinkedHashMap<>();
+        try {
+            for (TableSpec table : ordered) {
+                List<CompletableFuture<TableSyncResult>> parents = new ArrayList<>();
+                for (String parent : table.dependsOn) {
+                    parents.add(futures.get(parent));
+                }
+                CompletableFuture<TableSyncResult> future = CompletableFuture
+                    .allOf(parents.toArray(new CompletableFuture<?>[0]))
+                    .thenApplyAsync(ignored -> {
+                        for (CompletableFuture<TableSyncResult> parent : parents) {
+                            TableSyncResult parentResult = parent.join();
+                            if (!parentResult.isSuccess()) {
+                                return TableSyncResult.skipped(table.name, parentResult.getTable());
+                            }
+                        }
+                        return syncTable(syncId, table, sourceEnv, targetEnv, updatedSince, runStart);
+                    }, executor);
+                futures.put(table.name, future);
+            }
+
+            List<TableSyncResult> results = new ArrayList<>();
+            for (CompletableFuture<TableSyncResult> future : futures.values()) {
+                results.add(future.join());
+            }
+
+            SyncReport report = new SyncReport(syncId, sourceEnv, targetEnv, results,
+                                               TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - runStart));
+            if (report.isSuccess()) {
+                // 전체 성공 시 체크포인트 제거 - 다음 실행은 처음부터 동기화
+                checkpoints.clear(syncId);
+            }
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 테이블 하나 동기화 - 소스 커서를 batchSize 단위로 읽어 타겟에 배치 upsert
+     */
+    private TableSyncResult syncTable(String syncId,
+                                      TableSpec table,
+                                      String sourceEnv,
+                                      String targetEnv,
+                                      Object updatedSince,
+                                      long runStart) {
+        long startNanos = System.nanoTime();
+        long waitMillis = TimeUnit.NANOSECONDS.toMillis(startNanos - runStart);
+        long resumedRows = 0;
+        boolean resumed = false;
+        BatchWriter writer = null;
+
+        try {
+            TableCheckpoint checkpoint = checkpoints.load(syncId, table.name);
+            if (checkpoint != null && checkpoint.isCompleted()) {
+                return TableSyncResult.alreadyCompleted(table.name, checkpoint.getRowsSynced());
+            }
+            KeysetCursor resumeFrom = checkpoint != null ? KeysetCursor.decode(checkpoint.getCursorToken()) : null;
+            resumed = resumeFrom != null;
+            resumedRows = checkpoint != null ? checkpoint.getRowsSynced() : 0;
+
+            int flags = (updatedSince != null ? FLAG_UPDATED_SINCE : 0) | (resumed ? FLAG_RESUME : 0);
+            String extractQuery = SQL_TEMPLATES.render("sync.extract." + table.name, flags, table::extractShape,
+                                                       table.name, sourceEnv);
+            List<Object> parameters = new ArrayList<>();
+            if (updatedSince != null) {
+                parameters.add(updatedSince);
+            }
+            if (resumed) {
+                parameters.addAll(resumeFrom.expandedBindValues());
+            }
+
+            try (Connection target = dataSource.getConnection()) {
+                boolean previousAutoCommit = target.getAutoCommit();
+                target.setAutoCommit(false);
+                writer = new BatchWriter(syncId, table, targetEnv, target, resumedRows);
+                BatchWriter batchWriter = writer;
+                try {
+                    new JdbcRowStreamer(dataSource).stream(extractQuery, parameters, batchSize, chunk -> {
+                        try {
+                            batchWriter.write(chunk);
+                        } catch (SQLException e) {
+                            throw new BatchWriteException(e);
+                        }
+                    });
+                    saveCheckpoint(target, new TableCheckpoint(syncId, table.name, writer.lastCursorToken(checkpoint),
+                                                               writer.totalRows, true));
+                } catch (BatchWriteException e) {
+                    // 커밋되지 않은 현재 배치만 되돌림 - 체크포인트는 직전 배치 위치
+                    target.rollback();
+                    throw e.getCause();
+                } catch (SQLException | RuntimeException e) {
+                    target.rollback();
+                    throw e;
+                } finally {
+                    batchWriter.close();
+                    target.setAutoCommit(previousAutoCommit);
+                }
+            }
+
+            return TableSyncResult.completed(table.name, writer.rows, writer.totalRows, resumed,
+                                             writer.batches, waitMillis, elapsedMillis(startNanos), writer.lagMillis());
+        } catch (Exception e) {
+            System.err.println("테이블 동기화 실패: " + table.name + " (" + sourceEnv + " -> " + targetEnv + "): " + e.getMessage());
+            long rows = writer != null ? writer.rows : 0;
+            long batches = writer != null ? writer.batches : 0;
+            return TableSyncResult.failed(table.name, rows, resumedRows + rows, resumed, batches,
+                                          waitMillis, elapsedMillis(startNanos), e);
+        }
+    }
+
+    /**
+     * 배치 커밋과 체크포인트 저장 순서
+     * 트랜잭션 저장소는 같은 트랜잭션에서 저장(정확히 한 번), 그 외에는 커밋 후 저장(커밋 전 크래시 시 배치 재전송)
+     */
+    private void saveCheckpoint(Connection target, TableCheckpoint checkpoint) throws SQLException {
+        if (checkpoints.isTransactional()) {
+            checkpoints.save(target, checkpoint);
+            target.commit();
+        } else {
+            target.commit();
+            checkpoints.save(target, checkpoint);
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 의존 순서 정렬 (Kahn) - 누락된 선행 테이블이나 순환이 있으면 IllegalArgumentException
+     */
+    static List<TableSpec> topologicalOrder(List<TableSpec> tables) {
+        Map<String, TableSpec> byName = new LinkedHashMap<>();
+        for (TableSpec table : tables) {
+            if (byName.put(table.name, table) != null) {
+                throw new IllegalArgumentException("중복된 동기화 테이블: " + table.name);
+            }
+        }
+
+        Map<String, Integer> remainingParents = new HashMap<>();
+        Map<String, List<String>> children = new HashMap<>();
+        for (TableSpec table : tables) {
+            for (String parent : table.dependsOn) {
+                if (!byName.containsKey(parent)) {
+                    throw new IllegalArgumentException(table.name + "의 선행 테이블이 동기화 대상에 없습니다: " + parent);
+                }
+                children.computeIfAbsent(parent, key -> new ArrayList<>()).add(table.name);
+            }
+            remainingParents.put(table.name, table.dependsOn.size());
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        for (TableSpec table : tables) {
+            if (table.dependsOn.isEmpty()) {
+                ready.add(table.name);
+            }
+        }
+
+        List<TableSpec> ordered = new ArrayList<>(tables.size());
+        while (!ready.isEmpty()) {
+            String name = ready.poll();
+            ordered.add(byName.get(name));
+            for (String child : children.getOrDefault(name, Collections.emptyList())) {
+                if (remainingParents.merge(child, -1, Integer::sum) == 0) {
+                    ready.add(child);
+                }
+            }
+        }
+
+        if (ordered.size() != tables.size()) {
+            throw new IllegalArgumentException("동기화 테이블 의존 관계에 순환이 있습니다");
+        }
+        return ordered;
+    }
+
+    /**
+     * 타겟 배치 기록기 - 첫 청크의 컬럼으로 UPDATE/INSERT 문을 한 번만 준비
+     * 배치마다 키 기준 UPDATE를 먼저 실행하고, 갱신 건수가 0인 행만 INSERT한다 (JdbcCheckpointStore.save와 같은 방식).
+     */
+    private final class BatchWriter implements AutoCloseable {
+
+        private final String syncId;
+        private final TableSpec table;
+        private final String targetEnv;
+        private final Connection target;
+        private PreparedStatement update;
+        private PreparedStatement insert;
+        private String[] columns;
+        // 키/수정일 컬럼의 결과 라벨 - 드라이버에 따라 대문자(Oracle: USER_ID)로 오므로 대소문자 무시로 찾는다
+        private String[] keyLabels;
+        private String[] valueLabels;
+        private String updatedLabel;
+        private String lastCursorToken;
+        private long maxUpdatedMillis = Long.MIN_VALUE;
+        private long rows;
+        private long totalRows;
+        private long batches;
+
+        BatchWriter(String syncId, TableSpec table, String targetEnv, Connection target, long resumedRows) {
+            this.syncId = syncId;
+            this.table = table;
+            this.targetEnv = targetEnv;
+            this.target = target;
+            this.totalRows = resumedRows;
+        }
+
+        void write(List<Map<String, Object>> chunk) throws SQLException {
+            if (update == null) {
+                prepareStatements(chunk.get(0));
+            }
+            for (Map<String, Object> row : chunk) {
+                int index = 1;
+                for (String label : valueLabels) {
+                    update.setObject(index++, row.get(label));
+                }
+                for (String label : keyLabels) {
+                    update.setObject(index++, row.get(label));
+                }
+                update.addBatch();
+                trackUpdated(row.get(updatedLabel));
+            }
+            int[] updated = update.executeBatch();
+
+            int inserts = 0;
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == Statement.SUCCESS_NO_INFO) {
+                    throw new SQLException("드라이버가 배치 갱신 건수를 돌려주지 않아 upsert할 수 없습니다: " + table.name);
+                }
+                if (updated[i] == 0) {
+                    Map<String, Object> row = chunk.get(i);
+                    for (int c = 0; c < columns.length; c++) {
+                        insert.setObject(c + 1, row.get(columns[c]));
+                    }
+                    insert.addBatch();
+                    inserts++;
+                }
+            }
+            if (inserts > 0) {
+                insert.executeBatch();
+            }
+
+            Map<String, Object> last = chunk.get(chunk.size() - 1);
+            lastCursorToken = KeysetCursor.fromRow(last, keyLabels).encode();
+            rows += chunk.size();
+            totalRows += chunk.size();
+            batches++;
+
+            saveCheckpoint(target, new TableCheckpoint(syncId, table.name, lastCursorToken, totalRows, false));
+        }
+
+        private void prepareStatements(Map<String, Object> firstRow) throws SQLException {
+            columns = firstRow.keySet().toArray(new String[0]);
+            keyLabels = new String[table.keyColumns.length];
+            for (int i = 0; i < keyLabels.length; i++) {
+                keyLabels[i] = label(table.keyColumns[i]);
+                if (keyLabels[i] == null) {
+                    throw new IllegalArgumentException("추출 결과에 키 컬럼이 없습니다: " + table.name + "." + table.keyColumns[i]);
+                }
+            }
+            List<String> keys = Arrays.asList(keyLabels);
+            List<String> values = new ArrayList<>();
+            for (String column : columns) {
+                if (!keys.contains(column)) {
+                    values.add(column);
+                }
+            }
+            valueLabels = values.toArray(new String[0]);
+            updatedLabel = label("updated_date");
+
+            String targetTable = table.name + "_" + targetEnv;
+            // 키 외 컬럼이 없으면 존재 여부만 확인하도록 키를 자기 자신으로 갱신
+            String assignments = valueLabels.length > 0
+                ? String.join(" = ?, ", valueLabels) + " = ?"
+                : keyLabels[0] + " = " + keyLabels[0];
+            update = target.prepareStatement("UPDATE " + targetTable + " SET " + assignments
+                                             + " WHERE " + String.join(" = ? AND ", keyLabels) + " = ?");
+            insert = target.prepareStatement("INSERT INTO " + targetTable + " (" + String.join(", ", columns)
+                                             + ") VALUES (" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")");
+        }
+
+        private String label(String column) {
+            for (String candidate : columns) {
+                if (candidate.equalsIgnoreCase(column)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private void trackUpdated(Object updated) {
+            long millis;
+            if (updated instanceof java.util.Date) {
+                millis = ((java.util.Date) updated).getTime();
+            } else if (updated instanceof LocalDateTime) {
+                millis = Timestamp.valueOf((LocalDateTime) updated).getTime();
+            } else {
+                return;
+            }
+            maxUpdatedMillis = Math.max(maxUpdatedMillis, millis);
+        }
+
+        String lastCursorToken(TableCheckpoint previous) {
+            if (lastCursorToken != null) {
+                return lastCursorToken;
+            }
+            return previous != null ? previous.getCursorToken() : null;
+        }
+
+        /**
+         * 이번 실행에서 기록한 행 중 가장 늦은 updated_date 이후 경과 시간 (행이 키 순서라 마지막 행이 최신이 아님)
+         */
+        Long lagMillis() {
+            return maxUpdatedMillis == Long.MIN_VALUE ? null : System.currentTimeMillis() - maxUpdatedMillis;
+        }
+
+        /**
+         * 준비한 문장 정리 - 실패 처리 중 호출되므로 닫기 오류로 원래 예외를 가리지 않는다
+         */
+        @Override
+        public void close() {
+            for (PreparedStatement statement : new PreparedStatement[] {update, insert}) {
+                if (statement == null) {
+                    continue;
+                }
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    System.err.println("동기화 배치 문장 닫기 실패: " + table.name + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 체크포인트 쓰기 중 SQLException을 스트리머 컨슈머 밖으로 전달하기 위한 래퍼
+     */
+    private static final class BatchWriteException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BatchWriteException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
+    /**
+     * 동기화 대상 테이블 정의
+     */
+    public static final class TableSpec {
+
+        private final String name;
+        private final String[] keyColumns;
+        private final List<String> dependsOn;
+
+        private TableSpec(String name, String[] keyColumns, List<String> dependsOn) {
+            this.name = name;
+            this.keyColumns = keyColumns;
+            this.dependsOn = dependsOn;
+        }
+
+        /**
+         * @param keyColumns 유일한 정렬 키 (보통 PK) - 재개 위치 계산에 사용
+         */
+        public static TableSpec of(String name, String... keyColumns) {
+            if (keyColumns.length == 0) {
+                throw new IllegalArgumentException("동기화 테이블에는 키 컬럼이 필요합니다: " + name);
+            }
+            return new TableSpec(name, keyColumns.clone(), Collections.emptyList());
+        }
+
+        public TableSpec after(String... parents) {
+            return new TableSpec(name, keyColumns, Collections.unmodifiableList(Arrays.asList(parents.clone())));
+        }
+
+        /**
+         * 추출 쿼리 형태 - %1$s 테이블명, %2$s 소스 환경
+         */
+        private String extractShape(int flags) {
+            StringBuilder query = new StringBuilder("SELECT * FROM %1$s_%2$s");
+            boolean hasWhere = false;
+            if ((flags & FLAG_UPDATED_SINCE) != 0) {
+                query.append(" WHERE updated_date >= ?");
+                hasWhere = true;
+            }
+            if ((flags & FLAG_RESUME) != 0) {
+                query.append(hasWhere ? " AND " : " WHERE ");
+                query.append(KeysetCursor.expandedSeekPredicate(false, keyColumns));
+            }
+            query.append(' ').append(KeysetCursor.orderByClause(false, keyColumns));
+            return query.toString();
+        }
+
+        public String getName() { return name; }
+        public List<String> getDependsOn() { return dependsOn; }
+    }
+
+    /**
+     * 테이블별 진행 위치 - 마지막으로 커밋된 행의 키와 누적 행 수
+     */
+    public static final class TableCheckpoint {
+
+        private final String syncId;
+        private final String table;
+        private final String cursorToken;
+        private final long rowsSynced;
+        private final boolean completed;
+
+        public TableCheckpoint(String syncId, String table, String cursorToken, long rowsSynced, boolean completed) {
+            this.syncId = syncId;
+            this.table = table;
+            this.cursorToken = cursorToken;
+            this.rowsSynced = rowsSynced;
+            this.completed = completed;
+        }
+
+        public String getSyncId() { return syncId; }
+        public String getTable() { return table; }
+        public String getCursorToken() { return cursorToken; }
+        public long getRowsSynced() { return rowsSynced; }
+        public boolean isCompleted() { return completed; }
+    }
+
+    /**
+     * 체크포인트 저장소
+     */
+    public interface CheckpointStore {
+
+        TableCheckpoint load(String syncId, String table);
+
+        /**
+         * @param targetConnection 현재 배치의 타겟 트랜잭션 (트랜잭션 저장소만 사용)
+         */
+        void save(Connection targetConnection, TableCheckpoint checkpoint) throws SQLException;
+
+        void clear(String syncId);
+
+        /**
+         * true면 배치와 같은 트랜잭션 안에서 save가 호출된다
+         */
+        boolean isTransactional();
+    }
+
+    /**
+     * 메모리 체크포인트 - 같은 프로세스 안에서 실패한 실행을 재개할 때 사용
+     */
+    public static class InMemoryCheckpointStore implements CheckpointStore {
+
+        private final Map<String, TableCheckpoint> checkpoints = new ConcurrentHashMap<>();
+
+        @Override
+        public TableCheckpoint load(String syncId, String table) {
+            return checkpoints.get(syncId + "/" + table);
+        }
+
+        @Override
+        public void save(Connection targetConnection, TableCheckpoint checkpoint) {
+            checkpoints.put(checkpoint.getSyncId() + "/" + checkpoint.getTable(), checkpoint);
+        }
+
+        @Override
+        public void clear(String syncId) {
+            checkpoints.keySet().removeIf(key -> key.startsWith(syncId + "/"));
+        }
+
+        @Override
+        public boolean isTransactional() {
+            return false;
+        }
+    }
+
+    /**
+     * DB 체크포인트 - 타겟 배치와 같은 트랜잭션에 기록하여 프로세스 재시작 후에도 정확히 이어서 동기화
+     * 테이블: sync_checkpoints (sync_id, table_name, cursor_token, rows_synced, completed, updated_date)
+     */
+    public static class JdbcCheckpointStore implements CheckpointStore {
+
+        private static final String SELECT_SQL =
+            "SELECT cursor_token, rows_synced, completed FROM sync_checkpoints WHERE sync_id = ? AND table_name = ?";
+        private static final String UPDATE_SQL =
+            "UPDATE sync_checkpoints SET cursor_token = ?, rows_synced = ?, completed = ?, updated_date = CURRENT_TIMESTAMP " +
+            "WHERE sync_id = ? AND table_name = ?";
+        private static final String INSERT_SQL =
+            "INSERT INTO sync_checkpoints (sync_id, table_name, cursor_token, rows_synced, completed, updated_date) " +
+            "VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+        private static final String DELETE_SQL =
+            "DELETE FROM sync_checkpoints WHERE sync_id = ?";
+
+        private final DataSource dataSource;
+
+        public JdbcCheckpointStore(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Override
+        public TableCheckpoint load(String syncId, String table) {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(SELECT_SQL)) {
+                pstmt.setString(1, syncId);
+                pstmt.setString(2, table);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    return new TableCheckpoint(syncId, table, rs.getString(1), rs.getLong(2), rs.getBoolean(3));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("동기화 체크포인트 조회 실패: " + syncId + "/" + table, e);
+            }
+        }
+
+        @Override
+        public void save(Connection targetConnection, TableCheckpoint checkpoint) throws SQLException {
+            try (PreparedStatement update = targetConnection.prepareStatement(UPDATE_SQL)) {
+                update.setString(1, checkpoint.getCursorToken());
+                update.setLong(2, checkpoint.getRowsSynced());
+                update.setBoolean(3, checkpoint.isCompleted());
+                update.setString(4, checkpoint.getSyncId());
+                update.setString(5, checkpoint.getTable());
+                if (update.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement insert = targetConnection.prepareStatement(INSERT_SQL)) {
+                insert.setString(1, checkpoint.getSyncId());
+                insert.setString(2, checkpoint.getTable());
+                insert.setString(3, checkpoint.getCursorToken());
+                insert.setLong(4, checkpoint.getRowsSynced());
+                insert.setBoolean(5, checkpoint.isCompleted());
+                insert.executeUpdate();
+            }
+        }
+
+        @Override
+        public void clear(String syncId) {
+            try (Connection conn = dataSource.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(DELETE_SQL)) {
+                pstmt.setString(1, syncId);
+                pstmt.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException("동기화 체크포인트 삭제 실패: " + syncId, e);
+            }
+        }
+
+        @Override
+        public boolean isTransactional() {
+            return true;
+        }
+    }
+
+    /**
+     * 테이블별 동기화 결과와 지표
+     */
+    public static final class TableSyncResult {
+
+        public enum Status { COMPLETED, ALREADY_COMPLETED, FAILED, SKIPPED }
+
+        private final String table;
+        private final Status status;
+        private final long rowsSynced;
+        private final long totalRows;
+        private final boolean resumed;
+        private final long batches;
+        private final long waitMillis;
+        private final long elapsedMillis;
+        private final Long lagMillis;
+        private final String error;
+
+        private TableSyncResult(String table, Status status, long rowsSynced, long totalRows, boolean resumed,
+                                long batches, long waitMillis, long elapsedMillis, Long lagMillis, String error) {
+            this.table = table;
+            this.status = status;
+            this.rowsSynced = rowsSynced;
+            this.totalRows = totalRows;
+            this.resumed = resumed;
+            this.batches = batches;
+            this.waitMillis = waitMillis;
+            this.elapsedMillis = elapsedMillis;
+            this.lagMillis = lagMillis;
+            this.error = error;
+        }
+
+        static TableSyncResult completed(String table, long rows, long totalRows, boolean resumed, long batches,
+                                         long waitMillis, long elapsedMillis, Long lagMillis) {
+            return new TableSyncResult(table, Status.COMPLETED, rows, totalRows, resumed, batches,
+                                       waitMillis, elapsedMillis, lagMillis, null);
+        }
+
+        static TableSyncResult alreadyCompleted(String table, long totalRows) {
+            return new TableSyncResult(table, Status.ALREADY_COMPLETED, 0, totalRows, true, 0, 0, 0, null, null);
+        }
+
+        static TableSyncResult failed(String table, long rows, long totalRows, boolean resumed, long batches,
+                                      long waitMillis, long elapsedMillis, Exception e) {
+            return new TableSyncResult(table, Status.FAILED, rows, totalRows, resumed, batches,
+                                       waitMillis, elapsedMillis, null, e.getMessage());
+        }
+
+        static TableSyncResult skipped(String table, String failedParent) {
+            return new TableSyncResult(table, Status.SKIPPED, 0, 0, false, 0, 0, 0, null,
+                                       "선행 테이블 미완료: " + failedParent);
+        }
+
+        public boolean isSuccess() {
+            return status == Status.COMPLETED || status == Status.ALREADY_COMPLETED;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedMillis == 0 ? 0.0 : rowsSynced * 1000.0 / elapsedMillis;
+        }
+
+        public String getTable() { return table; }
+        public Status getStatus() { return status; }
+        public long getRowsSynced() { return rowsSynced; }
+        public long getTotalRows() { return totalRows; }
+        public boolean isResumed() { return resumed; }
+        public long getBatches() { return batches; }
+        public long getWaitMillis() { return waitMillis; }
+        public long getElapsedMillis() { return elapsedMillis; }
+        public Long getLagMillis() { return lagMillis; }
+        public String getError() { return error; }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("table", table);
+            map.put("status", status.name());
+            map.put("rowsSynced", rowsSynced);
+            map.put("totalRows", totalRows);
+            map.put("resumed", resumed);
+            map.put("batches", batches);
+            map.put("waitMillis", waitMillis);
+            map.put("elapsedMillis", elapsedMillis);
+            map.put("rowsPerSecond", getRowsPerSecond());
+            map.put("lagMillis", lagMillis);
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+
+    /**
+     * 동기화 실행 결과 - 의존 순서대로 정렬된 테이블별 결과
+     */
+    public static final class SyncReport {
+
+        private final String syncId;
+        private final String sourceEnv;
+        private final String targetEnv;
+        private final List<TableSyncResult> tables;
+        private final long elapsedMillis;
+
+        SyncReport(String syncId, String sourceEnv, String targetEnv, List<TableSyncResult> tables, long elapsedMillis) {
+            this.syncId = syncId;
+            this.sourceEnv = sourceEnv;
+            this.targetEnv = targetEnv;
+            this.tables = Collections.unmodifiableList(tables);
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public boolean isSuccess() {
+            for (TableSyncResult table : tables) {
+                if (!table.isSuccess()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public long getRowsSynced() {
+            long rows = 0;
+            for (TableSyncResult table : tables) {
+                rows += table.getRowsSynced();
+            }
+            return rows;
+        }
+
+        public String getSyncId() { return syncId; }
+        public List<TableSyncResult> getTables() { return tables; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public Map<String, Object> toMap() {
+            List<Map<String, Object>> tableMaps = new ArrayList<>(tables.size());
+            for (TableSyncResult table : tables) {
+                tableMaps.add(table.toMap());
+            }
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("syncId", syncId);
+            map.put("sourceEnvironment", sourceEnv);
+            map.put("targetEnvironment", targetEnv);
+            map.put("success", isSuccess());
+            map.put("rowsSynced", getRowsSynced());
+            map.put("elapsedMillis", elapsedMillis);
+            map.put("tables", tableMaps);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,708 @@
+package com.example.performance;
+
+import com.example.dao.JdbcExecutor;
+import com.example.dao.SqlTemplateRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 쓰기 지연(write-behind) 큐 - 요청 트랜잭션과 함께 커밋될 필요가 없는 부가 레코드를 아웃박스 테이블을 거쳐 기록
+ * 목적: 재고 로그, 초기 배송 행처럼 주문과 원자적일 필요가 없는 테이블별 INSERT를 요청 경로에서 제거
+ *
+ * 특징:
+ * 1. enqueue()는 호출자의 트랜잭션 안에서 아웃박스 테이블에 배치 INSERT 한 번 - 주문과 함께 커밋되거나 함께 롤백되므로
+ *    커밋과 큐 전달 사이에 프로세스가 죽어도 레코드를 잃지 않는다. 실패하면 예외로 호출자 트랜잭션을 롤백시킨다.
+ * 2. 커밋 후 테이블별 메모리 큐로 넘기고, 테이블마다 워커 하나가 최대 batchSize 건씩 대상 테이블에 기록
+ *    (대상 INSERT와 아웃박스 DELETE가 한 트랜잭션) - 한 테이블의 실패/백오프가 다른 테이블을 막지 않는다
+ * 3. 최소 한 번(at-least-once) 전달 - 레코드마다 idempotency_key를 두고 대상 테이블에 이미 있는 키는 건너뜀
+ * 4. 배치가 실패하면 레코드별로 다시 기록해 실패 레코드만 골라내고, 시도 횟수를 아웃박스에 남긴다.
+ *    maxAttempts회 실패한 레코드는 DEAD 상태로 격리 (원인 해결 후 requeueDead()로 되살림)
+ * 5. 메모리 큐에 넘기기 전에 죽었거나, 큐가 가득 찼거나, 다른 인스턴스가 남긴 PENDING 행은
+ *    주기적인 아웃박스 스캔(STALE_MILLIS 이상 지난 행, 등록된 테이블만)으로 다시 가져온다.
+ *    payload를 읽을 수 없는 행은 DEAD로 격리한다.
+ *
+ * 아웃박스 테이블 (예: MySQL):
+ *   CREATE TABLE write_behind_outbox (
+ *     target_table VARCHAR(64) NOT NULL, idempotency_key VARCHAR(191) NOT NULL,
+ *     payload VARBINARY(8192) NOT NULL, status VARCHAR(8) NOT NULL, attempts INT NOT NULL,
+ *     last_error VARCHAR(500), created_at TIMESTAMP NOT NULL,
+ *     KEY (status, target_table, created_at), KEY (target_table, idempotency_key))
+ */
+public class WriteBehindQueue implements AutoCloseable {
+
+    public static final String DEFAULT_OUTBOX_TABLE = "write_behind_outbox";
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_ATTEMPTS = 20;
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    static final String STATUS_PENDING = "PENDING";
+    static final String STATUS_DEAD = "DEAD";
+
+    private static final long POLL_MILLIS = 200;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    private static final long SHUTDOWN_DRAIN_MILLIS = 5_000;
+    private static final long SCAN_INTERVAL_MILLIS = 30_000;
+    private static final long STALE_MILLIS = 60_000;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final SqlTemplateRegistry SQL_TEMPLATES = SqlTemplateRegistry.shared();
+    private static final Map<String, WriteBehindQueue> SHARED = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final JdbcExecutor jdbc;
+    private final String outboxTable;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int queueCapacity;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    // 메모리 큐에 있거나 기록 중인 레코드 (테이블 + 키) - 스캔이 같은 레코드를 두 번 넣지 않도록
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final List<Thread> workers = new ArrayList<>();
+    private Thread scanner;
+
+    private volatile boolean started;
+    private volatile boolean closing;
+    private volatile long drainDeadlineNanos;
+
+    private final LongAdder staged = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public WriteBehindQueue(String name, JdbcExecutor jdbc) {
+        this(name, jdbc, DEFAULT_OUTBOX_TABLE, DEFAULT_BATCH_SIZE, DEFAULT_MAX_ATTEMPTS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param maxAttempts   레코드별 최대 기록 시도 횟수 - 넘으면 DEAD
+     * @param queueCapacity 테이블별 메모리 큐 크기 - 넘치는 레코드는 아웃박스에 남아 스캔으로 처리
+     */
+    public WriteBehindQueue(String name, JdbcExecutor jdbc, String outboxTable, int batchSize, int maxAttempts, int queueCapacity) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+        }
+        this.name = name;
+        this.jdbc = jdbc;
+        this.outboxTable = outboxTable;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * 이름별 공유 큐 - 같은 프로세스에서 같은 아웃박스를 두 인스턴스가 처리하지 않도록 한 번만 생성
+     */
+    public static WriteBehindQueue shared(String name, Supplier<WriteBehindQueue> creator) {
+        return SHARED.computeIfAbsent(name, key -> creator.get());
+    }
+
+    /**
+     * 기록 대상 테이블 등록 - start() 전에 모두 등록해야 아웃박스에 남은 레코드를 처리할 수 있다
+     */
+    public WriteBehindQueue register(TableSink sink) {
+        if (started) {
+            throw new IllegalStateException("이미 시작된 큐에는 테이블을 등록할 수 없습니다: " + sink.table);
+        }
+        lanes.put(sink.table, new Lane(sink, queueCapacity));
+        return this;
+    }
+
+    /**
+     * 테이블별 워커와 아웃박스 스캔 시작 - 이전 실행에서 남은 레코드는 첫 스캔에서 가져온다
+     */
+    public synchronized WriteBehindQueue start() {
+        if (started) {
+            return this;
+        }
+        for (Lane lane : lanes.values()) {
+            workers.add(DaemonThreads.start("write-behind-" + name + "-" + lane.sink.table, () -> runWorker(lane)));
+        }
+        scanner = DaemonThreads.start("write-behind-" + name + "-scan", this::runScanner);
+        started = true;
+        return this;
+    }
+
+    public void enqueue(Record record) {
+        enqueue(Collections.singletonList(record));
+    }
+
+    /**
+     * 레코드 묶음을 아웃박스에 기록 - 진행 중인 트랜잭션이 있으면 그 트랜잭션에 참여하고 커밋 후 워커로 넘긴다
+     * @throws RuntimeException 아웃박스 기록 실패 (호출자 트랜잭션은 롤백되어야 한다)
+     */
+    public void enqueue(List<Record> records) {
+        if (!started || closing) {
+            throw new IllegalStateException("쓰기 지연 큐가 실행 중이 아닙니다: " + name);
+        }
+        if (records.isEmpty()) {
+            return;
+        }
+        for (Record record : records) {
+            if (!lanes.containsKey(record.table)) {
+                throw new IllegalArgumentException("등록되지 않은 테이블: " + record.table);
+            }
+        }
+        try {
+            jdbc.execute(connection -> insertOutbox(connection, records));
+        } catch (SQLException e) {
+            throw new RuntimeException("쓰기 지연 아웃박스 기록 실패: " + name + " (" + records.size() + "건)", e);
+        }
+        staged.add(records.size());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submitAll(records, 0);
+                }
+            });
+        } else {
+            submitAll(records, 0);
+        }
+    }
+
+    /**
+     * DEAD 레코드를 PENDING으로 되돌림 - 다음 아웃박스 스캔에서 다시 기록한다
+     * @return 되돌린 행 수
+     */
+    public int requeueDead() throws SQLException {
+        String sql = SQL_TEMPLATES.render("write-behind.requeueDead",
+            "UPDATE %1$s SET status = '" + STATUS_PENDING + "', attempts = 0, created_at = ? WHERE status = '" + STATUS_DEAD + "'",
+            outboxTable);
+        // created_at을 과거로 두어 다음 스캔에서 바로 대상이 되도록
+        return jdbc.update(sql, Collections.singletonList(new Timestamp(System.currentTimeMillis() - STALE_MILLIS)));
+    }
+
+    public int getPendingCount() {
+        int pending = 0;
+        for (Lane lane : lanes.values()) {
+            pending += lane.queue.size();
+        }
+        return pending;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        Map<String, Object> pendingByTable = new LinkedHashMap<>();
+        for (Lane lane : lanes.values()) {
+            pendingByTable.put(lane.sink.table, lane.queue.size());
+        }
+        metrics.put("name", name);
+        metrics.put("pending", getPendingCount());
+        metrics.put("pendingByTable", pendingByTable);
+        metrics.put("staged", staged.sum());
+        metrics.put("recovered", recovered.sum());
+        metrics.put("written", written.sum());
+        metrics.put("duplicatesSkipped", duplicates.sum());
+        metrics.put("batches", batches.sum());
+        metrics.put("failures", failures.sum());
+        metrics.put("deadLettered", deadLettered.sum());
+        return metrics;
+    }
+
+    /**
+     * 남은 레코드를 최대 SHUTDOWN_DRAIN_MILLIS 동안 기록하고 종료 - 못 쓴 레코드는 아웃박스에 남아 다음 스캔 때 기록
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (!started || closing) {
+                return;
+            }
+            drainDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(SHUTDOWN_DRAIN_MILLIS);
+            closing = true;
+        }
+        // 스캐너는 대기 중이므로 깨우고, 워커는 POLL_MILLIS마다 closing을 확인한다 (JDBC 호출 중 인터럽트하지 않음)
+        scanner.interrupt();
+        for (Thread worker : workers) {
+            try {
+                worker.join(SHUTDOWN_DRAIN_MILLIS * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        SHARED.remove(name, this);
+        int left = getPendingCount();
+        if (left > 0) {
+            System.out.println("Write-behind queue " + name + " closed with " + left + " records left in outbox");
+        }
+    }
+
+    // ===== 워커 =====
+
+    private void runWorker(Lane lane) {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (true) {
+            if (closing && (lane.queue.isEmpty() || System.nanoTime() - drainDeadlineNanos > 0)) {
+                return;
+            }
+            try {
+                Pending first = lane.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                lane.queue.drainTo(batch, batchSize - 1);
+
+                if (flush(lane, batch)) {
+                    lane.consecutiveFailures = 0;
+                } else {
+                    lane.consecutiveFailures++;
+                    Thread.sleep(Math.min(MAX_BACKOFF_MILLIS, 50L << Math.min(lane.consecutiveFailures, 10)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치 기록 - 실패하면 레코드별로 다시 기록해 실패 레코드만 재시도/격리한다
+     * @return 전부 기록했으면 true
+     */
+    private boolean flush(Lane lane, List<Pending> batch) {
+        try {
+            acknowledge(lane, batch, lane.sink.write(jdbc, outboxTable, batch));
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            failures.increment();
+            System.err.println("쓰기 지연 배치 기록 실패: " + name + "/" + lane.sink.table +
+                               " (" + batch.size() + "건) - " + e.getMessage());
+            if (batch.size() == 1) {
+                retryOrBury(lane, batch.get(0), e);
+                return false;
+            }
+        }
+
+        boolean allWritten = true;
+        for (Pending pending : batch) {
+            List<Pending> single = Collections.singletonList(pending);
+            try {
+                acknowledge(lane, single, lane.sink.write(jdbc, outboxTable, single));
+            } catch (SQLException | RuntimeException e) {
+                retryOrBury(lane, pending, e);
+                allWritten = false;
+            }
+        }
+        return allWritten;
+    }
+
+    private void acknowledge(Lane lane, List<Pending> pendings, int inserted) {
+        written.add(inserted);
+        duplicates.add(pendings.size() - inserted);
+        batches.increment();
+        for (Pending pending : pendings) {
+            inFlight.remove(inFlightKey(lane.sink.table, pending.record.idempotencyKey));
+        }
+    }
+
+    /**
+     * 실패 레코드 - 시도 횟수를 아웃박스에 남기고 큐 뒤로 되돌리거나, maxAttempts에 도달하면 DEAD로 격리
+     */
+    private void retryOrBury(Lane lane, Pending pending, Exception cause) {
+        pending.attempts++;
+        boolean dead = pending.attempts >= maxAttempts;
+        markOutbox(pending, dead ? STATUS_DEAD : STATUS_PENDING, cause);
+        if (dead) {
+            deadLettered.increment();
+            inFlight.remove(inFlightKey(pending.record.table, pending.record.idempotencyKey));
+            System.err.println("쓰기 지연 레코드 격리(DEAD): " + name + "/" + pending.record.table + " " +
+                               pending.record.idempotencyKey + " - " + pending.attempts + "회 실패");
+        } else if (!lane.queue.offer(pending)) {
+            // 큐가 가득 차면 아웃박스 스캔에 맡긴다
+            inFlight.remove(inFlightKey(pending.record.table, pending.record.idempotencyKey));
+        }
+    }
+
+    private void markOutbox(Pending pending, String status, Exception cause) {
+        markOutbox(pending.record.table, pending.record.idempotencyKey, status, pending.attempts, cause);
+    }
+
+    private void markOutbox(String table, String idempotencyKey, String status, int attempts, Exception cause) {
+        String sql = SQL_TEMPLATES.render("write-behind.mark",
+            "UPDATE %1$s SET status = ?, attempts = ?, last_error = ? WHERE target_table = ? AND idempotency_key = ?",
+            outboxTable);
+        String error = String.valueOf(cause.getMessage());
+        try {
+            jdbc.update(sql, Arrays.asList(status, attempts,
+                                           error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                                           table, idempotencyKey));
+        } catch (SQLException | RuntimeException e) {
+            // 상태를 남기지 못해도 행은 아웃박스에 남아 있으므로 스캔으로 다시 시도된다
+            System.err.println("쓰기 지연 아웃박스 상태 기록 실패: " + idempotencyKey + " - " + e.getMessage());
+        }
+    }
+
+    private void submitAll(List<Record> records, int attempts) {
+        for (Record record : records) {
+            submit(new Pending(record, attempts));
+        }
+    }
+
+    /**
+     * 테이블 큐에 넣기 - 이미 처리 중이거나 큐가 가득 차면 넣지 않는다 (아웃박스 행은 그대로 남음)
+     */
+    private boolean submit(Pending pending) {
+        String key = inFlightKey(pending.record.table, pending.record.idempotencyKey);
+        if (!inFlight.add(key)) {
+            return false;
+        }
+        if (!lanes.get(pending.record.table).queue.offer(pending)) {
+            inFlight.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    private static String inFlightKey(String table, String idempotencyKey) {
+        return table + '\u0000' + idempotencyKey;
+    }
+
+    // ===== 아웃박스 =====
+
+    private Void insertOutbox(Connection connection, List<Record> records) throws SQLException {
+        String sql = SQL_TEMPLATES.render("write-behind.stage",
+            "INSERT INTO %1$s (target_table, idempotency_key, payload, status, attempts, created_at) " +
+            "VALUES (?, ?, ?, '" + STATUS_PENDING + "', 0, ?)",
+            outboxTable);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (Record record : records) {
+                insert.setString(1, record.table);
+                insert.setString(2, record.idempotencyKey);
+                insert.setBytes(3, record.encode());
+                insert.setTimestamp(4, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        return null;
+    }
+
+    private void runScanner() {
+        while (!closing) {
+            try {
+                scanOutbox();
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("쓰기 지연 아웃박스 스캔 실패: " + name + " - " + e.getMessage());
+            }
+            try {
+                Thread.sleep(SCAN_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * STALE_MILLIS 이상 지난 PENDING 행 중 메모리에 없는 것을 큐에 넣는다 (테이블 큐 여유만큼)
+     * 등록된 테이블의 행만 조회한다 - 다른 인스턴스용 행이 created_at 순서 앞쪽을 차지해 스캔을 막지 않도록.
+     * payload를 읽을 수 없는 행은 DEAD로 격리하고 나머지 행은 계속 처리한다.
+     */
+    private void scanOutbox() throws SQLException {
+        List<String> tables = new ArrayList<>(lanes.keySet());
+        if (tables.isEmpty()) {
+            return;
+        }
+        String sql = SQL_TEMPLATES.render("write-behind.scan", tables.size(), WriteBehindQueue::scanShape, outboxTable);
+        List<Object> params = new ArrayList<>(tables.size() + 2);
+        params.addAll(tables);
+        params.add(new Timestamp(System.currentTimeMillis() - STALE_MILLIS));
+        params.add(queueCapacity);
+        List<Object[]> rows = jdbc.query(sql, params, rs -> {
+            List<Object[]> result = new ArrayList<>();
+            while (rs.next()) {
+                result.add(new Object[] {rs.getBytes(1), rs.getInt(2), rs.getString(3), rs.getString(4)});
+            }
+            return result;
+        });
+        int submitted = 0;
+        for (Object[] row : rows) {
+            Record record;
+            try {
+                record = Record.decode((byte[]) row[0]);
+            } catch (IOException | RuntimeException e) {
+                deadLettered.increment();
+                markOutbox((String) row[2], (String) row[3], STATUS_DEAD, (Integer) row[1],
+                           new IOException("payload를 읽을 수 없습니다: " + e.getMessage(), e));
+                System.err.println("쓰기 지연 아웃박스 레코드 격리(DEAD, 읽을 수 없는 payload): " + name + "/" + row[2] + " " + row[3]);
+                continue;
+            }
+            if (!lanes.containsKey(record.table)) {
+                System.err.println("쓰기 지연 아웃박스 payload의 테이블이 행과 다릅니다: " + row[2] + " " + record.idempotencyKey);
+                continue;
+            }
+            if (submit(new Pending(record, (Integer) row[1]))) {
+                submitted++;
+            }
+        }
+        if (submitted > 0) {
+            recovered.add(submitted);
+            System.out.println("Write-behind queue " + name + " recovered " + submitted + " records from outbox");
+        }
+    }
+
+    private static String scanShape(int tables) {
+        StringBuilder sql = new StringBuilder("SELECT payload, attempts, target_table, idempotency_key FROM %1$s WHERE status = '")
+            .append(STATUS_PENDING).append("' AND target_table IN (");
+        for (int i = 0; i < tables; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        return sql.append(") AND created_at < ? ORDER BY created_at LIMIT ?").toString();
+    }
+
+    /**
+     * 테이블별 메모리 큐와 워커 상태
+     */
+    private static final class Lane {
+        final TableSink sink;
+        final LinkedBlockingQueue<Pending> queue;
+        int consecutiveFailures;
+
+        Lane(TableSink sink, int capacity) {
+            this.sink = sink;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+        }
+    }
+
+    private static final class Pending {
+        final Record record;
+        int attempts;
+
+        Pending(Record record, int attempts) {
+            this.record = record;
+            this.attempts = attempts;
+        }
+    }
+
+    // ===== 레코드 / 테이블 =====
+
+    /**
+     * 한 행 - 값은 아웃박스 payload로 직렬화 가능한 타입만 허용
+     * (String, Integer, Long, BigDecimal, Boolean, LocalDate, LocalDateTime, null)
+     */
+    public static final class Record {
+        private final String table;
+        private final String idempotencyKey;
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        private Record(String table, String idempotencyKey) {
+            if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+                throw new IllegalArgumentException("idempotencyKey가 필요합니다: " + table);
+            }
+            this.table = table;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        public static Record of(String table, String idempotencyKey) {
+            return new Record(table, idempotencyKey);
+        }
+
+        public Record set(String column, Object value) {
+            if (value != null && typeTag(value) == 0) {
+                throw new IllegalArgumentException("아웃박스에 기록할 수 없는 타입: " + column + "=" + value.getClass().getName());
+            }
+            values.put(column, value);
+            return this;
+        }
+
+        public String getTable() { return table; }
+        public String getIdempotencyKey() { return idempotencyKey; }
+        public Map<String, Object> getValues() { return Collections.unmodifiableMap(values); }
+
+        byte[] encode() {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeUTF(table);
+                out.writeUTF(idempotencyKey);
+                out.writeShort(values.size());
+                for (Map.Entry<String, Object> entry : values.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    Object value = entry.getValue();
+                    char tag = value == null ? 'N' : typeTag(value);
+                    out.writeChar(tag);
+                    switch (tag) {
+                        case 'N': break;
+                        case 'I': out.writeInt((Integer) value); break;
+                        case 'J': out.writeLong((Long) value); break;
+                        case 'Z': out.writeBoolean((Boolean) value); break;
+                        default: out.writeUTF(value.toString());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        static Record decode(byte[] payload) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            Record record = new Record(in.readUTF(), in.readUTF());
+            int count = in.readShort();
+            for (int i = 0; i < count; i++) {
+                String column = in.readUTF();
+                char tag = in.readChar();
+                Object value;
+                switch (tag) {
+                    case 'N': value = null; break;
+                    case 'I': value = in.readInt(); break;
+                    case 'J': value = in.readLong(); break;
+                    case 'Z': value = in.readBoolean(); break;
+                    case 'S': value = in.readUTF(); break;
+                    case 'B': value = new BigDecimal(in.readUTF()); break;
+                    case 'D': value = LocalDate.parse(in.readUTF()); break;
+                    case 'T': value = LocalDateTime.parse(in.readUTF()); break;
+                    default: throw new IOException("알 수 없는 값 타입: " + tag);
+                }
+                record.values.put(column, value);
+            }
+            return record;
+        }
+
+        private static char typeTag(Object value) {
+            if (value instanceof String) return 'S';
+            if (value instanceof Integer) return 'I';
+            if (value instanceof Long) return 'J';
+            if (value instanceof BigDecimal) return 'B';
+            if (value instanceof Boolean) return 'Z';
+            if (value instanceof LocalDateTime) return 'T';
+            if (value instanceof LocalDate) return 'D';
+            return 0;
+        }
+    }
+
+    /**
+     * 기록 대상 테이블 - idempotency_key 컬럼(고유 제약 권장)과 나머지 컬럼 목록
+     */
+    public static class TableSink {
+        private final String table;
+        private final String keyColumn;
+        private final String[] columns;
+        private final String insertSql;
+
+        public TableSink(String table, String keyColumn, String... columns) {
+            this.table = table;
+            this.keyColumn = keyColumn;
+            this.columns = columns.clone();
+            this.insertSql = insertSql(table, keyColumn, this.columns);
+        }
+
+        public String getTable() { return table; }
+
+        /**
+         * 이미 기록된 키를 걸러내고 나머지를 배치 INSERT, 아웃박스 행 삭제 (한 트랜잭션)
+         * @return 실제로 INSERT한 행 수
+         */
+        int write(JdbcExecutor jdbc, String outboxTable, List<Pending> pendings) throws SQLException {
+            // 같은 배치 안의 중복 키는 하나만
+            Map<String, Record> byKey = new LinkedHashMap<>();
+            for (Pending pending : pendings) {
+                byKey.putIfAbsent(pending.record.idempotencyKey, pending.record);
+            }
+            List<String> keys = new ArrayList<>(byKey.keySet());
+
+            return jdbc.inTransaction(transaction -> {
+                Connection connection = transaction.getConnection();
+                removeExisting(connection, byKey);
+                if (!byKey.isEmpty()) {
+                    try (PreparedStatement insert = connection.prepareStatement(insertSql)) {
+                        for (Record record : byKey.values()) {
+                            insert.setObject(1, record.idempotencyKey);
+                            for (int i = 0; i < columns.length; i++) {
+                                insert.setObject(i + 2, record.values.get(columns[i]));
+                            }
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                    }
+                }
+                deleteOutbox(connection, outboxTable, keys);
+                return byKey.size();
+            });
+        }
+
+        private void removeExisting(Connection connection, Map<String, Record> byKey) throws SQLException {
+            String sql = SQL_TEMPLATES.render("write-behind.existing", byKey.size(), TableSink::existingShape, keyColumn, table);
+            try (PreparedStatement select = connection.prepareStatement(sql)) {
+                JdbcExecutor.bind(select, new ArrayList<>(byKey.keySet()));
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        byKey.remove(rs.getString(1));
+                    }
+                }
+            }
+        }
+
+        private void deleteOutbox(Connection connection, String outboxTable, List<String> keys) throws SQLException {
+            String sql = SQL_TEMPLATES.render("write-behind.outboxDelete", keys.size(), TableSink::outboxDeleteShape, outboxTable);
+            List<Object> params = new ArrayList<>(keys.size() + 1);
+            params.add(table);
+            params.addAll(keys);
+            try (PreparedStatement delete = connection.prepareStatement(sql)) {
+                JdbcExecutor.bind(delete, params);
+                delete.executeUpdate();
+            }
+        }
+
+        private static String insertSql(String table, String keyColumn, String[] columns) {
+            StringBuilder shape = new StringBuilder("INSERT INTO %1$s (%2$s");
+            StringBuilder placeholders = new StringBuilder("?");
+            String[] values = new String[columns.length + 2];
+            values[0] = table;
+            values[1] = keyColumn;
+            for (int i = 0; i < columns.length; i++) {
+                shape.append(", %").append(i + 3).append("$s");
+                placeholders.append(", ?");
+                values[i + 2] = columns[i];
+            }
+            shape.append(") VALUES (").append(placeholders).append(')');
+            return SQL_TEMPLATES.render("write-behind.insert." + table, shape.toString(), values);
+        }
+
+        private static String existingShape(int keys) {
+            StringBuilder sql = new StringBuilder("SELECT %1$s FROM %2$s WHERE %1$s IN (");
+            for (int i = 0; i < keys; i++) {
+                sql.append(i > 0 ? ", ?" : "?");
+            }
+            return sql.append(')').toString();
+        }
+
+        private static String outboxDeleteShape(int keys) {
+            StringBuilder sql = new StringBuilder("DELETE FROM %1$s WHERE target_table = ? AND idempotency_key IN (");
+            for (int i = 0; i < keys; i++) {
+                sql.append(i > 0 ? ", ?" : "?");
+            }
+            return sql.append(')').toString();
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.example.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import com.example.dao.VersionedDao;
+import com.example.pagination.KeysetCursor;
+import com.example.pagination.KeysetPage;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -41,6 +46,28 @@ public class VersionedService {
         return versionedDao.selectProductsV2(page, size);
     }
 
+    /**
+     * 제품 조회 - v2 API (키셋 페이징)
+     * 페이지 번호 대신 이전 응답의 nextCursor를 전달하므로 깊은 페이지도 첫 페이지와 비용이 같다.
+     */
+    public Map<String, Object> getProductsV2ByCursor(String cursorToken, int size) {
+        KeysetCursor cursor = KeysetCursor.decodeOrNull(cursorToken, Object.class, Long.class);
+        Object cursorCreatedAt = cursor != null ? cursor.getValue(0) : null;
+        Long cursorProductId = cursor != null ? cursor.getValue(1, Long.class) : null;
+        
+        List<Map<String, Object>> fetched = versionedDao.selectProductsV2ByKeyset(
+            cursorCreatedAt, cursorProductId, KeysetPage.fetchSize(size));
+        KeysetPage<Map<String, Object>> page = KeysetPage.of(fetched, size,
+            row -> KeysetCursor.fromRow(row, "created_at", "product_id"));
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("content", page.getContent());
+        result.put("size", page.getSize());
+        result.put("hasNext", page.isHasNext());
+        result.put("nextCursor", page.getNextCursor());
+        return result;
+    }
+
     /**
      * 주문 조회 - v1 API
      */
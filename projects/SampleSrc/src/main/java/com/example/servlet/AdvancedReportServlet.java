@@ -1,13 +1,25 @@
 package com.example.servlet;
 
+import com.example.performance.JdbcRowStreamer;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebInitParam;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
 
@@ -26,9 +38,14 @@ import java.util.*;
     urlPatterns = {"/reports/*", "/api/v1/reports", "/admin/report-management"},
     initParams = {
         @WebInitParam(name = "reportCacheSize", value = "1000"),
+        @WebInitParam(name = "reportCacheMaxBytes", value = "16777216"),
+        @WebInitParam(name = "reportCacheTtlSeconds", value = "300"),
         @WebInitParam(name = "defaultFormat", value = "json"),
         @WebInitParam(name = "maxRecords", value = "10000"),
-        @WebInitParam(name = "enableCache", value = "true")
+        @WebInitParam(name = "enableCache", value = "true"),
+        @WebInitParam(name = "exportDataSource", value = "java:comp/env/jdbc/ReportDB"),
+        @WebInitParam(name = "exportFlushRows", value = "500"),
+        @WebInitParam(name = "exportFlushChars", value = "65536")
     },
     loadOnStartup = 1
 )
@@ -36,14 +53,27 @@ public class AdvancedReportServlet extends HttpServlet {
     
     private static final long serialVersionUID = 1L;
     
+    // 내보내기 쿼리 (주문 원장) - 행 단위로 스트리밍
+    private static final String EXPORT_QUERY =
+        "SELECT o.order_id, o.user_id, o.order_date, o.status, o.total_amount " +
+        "FROM orders o WHERE o.order_date >= ? ORDER BY o.order_id";
+    private static final String[] EXPORT_COLUMNS = {"order_id", "user_id", "order_date", "status", "total_amount"};
+    
     // 초기화 파라미터
     private int reportCacheSize;
+    private long reportCacheMaxBytes;
+    private long reportCacheTtlSeconds;
     private String defaultFormat;
     private int maxRecords;
     private boolean enableCache;
+    private int exportFlushRows;
+    private int exportFlushChars;
+    
+    // 내보내기 데이터 소스 (JNDI 조회 실패 시 null - 내보내기 요청은 503)
+    private transient DataSource exportDataSource;
     
-    // 리포트 캐시
-    private Map<String, Object> reportCache;
+    // 리포트 캐시 (형식별 직렬화된 응답, 요청 스레드 간 공유)
+    private ReportCache reportCache;
     
     @Override
     public void init() throws ServletException {
@@ -51,20 +81,35 @@ public class AdvancedReportServlet extends HttpServlet {
         
         // 초기화 파라미터 로드
         reportCacheSize = Integer.parseInt(getInitParameter("reportCacheSize"));
+        reportCacheMaxBytes = Long.parseLong(getInitParameter("reportCacheMaxBytes"));
+        reportCacheTtlSeconds = Long.parseLong(getInitParameter("reportCacheTtlSeconds"));
         defaultFormat = getInitParameter("defaultFormat");
         maxRecords = Integer.parseInt(getInitParameter("maxRecords"));
         enableCache = Boolean.parseBoolean(getInitParameter("enableCache"));
+        exportFlushRows = Integer.parseInt(getInitParameter("exportFlushRows"));
+        exportFlushChars = Integer.parseInt(getInitParameter("exportFlushChars"));
+        exportDataSource = lookupDataSource(getInitParameter("exportDataSource"));
         
         // 리포트 캐시 초기화
         if (enableCache) {
-            reportCache = new HashMap<>();
-            System.out.println("AdvancedReportServlet: 리포트 캐시 활성화 (크기: " + reportCacheSize + ")");
+            reportCache = new ReportCache(reportCacheSize, reportCacheMaxBytes, reportCacheTtlSeconds * 1000L);
+            System.out.println("AdvancedReportServlet: 리포트 캐시 활성화 (크기: " + reportCacheSize
+                               + ", 최대 바이트: " + reportCacheMaxBytes + ", TTL: " + reportCacheTtlSeconds + "초)");
         }
         
         System.out.println("AdvancedReportServlet 초기화 완료");
         System.out.println("기본 형식: " + defaultFormat + ", 최대 레코드: " + maxRecords);
     }
     
+    @Override
+    public void destroy() {
+        if (reportCache != null) {
+            System.out.println("AdvancedReportServlet 캐시 통계: " + reportCache.stats());
+            reportCache.invalidateAll();
+        }
+        super.destroy();
+    }
+    
     @Override
     protected void service(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
@@ -100,57 +145,30 @@ public class AdvancedReportServlet extends HttpServlet {
         String action = request.getParameter("action");
         String format = request.getParameter("format");
         if (format == null) format = defaultFormat;
+        String responseFormat = format.toLowerCase();
         
-        // 캐시 확인
-        String cacheKey = generateCacheKey(request);
-        if (enableCache && reportCache.containsKey(cacheKey)) {
-            serveCachedResponse(response, cacheKey);
+        // 캐시 통계 조회
+        if ("cache-stats".equals(action)) {
+            sendJsonResponse(response, getCacheStats());
             return;
         }
         
-        Map<String, Object> reportData = new HashMap<>();
-        
-        switch (action) {
-            case "summary":
-                reportData = generateSummaryReport(request);
-                break;
-            case "detailed":
-                reportData = generateDetailedReport(request);
-                break;
-            case "analytics":
-                reportData = generateAnalyticsReport(request);
-                break;
-            case "export":
-                reportData = generateExportReport(request);
-                break;
-            default:
-                reportData = generateMainReport(request);
-                break;
+        // CSV/XML 내보내기는 캐시를 거치지 않고 행 단위로 스트리밍
+        if ("export".equals(action) && ("csv".equals(responseFormat) || "xml".equals(responseFormat))) {
+            streamExport(request, response, responseFormat);
+            return;
         }
         
-        // 캐시 저장
-        if (enableCache && reportData != null) {
-            reportCache.put(cacheKey, reportData);
+        if (!enableCache) {
+            writeReportResponse(response, renderReport(request, action, responseFormat));
+            return;
         }
         
-        // 응답 형식에 따른 처리
-        switch (format.toLowerCase()) {
-            case "json":
-                sendJsonResponse(response, reportData);
-                break;
-            case "xml":
-                sendXmlResponse(response, reportData);
-                break;
-            case "csv":
-                sendCsvResponse(response, reportData);
-                break;
-            case "html":
-                sendHtmlResponse(response, reportData);
-                break;
-            default:
-                sendJsonResponse(response, reportData);
-                break;
-        }
+        // 캐시 확인 - 같은 키의 동시 미스는 한 번만 생성 (single-flight)
+        String cacheKey = generateCacheKey(request, responseFormat);
+        ReportCache.CachedResponse cached = reportCache.get(cacheKey,
+            () -> renderReport(request, action, responseFormat));
+        writeReportResponse(response, cached);
     }
     
     @Override
@@ -159,7 +177,6 @@ public class AdvancedReportServlet extends HttpServlet {
         
         String action = request.getParameter("action");
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         Map<String, Object> result = new HashMap<>();
         
@@ -181,8 +198,7 @@ public class AdvancedReportServlet extends HttpServlet {
                 result.put("error", "알 수 없는 액션: " + action);
         }
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     @Override
@@ -193,7 +209,6 @@ public class AdvancedReportServlet extends HttpServlet {
         String config = request.getParameter("config");
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         Map<String, Object> result = new HashMap<>();
         result.put("method", "PUT");
@@ -208,8 +223,7 @@ public class AdvancedReportServlet extends HttpServlet {
             clearRelatedCache(reportId);
         }
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     @Override
@@ -219,7 +233,6 @@ public class AdvancedReportServlet extends HttpServlet {
         String reportId = request.getParameter("reportId");
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         Map<String, Object> result = new HashMap<>();
         result.put("method", "DELETE");
@@ -233,15 +246,13 @@ public class AdvancedReportServlet extends HttpServlet {
             clearRelatedCache(reportId);
         }
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     private void handleMobileRequest(HttpServletRequest request, HttpServletResponse response) 
             throws IOException {
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         Map<String, Object> mobileData = new HashMap<>();
         mobileData.put("platform", "mobile");
@@ -249,8 +260,7 @@ public class AdvancedReportServlet extends HttpServlet {
         mobileData.put("summary", generateMobileSummary(request));
         mobileData.put("timestamp", new Date().toString());
         
-        out.println(formatJsonResponse(mobileData));
-        out.flush();
+        JsonResponseWriter.write(response, mobileData);
     }
     
     private void handleCustomFormatRequest(HttpServletRequest request, HttpServletResponse response, String format) 
@@ -280,6 +290,152 @@ public class AdvancedReportServlet extends HttpServlet {
         out.flush();
     }
     
+    /**
+     * 주문 원장 내보내기 - DB 커서에서 읽은 행을 바로 응답에 기록 (힙 사용량은 데이터 크기와 무관)
+     * 연관 테이블: orders
+     */
+    private void streamExport(HttpServletRequest request, HttpServletResponse response, String format)
+            throws IOException {
+        if (exportDataSource == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "내보내기 데이터 소스를 사용할 수 없습니다");
+            return;
+        }
+        
+        Timestamp fromDate;
+        try {
+            fromDate = parseExportFromDate(request.getParameter("fromDate"));
+        } catch (ParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "fromDate 형식은 yyyy-MM-dd 입니다");
+            return;
+        }
+        
+        // 요청 limit은 maxRecords를 넘을 수 없음
+        int limit = maxRecords;
+        String limitParam = request.getParameter("limit");
+        if (limitParam != null) {
+            try {
+                limit = Math.max(1, Math.min(maxRecords, Integer.parseInt(limitParam)));
+            } catch (NumberFormatException e) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "limit은 숫자여야 합니다");
+                return;
+            }
+        }
+        
+        ReportExportStreamer streamer = new ReportExportStreamer(exportFlushRows, exportFlushChars, limit);
+        String fileName = "orders_" + new SimpleDateFormat("yyyyMMdd").format(fromDate);
+        streamer.export(request, response, format, fileName, EXPORT_COLUMNS, jdbcExportSource(fromDate));
+    }
+    
+    private ReportExportStreamer.RowSource jdbcExportSource(Timestamp fromDate) {
+        return (maxRows, sink) -> {
+            JdbcRowStreamer rowStreamer = new JdbcRowStreamer(exportDataSource, exportFlushRows);
+            try {
+                rowStreamer.stream(EXPORT_QUERY, Collections.<Object>singletonList(fromDate),
+                                   exportFlushRows, maxRows, chunk -> {
+                    for (Map<String, Object> row : chunk) {
+                        try {
+                            sink.accept(row);
+                        } catch (IOException e) {
+                            // 클라이언트 연결 종료 - 커서를 닫도록 스트리밍 중단
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+    
+    private Timestamp parseExportFromDate(String fromDate) throws ParseException {
+        if (fromDate == null || fromDate.isEmpty()) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.add(Calendar.DAY_OF_MONTH, -30);
+            return new Timestamp(calendar.getTimeInMillis());
+        }
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        dateFormat.setLenient(false);
+        return new Timestamp(dateFormat.parse(fromDate).getTime());
+    }
+    
+    private DataSource lookupDataSource(String jndiName) {
+        if (jndiName == null || jndiName.isEmpty()) {
+            System.err.println("AdvancedReportServlet: 내보내기 데이터 소스가 설정되지 않음 - 내보내기 비활성화");
+            return null;
+        }
+        try {
+            DataSource dataSource = (DataSource) new InitialContext().lookup(jndiName);
+            System.out.println("AdvancedReportServlet: 내보내기 데이터 소스 연결 (" + jndiName + ")");
+            return dataSource;
+        } catch (NamingException | ClassCastException e) {
+            System.err.println("AdvancedReportServlet: 내보내기 데이터 소스 조회 실패 (" + jndiName + ") - 내보내기 비활성화: " + e);
+            return null;
+        }
+    }
+    
+    /**
+     * 리포트 생성 후 요청 형식으로 직렬화 - 캐시에는 이 결과 바이트가 저장됨
+     */
+    private ReportCache.CachedResponse renderReport(HttpServletRequest request, String action, String format) {
+        Map<String, Object> reportData;
+        
+        switch (action) {
+            case "summary":
+                reportData = generateSummaryReport(request);
+                break;
+            case "detailed":
+                reportData = generateDetailedReport(request);
+                break;
+            case "analytics":
+                reportData = generateAnalyticsReport(request);
+                break;
+            case "export":
+                reportData = generateExportReport(request);
+                break;
+            default:
+                reportData = generateMainReport(request);
+                break;
+        }
+        
+        // 응답 형식에 따른 처리
+        switch (format) {
+            case "xml":
+                return textResponse("application/xml; charset=UTF-8", formatXmlResponse(reportData));
+            case "csv":
+                return textResponse("text/csv; charset=UTF-8", formatCsvResponse(reportData));
+            case "html":
+                return textResponse("text/html; charset=UTF-8", formatHtmlResponse(reportData));
+            default:
+                return new ReportCache.CachedResponse(JsonResponseWriter.CONTENT_TYPE,
+                                                      JsonResponseWriter.toBytes(reportData));
+        }
+    }
+    
+    private ReportCache.CachedResponse textResponse(String contentType, String body) {
+        return new ReportCache.CachedResponse(contentType, (body + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private void writeReportResponse(HttpServletResponse response, ReportCache.CachedResponse report) throws IOException {
+        byte[] body = report.getBody();
+        response.setContentType(report.getContentType());
+        response.setContentLength(body.length);
+        OutputStream out = response.getOutputStream();
+        out.write(body);
+        out.flush();
+    }
+    
+    private Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enableCache);
+        if (reportCache != null) {
+            stats.putAll(reportCache.stats());
+            stats.put("maxEntries", reportCacheSize);
+            stats.put("maxBytes", reportCacheMaxBytes);
+            stats.put("ttlSeconds", reportCacheTtlSeconds);
+        }
+        return stats;
+    }
+    
     private Map<String, Object> generateSummaryReport(HttpServletRequest request) {
         Map<String, Object> report = new HashMap<>();
         report.put("type", "summary");
@@ -399,26 +555,47 @@ public class AdvancedReportServlet extends HttpServlet {
         return metrics;
     }
     
-    private String generateCacheKey(HttpServletRequest request) {
+    /**
+     * 캐시 키 생성 - 경로 + 형식 + 이름순 정렬된 전체 파라미터
+     * (파라미터 맵 hashCode는 서로 다른 요청이 충돌할 수 있어 사용하지 않음)
+     */
+    private String generateCacheKey(HttpServletRequest request, String format) {
         StringBuilder key = new StringBuilder();
-        key.append(request.getParameter("action"));
-        key.append("_").append(request.getParameter("format"));
-        key.append("_").append(request.getParameterMap().hashCode());
+        key.append(request.getServletPath());
+        if (request.getPathInfo() != null) {
+            key.append(request.getPathInfo());
+        }
+        key.append("|format=").append(format);
+        
+        Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        parameters.remove("format");
+        for (Map.Entry<String, String[]> entry : parameters.entrySet()) {
+            for (String value : entry.getValue()) {
+                key.append('&').append(encodeKeyPart(entry.getKey()))
+                   .append('=').append(encodeKeyPart(value));
+            }
+        }
         return key.toString();
     }
     
-    private void serveCachedResponse(HttpServletResponse response, String cacheKey) throws IOException {
-        response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
-        out.println(formatJsonResponse((Map<String, Object>) reportCache.get(cacheKey)));
-        out.flush();
+    private String encodeKeyPart(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
     }
     
     private void clearRelatedCache(String reportId) {
-        if (reportCache != null) {
-            reportCache.entrySet().removeIf(entry -> 
-                entry.getKey().contains(reportId));
+        if (reportCache == null) {
+            return;
+        }
+        if (reportId == null) {
+            reportCache.invalidateAll();
+            return;
         }
+        int removed = reportCache.invalidateIf(key -> key.contains("reportId=" + encodeKeyPart(reportId)));
+        System.out.println("AdvancedReportServlet: 캐시 무효화 " + reportId + " (" + removed + "건)");
     }
     
     private String generateReportId() {
@@ -435,82 +612,7 @@ public class AdvancedReportServlet extends HttpServlet {
     
     private void sendJsonResponse(HttpServletResponse response, Map<String, Object> data) throws IOException {
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
-        out.println(formatJsonResponse(data));
-        out.flush();
-    }
-    
-    private void sendXmlResponse(HttpServletResponse response, Map<String, Object> data) throws IOException {
-        response.setContentType("application/xml; charset=UTF-8");
-        PrintWriter out = response.getWriter();
-        out.println(formatXmlResponse(data));
-        out.flush();
-    }
-    
-    private void sendCsvResponse(HttpServletResponse response, Map<String, Object> data) throws IOException {
-        response.setContentType("text/csv; charset=UTF-8");
-        PrintWriter out = response.getWriter();
-        out.println(formatCsvResponse(data));
-        out.flush();
-    }
-    
-    private void sendHtmlResponse(HttpServletResponse response, Map<String, Object> data) throws IOException {
-        response.setContentType("text/html; charset=UTF-8");
-        PrintWriter out = response.getWriter();
-        out.println(formatHtmlResponse(data));
-        out.flush();
-    }
-    
-    private String formatJsonResponse(Map<String, Object> data) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-            if (!first) json.append(",\n");
-            json.append("  \"").append(entry.getKey()).append("\": ");
-            
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                json.append("\"").append(value).append("\"");
-            } else if (value instanceof Number || value instanceof Boolean) {
-                json.append(value);
-            } else if (value instanceof List) {
-                json.append(formatList((List<?>) value));
-            } else if (value instanceof Map) {
-                json.append(formatMap((Map<?, ?>) value));
-            } else {
-                json.append("\"").append(value.toString()).append("\"");
-            }
-            first = false;
-        }
-        
-        json.append("\n}");
-        return json.toString();
-    }
-    
-    private String formatList(List<?> list) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        for (int i = 0; i < list.size(); i++) {
-            if (i > 0) sb.append(", ");
-            sb.append("\"").append(list.get(i)).append("\"");
-        }
-        sb.append("]");
-        return sb.toString();
-    }
-    
-    private String formatMap(Map<?, ?> map) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        boolean first = true;
-        for (Map.Entry<?, ?> entry : map.entrySet()) {
-            if (!first) sb.append(", ");
-            sb.append("\"").append(entry.getKey()).append("\": \"").append(entry.getValue()).append("\"");
-            first = false;
-        }
-        sb.append("}");
-        return sb.toString();
+        JsonResponseWriter.write(response, data);
     }
     
     private String formatXmlResponse(Map<String, Object> data) {
@@ -6,11 +6,12 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
+import com.example.dao.JdbcExecutor;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.*;
 
@@ -24,17 +25,50 @@ public class DirectQueryServlet extends HttpServlet {
     
     private static final long serialVersionUID = 1L;
     
-    // 데이터베이스 연결 정보 (실제로는 설정 파일에서 읽어야 함)
-    private static final String DB_URL = "jdbc:oracle:thin:@localhost:1521:XE";
-    private static final String DB_USER = "sample_user";
-    private static final String DB_PASSWORD = "sample_password";
+    // 실행 통계 이름
+    static final String EXECUTOR_NAME = "direct-query";
+    
+    // JDBC 실행기 (DB 설정이 없으면 null - 샘플 데이터 응답)
+    private JdbcExecutor jdbcExecutor;
+    
+    /**
+     * JDBC 실행기 초기화
+     * 초기화 파라미터 dataSource(JNDI 이름, 운영 권장 - 컨테이너 풀 사용) 또는
+     * dbUrl/dbUser/dbPassword(풀 없이 호출마다 연결 - 개발용) 중 하나로 설정
+     */
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        
+        String jndiName = getInitParameter("dataSource");
+        String dbUrl = getInitParameter("dbUrl");
+        
+        if (jndiName != null && !jndiName.isEmpty()) {
+            DataSource dataSource = lookupDataSource(jndiName);
+            jdbcExecutor = new JdbcExecutor(EXECUTOR_NAME, dataSource);
+        } else if (dbUrl != null && !dbUrl.isEmpty()) {
+            String dbUser = getInitParameter("dbUser");
+            String dbPassword = getInitParameter("dbPassword");
+            System.out.println("DirectQueryServlet: dbUrl 설정은 커넥션 풀 없이 동작합니다 (운영에서는 dataSource 사용)");
+            jdbcExecutor = new JdbcExecutor(EXECUTOR_NAME, new DriverManagerDataSource(dbUrl, dbUser, dbPassword));
+        } else {
+            System.out.println("DirectQueryServlet: DB 설정 없음, 샘플 데이터 사용");
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        if (jdbcExecutor != null) {
+            System.out.println("DirectQueryServlet JDBC 실행 통계: " + jdbcExecutor.stats());
+        }
+        super.destroy();
+    }
     
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         String action = request.getParameter("action");
         Map<String, Object> result = new HashMap<>();
@@ -56,10 +90,14 @@ public class DirectQueryServlet extends HttpServlet {
                 case "complex":
                     result = queryComplexDataDirectly(request);
                     break;
+                case "jdbc-stats":
+                    result.put("success", true);
+                    result.put("jdbc", jdbcExecutor != null ? jdbcExecutor.stats() : "disabled");
+                    break;
                 default:
                     result.put("success", false);
                     result.put("error", "알 수 없는 액션: " + action);
-                    result.put("availableActions", Arrays.asList("users", "orders", "products", "statistics", "complex"));
+                    result.put("availableActions", Arrays.asList("users", "orders", "products", "statistics", "complex", "jdbc-stats"));
             }
             
             result.put("timestamp", new Date().toString());
@@ -72,8 +110,7 @@ public class DirectQueryServlet extends HttpServlet {
             result.put("timestamp", new Date().toString());
         }
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     @Override
@@ -81,7 +118,6 @@ public class DirectQueryServlet extends HttpServlet {
             throws ServletException, IOException {
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         String action = request.getParameter("action");
         Map<String, Object> result = new HashMap<>();
@@ -116,8 +152,7 @@ public class DirectQueryServlet extends HttpServlet {
             result.put("timestamp", new Date().toString());
         }
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     /**
@@ -209,14 +244,15 @@ public class DirectQueryServlet extends HttpServlet {
         System.out.println("생성된 쿼리: " + query.toString());
         System.out.println("파라미터: " + parameters);
         
-        // 실제로는 데이터베이스에 연결하여 쿼리 실행
-        // List<Map<String, Object>> users = executeQuery(query.toString(), parameters);
+        // DB가 설정되어 있으면 JdbcExecutor로 실행 (PreparedStatement 재사용은 드라이버 Statement 캐시 설정 몫), 아니면 샘플 데이터
+        List<Map<String, Object>> users = jdbcExecutor != null
+            ? executeQuery(query.toString(), parameters)
+            : generateSampleUserData();
         
-        // 임시 샘플 데이터 반환
         result.put("success", true);
         result.put("query", query.toString());
         result.put("parameters", parameters);
-        result.put("users", generateSampleUserData());
+        result.put("users", users);
         result.put("totalCount", 150);
         result.put("currentPage", page);
         result.put("pageSize", pageSize);
@@ -279,7 +315,9 @@ public class DirectQueryServlet extends HttpServlet {
         result.put("success", true);
         result.put("query", query.toString());
         result.put("parameters", parameters);
-        result.put("orders", generateSampleOrderData());
+        result.put("orders", jdbcExecutor != null
+            ? executeQuery(query.toString(), parameters)
+            : generateSampleOrderData());
         
         return result;
     }
@@ -339,7 +377,9 @@ public class DirectQueryServlet extends HttpServlet {
         result.put("success", true);
         result.put("query", query.toString());
         result.put("parameters", parameters);
-        result.put("products", generateSampleProductData());
+        result.put("products", jdbcExecutor != null
+            ? executeQuery(query.toString(), parameters)
+            : generateSampleProductData());
         
         return result;
     }
@@ -425,7 +465,9 @@ public class DirectQueryServlet extends HttpServlet {
         result.put("success", true);
         result.put("query", query.toString());
         result.put("parameters", parameters);
-        result.put("complexData", generateSampleComplexData());
+        result.put("complexData", jdbcExecutor != null
+            ? executeQuery(query.toString(), parameters)
+            : generateSampleComplexData());
         
         return result;
     }
@@ -476,10 +518,10 @@ public class DirectQueryServlet extends HttpServlet {
         
         System.out.println("생성된 INSERT 쿼리: " + query.toString());
         
-        // 실제로는 데이터베이스에 INSERT 실행
-        // int rowsAffected = executeUpdate(query.toString(), parameters);
+        int rowsAffected = jdbcExecutor != null ? executeUpdate(query.toString(), parameters) : 1;
         
-        result.put("success", true);
+        result.put("success", rowsAffected > 0);
+        result.put("rowsAffected", rowsAffected);
         result.put("query", query.toString());
         result.put("parameters", parameters);
         result.put("message", "사용자 생성 완료");
@@ -570,6 +612,24 @@ public class DirectQueryServlet extends HttpServlet {
     
     // 샘플 데이터 생성 메서드들
     
+    private List<Map<String, Object>> executeQuery(String query, List<Object> parameters) throws SQLException {
+        return jdbcExecutor.queryForRows(query, parameters);
+    }
+    
+    private int executeUpdate(String query, List<Object> parameters) throws SQLException {
+        return jdbcExecutor.update(query, parameters);
+    }
+    
+    private DataSource lookupDataSource(String jndiName) throws ServletException {
+        try {
+            DataSource dataSource = (DataSource) new InitialContext().lookup(jndiName);
+            System.out.println("DirectQueryServlet: 데이터 소스 연결 (" + jndiName + ")");
+            return dataSource;
+        } catch (NamingException e) {
+            throw new ServletException("데이터 소스를 찾을 수 없습니다: " + jndiName, e);
+        }
+    }
+    
     private List<Map<String, Object>> generateSampleUserData() {
         List<Map<String, Object>> users = new ArrayList<>();
         for (int i = 1; i <= 10; i++) {
@@ -639,58 +699,4 @@ public class DirectQueryServlet extends HttpServlet {
         // 실제로는 BCrypt 등 안전한 해싱 알고리즘 사용
         return "hashed_" + password.hashCode();
     }
-    
-    private String formatJsonResponse(Map<String, Object> data) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-            if (!first) json.append(",\n");
-            json.append("  \"").append(entry.getKey()).append("\": ");
-            
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                json.append("\"").append(value).append("\"");
-            } else if (value instanceof Number || value instanceof Boolean) {
-                json.append(value);
-            } else if (value instanceof List) {
-                json.append(formatList((List<?>) value));
-            } else {
-                json.append("\"").append(value.toString()).append("\"");
-            }
-            first = false;
-        }
-        
-        json.append("\n}");
-        return json.toString();
-    }
-    
-    private String formatList(List<?> list) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("[");
-        for (int i = 0; i < list.size(); i++) {
-            if (i > 0) sb.append(", ");
-            if (list.get(i) instanceof Map) {
-                sb.append(formatMap((Map<?, ?>) list.get(i)));
-            } else {
-                sb.append("\"").append(list.get(i)).append("\"");
-            }
-        }
-        sb.append("]");
-        return sb.toString();
-    }
-    
-    private String formatMap(Map<?, ?> map) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        boolean first = true;
-        for (Map.Entry<?, ?> entry : map.entrySet()) {
-            if (!first) sb.append(", ");
-            sb.append("\"").append(entry.getKey()).append("\": \"").append(entry.getValue()).append("\"");
-            first = false;
-        }
-        sb.append("}");
-        return sb.toString();
-    }
 }
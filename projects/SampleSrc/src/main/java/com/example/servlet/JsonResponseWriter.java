@@ -0,0 +1,389 @@
+package com.example.servlet;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.util.Map;
+
+/**
+ * 서블릿 공용 스트리밍 JSON 인코더
+ * 문서 전체를 문자열로 만들지 않고 UTF-8 바이트를 버퍼에 바로 인코딩하여 OutputStream으로 내보낸다.
+ *
+ * 특징:
+ * 1. 숫자/불리언/null은 그대로, Map/List/배열은 중첩 구조로 출력
+ * 2. 문자열은 JSON 규칙대로 이스케이프 (따옴표, 역슬래시, 제어 문자, U+2028/2029)
+ * 3. 인코딩 버퍼는 스레드별로 재사용 - 요청마다 버퍼를 새로 할당하지 않음
+ *
+ * 대용량 응답은 beginObject()/name()/value() 등 구조 API로 행 단위로 써 내려가면
+ * 전체 결과를 메모리에 두 번 들고 있지 않아도 된다.
+ * close()는 버퍼를 비우고 반납만 하며, 하위 스트림은 닫지 않는다.
+ */
+public final class JsonResponseWriter implements Closeable, Flushable {
+
+    public static final String CONTENT_TYPE = "application/json; charset=UTF-8";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_DEPTH = 128;
+
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int position;
+
+    // 깊이별 "이미 원소가 있음" 표시 - 쉼표 출력 여부 판단
+    private boolean[] hasElements = new boolean[16];
+    private int depth;
+    private boolean afterName;
+
+    public JsonResponseWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = borrowBuffer();
+    }
+
+    /**
+     * 응답 스트림에 값 하나를 JSON으로 기록
+     * Content-Type이 지정되지 않았으면 application/json으로 설정한다.
+     */
+    public static void write(HttpServletResponse response, Object value) throws IOException {
+        if (response.getContentType() == null) {
+            response.setContentType(CONTENT_TYPE);
+        }
+        try (JsonResponseWriter json = new JsonResponseWriter(response.getOutputStream())) {
+            json.value(value);
+        }
+    }
+
+    /**
+     * 값을 JSON 바이트로 변환 (캐시 저장 등 바이트가 필요한 경우)
+     */
+    public static byte[] toBytes(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (JsonResponseWriter json = new JsonResponseWriter(bytes)) {
+            json.value(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public JsonResponseWriter beginObject() throws IOException {
+        beforeValue();
+        writeByte('{');
+        push();
+        return this;
+    }
+
+    public JsonResponseWriter endObject() throws IOException {
+        pop();
+        writeByte('}');
+        return this;
+    }
+
+    public JsonResponseWriter beginArray() throws IOException {
+        beforeValue();
+        writeByte('[');
+        push();
+        return this;
+    }
+
+    public JsonResponseWriter endArray() throws IOException {
+        pop();
+        writeByte(']');
+        return this;
+    }
+
+    /**
+     * 객체 필드명 기록 - 다음에 value() 또는 begin*()가 와야 한다.
+     */
+    public JsonResponseWriter name(String name) throws IOException {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("필드명은 객체 안에서 값 앞에만 올 수 있습니다: " + name);
+        }
+        if (hasElements[depth]) {
+            writeByte(',');
+        }
+        hasElements[depth] = true;
+        writeString(name);
+        writeByte(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonResponseWriter field(String name, Object value) throws IOException {
+        return name(name).value(value);
+    }
+
+    /**
+     * 임의의 값을 JSON으로 기록
+     */
+    public JsonResponseWriter value(Object value) throws IOException {
+        if (value == null) {
+            beforeValue();
+            writeBytes(NULL);
+        } else if (value instanceof CharSequence) {
+            beforeValue();
+            writeString((CharSequence) value);
+        } else if (value instanceof Number) {
+            beforeValue();
+            writeNumber((Number) value);
+        } else if (value instanceof Boolean) {
+            beforeValue();
+            writeBytes((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            endObject();
+        } else if (value instanceof Iterable) {
+            beginArray();
+            for (Object element : (Iterable<?>) value) {
+                value(element);
+            }
+            endArray();
+        } else if (value instanceof Object[]) {
+            beginArray();
+            for (Object element : (Object[]) value) {
+                value(element);
+            }
+            endArray();
+        } else if (value.getClass().isArray()) {
+            beginArray();
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                value(Array.get(value, i));
+            }
+            endArray();
+        } else if (value instanceof Enum) {
+            beforeValue();
+            writeString(((Enum<?>) value).name());
+        } else {
+            // Date, Character 등은 기존 응답과 같이 문자열로 표현
+            beforeValue();
+            writeString(value.toString());
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            releaseBuffer(buffer);
+            buffer = null;
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasElements[depth]) {
+                writeByte(',');
+            }
+            hasElements[depth] = true;
+        }
+    }
+
+    private void push() {
+        if (depth + 1 >= MAX_DEPTH) {
+            throw new IllegalStateException("JSON 중첩 깊이 초과 (순환 참조 여부 확인): " + MAX_DEPTH);
+        }
+        depth++;
+        if (depth >= hasElements.length) {
+            boolean[] grown = new boolean[hasElements.length * 2];
+            System.arraycopy(hasElements, 0, grown, 0, hasElements.length);
+            hasElements = grown;
+        }
+        hasElements[depth] = false;
+    }
+
+    private void pop() {
+        if (depth == 0 || afterName) {
+            throw new IllegalStateException("닫을 JSON 객체/배열이 없거나 필드 값이 누락되었습니다");
+        }
+        depth--;
+    }
+
+    private void writeNumber(Number number) throws IOException {
+        if (number instanceof Long || number instanceof Integer
+                || number instanceof Short || number instanceof Byte) {
+            writeLong(number.longValue());
+        } else if (number instanceof Double || number instanceof Float) {
+            double d = number.doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                // JSON에는 NaN/Infinity 표현이 없음
+                writeBytes(NULL);
+            } else {
+                writeAscii(number.toString());
+            }
+        } else {
+            // BigDecimal, BigInteger, AtomicLong 등
+            writeAscii(number.toString());
+        }
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii("-9223372036854775808");
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        // 역순으로 기록된 자릿수 뒤집기
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte tmp = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = tmp;
+        }
+    }
+
+    private void writeString(CharSequence value) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = '"';
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            // 문자 하나는 최대 6바이트(\\uXXXX) 또는 서로게이트 쌍 4바이트
+            ensureCapacity(6);
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x80) {
+                writeEscaped(c);
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c == 0x2028 || c == 0x2029) {
+                writeUnicodeEscape(c);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // 짝이 없는 서로게이트는 UTF-8로 표현할 수 없음
+                buffer[position++] = '?';
+            } else {
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        ensureCapacity(1);
+        buffer[position++] = '"';
+    }
+
+    private void writeEscaped(char c) {
+        buffer[position++] = '\\';
+        switch (c) {
+            case '"':  buffer[position++] = '"'; break;
+            case '\\': buffer[position++] = '\\'; break;
+            case '\n': buffer[position++] = 'n'; break;
+            case '\r': buffer[position++] = 'r'; break;
+            case '\t': buffer[position++] = 't'; break;
+            case '\b': buffer[position++] = 'b'; break;
+            case '\f': buffer[position++] = 'f'; break;
+            default:
+                position--;
+                writeUnicodeEscape(c);
+        }
+    }
+
+    private void writeUnicodeEscape(char c) {
+        buffer[position++] = '\\';
+        buffer[position++] = 'u';
+        buffer[position++] = HEX[(c >> 12) & 0xF];
+        buffer[position++] = HEX[(c >> 8) & 0xF];
+        buffer[position++] = HEX[(c >> 4) & 0xF];
+        buffer[position++] = HEX[c & 0xF];
+    }
+
+    private void writeAscii(String value) throws IOException {
+        int length = value.length();
+        ensureCapacity(length);
+        if (length > buffer.length) {
+            for (int i = 0; i < length; i++) {
+                writeByte(value.charAt(i));
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeByte(int b) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) b;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer == null) {
+            throw new IllegalStateException("이미 닫힌 JsonResponseWriter입니다");
+        }
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static byte[] borrowBuffer() {
+        byte[] cached = BUFFERS.get();
+        if (cached != null) {
+            // 같은 스레드에서 중첩 사용 시 새 버퍼를 쓰도록 비워둠
+            BUFFERS.set(null);
+            return cached;
+        }
+        return new byte[BUFFER_SIZE];
+    }
+
+    private static void releaseBuffer(byte[] buffer) {
+        BUFFERS.set(buffer);
+    }
+}
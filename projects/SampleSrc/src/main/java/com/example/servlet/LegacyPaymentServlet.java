@@ -91,7 +91,6 @@ public class LegacyPaymentServlet extends HttpServlet {
             throws ServletException, IOException {
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         String action = request.getParameter("action");
         Map<String, Object> result = new HashMap<>();
@@ -126,8 +125,7 @@ public class LegacyPaymentServlet extends HttpServlet {
             result.put("timestamp", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
         }
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     @Override
@@ -135,7 +133,6 @@ public class LegacyPaymentServlet extends HttpServlet {
             throws ServletException, IOException {
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         String paymentId = request.getParameter("paymentId");
         String newStatus = request.getParameter("status");
@@ -149,8 +146,7 @@ public class LegacyPaymentServlet extends HttpServlet {
         result.put("success", true);
         result.put("message", "결제 상태가 성공적으로 수정되었습니다.");
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     @Override
@@ -158,7 +154,6 @@ public class LegacyPaymentServlet extends HttpServlet {
             throws ServletException, IOException {
         
         response.setContentType("application/json; charset=UTF-8");
-        PrintWriter out = response.getWriter();
         
         String paymentId = request.getParameter("paymentId");
         
@@ -170,8 +165,7 @@ public class LegacyPaymentServlet extends HttpServlet {
         result.put("message", "결제 기록이 성공적으로 삭제되었습니다.");
         result.put("warning", "이 작업은 되돌릴 수 없습니다.");
         
-        out.println(formatJsonResponse(result));
-        out.flush();
+        JsonResponseWriter.write(response, result);
     }
     
     private void showMainMenu(HttpServletRequest request, PrintWriter out) {
@@ -371,38 +365,4 @@ public class LegacyPaymentServlet extends HttpServlet {
             default: return "";
         }
     }
-    
-    private String formatJsonResponse(Map<String, Object> data) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-            if (!first) {
-                json.append(",\n");
-            }
-            json.append("  \"").append(entry.getKey()).append("\": ");
-            
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                json.append("\"").append(value).append("\"");
-            } else if (value instanceof Number || value instanceof Boolean) {
-                json.append(value);
-            } else if (value instanceof String[]) {
-                json.append("[");
-                String[] array = (String[]) value;
-                for (int i = 0; i < array.length; i++) {
-                    if (i > 0) json.append(", ");
-                    json.append("\"").append(array[i]).append("\"");
-                }
-                json.append("]");
-            } else {
-                json.append("\"").append(value.toString()).append("\"");
-            }
-            first = false;
-        }
-        
-        json.append("\n}");
-        return json.toString();
-    }
 }
@@ -5,7 +5,6 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.io.PrintWriter;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,7 +31,7 @@ public class OrderManagementServlet extends HttpServlet {
         response.setHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
         response.setHeader("Access-Control-Allow-Headers", "Content-Type");
         
-        PrintWriter out = response.getWriter();
+        JsonResponseWriter out = new JsonResponseWriter(response.getOutputStream());
         
         try {
             switch (method.toUpperCase()) {
@@ -57,10 +56,12 @@ public class OrderManagementServlet extends HttpServlet {
             }
         } catch (Exception e) {
             handleError(request, response, out, e);
+        } finally {
+            out.close();
         }
     }
     
-    private void handleGetRequest(HttpServletRequest request, HttpServletResponse response, PrintWriter out) 
+    private void handleGetRequest(HttpServletRequest request, HttpServletResponse response, JsonResponseWriter out) 
             throws IOException {
         
         String action = request.getParameter("action");
@@ -99,10 +100,10 @@ public class OrderManagementServlet extends HttpServlet {
         result.put("timestamp", new Date().toString());
         result.put("success", true);
         
-        out.println(formatJsonResponse(result));
+        out.value(result);
     }
     
-    private void handlePostRequest(HttpServletRequest request, HttpServletResponse response, PrintWriter out) 
+    private void handlePostRequest(HttpServletRequest request, HttpServletResponse response, JsonResponseWriter out) 
             throws IOException {
         
         String action = request.getParameter("action");
@@ -140,10 +141,10 @@ public class OrderManagementServlet extends HttpServlet {
         result.put("timestamp", new Date().toString());
         result.put("success", true);
         
-        out.println(formatJsonResponse(result));
+        out.value(result);
     }
     
-    private void handlePutRequest(HttpServletRequest request, HttpServletResponse response, PrintWriter out) 
+    private void handlePutRequest(HttpServletRequest request, HttpServletResponse response, JsonResponseWriter out) 
             throws IOException {
         
         String action = request.getParameter("action");
@@ -182,10 +183,10 @@ public class OrderManagementServlet extends HttpServlet {
         result.put("timestamp", new Date().toString());
         result.put("success", true);
         
-        out.println(formatJsonResponse(result));
+        out.value(result);
     }
     
-    private void handleDeleteRequest(HttpServletRequest request, HttpServletResponse response, PrintWriter out) 
+    private void handleDeleteRequest(HttpServletRequest request, HttpServletResponse response, JsonResponseWriter out) 
             throws IOException {
         
         String orderId = request.getParameter("orderId");
@@ -198,10 +199,10 @@ public class OrderManagementServlet extends HttpServlet {
         result.put("success", true);
         result.put("message", "주문이 성공적으로 삭제되었습니다.");
         
-        out.println(formatJsonResponse(result));
+        out.value(result);
     }
     
-    private void handleOptionsRequest(HttpServletRequest request, HttpServletResponse response, PrintWriter out) 
+    private void handleOptionsRequest(HttpServletRequest request, HttpServletResponse response, JsonResponseWriter out) 
             throws IOException {
         
         Map<String, Object> result = new HashMap<>();
@@ -211,10 +212,10 @@ public class OrderManagementServlet extends HttpServlet {
         result.put("timestamp", new Date().toString());
         result.put("success", true);
         
-        out.println(formatJsonResponse(result));
+        out.value(result);
     }
     
-    private void handleUnsupportedMethod(HttpServletRequest request, HttpServletResponse response, PrintWriter out, String method) 
+    private void handleUnsupportedMethod(HttpServletRequest request, HttpServletResponse response, JsonResponseWriter out, String method) 
             throws IOException {
         
         response.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
@@ -227,10 +228,10 @@ public class OrderManagementServlet extends HttpServlet {
         result.put("timestamp", new Date().toString());
         result.put("success", false);
         
-        out.println(formatJsonResponse(result));
+        out.value(result);
     }
     
-    private void handleError(HttpServletRequest request, HttpServletResponse response, PrintWriter out, Exception e) 
+    private void handleError(HttpServletRequest request, HttpServletResponse response, JsonResponseWriter out, Exception e) 
             throws IOException {
         
         response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
@@ -243,7 +244,7 @@ public class OrderManagementServlet extends HttpServlet {
         result.put("timestamp", new Date().toString());
         result.put("success", false);
         
-        out.println(formatJsonResponse(result));
+        out.value(result);
     }
     
     // 비즈니스 로직 메서드들 (실제 구현은 DB 연동)
@@ -286,30 +287,4 @@ public class OrderManagementServlet extends HttpServlet {
         order.put("totalAmount", quantity * 50000); // 샘플 가격
         return order;
     }
-    
-    private String formatJsonResponse(Map<String, Object> data) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
-        
-        boolean first = true;
-        for (Map.Entry<String, Object> entry : data.entrySet()) {
-            if (!first) {
-                json.append(",\n");
-            }
-            json.append("  \"").append(entry.getKey()).append("\": ");
-            
-            Object value = entry.getValue();
-            if (value instanceof String) {
-                json.append("\"").append(value).append("\"");
-            } else if (value instanceof Number || value instanceof Boolean) {
-                json.append(value);
-            } else {
-                json.append("\"").append(value.toString()).append("\"");
-            }
-            first = false;
-        }
-        
-        json.append("\n}");
-        return json.toString();
-    }
 }
@@ -0,0 +1,361 @@
+package com.example.servlet;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 리포트 응답 캐시 - 서블릿 요청 스레드 간 공유
+ *
+ * 특징:
+ * 1. 항목 수 + 바이트(weight) 기준 이중 상한 - 세그먼트별 LRU 제거
+ * 2. TTL 만료 - 조회 시점에 만료 항목 제거
+ * 3. 락 스트라이핑 - 키 해시로 세그먼트를 나눠 세그먼트 단위로만 잠금
+ * 4. single-flight 로딩 - 같은 키의 동시 미스는 한 스레드만 생성하고 나머지는 결과를 기다림
+ * 5. 값은 형식별로 직렬화가 끝난 응답 바이트 - 히트 시 재직렬화 없음
+ */
+public class ReportCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    // 키 문자열, 항목 객체, LinkedHashMap 노드의 대략적인 고정 비용
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+
+    /**
+     * @param maxEntries      전체 최대 항목 수
+     * @param maxWeightBytes  전체 최대 응답 바이트
+     * @param ttlMillis       항목 유효 시간 (0 이하면 만료 없음)
+     */
+    public ReportCache(int maxEntries, long maxWeightBytes, long ttlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        if (maxWeightBytes <= 0) {
+            throw new IllegalArgumentException("maxWeightBytes must be positive: " + maxWeightBytes);
+        }
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000L : Long.MAX_VALUE;
+
+        int segmentEntries = Math.max(1, (maxEntries + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        long segmentWeight = Math.max(1L, (maxWeightBytes + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentEntries, segmentWeight);
+        }
+    }
+
+    /**
+     * 캐시 조회 - 없으면 loader로 생성하여 저장
+     * 같은 키로 동시에 들어온 미스는 loader를 한 번만 실행한다.
+     * loader가 null을 반환하면 저장하지 않고 null을 반환한다.
+     */
+    public CachedResponse get(String key, Supplier<CachedResponse> loader) {
+        CachedResponse cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+
+        CompletableFuture<CachedResponse> loading = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = inFlight.putIfAbsent(key, loading);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+
+        try {
+            // 미스 판단 후 putIfAbsent 사이에 다른 스레드의 로딩이 끝났을 수 있음
+            CachedResponse value = lookup(key);
+            if (value == null) {
+                loads.increment();
+                value = loader.get();
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            loadFailures.increment();
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, loading);
+        }
+    }
+
+    public CachedResponse getIfPresent(String key) {
+        CachedResponse cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return cached;
+    }
+
+    public void put(String key, CachedResponse value) {
+        segmentFor(key).put(key, value, System.nanoTime() + ttlNanos);
+    }
+
+    public void invalidate(String key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * 조건에 맞는 키를 모두 제거
+     * @return 제거된 항목 수
+     */
+    public int invalidateIf(Predicate<String> keyFilter) {
+        int removed = 0;
+        for (Segment segment : segments) {
+            removed += segment.removeIf(keyFilter);
+        }
+        return removed;
+    }
+
+    public void invalidateAll() {
+        invalidateIf(key -> true);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long weightedSize() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    public long getHitCount() { return hits.sum(); }
+    public long getMissCount() { return misses.sum(); }
+    public long getEvictionCount() { return evictions.sum(); }
+    public long getExpirationCount() { return expirations.sum(); }
+    public long getLoadCount() { return loads.sum(); }
+    public long getLoadFailureCount() { return loadFailures.sum(); }
+
+    /**
+     * 캐시 통계 스냅샷
+     */
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", requestCount == 0 ? 0.0 : (double) hitCount / requestCount);
+        stats.put("evictions", evictions.sum());
+        stats.put("expirations", expirations.sum());
+        stats.put("loads", loads.sum());
+        stats.put("loadFailures", loadFailures.sum());
+        stats.put("coalescedLoads", coalescedLoads.sum());
+        stats.put("size", size());
+        stats.put("weightBytes", weightedSize());
+        return stats;
+    }
+
+    private CachedResponse lookup(String key) {
+        return segmentFor(key).get(key, System.nanoTime());
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENT_COUNT - 1)];
+    }
+
+    private static CachedResponse await(CompletableFuture<CachedResponse> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } catch (CancellationException e) {
+            throw new IllegalStateException("리포트 로딩이 취소되었습니다", e);
+        }
+    }
+
+    private static int weigh(String key, CachedResponse value) {
+        return ENTRY_OVERHEAD_BYTES + key.length() * 2 + value.getBody().length;
+    }
+
+    /**
+     * 세그먼트 - 접근 순서 LinkedHashMap + 전용 락
+     */
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxEntries;
+        private final long maxWeight;
+        private long weight;
+
+        Segment(int maxEntries, long maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+        }
+
+        CachedResponse get(String key, long now) {
+            lock.lock();
+            try {
+                Entry entry = map.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (now - entry.expiresAt >= 0) {
+                    map.remove(key);
+                    weight -= entry.weight;
+                    expirations.increment();
+                    return null;
+                }
+                return entry.value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String key, CachedResponse value, long expiresAt) {
+            int entryWeight = weigh(key, value);
+            lock.lock();
+            try {
+                Entry previous = map.remove(key);
+                if (previous != null) {
+                    weight -= previous.weight;
+                }
+                if (entryWeight > maxWeight) {
+                    // 세그먼트 용량보다 큰 응답은 다른 항목을 모두 밀어내므로 저장하지 않음
+                    return;
+                }
+                map.put(key, new Entry(value, expiresAt, entryWeight));
+                weight += entryWeight;
+                evictEldest();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(String key) {
+            lock.lock();
+            try {
+                Entry removed = map.remove(key);
+                if (removed != null) {
+                    weight -= removed.weight;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int removeIf(Predicate<String> keyFilter) {
+            lock.lock();
+            try {
+                int removed = 0;
+                Iterator<Map.Entry<String, Entry>> it = map.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, Entry> next = it.next();
+                    if (keyFilter.test(next.getKey())) {
+                        weight -= next.getValue().weight;
+                        it.remove();
+                        removed++;
+                    }
+                }
+                return removed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long weight() {
+            lock.lock();
+            try {
+                return weight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void evictEldest() {
+            Iterator<Map.Entry<String, Entry>> it = map.entrySet().iterator();
+            while ((map.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+                Entry eldest = it.next().getValue();
+                it.remove();
+                weight -= eldest.weight;
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+        final CachedResponse value;
+        final long expiresAt;
+        final int weight;
+
+        Entry(CachedResponse value, long expiresAt, int weight) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 직렬화가 끝난 응답 - Content-Type과 본문 바이트
+     * 본문 배열은 여러 요청이 공유하므로 수정하면 안 된다.
+     */
+    public static final class CachedResponse {
+
+        private final String contentType;
+        private final byte[] body;
+
+        public CachedResponse(String contentType, byte[] body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public String getContentType() { return contentType; }
+        public byte[] getBody() { return body; }
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.servlet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 리포트 내보내기 스트리머 - 행 단위로 CSV/XML을 응답에 바로 기록
+ * 목적: 전체 내보내기 결과를 메모리에 만들지 않고 데이터 소스의 행을 그대로 흘려보냄
+ *
+ * 특징:
+ * 1. Content-Length 없이 기록하므로 컨테이너가 chunked 전송으로 내보냄
+ * 2. flushRows 행 또는 flushChars 문자마다 flush - 클라이언트가 진행 상황을 바로 받음
+ * 3. 백프레셔: 행 생산(JDBC 커서)과 응답 쓰기가 같은 스레드에서 이뤄지므로
+ *    느린 클라이언트 때문에 쓰기가 막히면 커서 읽기도 함께 멈춤 (버퍼는 고정 크기)
+ * 4. gzip 선택 적용 (sync flush로 flush 시점마다 압축 블록 전송)
+ * 5. maxRecords 초과분은 스트리밍 중에 잘라냄
+ *
+ * 클라이언트 연결이 끊기면 쓰기에서 IOException이 발생하고, 이 예외가 데이터 소스까지
+ * 전파되어 커서가 닫힌다.
+ */
+public class ReportExportStreamer {
+
+    public static final int DEFAULT_FLUSH_ROWS = 500;
+    public static final int DEFAULT_FLUSH_CHARS = 64 * 1024;
+
+    private final int flushRows;
+    private final int flushChars;
+    private final int maxRecords;
+
+    public ReportExportStreamer(int flushRows, int flushChars, int maxRecords) {
+        if (flushRows <= 0 || flushChars <= 0) {
+            throw new IllegalArgumentException("flush 기준은 양수여야 합니다: rows=" + flushRows + ", chars=" + flushChars);
+        }
+        if (maxRecords <= 0) {
+            throw new IllegalArgumentException("maxRecords must be positive: " + maxRecords);
+        }
+        this.flushRows = flushRows;
+        this.flushChars = flushChars;
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * 행 공급자 - 최대 maxRows 행을 순서대로 sink에 전달
+     * sink에서 발생한 IOException은 그대로 전파해야 한다 (클라이언트 연결 종료).
+     */
+    public interface RowSource {
+        void forEach(int maxRows, RowSink sink) throws Exception;
+    }
+
+    public interface RowSink {
+        void accept(Map<String, Object> row) throws IOException;
+    }
+
+    /**
+     * 내보내기 실행
+     * @param format   csv 또는 xml
+     * @param fileName 다운로드 파일명 (확장자 제외)
+     * @param columns  출력 컬럼 (행 Map의 키)
+     * @return 기록된 행 수와 잘림 여부
+     */
+    public ExportResult export(HttpServletRequest request,
+                               HttpServletResponse response,
+                               String format,
+                               String fileName,
+                               String[] columns,
+                               RowSource source) throws IOException {
+        RowFormat rowFormat = rowFormat(format, columns);
+        boolean gzip = acceptsGzip(request);
+
+        response.setContentType(rowFormat.contentType());
+        response.setHeader("Content-Disposition",
+                           "attachment; filename=\"" + fileName + "." + rowFormat.extension() + (gzip ? ".gz" : "") + "\"");
+        response.setHeader("X-Export-Max-Records", String.valueOf(maxRecords));
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        // 컨테이너 버퍼를 flush 기준과 맞춰 중간에 불필요하게 커밋되지 않도록 함
+        response.setBufferSize(flushChars);
+
+        OutputStream body = response.getOutputStream();
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(body, 8192, true) : null;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(gzip ? gzipStream : body, StandardCharsets.UTF_8), 8192);
+
+        ExportSink sink = new ExportSink(writer, rowFormat, response);
+        long startTime = System.currentTimeMillis();
+        try {
+            rowFormat.writeHeader(writer);
+            // maxRecords + 1 행을 요청해 잘림 여부를 판단
+            source.forEach(maxRecords + 1, sink);
+            rowFormat.writeFooter(writer, sink.truncated);
+            writer.flush();
+            if (gzipStream != null) {
+                gzipStream.finish();
+            }
+            body.flush();
+        } catch (IOException e) {
+            System.out.println("ReportExportStreamer: 클라이언트 연결 종료로 내보내기 중단 (" + sink.rows + "행 전송)");
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("내보내기 데이터 조회 실패 (" + sink.rows + "행 전송 후)", e);
+        }
+
+        long elapsed = System.currentTimeMillis() - startTime;
+        System.out.println("ReportExportStreamer: " + sink.rows + "행 내보내기 완료 (" + format + (gzip ? ", gzip" : "")
+                           + ", " + elapsed + "ms" + (sink.truncated ? ", maxRecords 초과로 잘림" : "") + ")");
+        return new ExportResult(sink.rows, sink.truncated, sink.flushes);
+    }
+
+    /**
+     * 형식별 행 기록기 (csv 외에는 xml)
+     */
+    static RowFormat rowFormat(String format, String[] columns) {
+        return "xml".equalsIgnoreCase(format) ? new XmlRowFormat(columns) : new CsvRowFormat(columns);
+    }
+
+    private boolean acceptsGzip(HttpServletRequest request) {
+        String compress = request.getParameter("compress");
+        if (compress != null) {
+            return "gzip".equalsIgnoreCase(compress);
+        }
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    /**
+     * 행 기록 + flush 정책 + maxRecords 컷오프
+     */
+    private final class ExportSink implements RowSink {
+
+        private final Writer writer;
+        private final RowFormat rowFormat;
+        private final HttpServletResponse response;
+        private long rows;
+        private long flushes;
+        private boolean truncated;
+        private int rowsSinceFlush;
+        private long charsSinceFlush;
+
+        ExportSink(Writer writer, RowFormat rowFormat, HttpServletResponse response) {
+            this.writer = writer;
+            this.rowFormat = rowFormat;
+            this.response = response;
+        }
+
+        @Override
+        public void accept(Map<String, Object> row) throws IOException {
+            if (rows >= maxRecords) {
+                truncated = true;
+                return;
+            }
+            charsSinceFlush += rowFormat.writeRow(writer, row);
+            rows++;
+            rowsSinceFlush++;
+
+            if (rowsSinceFlush >= flushRows || charsSinceFlush >= flushChars) {
+                writer.flush();
+                response.flushBuffer();
+                rowsSinceFlush = 0;
+                charsSinceFlush = 0;
+                flushes++;
+            }
+        }
+    }
+
+    /**
+     * 내보내기 결과 요약
+     */
+    public static final class ExportResult {
+        private final long rows;
+        private final boolean truncated;
+        private final long flushes;
+
+        ExportResult(long rows, boolean truncated, long flushes) {
+            this.rows = rows;
+            this.truncated = truncated;
+            this.flushes = flushes;
+        }
+
+        public long getRows() { return rows; }
+        public boolean isTruncated() { return truncated; }
+        public long getFlushes() { return flushes; }
+    }
+
+    /**
+     * 출력 형식 - 행 하나를 기록하고 기록한 문자 수를 반환
+     */
+    abstract static class RowFormat {
+        protected final String[] columns;
+
+        RowFormat(String[] columns) {
+            this.columns = columns;
+        }
+
+        abstract String contentType();
+        abstract String extension();
+        abstract void writeHeader(Writer writer) throws IOException;
+        abstract int writeRow(Writer writer, Map<String, Object> row) throws IOException;
+        abstract void writeFooter(Writer writer, boolean truncated) throws IOException;
+    }
+
+    private static final class CsvRowFormat extends RowFormat {
+
+        CsvRowFormat(String[] columns) {
+            super(columns);
+        }
+
+        @Override String contentType() { return "text/csv; charset=UTF-8"; }
+        @Override String extension() { return "csv"; }
+
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            // Excel에서 UTF-8로 인식하도록 BOM 기록
+            writer.write('\uFEFF');
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) writer.write(',');
+                writeField(writer, columns[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        int writeRow(Writer writer, Map<String, Object> row) throws IOException {
+            int written = 2;
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                    written++;
+                }
+                Object value = row.get(columns[i]);
+                written += writeField(writer, value == null ? "" : value.toString());
+            }
+            writer.write("\r\n");
+            return written;
+        }
+
+        @Override
+        void writeFooter(Writer writer, boolean truncated) {
+            // CSV는 트레일러가 없음 - 잘림 여부는 X-Export-Max-Records 헤더와 행 수로 판단
+        }
+
+        private int writeField(Writer writer, String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return value.length();
+            }
+            int written = 2;
+            writer.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    writer.write('"');
+                    written++;
+                }
+                writer.write(c);
+                written++;
+            }
+            writer.write('"');
+            return written;
+        }
+    }
+
+    private static final class XmlRowFormat extends RowFormat {
+
+        XmlRowFormat(String[] columns) {
+            super(columns);
+        }
+
+        @Override String contentType() { return "application/xml; charset=UTF-8"; }
+        @Override String extension() { return "xml"; }
+
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<export>\n");
+        }
+
+        @Override
+        int writeRow(Writer writer, Map<String, Object> row) throws IOException {
+            int written = 14;
+            writer.write("  <row>");
+            for (String column : columns) {
+                Object value = row.get(column);
+                writer.write('<');
+                writer.write(column);
+                if (value == null) {
+                    writer.write("/>");
+                    written += column.length() + 3;
+                    continue;
+                }
+                writer.write('>');
+                written += writeEscaped(writer, value.toString());
+                writer.write("</");
+                writer.write(column);
+                writer.write('>');
+                written += column.length() * 2 + 5;
+            }
+            writer.write("</row>\n");
+            return written;
+        }
+
+        @Override
+        void writeFooter(Writer writer, boolean truncated) throws IOException {
+            if (truncated) {
+                writer.write("  <truncated>true</truncated>\n");
+            }
+            writer.write("</export>\n");
+        }
+
+        private int writeEscaped(Writer writer, String value) throws IOException {
+            int written = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&': writer.write("&amp;"); written += 5; break;
+                    case '<': writer.write("&lt;"); written += 4; break;
+                    case '>': writer.write("&gt;"); written += 4; break;
+                    case '"': writer.write("&quot;"); written += 6; break;
+                    default:
+                        // XML 1.0에서 허용되지 않는 제어 문자는 제외
+                        if (c < 0x20 && c != '\t' && c != '\n' && c != '\r') {
+                            continue;
+                        }
+                        writer.write(c);
+                        written++;
+                }
+            }
+            return written;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.complex;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LargeBusinessClass - 처리 큐 워커의 processed_ 키 이동, close 수명 주기, 배치 집계 방식별 결과 검증
+ */
+class LargeBusinessClassTest {
+
+    private final LargeBusinessClass processor = new LargeBusinessClass();
+
+    @AfterEach
+    void tearDown() {
+        processor.close();
+    }
+
+    @Test
+    @DisplayName("처리 큐 워커는 저장된 데이터를 processed_ 키로 옮기고 유형별 완료 건수를 센다")
+    void workerMovesDataToProcessedKeys() {
+        processor.processBusinessData("user", "alice", Map.of());
+        processor.processBusinessData("order", "order-1", Map.of());
+        processor.processBusinessData("order", "order-2", Map.of());
+
+        processor.close();
+
+        assertThat(processor.getProcessedDataKeys()).hasSize(3).allMatch(key -> key.startsWith("processed_"));
+        assertThat(processor.getDataCache()).hasSize(3).containsValues("alice", "order-1", "order-2");
+        assertThat(processor.getSystemStatus())
+            .containsEntry("processed_by_type", Map.of("user", 1L, "order", 2L))
+            .containsEntry("expired_before_processing", 0L);
+    }
+
+    @Test
+    @DisplayName("close 후에는 처리 요청을 IllegalStateException으로 거절한다")
+    void rejectsProcessingAfterClose() {
+        processor.processBusinessData("user", "alice", Map.of());
+        processor.close();
+
+        assertThatThrownBy(() -> processor.processBusinessData("user", "bob", Map.of()))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new LargeBusinessClass().processBusinessData(null, "x", Map.of()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("배치 집계는 방식과 관계없이 같은 카테고리별 건수를 낸다 (빈 항목 제외, 카테고리 없으면 unknown)")
+    void batchModesAgree() {
+        List<Map<String, Object>> batch = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            batch.add(i % 7 == 0 ? Map.of() : i % 5 == 0 ? Map.of("id", i) : Map.of("category", "C" + i % 3));
+        }
+
+        Map<String, Integer> sequential = processor.processBatchData(batch, LargeBusinessClass.BatchMode.SEQUENTIAL);
+
+        assertThat(processor.processBatchData(batch, LargeBusinessClass.BatchMode.PARALLEL)).isEqualTo(sequential);
+        assertThat(processor.processBatchData(batch, LargeBusinessClass.BatchMode.PARTITIONED)).isEqualTo(sequential);
+        assertThat(sequential.values().stream().mapToInt(Integer::intValue).sum())
+            .isEqualTo((int) batch.stream().filter(item -> !item.isEmpty()).count());
+        assertThat(sequential).containsKey("unknown");
+        assertThat(processor.getDataCache()).isEmpty();
+    }
+}
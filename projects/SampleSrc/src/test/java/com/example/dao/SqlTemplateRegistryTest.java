@@ -0,0 +1,99 @@
+package com.example.dao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SqlTemplateRegistry/SqlTemplate - String.format과 같은 결과, 형태 1회 파싱, 완성 SQL 재사용과 상한, 식별자 검증
+ */
+class SqlTemplateRegistryTest {
+
+    private static final String ORDERS = "SELECT o.* FROM orders_%1$s o %2$s JOIN users_%1$s u ON u.user_id = o.user_id "
+                                          + "WHERE o.status = ? AND o.memo LIKE '10%%'";
+
+    @Test
+    @DisplayName("렌더링 결과는 String.format과 같다 - %s, %N$s, %% 지원")
+    void rendersLikeStringFormat() {
+        SqlTemplateRegistry registry = new SqlTemplateRegistry(16);
+
+        assertThat(registry.render("orders", ORDERS, "prod", "LEFT"))
+            .isEqualTo(String.format(ORDERS, "prod", "LEFT"));
+        assertThat(SqlTemplate.parse("seq", "SELECT %s FROM %s").bind("id", "users"))
+            .isEqualTo("SELECT id FROM users");
+    }
+
+    @Test
+    @DisplayName("형태는 (이름, 플래그)마다 한 번만 만들고, 같은 슬롯 값이면 같은 SQL 인스턴스를 돌려준다")
+    void parsesShapeOnceAndReusesRenderedSql() {
+        SqlTemplateRegistry registry = new SqlTemplateRegistry(16);
+        AtomicInteger shapes = new AtomicInteger();
+
+        String first = registry.render("events", 1, flags -> {
+            shapes.incrementAndGet();
+            return "SELECT * FROM events_%1$s" + ((flags & 1) != 0 ? " WHERE id > ?" : "");
+        }, "prod");
+        String again = registry.render("events", 1, flags -> "다시 호출되면 안 됨", "prod");
+        String otherEnv = registry.render("events", 1, flags -> "다시 호출되면 안 됨", "dev");
+
+        assertThat(again).isSameAs(first).isEqualTo("SELECT * FROM events_prod WHERE id > ?");
+        assertThat(otherEnv).isEqualTo("SELECT * FROM events_dev WHERE id > ?");
+        assertThat(shapes.get()).isEqualTo(1);
+        assertThat(registry.stats())
+            .containsEntry("templates", 1)
+            .containsEntry("renderedStatements", 2)
+            .containsEntry("hits", 1L)
+            .containsEntry("parses", 1L);
+    }
+
+    @Test
+    @DisplayName("완성 SQL 수가 상한에 이르면 더 캐시하지 않고 매번 조립만 한다")
+    void stopsCachingAtMaxRendered() {
+        SqlTemplateRegistry registry = new SqlTemplateRegistry(2);
+
+        for (String env : new String[] {"a", "b", "c", "c"}) {
+            assertThat(registry.render("users", "SELECT * FROM users_%s", env)).isEqualTo("SELECT * FROM users_" + env);
+        }
+
+        assertThat(registry.stats())
+            .containsEntry("renderedStatements", 2)
+            .containsEntry("uncached", 2L)
+            .containsEntry("hits", 0L);
+    }
+
+    @Test
+    @DisplayName("호출자가 넘긴 슬롯 배열을 나중에 바꿔도 캐시된 SQL은 영향받지 않는다")
+    void copiesSlotValuesBeforeCaching() {
+        SqlTemplateRegistry registry = new SqlTemplateRegistry(16);
+        String[] values = {"prod"};
+
+        registry.render("users", "SELECT * FROM users_%s", values);
+        values[0] = "dev";
+
+        assertThat(registry.render("users", "SELECT * FROM users_%s", "prod")).isEqualTo("SELECT * FROM users_prod");
+        assertThat(registry.render("users", "SELECT * FROM users_%s", values)).isEqualTo("SELECT * FROM users_dev");
+    }
+
+    @Test
+    @DisplayName("식별자가 아닌 슬롯 값과 지원하지 않는 서식은 IllegalArgumentException")
+    void rejectsNonIdentifiersAndUnsupportedFormats() {
+        SqlTemplateRegistry registry = new SqlTemplateRegistry(16);
+
+        assertThatThrownBy(() -> registry.render("users", "SELECT * FROM users_%s", "prod; DROP TABLE users"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("식별자가 아닌 슬롯 값");
+        assertThatThrownBy(() -> registry.render("users", "SELECT * FROM users_%s", ""))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SqlTemplate.parse("bad", "SELECT %d FROM users"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("지원하지 않는 서식 지정자");
+        assertThatThrownBy(() -> SqlTemplate.parse("slots", "SELECT * FROM %1$s_%2$s").bind("users"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("슬롯 2개에 값 1개");
+        assertThat(registry.stats()).containsEntry("renderedStatements", 0);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.inheritance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BatchPipeline - 단계 동시 실행, 병렬 단계에서도 순차 실행과 같은 결과 순서, 큐 용량 제한, 실패 전파와 중단 검증
+ */
+class BatchPipelineTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("분할/단계를 병렬로 돌려도 결과 배치는 분할 순서 -> 추출 순서이고 모든 단계를 추가한 순서대로 거친다")
+    void keepsSequentialOrderAcrossParallelStages() {
+        List<Map<String, Object>> partitions = List.of(Map.of("region", "A"), Map.of("region", "B"), Map.of("region", "C"));
+        BatchPipeline pipeline = new BatchPipeline(executor, 2)
+            .stage("VALIDATE", 3, batch -> mark(batch, "v"))
+            .stage("ENRICH", 2, batch -> mark(batch, "e"));
+
+        List<List<Map<String, Object>>> batches = pipeline.run(partitions, 3, (partition, sink) -> {
+            for (int b = 0; b < 4; b++) {
+                jitter();
+                sink.accept(List.of(record(partition.get("region") + "-" + b)));
+            }
+        });
+
+        List<String> ids = new ArrayList<>();
+        for (List<Map<String, Object>> batch : batches) {
+            assertThat(batch).singleElement().satisfies(record -> assertThat(record).containsEntry("trail", "ve"));
+            ids.add((String) batch.get(0).get("id"));
+        }
+        assertThat(ids).containsExactly("A-0", "A-1", "A-2", "A-3", "B-0", "B-1", "B-2", "B-3", "C-0", "C-1", "C-2", "C-3");
+    }
+
+    @Test
+    @DisplayName("추출과 뒷단계가 겹쳐 돈다 - 첫 배치가 마지막 단계를 통과해야 다음 배치를 추출하는 흐름도 끝난다")
+    void overlapsExtractionWithLaterStages() {
+        CountDownLatch firstEnriched = new CountDownLatch(1);
+        BatchPipeline pipeline = new BatchPipeline(executor, 1)
+            .stage("ENRICH", 1, batch -> {
+                firstEnriched.countDown();
+                return batch;
+            });
+
+        List<List<Map<String, Object>>> batches = pipeline.run(List.of(Map.of()), 1, (partition, sink) -> {
+            sink.accept(List.of(record("first")));
+            // 순차 실행이면 여기서 영원히 기다린다
+            assertThat(firstEnriched.await(5, TimeUnit.SECONDS)).isTrue();
+            sink.accept(List.of(record("second")));
+        });
+
+        assertThat(batches).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("단계가 실패하면 같은 예외를 던지고, 큐가 가득 차 기다리던 추출은 인터럽트로 중단된다")
+    void propagatesStageFailureAndStopsExtraction() throws Exception {
+        CountDownLatch extractionStopped = new CountDownLatch(1);
+        AtomicInteger extracted = new AtomicInteger();
+        CountDownLatch queueFull = new CountDownLatch(1);
+        BatchPipeline pipeline = new BatchPipeline(executor, 2)
+            .stage("VALIDATE", 1, batch -> {
+                await(queueFull);
+                throw new IllegalStateException("Data validation failed");
+            });
+
+        assertThatThrownBy(() -> pipeline.run(List.of(Map.of()), 1, (partition, sink) -> {
+            try {
+                while (true) {
+                    sink.accept(List.of(record("r" + extracted.get())));
+                    if (extracted.incrementAndGet() >= 3) {
+                        queueFull.countDown();
+                    }
+                }
+            } finally {
+                extractionStopped.countDown();
+            }
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Data validation failed");
+
+        assertThat(extractionStopped.await(5, TimeUnit.SECONDS)).isTrue();
+        // 단계가 든 1개 + 큐 용량 2개까지만 추출하고, 자리를 기다리던 네 번째 배치는 넘기지 못한다
+        assertThat(extracted.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("분할이 없으면 빈 결과, 0 이하 큐 용량/병렬도는 IllegalArgumentException")
+    void handlesEmptyInputAndRejectsInvalidSettings() {
+        assertThat(new BatchPipeline(executor, 1).stage("ENRICH", 1, batch -> batch)
+            .run(List.of(), 1, (partition, sink) -> sink.accept(List.of(record("x"))))).isEmpty();
+
+        assertThatThrownBy(() -> new BatchPipeline(executor, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BatchPipeline(executor, 1).stage("RULES", 0, batch -> batch))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("RULES=0");
+        assertThatThrownBy(() -> new BatchPipeline(executor, 1).run(List.of(Map.of()), 0, (partition, sink) -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> record(String id) {
+        Map<String, Object> record = new HashMap<>();
+        record.put("id", id);
+        record.put("trail", "");
+        return record;
+    }
+
+    private static List<Map<String, Object>> mark(List<Map<String, Object>> batch, String stage) {
+        jitter();
+        for (Map<String, Object> record : batch) {
+            record.put("trail", record.get("trail") + stage);
+        }
+        return batch;
+    }
+
+    private static void jitter() {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.inheritance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BusinessRuleEngine - 비용순 초기 배치, 단락 평가, 실패율 기반 재배치, 규칙 등록 검증
+ */
+class BusinessRuleEngineTest {
+
+    @Test
+    @DisplayName("처음에는 비용이 낮은 규칙부터 평가하고 실패하면 나머지를 평가하지 않는다")
+    void startsInCostOrderAndShortCircuits() {
+        AtomicInteger expensiveCalls = new AtomicInteger();
+        BusinessRuleEngine<Integer> engine = BusinessRuleEngine.<Integer>builder("short-circuit")
+            .rule("EXPENSIVE", 10, value -> expensiveCalls.incrementAndGet() > 0)
+            .rule("POSITIVE", 1, value -> value > 0)
+            .build();
+
+        assertThat(engine.currentOrder()).containsExactly("POSITIVE", "EXPENSIVE");
+        assertThat(engine.test(-1)).isFalse();
+        assertThat(expensiveCalls).hasValue(0);
+        assertThat(engine.test(1)).isTrue();
+        assertThat(expensiveCalls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("evaluate는 레코드별 결과를 test와 같게 돌려주고 allMatch는 하나라도 실패하면 false")
+    void evaluateMatchesTestPerRecord() {
+        BusinessRuleEngine<Integer> engine = BusinessRuleEngine.<Integer>builder("batch")
+            .rule("POSITIVE", 1, value -> value > 0)
+            .rule("EVEN", 2, value -> value % 2 == 0)
+            .build();
+        List<Integer> records = List.of(2, -2, 3, 4, 0);
+
+        boolean[] results = engine.evaluate(records);
+
+        assertThat(results).containsExactly(true, false, false, true, false);
+        for (int i = 0; i < records.size(); i++) {
+            assertThat(engine.test(records.get(i))).isEqualTo(results[i]);
+        }
+        assertThat(engine.allMatch(List.of(2, 4))).isTrue();
+        assertThat(engine.allMatch(records)).isFalse();
+    }
+
+    @Test
+    @DisplayName("4096건을 관찰하면 잘 걸러내는 규칙을 비용이 더 높아도 앞으로 옮긴다")
+    void reordersBySelectivityAfterInterval() {
+        BusinessRuleEngine<Integer> engine = BusinessRuleEngine.<Integer>builder("reorder")
+            .rule("ALWAYS_PASS", 1, value -> true)
+            .rule("MOSTLY_FAIL", 2, value -> value % 10 == 0)
+            .build();
+        List<Integer> records = new ArrayList<>();
+        for (int i = 0; i < 4_096; i++) {
+            records.add(i);
+        }
+
+        engine.evaluate(records.subList(0, 4_095));
+        assertThat(engine.currentOrder()).containsExactly("ALWAYS_PASS", "MOSTLY_FAIL");
+        engine.evaluate(records.subList(4_095, 4_096));
+
+        assertThat(engine.currentOrder()).containsExactly("MOSTLY_FAIL", "ALWAYS_PASS");
+        assertThat(engine.stats()).containsEntry("reorders", 1L);
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> rules = (Map<String, Map<String, Object>>) engine.stats().get("rules");
+        assertThat((double) rules.get("MOSTLY_FAIL").get("failureRate")).isGreaterThan(0.8);
+    }
+
+    @Test
+    @DisplayName("testRule은 등록된 규칙 하나만 평가하고 등록되지 않은 규칙은 통과시킨다")
+    void testRuleEvaluatesSingleRule() {
+        BusinessRuleEngine<Integer> engine = BusinessRuleEngine.<Integer>builder("single")
+            .rule("POSITIVE", 1, value -> value > 0)
+            .build();
+
+        assertThat(engine.testRule("POSITIVE", -1)).isFalse();
+        assertThat(engine.testRule("POSITIVE", 1)).isTrue();
+        assertThat(engine.testRule("UNKNOWN", -1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("중복 규칙 이름과 0 이하 비용은 등록할 수 없다")
+    void rejectsDuplicateRulesAndInvalidCost() {
+        BusinessRuleEngine.Builder<Integer> builder = BusinessRuleEngine.<Integer>builder("invalid")
+            .rule("POSITIVE", 1, value -> value > 0);
+
+        assertThatThrownBy(() -> builder.rule("POSITIVE", 1, value -> true))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("POSITIVE");
+        assertThatThrownBy(() -> builder.rule("FREE", 0, value -> true))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
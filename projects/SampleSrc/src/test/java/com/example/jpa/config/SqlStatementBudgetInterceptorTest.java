@@ -0,0 +1,78 @@
+package com.example.jpa.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SqlStatementBudgetInterceptor - 요청 중 실행된 SQL 수를 @SqlStatementBudget과 비교
+ * 요청 처리(컨트롤러 + 응답 직렬화)는 inspect() 호출로 흉내 낸다.
+ */
+class SqlStatementBudgetInterceptorTest {
+
+    private final SqlStatementBudgetInterceptor interceptor = new SqlStatementBudgetInterceptor();
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    @DisplayName("예산 이내의 요청은 초과로 기록하지 않는다")
+    void withinBudgetIsNotRecorded() throws Exception {
+        handle("listOrders", 1);
+
+        assertThat(interceptor.getViolations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("예산을 넘은 요청은 API별로 초과 횟수를 센다")
+    void overBudgetIsRecordedPerEndpoint() throws Exception {
+        handle("listOrders", 3);
+        handle("listOrders", 2);
+
+        assertThat(interceptor.getViolations()).hasSize(1);
+        assertThat(interceptor.getViolations().values().iterator().next().get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("@SqlStatementBudget이 없는 API는 측정하지 않는다")
+    void unannotatedHandlerIsIgnored() throws Exception {
+        handle("unbudgeted", 50);
+
+        assertThat(interceptor.getViolations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("요청이 끝나면 스코프를 닫아 같은 스레드의 다음 작업이 영향받지 않는다")
+    void scopeIsClosedAfterCompletion() throws Exception {
+        handle("listOrders", 1);
+
+        assertThat(SqlStatementCounter.expectAtMost(1, "after request", () -> {
+            inspector.inspect("select 1");
+            return "next";
+        })).isEqualTo("next");
+    }
+
+    private void handle(String method, int statements) throws Exception {
+        HandlerMethod handler = new HandlerMethod(new StubController(), StubController.class.getMethod(method));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/jpa/orders");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request, response, handler)).isTrue();
+        for (int i = 0; i < statements; i++) {
+            inspector.inspect("select * from orders");
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    static class StubController {
+
+        @SqlStatementBudget(1)
+        public void listOrders() {
+        }
+
+        public void unbudgeted() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.jpa.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * SqlStatementCounter - Hibernate가 SQL마다 호출하는 inspect()를 직접 호출해 측정/예산 초과를 검증
+ */
+class SqlStatementCounterTest {
+
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @Test
+    @DisplayName("예산 이내면 결과를 그대로 반환한다")
+    void expectAtMostReturnsResultWithinBudget() {
+        String result = SqlStatementCounter.expectAtMost(2, "within budget", () -> {
+            executeSql(2);
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+    }
+
+    @Test
+    @DisplayName("예산을 넘으면 라벨과 건수를 담은 IllegalStateException")
+    void expectAtMostThrowsWhenOverBudget() {
+        assertThatThrownBy(() -> SqlStatementCounter.expectAtMost(1, "GET /api/jpa/orders", () -> {
+            executeSql(3);
+            return null;
+        }))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("GET /api/jpa/orders")
+            .hasMessageContaining("3 > 1");
+    }
+
+    @Test
+    @DisplayName("중첩 스코프의 SQL은 바깥 스코프에도 더해진다")
+    void nestedScopesCountIntoParent() {
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            executeSql(1);
+            int inner = SqlStatementCounter.count(() -> executeSql(2));
+
+            assertThat(inner).isEqualTo(2);
+            assertThat(outer.getCount()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("스코프를 닫은 뒤의 SQL은 세지 않는다")
+    void closedScopeStopsCounting() {
+        SqlStatementCounter.Scope scope = SqlStatementCounter.open();
+        executeSql(1);
+        scope.close();
+        executeSql(5);
+
+        assertThat(scope.getCount()).isEqualTo(1);
+        assertThat(SqlStatementCounter.count(() -> { })).isZero();
+    }
+
+    @Test
+    @DisplayName("다른 스레드의 SQL은 세지 않는다")
+    void countsOnlyCurrentThread() throws InterruptedException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            Thread other = new Thread(() -> executeSql(4));
+            other.start();
+            other.join();
+            executeSql(1);
+
+            assertThat(scope.getCount()).isEqualTo(1);
+        }
+    }
+
+    private void executeSql(int statements) {
+        for (int i = 0; i < statements; i++) {
+            assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.jpa.controller;
+
+import com.example.jpa.dto.OrderListItem;
+import com.example.jpa.repository.OrderReadRepository;
+import com.example.jpa.service.JpaOrderQueryService;
+import com.example.pagination.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * JpaOrderController 커서 검색 - 첫 페이지/다음 페이지 쿼리 선택과 잘못된 커서 토큰의 400 응답 검증
+ */
+class JpaOrderControllerTest {
+
+    private final OrderReadRepository orderReadRepository = mock(OrderReadRepository.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        JpaOrderQueryService queryService = new JpaOrderQueryService();
+        ReflectionTestUtils.setField(queryService, "orderReadRepository", orderReadRepository);
+        JpaOrderController controller = new JpaOrderController();
+        ReflectionTestUtils.setField(controller, "jpaOrderQueryService", queryService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    @DisplayName("커서가 없으면 커서 조건 없는 첫 페이지 쿼리를 쓴다")
+    void firstPageUsesQueryWithoutCursorPredicate() throws Exception {
+        when(orderReadRepository.findByDynamicCriteriaFirst(any(), any(), any(), any(), any(), any(), any(Pageable.class)))
+            .thenReturn(List.<OrderListItem>of());
+
+        mockMvc.perform(get("/api/jpa/orders/search/cursor")).andExpect(status().isOk());
+
+        verify(orderReadRepository).findByDynamicCriteriaFirst(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                                                               any(Pageable.class));
+        verify(orderReadRepository, never()).findByDynamicCriteriaAfter(any(), any(), any(), any(), any(), any(),
+                                                                        any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("커서가 있으면 seek 쿼리에 커서 키 값을 넘긴다")
+    void nextPageUsesSeekQuery() throws Exception {
+        LocalDateTime orderDate = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        when(orderReadRepository.findByDynamicCriteriaAfter(any(), any(), any(), any(), any(), any(),
+                                                            any(), any(), any(Pageable.class)))
+            .thenReturn(List.<OrderListItem>of());
+
+        mockMvc.perform(get("/api/jpa/orders/search/cursor")
+                .param("cursor", KeysetCursor.of(orderDate, 42L).encode()))
+            .andExpect(status().isOk());
+
+        verify(orderReadRepository).findByDynamicCriteriaAfter(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                                                               eq(orderDate), eq(42L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("키 개수나 타입이 맞지 않는 커서는 조회 없이 400")
+    void malformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/jpa/orders/search/cursor").param("cursor", KeysetCursor.of(42L).encode()))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jpa/orders/search/cursor").param("cursor", KeysetCursor.of("x", "y").encode()))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/jpa/orders/search/cursor").param("cursor", "not-a-cursor"))
+            .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(orderReadRepository);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.jpa.controller;
+
+import com.example.jpa.config.SqlStatementBudgetInterceptor;
+import com.example.jpa.config.SqlStatementCounter;
+import com.example.jpa.entity.Order;
+import com.example.jpa.entity.OrderItem;
+import com.example.jpa.entity.Product;
+import com.example.jpa.entity.User;
+import com.example.jpa.repository.OrderFetchPlan;
+import com.example.jpa.repository.OrderRepository;
+import com.example.jpa.service.CategoryTreeIndex;
+import com.example.jpa.service.JpaOrderQueryService;
+import com.example.jpa.service.JpaOrderService;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 주문 API/fetch plan의 SQL 실행 건수 - H2 + Hibernate StatementInspector(SqlStatementCounter)로 실제 문장 수를 센다
+ * 사용자 3명 x 주문 2건 x 주문 상품 2개 - 연관관계를 행마다 지연 로딩하면(N+1) 건수가 데이터 수만큼 늘어난다.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.hbm2ddl.auto=create-drop",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+    "spring.jpa.properties.hibernate.cache.region.factory_class=org.hibernate.cache.internal.NoCachingRegionFactory",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.jpa.config.SqlStatementCounter"
+})
+class JpaOrderStatementCountTest {
+
+    private static final int USERS = 3;
+    private static final int ORDERS_PER_USER = 2;
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    @Import({JpaOrderService.class, JpaOrderQueryService.class, CategoryTreeIndex.class, JpaOrderController.class})
+    static class Config {
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JpaOrderService jpaOrderService;
+
+    @Autowired
+    private JpaOrderController controller;
+
+    private final SqlStatementBudgetInterceptor budgetInterceptor = new SqlStatementBudgetInterceptor();
+    private MockMvc mockMvc;
+    private Long firstUserId;
+    private Order firstOrder;
+
+    @BeforeEach
+    void setUp() {
+        Product[] products = new Product[3];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = entityManager.persist(new Product("상품" + i, "P-" + i, BigDecimal.valueOf(1_000L * (i + 1))));
+        }
+        for (int u = 0; u < USERS; u++) {
+            User user = entityManager.persist(new User("user" + u, "user" + u + "@example.com", "secret"));
+            for (int o = 0; o < ORDERS_PER_USER; o++) {
+                Order order = new Order("ORD-" + u + "-" + o, user);
+                order.setTotalAmount(BigDecimal.valueOf(10_000L * (o + 1)));
+                entityManager.persist(order);
+                for (int p = 0; p < 2; p++) {
+                    Product product = products[(o + p) % products.length];
+                    entityManager.persist(new OrderItem(order, product, p + 1, product.getPrice()));
+                }
+                if (firstOrder == null) {
+                    firstUserId = user.getUserId();
+                    firstOrder = order;
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).addInterceptors(budgetInterceptor).build();
+    }
+
+    @Test
+    @DisplayName("@SqlStatementBudget(1) 목록 API는 응답 직렬화까지 SQL 1건 - 예산 초과 기록 없음")
+    void listEndpointsRunOneStatement() throws Exception {
+        assertThat(countRequest("/api/jpa/orders", USERS * ORDERS_PER_USER)).isEqualTo(1);
+        assertThat(countRequest("/api/jpa/orders/by-user/" + firstUserId, ORDERS_PER_USER)).isEqualTo(1);
+        assertThat(countRequest("/api/jpa/orders/above-amount/15000", USERS)).isEqualTo(1);
+
+        assertThat(budgetInterceptor.getViolations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("상세 조회(DETAIL)는 주문자/주문 상품/상품을 한 번에 - 그래프를 모두 읽어도 SQL 1건")
+    void detailLoadsWholeGraphInOneStatement() {
+        int byNumber = SqlStatementCounter.count(() -> touchGraph(
+            jpaOrderService.getOrderWithDetails(firstOrder.getOrderNumber()).orElseThrow()));
+        entityManager.clear();
+        int byId = SqlStatementCounter.count(() -> touchGraph(
+            jpaOrderService.getOrderWithItems(firstOrder.getOrderId()).orElseThrow()));
+
+        assertThat(byNumber).isEqualTo(1);
+        assertThat(byId).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("WITH_USER는 주문자를 조인하고, 주문 상품은 주문 수와 무관하게 일괄 조회로 가져온다")
+    void withUserPlanJoinsUserAndBatchesItems() {
+        List<Order> orders = orderRepository.findAll(OrderFetchPlan.WITH_USER);
+        assertThat(orders).hasSize(USERS * ORDERS_PER_USER);
+        assertThat(orders).allMatch(order -> Hibernate.isInitialized(order.getUser()));
+
+        int userAccess = SqlStatementCounter.count(() -> orders.forEach(order -> order.getUser().getUsername()));
+        entityManager.clear();
+        int withItems = SqlStatementCounter.count(() ->
+            orderRepository.findAll(OrderFetchPlan.WITH_USER).forEach(this::touchGraph));
+
+        assertThat(userAccess).isZero();
+        // 주문(+주문자/프로필 조인) 1건 + 주문 상품 IN 조회 1건 + 상품 IN 조회 1건 (default_batch_fetch_size 이내)
+        assertThat(withItems).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("SUMMARY는 연관관계를 가져오지 않는다 - 주문 SQL 1건, 주문자/주문 상품은 미초기화")
+    void summaryPlanLeavesAssociationsLazy() {
+        int statements = SqlStatementCounter.count(() -> {
+            List<Order> orders = orderRepository.findByUserUserId(firstUserId, OrderFetchPlan.SUMMARY);
+            assertThat(orders).hasSize(ORDERS_PER_USER)
+                .noneMatch(order -> Hibernate.isInitialized(order.getUser()))
+                .noneMatch(order -> Hibernate.isInitialized(order.getOrderItems()));
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    private int countRequest(String uri, int expectedRows) {
+        return SqlStatementCounter.count(() -> {
+            try {
+                mockMvc.perform(get(uri))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(expectedRows));
+            } catch (Exception e) {
+                throw new IllegalStateException(uri, e);
+            }
+        });
+    }
+
+    private void touchGraph(Order order) {
+        order.getUser().getUsername();
+        for (OrderItem item : order.getOrderItems()) {
+            item.getProduct().getProductName();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.jpa.service;
+
+import com.example.jpa.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CategoryTreeIndex - 전위 순회 구간으로 하위 트리/조상 질의, 순환 제외, 커밋 후 변경 반영, IN 목록 분할 검증
+ *
+ * 트리 (형제는 DISPLAY_ORDER, CATEGORY_ID 순):
+ *   1 전자제품 ─ 3 컴퓨터(1) ─ 4 노트북
+ *             └ 2 가전(2)
+ *   5 도서
+ *   6 (없는 부모 99를 가리킴 - 최상위로 취급)
+ */
+class CategoryTreeIndexTest {
+
+    private final CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    private final List<Object[]> rows = new ArrayList<>();
+    private CategoryTreeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        row(1L, null, "전자제품", 1);
+        row(2L, 1L, "가전", 2);
+        row(3L, 1L, "컴퓨터", 1);
+        row(4L, 3L, "노트북", null);
+        row(5L, null, "도서", 2);
+        row(6L, 99L, "노트북", 3);
+        when(categoryRepository.findTreeRows()).thenReturn(rows);
+
+        index = new CategoryTreeIndex();
+        ReflectionTestUtils.setField(index, "categoryRepository", categoryRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(index);
+    }
+
+    @Test
+    @DisplayName("하위 트리는 전위 순서의 연속 구간 - 포함 여부, 하위 ID, 조상 경로, 깊이를 DB 없이 답한다")
+    void answersSubtreeQueriesFromPreorderRanges() {
+        assertThat(index.subtreeIds(1L)).containsExactly(1L, 3L, 4L, 2L);
+        assertThat(index.subtreeSize(3L)).isEqualTo(2);
+        assertThat(index.isInSubtree(1L, 4L)).isTrue();
+        assertThat(index.isInSubtree(1L, 1L)).isTrue();
+        assertThat(index.isInSubtree(3L, 2L)).isFalse();
+        assertThat(index.isInSubtree(5L, 4L)).isFalse();
+        assertThat(index.isInSubtree(1L, 404L)).isFalse();
+        assertThat(index.ancestorIds(4L)).containsExactly(1L, 3L);
+        assertThat(index.ancestorIds(6L)).isEmpty();
+        assertThat(index.depth(4L)).isEqualTo(2);
+        assertThat(index.depth(404L)).isEqualTo(-1);
+        assertThat(index.subtreeIds(404L)).isEmpty();
+        assertThat(index.idsByName("노트북")).containsExactlyInAnyOrder(4L, 6L);
+        assertThat(index.stats()).containsEntry("categories", 6).containsEntry("roots", 3);
+
+        assertThatThrownBy(() -> index.subtreeIds(1L).set(0, 9L)).isInstanceOf(UnsupportedOperationException.class);
+        // 첫 조회 때 한 번만 적재
+        verify(categoryRepository, times(1)).findTreeRows();
+    }
+
+    @Test
+    @DisplayName("순환 참조에 속한 카테고리는 인덱스에서 제외하고 나머지는 그대로 응답한다")
+    void excludesCategoriesInCycles() {
+        row(7L, 8L, "순환A", 1);
+        row(8L, 7L, "순환B", 1);
+
+        assertThat(index.subtreeIds(7L)).isEmpty();
+        assertThat(index.subtreeIds(1L)).containsExactly(1L, 3L, 4L, 2L);
+        assertThat(index.stats()).containsEntry("categories", 6).containsEntry("excludedByCycle", 2);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 변경은 커밋 후 한 번에 반영하고, 롤백되면 버린다")
+    void appliesChangesAfterCommitOnly() {
+        index.subtreeIds(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.onChange(change(7L, 3L, "게이밍 노트북", false));
+        index.onChange(change(2L, 1L, "가전", true));
+        assertThat(index.subtreeIds(1L)).containsExactly(1L, 3L, 4L, 2L);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(index.subtreeIds(1L)).containsExactly(1L, 3L, 4L, 7L);
+        assertThat(index.ancestorIds(7L)).containsExactly(1L, 3L);
+        assertThat(index.stats()).containsEntry("appliedChanges", 2L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.onChange(change(4L, 5L, "노트북", false));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(index.isInSubtree(3L, 4L)).isTrue();
+
+        // 트랜잭션 밖이면 즉시 반영 - 같은 변경을 다시 적용해도 결과가 같다
+        index.onChange(change(4L, 5L, "노트북", false));
+        index.onChange(change(4L, 5L, "노트북", false));
+        assertThat(index.subtreeIds(5L)).containsExactly(5L, 4L);
+        verify(categoryRepository, times(1)).findTreeRows();
+    }
+
+    @Test
+    @DisplayName("적재 전에 들어온 변경은 무시하고 첫 조회 때 DB의 최신 상태를 읽는다")
+    void ignoresChangesBeforeFirstLoad() {
+        index.onChange(change(9L, 1L, "유령", false));
+
+        assertThat(index.subtreeIds(1L)).doesNotContain(9L);
+        assertThat(index.stats()).containsEntry("appliedChanges", 0L);
+    }
+
+    @Test
+    @DisplayName("IN 목록은 1000개 단위로 나눠 조회하고 결과를 순서대로 이어 붙인다")
+    void queriesInChunksOfInListLimit() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2_500; id++) {
+            ids.add(id);
+        }
+        List<Integer> chunkSizes = new ArrayList<>();
+
+        List<Long> results = CategoryTreeIndex.queryInChunks(ids, chunk -> {
+            chunkSizes.add(chunk.size());
+            return List.of(chunk.get(0));
+        });
+
+        assertThat(chunkSizes).containsExactly(1_000, 1_000, 500);
+        assertThat(results).containsExactly(1L, 1_001L, 2_001L);
+        assertThat(CategoryTreeIndex.queryInChunks(List.of(), chunk -> List.of(chunk))).isEmpty();
+    }
+
+    private void row(Long id, Long parentId, String name, Integer displayOrder) {
+        rows.add(new Object[] {id, parentId, name, displayOrder});
+    }
+
+    private static CategoryTreeIndex.Change change(long id, Long parentId, String name, boolean removed) {
+        return new CategoryTreeIndex.Change(new CategoryTreeIndex.Node(id, parentId, name, null), removed);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
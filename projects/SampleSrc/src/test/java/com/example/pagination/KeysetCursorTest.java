@@ -0,0 +1,98 @@
+package com.example.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * KeysetCursor - seek 조건/바인드 값 생성, 타입 정규화, 토큰 인코딩 왕복 검증
+ */
+class KeysetCursorTest {
+
+    @Test
+    @DisplayName("행 값 비교/전개 형식 조건과 바인드 값이 키 순서대로 맞는다")
+    void buildsSeekPredicatesAndBinds() {
+        KeysetCursor cursor = KeysetCursor.of("2024-01-01", 42L);
+
+        assertThat(KeysetCursor.seekPredicate(true, "u.created_date", "u.user_id"))
+            .isEqualTo("(u.created_date, u.user_id) < (?, ?)");
+        assertThat(KeysetCursor.seekPredicate(false, "id")).isEqualTo("(id) > (?)");
+        assertThat(KeysetCursor.expandedSeekPredicate(true, "a", "b"))
+            .isEqualTo("(a < ? OR (a = ? AND b < ?))");
+        assertThat(KeysetCursor.orderByClause(true, "a", "b")).isEqualTo("ORDER BY a DESC, b DESC");
+        assertThat(cursor.bindValues()).containsExactly("2024-01-01", 42L);
+        assertThat(cursor.expandedBindValues()).containsExactly("2024-01-01", "2024-01-01", 42L);
+    }
+
+    @Test
+    @DisplayName("토큰 인코딩 왕복 - Timestamp 나노초와 모든 지원 타입을 보존한다")
+    void encodeDecodeRoundTrip() {
+        Timestamp created = Timestamp.valueOf("2024-03-01 12:34:56.123456789");
+        KeysetCursor cursor = KeysetCursor.of(created, 7L, 3, "name", new BigDecimal("10.50"),
+            LocalDateTime.of(2024, 1, 2, 3, 4, 5), LocalDate.of(2024, 1, 2));
+
+        KeysetCursor decoded = KeysetCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getValue(0, Timestamp.class).getNanos()).isEqualTo(123_456_789);
+        assertThat(cursor.encode()).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    @DisplayName("드라이버 타입은 정규화되고 Long 조회는 Integer도 받아들인다")
+    void normalizesDriverTypes() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("created_date", java.sql.Date.valueOf("2024-01-01"));
+        row.put("user_id", 42);
+        row.put("rank", (short) 3);
+
+        KeysetCursor cursor = KeysetCursor.fromRow(row, "created_date", "user_id", "rank");
+
+        assertThat(cursor.getValue(0)).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(cursor.getValue(1, Long.class)).isEqualTo(42L);
+        assertThat(cursor.getValue(2)).isEqualTo(3);
+        assertThat(KeysetCursor.of(new java.util.Date(0L)).getValue(0)).isInstanceOf(Timestamp.class);
+        assertThatThrownBy(() -> cursor.getValue(0, String.class)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("정렬 키 형태를 지정한 디코딩은 키 개수와 타입이 다른 토큰을 IllegalArgumentException으로 거절한다")
+    void typedDecodeRejectsWrongShape() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        String valid = KeysetCursor.of(createdAt, 42L).encode();
+
+        assertThat(KeysetCursor.decodeOrNull(valid, LocalDateTime.class, Long.class).getValue(1)).isEqualTo(42L);
+        assertThat(KeysetCursor.decodeOrNull(KeysetCursor.of(Timestamp.valueOf(createdAt), 42).encode(),
+                                             LocalDateTime.class, Long.class)).isNotNull();
+        assertThat(KeysetCursor.decodeOrNull("", LocalDateTime.class, Long.class)).isNull();
+        assertThatThrownBy(() -> KeysetCursor.decodeOrNull(KeysetCursor.of(42L).encode(), LocalDateTime.class, Long.class))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("개수");
+        assertThatThrownBy(() -> KeysetCursor.decodeOrNull(KeysetCursor.of("abc", 42L).encode(), LocalDateTime.class, Long.class))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decodeOrNull(KeysetCursor.of(createdAt, "42").encode(), LocalDateTime.class, Long.class))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("NULL 키, 없는 컬럼, 잘못된 토큰은 IllegalArgumentException - 빈 토큰은 첫 페이지")
+    void rejectsInvalidInput() {
+        assertThatThrownBy(() -> KeysetCursor.of("a", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.fromRow(Map.of("id", 1L), "id", "created_date"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("created_date");
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode(KeysetCursor.of(1L).encode() + "AA"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(KeysetCursor.decodeOrNull("  ")).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BoundedConcurrentCache - 구간(stripe)별 LRU 제거, 용량 한도, 스냅샷 순회 검증
+ */
+class BoundedConcurrentCacheTest {
+
+    @Test
+    @DisplayName("용량 32면 16개 구간에 2개씩 - 같은 구간에서 가장 오래 쓰지 않은 항목을 제거")
+    void evictsLeastRecentlyUsedWithinStripe() {
+        BoundedConcurrentCache<Integer, String> cache = new BoundedConcurrentCache<>(32);
+        // Integer 해시는 값 그대로이므로 0, 16, 32는 같은 구간
+        cache.put(0, "a");
+        cache.put(16, "b");
+        cache.get(0);
+        cache.put(32, "c");
+
+        assertThat(cache).containsOnlyKeys(0, 32);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("동시에 넣어도 전체 항목 수는 용량을 넘지 않는다")
+    void sizeNeverExceedsCapacityUnderConcurrentPuts() throws Exception {
+        BoundedConcurrentCache<String, Integer> cache = new BoundedConcurrentCache<>(100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put("t" + thread + "-" + i, i);
+                        cache.get("t" + thread + "-" + (i / 2));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100).isPositive();
+        assertThat(cache.evictionCount()).isEqualTo(40_000 - cache.size());
+    }
+
+    @Test
+    @DisplayName("entrySet은 읽기 전용 스냅샷 - 이후 변경이 반영되지 않는다")
+    void entrySetIsDetachedSnapshot() {
+        BoundedConcurrentCache<String, Integer> cache = new BoundedConcurrentCache<>(8);
+        cache.put("a", 1);
+
+        var entries = cache.entrySet();
+        cache.put("b", 2);
+        cache.remove("a");
+
+        assertThat(entries).extracting(Map.Entry::getKey).containsExactly("a");
+        assertThatThrownBy(() -> entries.iterator().next().setValue(3))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThat(cache).containsOnlyKeys("b");
+    }
+
+    @Test
+    @DisplayName("null 키/값과 0 이하 용량은 거부한다")
+    void rejectsNullsAndInvalidCapacity() {
+        BoundedConcurrentCache<String, Integer> cache = new BoundedConcurrentCache<>(4);
+
+        assertThatThrownBy(() -> cache.put(null, 1)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> cache.put("a", null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> new BoundedConcurrentCache<String, Integer>(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
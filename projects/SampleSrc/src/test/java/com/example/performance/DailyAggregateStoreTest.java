@@ -0,0 +1,160 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * DailyAggregateStore - 재적재 후 증분 반영, 기간 합산 시 고유 건수, 완료 상태 전환, 응답 가능한 기간 판정 검증
+ */
+class DailyAggregateStoreTest {
+
+    private static final String ENV = DailyAggregateStore.DEFAULT_ENVIRONMENT;
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    private final DailyAggregateStore store = new DailyAggregateStore(30, ZONE);
+    private final LocalDate today = LocalDate.now(ZONE);
+
+    @Test
+    @DisplayName("일별 버킷을 합쳐도 고유 고객/직원 수는 정확하고, 완료 주문만 상품 성과에 들어간다")
+    void mergesDaysWithExactDistinctCounts() throws Exception {
+        LocalDate day1 = today.minusDays(2);
+        LocalDate day2 = today.minusDays(1);
+        rebuild(today.minusDays(5),
+                completed(1L, day1, "10000").item(100L, 2, new BigDecimal("5000"), product("키보드")).department(sales()),
+                completed(1L, day2, "5000").item(100L, 1, new BigDecimal("5000")),
+                completed(2L, day2, "3000").item(200L, 3, new BigDecimal("1000"), product("마우스")),
+                order(3L, day2, "PENDING", "7000").item(200L, 7, new BigDecimal("1000")));
+
+        DailyAggregateStore.DayRange range = store.dayRange(ENV, date(day1.atStartOfDay()), date(today.atStartOfDay()));
+        List<Map<String, Object>> products = store.productPerformance(ENV, range);
+        List<Map<String, Object>> departments = store.departmentPerformance(ENV, range);
+
+        assertThat(range.days()).isEqualTo(2);
+        assertThat(store.totals(ENV, range)).containsExactly(4L, 3L);
+        assertThat(products).extracting(row -> row.get("product_id")).containsExactly(100L, 200L);
+        assertThat(products.get(0))
+            .containsEntry("product_name", "키보드")
+            .containsEntry("sales_count", 2L)
+            .containsEntry("total_quantity", 3L)
+            .containsEntry("total_sales", new BigDecimal("15000"))
+            .containsEntry("avg_price", new BigDecimal("5000.0000"))
+            .containsEntry("unique_customers", 1);
+        // 부서 10: 사용자 1, 2, 3의 주문 4건 (완료 여부와 무관)
+        assertThat(departments).singleElement().satisfies(row -> assertThat(row)
+            .containsEntry("dept_name", "영업")
+            .containsEntry("employee_count", 3)
+            .containsEntry("dept_orders", 4L)
+            .containsEntry("dept_revenue", new BigDecimal("25000")));
+    }
+
+    @Test
+    @DisplayName("재적재 이후 신규 주문과 상태 변경을 더하고 빼며, 완료가 취소되면 고유 고객에서도 빠진다")
+    void appliesIncrementalWritesAfterRebuild() throws Exception {
+        LocalDate day = today.minusDays(1);
+        rebuild(today.minusDays(5), completed(1L, day, "2000").item(100L, 1, new BigDecimal("2000"), product("키보드")));
+        DailyAggregateStore.OrderFact pending = order(2L, day, "PENDING", "4000").item(100L, 2, new BigDecimal("2000"));
+
+        store.recordOrder(ENV, pending);
+        store.recordStatusChange(ENV, pending, "PENDING", DailyAggregateStore.COMPLETED_STATUS);
+        DailyAggregateStore.DayRange range = range(day, day);
+        assertThat(store.totals(ENV, range)).containsExactly(2L, 2L);
+        assertThat(store.productPerformance(ENV, range).get(0))
+            .containsEntry("sales_count", 2L)
+            .containsEntry("total_sales", new BigDecimal("6000"))
+            .containsEntry("unique_customers", 2);
+
+        store.recordStatusChange(ENV, pending, DailyAggregateStore.COMPLETED_STATUS, "CANCELLED");
+        store.recordStatusChange(ENV, pending, "CANCELLED", "REFUNDED");  // 완료와 무관한 전환은 무시
+        assertThat(store.totals(ENV, range)).containsExactly(2L, 1L);
+        assertThat(store.productPerformance(ENV, range).get(0))
+            .containsEntry("sales_count", 1L)
+            .containsEntry("total_sales", new BigDecimal("2000"))
+            .containsEntry("unique_customers", 1);
+    }
+
+    @Test
+    @DisplayName("재적재 전, 적재 범위 이전 날짜의 쓰기는 무시하고, 처음 보는 상품/부서가 섞이면 섹션은 null")
+    void ignoresUncoveredWritesAndReportsUnknownInfoAsNull() throws Exception {
+        LocalDate day = today.minusDays(1);
+        store.recordOrder(ENV, completed(1L, day, "1000").item(100L, 1, new BigDecimal("1000")));
+        assertThat(store.stats()).isEmpty();
+
+        rebuild(day, completed(1L, day, "1000").item(100L, 1, new BigDecimal("1000"), product("키보드")).department(sales()));
+        store.recordOrder(ENV, completed(1L, day.minusDays(1), "1000").item(300L, 1, new BigDecimal("1000")));
+        DailyAggregateStore.DayRange range = range(day, day);
+        assertThat(store.productPerformance(ENV, range)).hasSize(1);
+
+        store.recordOrder(ENV, new DailyAggregateStore.OrderFact(2L, 20L, day, DailyAggregateStore.COMPLETED_STATUS,
+                                                                 new BigDecimal("1000"))
+            .item(300L, 1, new BigDecimal("1000")));
+        assertThat(store.productPerformance(ENV, range)).isNull();
+        assertThat(store.departmentPerformance(ENV, range)).isNull();
+
+        store.invalidate(ENV);
+        assertThat(store.dayRange(ENV, date(day.atStartOfDay()), date(today.atStartOfDay()))).isNull();
+    }
+
+    @Test
+    @DisplayName("기간은 자정 시작 + (자정 끝 제외 | 하루 마지막 시각 | 현재 이후)만, 적재 시작일 이후만 일 단위로 응답")
+    void dayRangeAcceptsOnlyWholeCoveredDays() throws Exception {
+        LocalDate from = today.minusDays(3);
+        rebuild(from);
+
+        assertThat(store.dayRange(ENV, date(from.atStartOfDay()), date(today.atStartOfDay())))
+            .hasToString(from + ".." + today.minusDays(1));
+        assertThat(store.dayRange(ENV, date(from.atStartOfDay()), date(from.atTime(LocalTime.of(23, 59, 59, 999_000_000)))))
+            .hasToString(from + ".." + from);
+        assertThat(store.dayRange(ENV, date(from.atStartOfDay()), date(LocalDateTime.now(ZONE).plusHours(1))))
+            .hasToString(from + ".." + LocalDateTime.now(ZONE).plusHours(1).toLocalDate());
+
+        assertThat(store.dayRange(ENV, date(from.atTime(9, 0)), date(today.atStartOfDay()))).isNull();
+        assertThat(store.dayRange(ENV, date(from.atStartOfDay()), date(from.atTime(12, 0)))).isNull();
+        assertThat(store.dayRange(ENV, date(from.minusDays(1).atStartOfDay()), date(today.atStartOfDay()))).isNull();
+        assertThat(store.dayRange(ENV, date(from.atStartOfDay()), date(from.atStartOfDay()))).isNull();
+        assertThat(store.dayRange("dev", date(from.atStartOfDay()), date(today.atStartOfDay()))).isNull();
+    }
+
+    private void rebuild(LocalDate from, DailyAggregateStore.OrderFact... orders) throws Exception {
+        store.rebuild(ENV, from, sink -> {
+            for (DailyAggregateStore.OrderFact order : orders) {
+                sink.accept(order);
+            }
+        });
+    }
+
+    private DailyAggregateStore.DayRange range(LocalDate from, LocalDate to) {
+        return store.dayRange(ENV, date(from.atStartOfDay()), date(to.plusDays(1).atStartOfDay()));
+    }
+
+    private static DailyAggregateStore.OrderFact completed(long userId, LocalDate day, String amount) {
+        return order(userId, day, DailyAggregateStore.COMPLETED_STATUS, amount);
+    }
+
+    private static DailyAggregateStore.OrderFact order(long userId, LocalDate day, String status, String amount) {
+        return new DailyAggregateStore.OrderFact(userId, 10L, day, status, new BigDecimal(amount));
+    }
+
+    private static DailyAggregateStore.ProductInfo product(String name) {
+        return new DailyAggregateStore.ProductInfo(name, 1L, "주변기기", "브랜드");
+    }
+
+    private static DailyAggregateStore.DepartmentInfo sales() {
+        return new DailyAggregateStore.DepartmentInfo("영업", 7L);
+    }
+
+    private static Date date(LocalDateTime time) {
+        return Date.from(time.atZone(ZONE).toInstant());
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.performance;
+
+import com.example.dao.JdbcExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * InventoryReservationEngine - 메모리 원장으로 전부/전무 예약, 주문 트랜잭션 롤백 후 최종 재고, 중복 반환 방지 검증
+ */
+class InventoryReservationEngineTest {
+
+    private static final String TABLE = "inventory";
+
+    private final FakeInventory inventory = new FakeInventory();
+
+    @Test
+    @DisplayName("한 품목이라도 부족하면 아무것도 차감하지 않는다")
+    void reservesAllOrNothing() {
+        inventory.put(1L, 10);
+        inventory.put(2L, 1);
+        InventoryReservationEngine engine = engine();
+
+        assertThatThrownBy(() -> engine.reserve("order-1", Map.of(1L, 3, 2L, 2)))
+            .isInstanceOf(InventoryReservationEngine.InsufficientStockException.class)
+            .hasMessageContaining("productId=2");
+
+        assertThat(inventory.stock(1L)).containsExactly(10, 0);
+        assertThat(inventory.stock(2L)).containsExactly(1, 0);
+        assertThat(engine.metrics()).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    @DisplayName("주문 트랜잭션이 롤백되면 취소 훅이 예약분을 한 번만 돌려준다 - 가용/예약 재고가 원래대로")
+    void rollbackRestoresStockExactlyOnce() {
+        inventory.put(1L, 10);
+        inventory.put(2L, 5);
+        InventoryReservationEngine engine = engine();
+
+        assertThatThrownBy(() -> inOrderTransaction(engine, Map.of(1L, 3, 2L, 5)))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(inventory.stock(1L)).containsExactly(10, 0);
+        assertThat(inventory.stock(2L)).containsExactly(5, 0);
+        assertThat(engine.metrics()).containsEntry("reservations", 1L).containsEntry("cancelled", 1L);
+    }
+
+    @Test
+    @DisplayName("롤백된 주문의 임대분은 노드 임대로 돌아가고 close() 후 원장 재고가 원래대로")
+    void rollbackLeavesNoPhantomLease() {
+        inventory.put(1L, 10);
+        InventoryReservationEngine engine = engine();
+        engine.registerHotProduct(1L, 4);
+
+        assertThatThrownBy(() -> inOrderTransaction(engine, Map.of(1L, 2)))
+            .isInstanceOf(IllegalStateException.class);
+
+        // 임대 4개가 원장에서 reserved로 옮겨졌고, 롤백된 주문의 2개는 임대로 돌아옴
+        assertThat(inventory.stock(1L)).containsExactly(6, 4);
+        assertThat(engine.metrics().get("leasedStock")).isEqualTo(Map.of(1L, 4));
+
+        engine.close();
+
+        assertThat(inventory.stock(1L)).containsExactly(10, 0);
+    }
+
+    @Test
+    @DisplayName("예약 재고보다 많이 돌려주는 반환은 무시된다 - 예약 재고가 음수가 되지 않음")
+    void releaseIsGuardedByReservedStock() throws SQLException {
+        inventory.put(1L, 10);
+        InventoryReservationEngine.JdbcStockLedger ledger = ledger();
+        SortedMap<Long, Integer> quantities = new TreeMap<>(Map.of(1L, 3));
+
+        assertThat(ledger.reserveAll(quantities)).isTrue();
+        ledger.releaseAll(quantities);
+        ledger.releaseAll(quantities);
+
+        assertThat(inventory.stock(1L)).containsExactly(10, 0);
+    }
+
+    @Test
+    @DisplayName("주문 트랜잭션에 참여하는 실행기로는 원장을 만들 수 없다")
+    void ledgerRequiresAutonomousExecutor() {
+        assertThatThrownBy(() -> new InventoryReservationEngine.JdbcStockLedger(
+                new JdbcExecutor("inventory", inventory.dataSource())))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("autonomous");
+    }
+
+    private InventoryReservationEngine engine() {
+        return new InventoryReservationEngine(ledger());
+    }
+
+    private InventoryReservationEngine.JdbcStockLedger ledger() {
+        return new InventoryReservationEngine.JdbcStockLedger(JdbcExecutor.autonomous("inventory", inventory.dataSource()),
+                                                              TABLE);
+    }
+
+    /**
+     * OrderEntityService.createOrderWithItems와 같은 흐름 - 예약 후 롤백 시 취소 훅 등록, 이후 단계에서 실패
+     */
+    private void inOrderTransaction(InventoryReservationEngine engine, Map<Long, Integer> quantities) {
+        new TransactionTemplate(new DataSourceTransactionManager(inventory.dataSource())).executeWithoutResult(status -> {
+            InventoryReservationEngine.Reservation reservation = engine.reserve("order-1", quantities);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int completion) {
+                    if (completion == STATUS_ROLLED_BACK) {
+                        engine.cancel(reservation);
+                    }
+                }
+            });
+            throw new IllegalStateException("결제 정보 저장 실패");
+        });
+    }
+
+    /**
+     * inventory 테이블 하나만 아는 메모리 DB - JdbcStockLedger가 내는 SQL 형태만 해석한다
+     * 커넥션마다 되돌림 기록을 두어 autoCommit=false 구간의 변경을 rollback()으로 되돌린다
+     */
+    private static final class FakeInventory {
+        // product_id -> {available_stock, reserved_stock, version}
+        private final Map<Long, int[]> rows = new LinkedHashMap<>();
+
+        synchronized void put(Long productId, int available) {
+            rows.put(productId, new int[] {available, 0, 0});
+        }
+
+        synchronized List<Integer> stock(Long productId) {
+            int[] row = rows.get(productId);
+            return List.of(row[0], row[1]);
+        }
+
+        DataSource dataSource() {
+            return proxy(DataSource.class, (method, args) ->
+                method.equals("getConnection") ? connection() : unsupported(method));
+        }
+
+        private Connection connection() {
+            Map<Long, int[]> undo = new HashMap<>();
+            boolean[] autoCommit = {true};
+            return proxy(Connection.class, (method, args) -> {
+                switch (method) {
+                    case "prepareStatement":
+                        return statement((String) args[0], autoCommit[0] ? null : undo);
+                    case "getAutoCommit":
+                        return autoCommit[0];
+                    case "setAutoCommit":
+                        if ((Boolean) args[0] && !autoCommit[0]) {
+                            undo.clear();
+                        }
+                        autoCommit[0] = (Boolean) args[0];
+                        return null;
+                    case "commit":
+                        undo.clear();
+                        return null;
+                    case "rollback":
+                        restore(undo);
+                        return null;
+                    case "isClosed":
+                        return false;
+                    case "close":
+                        return null;
+                    default:
+                        return unsupported(method);
+                }
+            });
+        }
+
+        private synchronized void restore(Map<Long, int[]> undo) {
+            rows.putAll(undo);
+            undo.clear();
+        }
+
+        private PreparedStatement statement(String sql, Map<Long, int[]> undo) {
+            Map<Integer, Object> params = new HashMap<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                switch (method) {
+                    case "setObject":
+                        params.put((Integer) args[0], args[1]);
+                        return null;
+                    case "executeUpdate":
+                        return executeUpdate(sql, params, undo);
+                    case "executeQuery":
+                        return executeQuery(sql, params);
+                    case "close":
+                        return null;
+                    default:
+                        return unsupported(method);
+                }
+            });
+        }
+
+        private synchronized int executeUpdate(String sql, Map<Integer, Object> params, Map<Long, int[]> undo)
+                throws SQLException {
+            if (sql.startsWith("UPDATE " + TABLE + " SET available_stock = available_stock - ?")) {
+                // 임대 보충: quantity, quantity, product_id, version, quantity
+                Long productId = (Long) params.get(3);
+                int quantity = (Integer) params.get(1);
+                int[] row = rows.get(productId);
+                if (row == null || row[2] != ((Long) params.get(4)).intValue() || row[0] < quantity) {
+                    return 0;
+                }
+                apply(productId, -quantity, undo);
+                return 1;
+            }
+            boolean reserve = sql.startsWith("UPDATE " + TABLE + " SET available_stock = available_stock - CASE");
+            if (!reserve && !sql.startsWith("UPDATE " + TABLE + " SET available_stock = available_stock + CASE")) {
+                throw new SQLException("예상하지 못한 UPDATE SQL: " + sql);
+            }
+            // 파라미터: CASE(상품, 수량)*n, CASE*n, 상품 ID*n, CASE*n (조건 확인용)
+            int items = params.size() / 7;
+            int updated = 0;
+            for (int i = 0; i < items; i++) {
+                Long productId = (Long) params.get(i * 2 + 1);
+                int quantity = (Integer) params.get(i * 2 + 2);
+                int[] row = rows.get(productId);
+                if (row != null && (reserve ? row[0] : row[1]) >= quantity) {
+                    apply(productId, reserve ? -quantity : quantity, undo);
+                    updated++;
+                }
+            }
+            return updated;
+        }
+
+        private void apply(Long productId, int availableDelta, Map<Long, int[]> undo) {
+            int[] row = rows.get(productId);
+            if (undo != null) {
+                undo.putIfAbsent(productId, row.clone());
+            }
+            row[0] += availableDelta;
+            row[1] -= availableDelta;
+            row[2]++;
+        }
+
+        private synchronized ResultSet executeQuery(String sql, Map<Integer, Object> params) throws SQLException {
+            if (!sql.startsWith("SELECT available_stock, version FROM " + TABLE + " ")) {
+                throw new SQLException("예상하지 못한 조회 SQL: " + sql);
+            }
+            List<int[]> result = new ArrayList<>();
+            int[] row = rows.get((Long) params.get(1));
+            if (row != null) {
+                result.add(row.clone());
+            }
+            int[] cursor = {-1};
+            return proxy(ResultSet.class, (method, args) -> {
+                switch (method) {
+                    case "next":
+                        return ++cursor[0] < result.size();
+                    case "getInt":
+                        return result.get(cursor[0])[0];
+                    case "getLong":
+                        return (long) result.get(cursor[0])[2];
+                    case "close":
+                        return null;
+                    default:
+                        return unsupported(method);
+                }
+            });
+        }
+
+        private static Object unsupported(String method) {
+            throw new UnsupportedOperationException(method);
+        }
+
+        private interface Handler {
+            Object handle(String method, Object[] args) throws Exception;
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(InventoryReservationEngineTest.class.getClassLoader(),
+                new Class<?>[] {type}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return type.getSimpleName() + "@fake";
+                        default:
+                            return handler.handle(method.getName(), args);
+                    }
+                }));
+        }
+    }
+}
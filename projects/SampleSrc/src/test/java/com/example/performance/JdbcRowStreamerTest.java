@@ -0,0 +1,127 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * JdbcRowStreamer - 청크 분할, 커서 설정, 커밋/롤백과 auto-commit 복원 검증
+ */
+class JdbcRowStreamerTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final PreparedStatement statement = mock(PreparedStatement.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+    }
+
+    @Test
+    @DisplayName("결과를 chunkSize 단위로 나눠 전달하고 끝까지 읽으면 커밋 후 auto-commit을 되돌린다")
+    void streamsChunksAndCommits() throws SQLException {
+        givenRows(5);
+        List<List<Long>> chunks = new ArrayList<>();
+
+        long total = new JdbcRowStreamer(dataSource, 100).stream("SELECT id FROM orders WHERE status = ?",
+            List.of("ACTIVE"), 2, chunk -> chunks.add(ids(chunk)));
+
+        assertThat(total).isEqualTo(5);
+        assertThat(chunks).containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        verify(connection).prepareStatement("SELECT id FROM orders WHERE status = ?",
+            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(statement).setFetchSize(100);
+        verify(statement).setMaxRows(0);
+        verify(statement).setObject(1, "ACTIVE");
+        InOrder order = inOrder(connection);
+        order.verify(connection).setAutoCommit(false);
+        order.verify(connection).commit();
+        order.verify(connection).setAutoCommit(true);
+        verify(connection, never()).rollback();
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("청크는 읽기 전용이고 maxRows는 드라이버에 그대로 넘긴다")
+    void chunksAreReadOnlyAndMaxRowsIsPassed() throws SQLException {
+        givenRows(3);
+
+        new JdbcRowStreamer(dataSource).stream("SELECT id FROM orders", null, 10, 3, chunk ->
+            assertThatThrownBy(() -> chunk.add(Map.of())).isInstanceOf(UnsupportedOperationException.class));
+
+        verify(statement).setMaxRows(3);
+        verify(statement).setFetchSize(JdbcRowStreamer.DEFAULT_FETCH_SIZE);
+    }
+
+    @Test
+    @DisplayName("컨슈머 예외는 롤백 후 그대로 전파하고 auto-commit을 되돌린다")
+    void consumerFailureRollsBack() throws SQLException {
+        givenRows(4);
+
+        assertThatThrownBy(() -> new JdbcRowStreamer(dataSource).stream("SELECT id FROM orders", null, 2, chunk -> {
+            throw new IllegalStateException("적재 실패");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("적재 실패");
+
+        verify(connection).rollback();
+        verify(connection, never()).commit();
+        verify(connection).setAutoCommit(true);
+        verify(connection).close();
+    }
+
+    @Test
+    @DisplayName("0 이하 chunkSize, 음수 maxRows, 0 이하 fetchSize는 IllegalArgumentException")
+    void rejectsInvalidSizes() {
+        JdbcRowStreamer streamer = new JdbcRowStreamer(dataSource);
+
+        assertThatThrownBy(() -> streamer.stream("SELECT 1", null, 0, chunk -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> streamer.stream("SELECT 1", null, 10, -1, chunk -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new JdbcRowStreamer(dataSource, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void givenRows(int count) throws SQLException {
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(metaData.getColumnLabel(1)).thenReturn("id");
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        long[] cursor = {0};
+        when(resultSet.next()).thenAnswer(invocation -> ++cursor[0] <= count);
+        when(resultSet.getObject(1)).thenAnswer(invocation -> cursor[0]);
+    }
+
+    private static List<Long> ids(List<Map<String, Object>> chunk) {
+        List<Long> ids = new ArrayList<>();
+        for (Map<String, Object> row : chunk) {
+            ids.add((Long) row.get("id"));
+        }
+        return ids;
+    }
+}
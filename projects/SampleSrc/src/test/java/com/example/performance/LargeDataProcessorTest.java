@@ -0,0 +1,47 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * LargeDataProcessor - 실시간 이벤트 조회 쿼리 형태와 완료 표시 IN 목록 분할 검증
+ */
+class LargeDataProcessorTest {
+
+    @Test
+    @DisplayName("이벤트 조회는 파티션 조건과 이벤트 수 LIMIT을 조인 전 서브쿼리에 두고, 수위가 있으면 그 이후만 읽는다")
+    void streamQueryLimitsEventsBeforeJoin() {
+        String first = LargeDataProcessor.streamQueryShape(0);
+        String seek = LargeDataProcessor.streamQueryShape(1);
+
+        assertThat(first).contains("MOD(COALESCE(ev.user_id, ev.event_id), ?) = ?")
+            .contains("LIMIT ?) e LEFT JOIN")
+            .doesNotContain("(ev.timestamp, ev.event_id) >")
+            .endsWith("ORDER BY e.timestamp ASC, e.event_id ASC");
+        assertThat(seek).contains("AND (ev.timestamp, ev.event_id) > (?, ?)");
+        assertThat(seek.indexOf("(ev.timestamp, ev.event_id) >")).isLessThan(seek.indexOf("LIMIT ?"));
+    }
+
+    @Test
+    @DisplayName("완료 표시 IN 목록은 512개 이하 조각으로 나뉘고 각 조각은 2의 거듭제곱 길이로 채워진다")
+    void markProcessedChunksStayUnderInListLimit() {
+        List<Object> eventIds = new ArrayList<>();
+        for (long id = 1; id <= 1_300; id++) {
+            eventIds.add(id);
+        }
+
+        List<List<Object>> chunks = LargeDataProcessor.markProcessedChunks(eventIds);
+
+        assertThat(chunks).extracting(List::size).containsExactly(512, 512, 512);
+        assertThat(chunks.get(2)).startsWith(1_025L).endsWith(1_300L, 1_300L);
+        assertThat(chunks.stream().flatMap(List::stream).distinct().count()).isEqualTo(1_300);
+        assertThat(LargeDataProcessor.markProcessedChunks(List.of(7L))).containsExactly(List.of(7L));
+        assertThat(LargeDataProcessor.markProcessedChunks(List.of(1L, 2L, 3L)))
+            .containsExactly(List.of(1L, 2L, 3L, 3L));
+    }
+}
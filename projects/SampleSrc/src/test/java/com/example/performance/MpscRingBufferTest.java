@@ -0,0 +1,104 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * MpscRingBuffer - 시퀀스 발급, 가득 참 거절, 순서 보장, 다중 생산자 유실 없음 검증
+ */
+class MpscRingBufferTest {
+
+    @Test
+    @DisplayName("가득 차면 -1, 비운 만큼 다시 넣을 수 있고 시퀀스는 계속 증가한다")
+    void rejectsWhenFullAndWrapsAround() {
+        MpscRingBuffer<String> ring = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer("v" + i)).isEqualTo(i);
+        }
+
+        assertThat(ring.offer("overflow")).isEqualTo(-1);
+        assertThat(ring.poll()).isEqualTo("v0");
+        assertThat(ring.offer("v4")).isEqualTo(4);
+        assertThat(ring.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("drain은 limit까지 넣은 순서대로 시퀀스와 함께 전달한다")
+    void drainDeliversInOrderUpToLimit() {
+        MpscRingBuffer<String> ring = new MpscRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            ring.offer("v" + i);
+        }
+        List<String> drained = new ArrayList<>();
+
+        int count = ring.drain((sequence, element) -> drained.add(sequence + ":" + element), 3);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).containsExactly("0:v0", "1:v1", "2:v2");
+        assertThat(ring.poll()).isEqualTo("v3");
+        assertThat(ring.nextSequence()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("여러 생산자가 동시에 넣어도 유실/중복이 없고 생산자별 순서가 유지된다")
+    void multipleProducersLoseNothing() throws Exception {
+        MpscRingBuffer<long[]> ring = new MpscRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; i < perProducer; i++) {
+                    while (ring.offer(new long[] {producer, i}) < 0) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] lastSeen = {-1, -1, -1, -1};
+        long[] previousSequence = {-1};
+        int received = 0;
+        start.countDown();
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (received < producers * perProducer && System.nanoTime() < deadline) {
+            received += ring.drain((sequence, element) -> {
+                assertThat(sequence).isEqualTo(previousSequence[0] + 1);
+                previousSequence[0] = sequence;
+                assertThat(element[1]).isEqualTo(lastSeen[(int) element[0]] + 1);
+                lastSeen[(int) element[0]] = element[1];
+            }, 256);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(received).isEqualTo(producers * perProducer);
+        assertThat(lastSeen).containsOnly(perProducer - 1);
+        assertThat(ring.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("용량은 2 이상의 2의 거듭제곱, null 항목은 거부")
+    void validatesCapacityAndElements() {
+        assertThatThrownBy(() -> new MpscRingBuffer<String>(6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MpscRingBuffer<String>(1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MpscRingBuffer<String>(4).offer(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.performance;
+
+import com.example.pagination.KeysetCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RealTimeStreamProcessor - 메모리 이벤트 테이블로 파티션 정지, 정지 파티션의 적체와 무관한 처리, 최고 수위 조회 검증
+ */
+class RealTimeStreamProcessorTest {
+
+    private static final long BAD_USER = 1L;
+
+    private final EventTable table = new EventTable();
+    private RealTimeStreamProcessor processor;
+
+    @AfterEach
+    void tearDown() {
+        if (processor != null) {
+            processor.stop(1_000);
+        }
+    }
+
+    @Test
+    @DisplayName("처리가 계속 실패한 파티션은 정지되고 그 파티션의 이벤트는 미처리로 남는다 - 다른 파티션은 모두 처리")
+    void haltsFailingPartitionAndKeepsItsEvents() {
+        for (long id = 1; id <= 40; id++) {
+            table.add(id, id % 4 + 1);  // 사용자 1~4, 2개 파티션
+        }
+        // 파티션 1(사용자 1, 3)의 배치는 항상 실패
+        processor = start(5, 20, events -> {
+            if (events.stream().anyMatch(event -> (Long) event.get("user_id") % 2 == 1)) {
+                throw new IllegalStateException("handler failure");
+            }
+        });
+
+        await(() -> table.processedCount() == 20
+                    && processor.metrics().get("haltedPartitions").equals(List.of(1)));
+        int partitionCallsAtHalt = table.calls(1);
+        sleep(200);
+
+        assertThat(table.unprocessedUsers()).containsOnly(1L, 3L);
+        assertThat(table.processedCount()).isEqualTo(20);
+        // 정지된 파티션은 더 이상 조회하지 않는다
+        assertThat(table.calls(1)).isEqualTo(partitionCallsAtHalt);
+    }
+
+    @Test
+    @DisplayName("정지된 파티션의 미처리 이벤트가 맨 앞에 쌓여 있어도 다른 파티션 이벤트는 모두 순서대로 처리된다")
+    void haltedBacklogDoesNotStarveHealthyPartitions() {
+        for (long id = 1; id <= 2_000; id++) {
+            table.add(id, BAD_USER);
+        }
+        for (long id = 2_001; id <= 2_050; id++) {
+            table.add(id, 2L);
+        }
+        List<Object> handledForUser2 = Collections.synchronizedList(new ArrayList<>());
+        processor = start(10, 10, events -> {
+            for (Map<String, Object> event : events) {
+                if (event.get("user_id").equals(BAD_USER)) {
+                    throw new IllegalStateException("handler failure");
+                }
+            }
+            events.forEach(event -> handledForUser2.add(event.get(RealTimeStreamProcessor.EVENT_ID)));
+        });
+
+        await(() -> table.processedCount() == 50);
+
+        assertThat(handledForUser2).hasSize(50).isSorted();
+        assertThat(table.unprocessedUsers()).containsOnly(BAD_USER);
+        // 정지 전 한두 번의 조회 외에는 정지된 파티션의 2000건을 다시 읽지 않는다
+        assertThat(table.rowsRead(1)).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("백로그 동안에는 최고 수위 이후만 읽어 처리 중인 이벤트를 다시 읽지 않고, 각 이벤트는 한 번만 처리된다")
+    void seeksPastHighWaterMarkWhileBacklogged() {
+        for (long id = 1; id <= 30; id++) {
+            table.add(id, 2L);
+        }
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger handled = new AtomicInteger();
+        processor = start(5, 100, events -> {
+            release.await(5, TimeUnit.SECONDS);
+            handled.addAndGet(events.size());
+        });
+
+        // 처리가 막혀 있어도 조회는 수위를 옮기며 30건을 모두 큐에 넣는다
+        await(() -> table.seekCalls(0) >= 5 && table.distinctRowsRead(0) == 30);
+        // 첫 조회 5건 이후는 수위 이후 5건씩 - 처리 중인 이벤트를 다시 읽은 seek 조회는 없다
+        assertThat(table.seekRowsRead(0)).isEqualTo(25);
+        release.countDown();
+
+        await(() -> table.processedCount() == 30);
+        assertThat(handled.get()).isEqualTo(30);
+        assertThat(processor.metrics()).containsEntry("processed", 30L);
+    }
+
+    private RealTimeStreamProcessor start(int batchSize, int queueCapacity, RealTimeStreamProcessor.EventBatchHandler handler) {
+        RealTimeStreamProcessor started = new RealTimeStreamProcessor("test", table::fetch, handler, table::acknowledge,
+                                                                      batchSize, 1, 20, 2, queueCapacity);
+        started.start();
+        return started;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("10초 안에 조건을 만족하지 않았습니다");
+            }
+            sleep(10);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * real_time_events 한 테이블 - 파티션은 MOD(user_id, 파티션 수), (timestamp, event_id) 순
+     */
+    private static final class EventTable {
+        private static final long BASE_MILLIS = Timestamp.valueOf("2024-01-01 00:00:00").getTime();
+
+        private final Map<Long, Long> users = new LinkedHashMap<>();
+        private final Set<Object> processed = ConcurrentHashMap.newKeySet();
+        private final Map<Integer, AtomicInteger> calls = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicInteger> seekCalls = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicInteger> rowsRead = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicInteger> seekRowsRead = new ConcurrentHashMap<>();
+        private final Map<Integer, Set<Object>> distinctRead = new ConcurrentHashMap<>();
+
+        synchronized void add(long eventId, long userId) {
+            users.put(eventId, userId);
+        }
+
+        synchronized List<Map<String, Object>> fetch(int partition, int partitions, KeysetCursor after, int maxEvents) {
+            counter(calls, partition).incrementAndGet();
+            if (after != null) {
+                counter(seekCalls, partition).incrementAndGet();
+            }
+            long afterId = after == null ? 0 : after.getValue(1, Long.class);
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Map.Entry<Long, Long> entry : users.entrySet()) {
+                long eventId = entry.getKey();
+                if (rows.size() == maxEvents) {
+                    break;
+                }
+                if (processed.contains(eventId) || entry.getValue() % partitions != partition || eventId <= afterId) {
+                    continue;
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put(RealTimeStreamProcessor.EVENT_ID, eventId);
+                row.put(RealTimeStreamProcessor.EVENT_TIMESTAMP, new Timestamp(BASE_MILLIS + eventId));
+                row.put("user_id", entry.getValue());
+                rows.add(row);
+                distinctRead.computeIfAbsent(partition, p -> ConcurrentHashMap.newKeySet()).add(eventId);
+            }
+            counter(after == null ? rowsRead : seekRowsRead, partition).addAndGet(rows.size());
+            return rows;
+        }
+
+        void acknowledge(List<Object> eventIds) {
+            processed.addAll(eventIds);
+        }
+
+        int processedCount() {
+            return processed.size();
+        }
+
+        synchronized Set<Long> unprocessedUsers() {
+            Set<Long> unprocessed = new java.util.TreeSet<>();
+            users.forEach((eventId, userId) -> {
+                if (!processed.contains(eventId)) {
+                    unprocessed.add(userId);
+                }
+            });
+            return unprocessed;
+        }
+
+        int calls(int partition) {
+            return counter(calls, partition).get();
+        }
+
+        int seekCalls(int partition) {
+            return counter(seekCalls, partition).get();
+        }
+
+        int rowsRead(int partition) {
+            return counter(rowsRead, partition).get() + seekRowsRead(partition);
+        }
+
+        int seekRowsRead(int partition) {
+            return counter(seekRowsRead, partition).get();
+        }
+
+        int distinctRowsRead(int partition) {
+            Set<Object> read = distinctRead.get(partition);
+            return read == null ? 0 : read.size();
+        }
+
+        private static AtomicInteger counter(Map<Integer, AtomicInteger> counters, int partition) {
+            return counters.computeIfAbsent(partition, p -> new AtomicInteger());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ReportOrchestrator - 섹션 동시 실행, 호출 스레드에서의 결과 소비, 섹션별 마감 시간, 실패/거부 기록 검증
+ */
+class ReportOrchestratorTest {
+
+    @Test
+    @DisplayName("섹션은 동시에 실행되어 전체 시간은 가장 느린 섹션 정도이고, 결과 소비는 execute() 호출 스레드에서 한다")
+    void runsSectionsConcurrentlyAndDeliversOnCallerThread() {
+        ReportOrchestrator orchestrator = new ReportOrchestrator("test-section", 4);
+        Thread caller = Thread.currentThread();
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> deliveryThreads = Collections.synchronizedList(new ArrayList<>());
+        ReportOrchestrator.Plan plan = orchestrator.plan();
+        for (String name : new String[] {"userActivity", "productPerformance", "departmentPerformance"}) {
+            plan.section(name, () -> {
+                Thread.sleep(300);
+                return name + "-rows";
+            }, rows -> {
+                delivered.add(rows);
+                deliveryThreads.add(Thread.currentThread());
+            });
+        }
+
+        long start = System.nanoTime();
+        Map<String, ReportOrchestrator.SectionOutcome> outcomes = plan.execute();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMillis).isLessThan(800);
+        assertThat(outcomes.keySet()).containsExactly("userActivity", "productPerformance", "departmentPerformance");
+        assertThat(outcomes.values()).allMatch(ReportOrchestrator.SectionOutcome::isCompleted);
+        assertThat(delivered).containsExactlyInAnyOrder("userActivity-rows", "productPerformance-rows",
+                                                        "departmentPerformance-rows");
+        assertThat(deliveryThreads).containsOnly(caller);
+    }
+
+    @Test
+    @DisplayName("마감 시간을 넘긴 섹션은 인터럽트로 취소하고 TIMEOUT - 나머지 섹션 결과는 그대로 응답한다")
+    void cancelsSectionsPastDeadline() throws Exception {
+        ReportOrchestrator orchestrator = new ReportOrchestrator("test-section", 2);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<Object> delivered = new ArrayList<>();
+
+        Map<String, ReportOrchestrator.SectionOutcome> outcomes = orchestrator.plan()
+            .section("slow", 100, () -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return "늦은 결과";
+            }, delivered::add)
+            .section("fast", () -> "빠른 결과", delivered::add)
+            .execute();
+
+        assertThat(outcomes.get("slow").getStatus()).isEqualTo(ReportOrchestrator.Status.TIMEOUT);
+        assertThat(outcomes.get("slow").getError()).isEqualTo("100ms 초과");
+        assertThat(outcomes.get("slow").getElapsedMillis()).isBetween(100L, 2_000L);
+        assertThat(outcomes.get("fast").isCompleted()).isTrue();
+        assertThat(delivered).containsExactly("빠른 결과");
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("섹션 작업이나 결과 소비가 실패하면 그 섹션만 ERROR로 기록한다")
+    void recordsFailuresPerSection() {
+        ReportOrchestrator orchestrator = new ReportOrchestrator("test-section", 2);
+
+        Map<String, ReportOrchestrator.SectionOutcome> outcomes = orchestrator.plan()
+            .section("query", () -> {
+                throw new IllegalStateException("ORA-01013");
+            }, rows -> { })
+            .section("assemble", () -> "rows", rows -> {
+                throw new IllegalArgumentException("조립 실패");
+            })
+            .section("ok", () -> 1, rows -> { })
+            .execute();
+
+        assertThat(outcomes.get("query").getStatus()).isEqualTo(ReportOrchestrator.Status.ERROR);
+        assertThat(outcomes.get("query").toMap()).containsEntry("error", "ORA-01013");
+        assertThat(outcomes.get("assemble").getStatus()).isEqualTo(ReportOrchestrator.Status.ERROR);
+        assertThat(outcomes.get("assemble").getError()).isEqualTo("조립 실패");
+        assertThat(outcomes.get("ok").toMap()).containsEntry("status", "COMPLETED").doesNotContainKey("error");
+    }
+
+    @Test
+    @DisplayName("실행 큐(스레드 수 x 8)가 가득 차면 남은 섹션은 기다리지 않고 REJECTED")
+    void rejectsSectionsBeyondQueueCapacity() {
+        ReportOrchestrator orchestrator = new ReportOrchestrator("test-section", 1);
+        ReportOrchestrator.Plan plan = orchestrator.plan();
+        // 첫 섹션이 하나뿐인 스레드를 마감 시간까지 붙잡고 있는 동안 8개는 큐에서 대기, 10번째는 거부
+        plan.section("s0", 100, () -> {
+            Thread.sleep(10_000);
+            return 0;
+        }, value -> { });
+        for (int i = 1; i < 10; i++) {
+            int value = i;
+            plan.section("s" + i, () -> value, result -> { });
+        }
+
+        Map<String, ReportOrchestrator.SectionOutcome> outcomes = plan.execute();
+
+        assertThat(outcomes.get("s0").getStatus()).isEqualTo(ReportOrchestrator.Status.TIMEOUT);
+        for (int i = 1; i < 9; i++) {
+            assertThat(outcomes.get("s" + i).isCompleted()).isTrue();
+        }
+        assertThat(outcomes.get("s9").getStatus()).isEqualTo(ReportOrchestrator.Status.REJECTED);
+    }
+
+    @Test
+    @DisplayName("중복 섹션 이름, 0 이하 제한 시간, 같은 Plan의 재실행은 거부한다")
+    void rejectsInvalidPlans() {
+        ReportOrchestrator.Plan plan = new ReportOrchestrator("test-section", 1).plan();
+        plan.section("trends", () -> 1, value -> { });
+
+        assertThatThrownBy(() -> plan.section("trends", () -> 2, value -> { }))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("중복된 섹션 이름");
+        assertThatThrownBy(() -> plan.section("other", 0, () -> 2, value -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        plan.execute();
+        assertThatThrownBy(plan::execute).isInstanceOf(IllegalStateException.class);
+    }
+}
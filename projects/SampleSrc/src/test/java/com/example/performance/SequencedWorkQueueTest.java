@@ -0,0 +1,104 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SequencedWorkQueue - 키별 순서, 처리 실패 격리, 종료 시 잔여 작업 처리, 미처리 작업 폐기 검증
+ */
+class SequencedWorkQueueTest {
+
+    @Test
+    @DisplayName("같은 키의 작업은 제출 순서대로 처리된다")
+    void keepsOrderPerKey() {
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        SequencedWorkQueue<int[]> queue = new SequencedWorkQueue<>("order-test", 4, 1024,
+            (id, item) -> seen.computeIfAbsent("k" + item[0], k -> new ArrayList<>()).add(item[1]));
+        for (int i = 0; i < 2_000; i++) {
+            int key = i % 10;
+            assertThat(queue.submit("k" + key, new int[] {key, i}, 5, TimeUnit.SECONDS)).isNotNegative();
+        }
+        queue.close();
+
+        assertThat(seen).hasSize(10);
+        seen.values().forEach(values -> assertThat(values).hasSize(200).isSorted());
+        assertThat(queue.metrics()).containsEntry("processed", 2_000L).containsEntry("pending", 0);
+    }
+
+    @Test
+    @DisplayName("처리기 예외는 실패로 집계되고 워커는 다음 작업을 계속 처리한다")
+    void handlerFailureDoesNotStopWorker() {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        SequencedWorkQueue<String> queue = new SequencedWorkQueue<>("failure-test", 1, 16, (id, item) -> {
+            if (item.equals("bad")) {
+                throw new IllegalStateException("처리 불가");
+            }
+            handled.add(item);
+        });
+        queue.offer("k", "a");
+        queue.offer("k", "bad");
+        queue.offer("k", "b");
+        queue.close();
+
+        assertThat(handled).containsExactly("a", "b");
+        assertThat(queue.metrics()).containsEntry("processed", 2L).containsEntry("failed", 1L);
+    }
+
+    @Test
+    @DisplayName("닫힌 큐와 가득 찬 샤드는 -1로 거절한다")
+    void rejectsWhenFullOrClosed() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SequencedWorkQueue<String> queue = new SequencedWorkQueue<>("reject-test", 1, 2, (id, item) -> {
+            started.countDown();
+            release.await();
+        });
+        queue.offer("k", "running");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.offer("k", "a");
+        queue.offer("k", "b");
+
+        assertThat(queue.offer("k", "c")).isEqualTo(-1);
+        release.countDown();
+        queue.close();
+        assertThat(queue.offer("k", "d")).isEqualTo(-1);
+        assertThat(queue.metrics()).containsEntry("processed", 3L).containsEntry("rejected", 2L);
+    }
+
+    @Test
+    @DisplayName("discardPending 이전에 제출된 미처리 작업은 건너뛰고 이후 작업은 처리한다")
+    void discardsPendingWork() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handled = new CopyOnWriteArrayList<>();
+        SequencedWorkQueue<String> queue = new SequencedWorkQueue<>("discard-test", 1, 16, (id, item) -> {
+            if (item.equals("blocking")) {
+                started.countDown();
+                release.await();
+            }
+            handled.add(item);
+        });
+        queue.offer("k", "blocking");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        queue.offer("k", "stale-1");
+        queue.offer("k", "stale-2");
+
+        queue.discardPending();
+        queue.offer("k", "fresh");
+        release.countDown();
+        queue.close();
+
+        assertThat(handled).containsExactly("blocking", "fresh");
+        assertThat(queue.metrics()).containsEntry("discarded", 2L);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.performance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TableSyncEngine - H2 메모리 DB로 의존 순서, 키 기준 upsert, 배치 실패 후 체크포인트 재개, updated_date 기준 지연 검증
+ * 소스는 *_src, 타겟은 *_dev 테이블 (H2는 컬럼 라벨을 대문자로 돌려준다 - Oracle과 같음)
+ */
+class TableSyncEngineTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private final DriverManagerDataSource dataSource =
+        new DriverManagerDataSource("jdbc:h2:mem:sync-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    @Test
+    @DisplayName("선행 테이블이 항상 먼저 오고, 누락된 선행 테이블이나 순환은 거부한다")
+    void topologicalOrderPutsParentsFirst() {
+        List<TableSyncEngine.TableSpec> ordered = TableSyncEngine.topologicalOrder(TableSyncEngine.DEFAULT_TABLES);
+
+        List<String> names = new ArrayList<>();
+        for (TableSyncEngine.TableSpec table : ordered) {
+            assertThat(names).containsAll(table.getDependsOn());
+            names.add(table.getName());
+        }
+        assertThat(names).hasSameSizeAs(TableSyncEngine.DEFAULT_TABLES);
+
+        assertThatThrownBy(() -> TableSyncEngine.topologicalOrder(List.of(
+                TableSyncEngine.TableSpec.of("orders", "order_id").after("users"))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("users");
+        assertThatThrownBy(() -> TableSyncEngine.topologicalOrder(List.of(
+                TableSyncEngine.TableSpec.of("a", "id").after("b"),
+                TableSyncEngine.TableSpec.of("b", "id").after("a"))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("순환");
+    }
+
+    @Test
+    @DisplayName("타겟에 이미 있는 키는 갱신하고 없는 키만 추가한다 - 지연은 가장 늦은 updated_date 기준")
+    void upsertsByKeyAndReportsLagFromLatestUpdate() {
+        createUsers();
+        long now = System.currentTimeMillis();
+        insertUser("users_src", 1, "kim", now - 10 * HOUR);
+        insertUser("users_src", 2, "lee", now - HOUR);  // 키 순서로는 중간이지만 가장 최근 수정
+        insertUser("users_src", 3, "park", now - 10 * HOUR);
+        insertUser("users_dev", 2, "stale", now - 20 * HOUR);
+
+        TableSyncEngine.SyncReport report = engine(new TableSyncEngine.InMemoryCheckpointStore())
+            .synchronize("upsert", "src", "dev", List.of(users()), null);
+
+        TableSyncEngine.TableSyncResult result = report.getTables().get(0);
+        assertThat(report.isSuccess()).isTrue();
+        assertThat(result.getRowsSynced()).isEqualTo(3);
+        assertThat(result.getBatches()).isEqualTo(2);
+        assertThat(names("users_dev")).containsExactly("kim", "lee", "park");
+        assertThat(result.getLagMillis()).isBetween(HOUR, HOUR + 60_000);
+    }
+
+    @Test
+    @DisplayName("배치가 실패하면 그 배치만 롤백되고 후행 테이블은 SKIPPED - 같은 syncId로 다시 실행하면 체크포인트부터 이어간다")
+    void failedBatchResumesFromCheckpoint() {
+        createUsers();
+        jdbc.execute("CREATE TABLE orders_src (order_id BIGINT PRIMARY KEY, user_id BIGINT, amount DECIMAL(10, 2))");
+        jdbc.execute("CREATE TABLE orders_dev (order_id BIGINT PRIMARY KEY, user_id BIGINT, amount DECIMAL(10, 2))");
+        jdbc.execute("CREATE TABLE sync_checkpoints (sync_id VARCHAR(100), table_name VARCHAR(100), "
+                     + "cursor_token VARCHAR(500), rows_synced BIGINT, completed BOOLEAN, updated_date TIMESTAMP)");
+        long now = System.currentTimeMillis();
+        for (int id = 1; id <= 5; id++) {
+            insertUser("users_src", id, id == 4 ? null : "user" + id, now);  // 4번은 타겟 NOT NULL 위반
+            jdbc.update("INSERT INTO orders_src VALUES (?, ?, ?)", id * 10, id, 1000);
+        }
+        List<TableSyncEngine.TableSpec> tables = List.of(
+            TableSyncEngine.TableSpec.of("orders", "order_id").after("users"), users());
+        TableSyncEngine engine = engine(new TableSyncEngine.JdbcCheckpointStore(dataSource));
+
+        TableSyncEngine.SyncReport failed = engine.synchronize("resume", "src", "dev", tables, null);
+
+        assertThat(failed.isSuccess()).isFalse();
+        assertThat(statuses(failed)).containsExactly(Map.entry("users", TableSyncEngine.TableSyncResult.Status.FAILED),
+                                                     Map.entry("orders", TableSyncEngine.TableSyncResult.Status.SKIPPED));
+        // 첫 배치(1, 2)만 커밋, 실패한 배치(3, 4)는 롤백
+        assertThat(names("users_dev")).containsExactly("user1", "user2");
+        assertThat(jdbc.queryForObject("SELECT rows_synced FROM sync_checkpoints WHERE table_name = 'users'", Long.class))
+            .isEqualTo(2L);
+
+        jdbc.update("UPDATE users_src SET name = 'user4' WHERE user_id = 4");
+        TableSyncEngine.SyncReport resumed = engine.synchronize("resume", "src", "dev", tables, null);
+
+        TableSyncEngine.TableSyncResult users = resumed.getTables().get(0);
+        assertThat(resumed.isSuccess()).isTrue();
+        assertThat(users.isResumed()).isTrue();
+        assertThat(users.getRowsSynced()).isEqualTo(3);
+        assertThat(users.getTotalRows()).isEqualTo(5);
+        assertThat(names("users_dev")).containsExactly("user1", "user2", "user3", "user4", "user5");
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM orders_dev", Integer.class)).isEqualTo(5);
+        // 전체 성공 후 체크포인트 제거
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM sync_checkpoints", Integer.class)).isZero();
+    }
+
+    private TableSyncEngine engine(TableSyncEngine.CheckpointStore checkpoints) {
+        return new TableSyncEngine(dataSource, checkpoints, 2, 2);
+    }
+
+    private static TableSyncEngine.TableSpec users() {
+        return TableSyncEngine.TableSpec.of("users", "user_id");
+    }
+
+    private void createUsers() {
+        jdbc.execute("CREATE TABLE users_src (user_id BIGINT PRIMARY KEY, name VARCHAR(50), updated_date TIMESTAMP)");
+        jdbc.execute("CREATE TABLE users_dev (user_id BIGINT PRIMARY KEY, name VARCHAR(50) NOT NULL, updated_date TIMESTAMP)");
+    }
+
+    private void insertUser(String table, long id, String name, long updatedMillis) {
+        jdbc.update("INSERT INTO " + table + " VALUES (?, ?, ?)", id, name, new Timestamp(updatedMillis));
+    }
+
+    private List<String> names(String table) {
+        return jdbc.queryForList("SELECT name FROM " + table + " ORDER BY user_id", String.class);
+    }
+
+    private static List<Map.Entry<String, TableSyncEngine.TableSyncResult.Status>> statuses(TableSyncEngine.SyncReport report) {
+        List<Map.Entry<String, TableSyncEngine.TableSyncResult.Status>> statuses = new ArrayList<>();
+        for (TableSyncEngine.TableSyncResult table : report.getTables()) {
+            statuses.add(Map.entry(table.getTable(), table.getStatus()));
+        }
+        return statuses;
+    }
+}
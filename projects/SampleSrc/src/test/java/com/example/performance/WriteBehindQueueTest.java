@@ -0,0 +1,443 @@
+package com.example.performance;
+
+import com.example.dao.JdbcExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * WriteBehindQueue - 메모리 DB로 아웃박스 적재, 대상 테이블 기록, 중복 건너뜀, DEAD 격리, 스캔 복구 검증
+ */
+class WriteBehindQueueTest {
+
+    private static final String OUTBOX = "test_outbox";
+    private static final String TABLE = "inventory_log";
+
+    private final FakeDatabase database = new FakeDatabase();
+    private WriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    @Test
+    @DisplayName("enqueue한 레코드는 아웃박스를 거쳐 대상 테이블에 기록되고 아웃박스에서 지워진다")
+    void writesRecordsAndClearsOutbox() {
+        queue = start(3);
+
+        queue.enqueue(List.of(record("log-1", 10L, 2), record("log-2", 11L, 5)));
+
+        await(() -> database.targetRows().size() == 2 && database.outboxSize() == 0);
+        assertThat(database.targetRows().get("log-1")).containsExactly(10L, 2);
+        assertThat(queue.metrics())
+            .containsEntry("staged", 2L)
+            .containsEntry("written", 2L)
+            .containsEntry("duplicatesSkipped", 0L);
+    }
+
+    @Test
+    @DisplayName("대상 테이블에 이미 있는 키는 다시 기록하지 않는다 (최소 한 번 전달)")
+    void skipsAlreadyWrittenKeys() {
+        database.putTarget("log-1", List.of(10L, 2));
+        queue = start(3);
+
+        queue.enqueue(List.of(record("log-1", 10L, 2), record("log-2", 11L, 5)));
+
+        await(() -> database.outboxSize() == 0);
+        assertThat(database.targetRows()).containsOnlyKeys("log-1", "log-2");
+        assertThat(queue.metrics()).containsEntry("written", 1L).containsEntry("duplicatesSkipped", 1L);
+    }
+
+    @Test
+    @DisplayName("maxAttempts회 실패한 레코드만 DEAD로 격리하고 requeueDead로 되살린다")
+    void buriesFailingRecordAfterMaxAttempts() throws SQLException {
+        database.failKey("log-bad");
+        queue = start(2);
+
+        queue.enqueue(List.of(record("log-ok", 10L, 1), record("log-bad", 11L, 1)));
+
+        await(() -> statusOf(database.outboxRow("log-bad")).equals(WriteBehindQueue.STATUS_DEAD));
+        assertThat(database.outboxRow("log-bad").attempts).isEqualTo(2);
+        assertThat(database.outboxRow("log-bad").lastError).contains("log-bad");
+        assertThat(database.targetRows()).containsOnlyKeys("log-ok");
+        assertThat(queue.metrics()).containsEntry("deadLettered", 1L);
+
+        assertThat(queue.requeueDead()).isEqualTo(1);
+        assertThat(database.outboxRow("log-bad").status).isEqualTo(WriteBehindQueue.STATUS_PENDING);
+        assertThat(database.outboxRow("log-bad").attempts).isZero();
+    }
+
+    @Test
+    @DisplayName("시작할 때 오래된 PENDING 아웃박스 행을 스캔해 기록한다")
+    void recoversStalePendingRowsOnStart() {
+        database.stageOutbox(record("log-left", 12L, 3), System.currentTimeMillis() - 120_000);
+
+        queue = start(3);
+
+        await(() -> database.targetRows().containsKey("log-left") && database.outboxSize() == 0);
+        assertThat(queue.metrics()).containsEntry("recovered", 1L);
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 payload 행은 DEAD로 격리하고 같은 스캔의 다른 행은 계속 기록한다")
+    void buriesUndecodablePayloadAndContinuesScan() {
+        long stale = System.currentTimeMillis() - 120_000;
+        database.stageOutbox(TABLE, "log-corrupt", new byte[] {1, 2, 3}, stale - 1);
+        database.stageOutbox(record("log-left", 12L, 3), stale);
+
+        queue = start(3);
+
+        await(() -> database.targetRows().containsKey("log-left"));
+        assertThat(database.outboxRow("log-corrupt").status).isEqualTo(WriteBehindQueue.STATUS_DEAD);
+        assertThat(queue.metrics()).containsEntry("recovered", 1L).containsEntry("deadLettered", 1L);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 테이블의 오래된 행이 LIMIT을 채워도 등록된 테이블 행을 가져온다")
+    void scanSkipsRowsForUnregisteredTables() {
+        long stale = System.currentTimeMillis() - 120_000;
+        for (int i = 0; i < 150; i++) {
+            WriteBehindQueue.Record foreign = WriteBehindQueue.Record.of("payment_log", "pay-" + i).set("amount", i);
+            database.stageOutbox(foreign, stale - 1_000 + i);
+        }
+        database.stageOutbox(record("log-left", 12L, 3), stale);
+
+        queue = start(3);
+
+        await(() -> database.targetRows().containsKey("log-left"));
+        assertThat(database.outboxSize()).isEqualTo(150);
+        assertThat(database.outboxRow("pay-0").status).isEqualTo(WriteBehindQueue.STATUS_PENDING);
+    }
+
+    @Test
+    @DisplayName("아웃박스 기록이 실패하면 호출자에게 예외를 던져 트랜잭션을 롤백시킨다")
+    void outboxFailureIsThrownToCaller() {
+        database.failOutboxInsert();
+        queue = start(3);
+
+        assertThatThrownBy(() -> queue.enqueue(record("log-1", 10L, 1)))
+            .isInstanceOf(RuntimeException.class)
+            .hasCauseInstanceOf(SQLException.class);
+        assertThat(queue.metrics()).containsEntry("staged", 0L);
+    }
+
+    @Test
+    @DisplayName("시작 전 enqueue는 IllegalStateException, 등록되지 않은 테이블은 IllegalArgumentException")
+    void rejectsEnqueueBeforeStartAndUnknownTable() {
+        WriteBehindQueue notStarted = queue(3);
+        assertThatThrownBy(() -> notStarted.enqueue(record("log-1", 10L, 1)))
+            .isInstanceOf(IllegalStateException.class);
+
+        queue = notStarted.start();
+        assertThatThrownBy(() -> queue.enqueue(WriteBehindQueue.Record.of("unknown_table", "k")))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("unknown_table");
+    }
+
+    @Test
+    @DisplayName("레코드 payload 직렬화 왕복은 모든 지원 타입과 null을 보존한다")
+    void recordPayloadRoundTrip() throws Exception {
+        WriteBehindQueue.Record record = WriteBehindQueue.Record.of(TABLE, "log-1")
+            .set("s", "text").set("i", 1).set("j", 2L).set("b", new BigDecimal("3.50"))
+            .set("z", true).set("d", LocalDate.of(2024, 1, 2)).set("t", LocalDateTime.of(2024, 1, 2, 3, 4))
+            .set("n", null);
+
+        WriteBehindQueue.Record decoded = WriteBehindQueue.Record.decode(record.encode());
+
+        assertThat(decoded.getTable()).isEqualTo(TABLE);
+        assertThat(decoded.getIdempotencyKey()).isEqualTo("log-1");
+        assertThat(decoded.getValues()).containsExactlyEntriesOf(record.getValues());
+        assertThatThrownBy(() -> record.set("x", new Object())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private WriteBehindQueue start(int maxAttempts) {
+        return queue(maxAttempts).start();
+    }
+
+    private WriteBehindQueue queue(int maxAttempts) {
+        return new WriteBehindQueue("test", new JdbcExecutor("write-behind-test", database.dataSource()),
+                                    OUTBOX, 10, maxAttempts, 100)
+            .register(new WriteBehindQueue.TableSink(TABLE, "log_key", "product_id", "quantity"));
+    }
+
+    private static WriteBehindQueue.Record record(String key, long productId, int quantity) {
+        return WriteBehindQueue.Record.of(TABLE, key).set("product_id", productId).set("quantity", quantity);
+    }
+
+    private static String statusOf(OutboxRow row) {
+        return row == null ? "" : row.status;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("5초 안에 조건을 만족하지 않았습니다");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static final class OutboxRow {
+        final String table;
+        final byte[] payload;
+        final long createdAt;
+        String status = WriteBehindQueue.STATUS_PENDING;
+        int attempts;
+        String lastError;
+
+        OutboxRow(String table, byte[] payload, long createdAt) {
+            this.table = table;
+            this.payload = payload;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * 아웃박스 한 개와 대상 테이블 한 개만 아는 메모리 DB - WriteBehindQueue가 내는 SQL 형태만 해석한다
+     * 트랜잭션은 흉내 내지 않으므로 실패는 쓰기 전에 판정한다
+     */
+    private static final class FakeDatabase {
+        private final Map<String, OutboxRow> outbox = new LinkedHashMap<>();
+        private final Map<String, List<Object>> target = new LinkedHashMap<>();
+        private final Set<String> failingKeys = new HashSet<>();
+        private boolean failOutboxInsert;
+
+        synchronized void failKey(String key) {
+            failingKeys.add(key);
+        }
+
+        synchronized void failOutboxInsert() {
+            failOutboxInsert = true;
+        }
+
+        void stageOutbox(WriteBehindQueue.Record record, long createdAt) {
+            stageOutbox(record.getTable(), record.getIdempotencyKey(), record.encode(), createdAt);
+        }
+
+        synchronized void stageOutbox(String table, String key, byte[] payload, long createdAt) {
+            outbox.put(key, new OutboxRow(table, payload, createdAt));
+        }
+
+        synchronized int outboxSize() {
+            return outbox.size();
+        }
+
+        synchronized OutboxRow outboxRow(String key) {
+            return outbox.get(key);
+        }
+
+        synchronized void putTarget(String key, List<Object> values) {
+            target.put(key, values);
+        }
+
+        synchronized Map<String, List<Object>> targetRows() {
+            return new LinkedHashMap<>(target);
+        }
+
+        DataSource dataSource() {
+            return proxy(DataSource.class, (method, args) ->
+                method.equals("getConnection") ? connection() : unsupported(method));
+        }
+
+        private Connection connection() {
+            return proxy(Connection.class, (method, args) -> {
+                switch (method) {
+                    case "prepareStatement":
+                        return statement((String) args[0]);
+                    case "getAutoCommit":
+                        return true;
+                    case "isClosed":
+                        return false;
+                    case "setAutoCommit":
+                    case "commit":
+                    case "rollback":
+                    case "close":
+                        return null;
+                    default:
+                        return unsupported(method);
+                }
+            });
+        }
+
+        private PreparedStatement statement(String sql) {
+            Map<Integer, Object> params = new HashMap<>();
+            List<Map<Integer, Object>> batch = new ArrayList<>();
+            return proxy(PreparedStatement.class, (method, args) -> {
+                switch (method) {
+                    case "setString":
+                    case "setBytes":
+                    case "setTimestamp":
+                    case "setObject":
+                        params.put((Integer) args[0], args[1]);
+                        return null;
+                    case "addBatch":
+                        batch.add(new HashMap<>(params));
+                        params.clear();
+                        return null;
+                    case "executeBatch":
+                        return executeBatch(sql, batch);
+                    case "executeUpdate":
+                        return executeUpdate(sql, params);
+                    case "executeQuery":
+                        return executeQuery(sql, params);
+                    case "close":
+                        return null;
+                    default:
+                        return unsupported(method);
+                }
+            });
+        }
+
+        private synchronized int[] executeBatch(String sql, List<Map<Integer, Object>> batch) throws SQLException {
+            if (sql.startsWith("INSERT INTO " + OUTBOX + " ")) {
+                if (failOutboxInsert) {
+                    throw new SQLException("outbox unavailable");
+                }
+                for (Map<Integer, Object> row : batch) {
+                    outbox.put((String) row.get(2), new OutboxRow((String) row.get(1), (byte[]) row.get(3),
+                                                                  ((Timestamp) row.get(4)).getTime()));
+                }
+            } else if (sql.startsWith("INSERT INTO " + TABLE + " ")) {
+                for (Map<Integer, Object> row : batch) {
+                    if (failingKeys.contains(row.get(1))) {
+                        throw new SQLException("constraint violation: " + row.get(1));
+                    }
+                }
+                for (Map<Integer, Object> row : batch) {
+                    target.put((String) row.get(1), List.of(row.get(2), row.get(3)));
+                }
+            } else {
+                throw new SQLException("예상하지 못한 배치 SQL: " + sql);
+            }
+            return new int[batch.size()];
+        }
+
+        private synchronized int executeUpdate(String sql, Map<Integer, Object> params) throws SQLException {
+            if (sql.startsWith("DELETE FROM " + OUTBOX + " ")) {
+                int deleted = 0;
+                for (int i = 2; i <= params.size(); i++) {
+                    deleted += outbox.remove(params.get(i)) == null ? 0 : 1;
+                }
+                return deleted;
+            }
+            if (sql.contains("SET status = ?")) {
+                OutboxRow row = outbox.get(params.get(5));
+                row.status = (String) params.get(1);
+                row.attempts = (Integer) params.get(2);
+                row.lastError = (String) params.get(3);
+                return 1;
+            }
+            if (sql.contains("WHERE status = '" + WriteBehindQueue.STATUS_DEAD + "'")) {
+                int requeued = 0;
+                for (OutboxRow row : outbox.values()) {
+                    if (row.status.equals(WriteBehindQueue.STATUS_DEAD)) {
+                        row.status = WriteBehindQueue.STATUS_PENDING;
+                        row.attempts = 0;
+                        requeued++;
+                    }
+                }
+                return requeued;
+            }
+            throw new SQLException("예상하지 못한 UPDATE SQL: " + sql);
+        }
+
+        private synchronized ResultSet executeQuery(String sql, Map<Integer, Object> params) throws SQLException {
+            List<Object[]> rows = new ArrayList<>();
+            if (sql.startsWith("SELECT payload, attempts, target_table, idempotency_key FROM " + OUTBOX + " ")) {
+                // 파라미터: 대상 테이블 목록, created_at 기준 시각, LIMIT
+                Set<Object> tables = new HashSet<>();
+                for (int i = 1; i <= params.size() - 2; i++) {
+                    tables.add(params.get(i));
+                }
+                long staleBefore = ((Timestamp) params.get(params.size() - 1)).getTime();
+                int limit = (Integer) params.get(params.size());
+                outbox.entrySet().stream()
+                    .filter(e -> e.getValue().status.equals(WriteBehindQueue.STATUS_PENDING))
+                    .filter(e -> tables.contains(e.getValue().table) && e.getValue().createdAt < staleBefore)
+                    .sorted(Comparator.comparingLong(e -> e.getValue().createdAt))
+                    .limit(limit)
+                    .forEach(e -> rows.add(new Object[] {
+                        e.getValue().payload, e.getValue().attempts, e.getValue().table, e.getKey()}));
+            } else if (sql.startsWith("SELECT log_key FROM " + TABLE + " ")) {
+                for (Object key : params.values()) {
+                    if (target.containsKey(key)) {
+                        rows.add(new Object[] {key});
+                    }
+                }
+            } else {
+                throw new SQLException("예상하지 못한 조회 SQL: " + sql);
+            }
+            int[] cursor = {-1};
+            return proxy(ResultSet.class, (method, args) -> {
+                switch (method) {
+                    case "next":
+                        return ++cursor[0] < rows.size();
+                    case "getBytes":
+                    case "getInt":
+                    case "getString":
+                        return rows.get(cursor[0])[(Integer) args[0] - 1];
+                    case "close":
+                        return null;
+                    default:
+                        return unsupported(method);
+                }
+            });
+        }
+
+        private static Object unsupported(String method) {
+            throw new UnsupportedOperationException(method);
+        }
+
+        private interface Handler {
+            Object handle(String method, Object[] args) throws Exception;
+        }
+
+        private static <T> T proxy(Class<T> type, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(WriteBehindQueueTest.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return type.getSimpleName() + "@fake";
+                        default:
+                            return handler.handle(method.getName(), args);
+                    }
+                }));
+        }
+    }
+}
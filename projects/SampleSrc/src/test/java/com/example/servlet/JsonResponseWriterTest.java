@@ -0,0 +1,118 @@
+package com.example.servlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JsonResponseWriter - 값 종류별 출력, 문자열 이스케이프/UTF-8 인코딩, 버퍼 경계를 넘는 스트리밍, 구조 오류 검증
+ */
+class JsonResponseWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Map/List/배열은 중첩 구조로, 숫자/불리언/null은 그대로, 그 밖의 값은 문자열로 출력한다")
+    void writesValuesByType() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", 42L);
+        row.put("min", Long.MIN_VALUE);
+        row.put("amount", new BigDecimal("1234.50"));
+        row.put("ratio", 0.25);
+        row.put("nan", Double.NaN);
+        row.put("active", true);
+        row.put("memo", null);
+        row.put("tags", List.of("a", "b"));
+        row.put("scores", new int[] {1, -2});
+        row.put("status", Thread.State.NEW);
+        row.put("nested", Map.of("empty", List.of()));
+
+        assertThat(json(row)).isEqualTo("{\"id\":42,\"min\":-9223372036854775808,\"amount\":1234.50,\"ratio\":0.25,"
+                                         + "\"nan\":null,\"active\":true,\"memo\":null,\"tags\":[\"a\",\"b\"],"
+                                         + "\"scores\":[1,-2],\"status\":\"NEW\",\"nested\":{\"empty\":[]}}");
+    }
+
+    @Test
+    @DisplayName("따옴표, 역슬래시, 제어 문자, U+2028/2029는 이스케이프하고 한글/이모지는 UTF-8로 인코딩한다")
+    void escapesAndEncodesStrings() throws Exception {
+        String text = "따옴표\" 역슬래시\\ 줄바꿈\n탭\t\u0001 구분\u2028 이모지😀 é";
+
+        String written = json(text);
+
+        assertThat(written).isEqualTo("\"따옴표\\\" 역슬래시\\\\ 줄바꿈\\n탭\\t\\u0001 구분\\u2028 이모지😀 é\"");
+        assertThat(objectMapper.readValue(written, String.class)).isEqualTo(text);
+        assertThat(json("짝 없는 \uD83D")).isEqualTo("\"짝 없는 ?\"");
+    }
+
+    @Test
+    @DisplayName("버퍼(8KB)보다 큰 문서도 경계에서 잘리지 않고 같은 스레드의 다음 문서는 버퍼를 재사용해 그대로 쓴다")
+    void streamsDocumentsLargerThanBuffer() throws Exception {
+        StringBuilder longText = new StringBuilder();
+        while (longText.length() < 20_000) {
+            longText.append("가나다abc😀");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonResponseWriter json = new JsonResponseWriter(out)) {
+            json.beginArray();
+            for (int i = 0; i < 1_000; i++) {
+                json.beginObject().field("id", i).field("text", i == 500 ? longText : "row" + i).endObject();
+            }
+            json.endArray();
+        }
+
+        List<?> rows = objectMapper.readValue(out.toByteArray(), List.class);
+        assertThat(rows).hasSize(1_000);
+        assertThat(rows.get(500)).isEqualTo(Map.of("id", 500, "text", longText.toString()));
+        assertThat(rows.get(999)).isEqualTo(Map.of("id", 999, "text", "row999"));
+        assertThat(json(List.of(1, 2))).isEqualTo("[1,2]");
+    }
+
+    @Test
+    @DisplayName("write()는 Content-Type이 없을 때만 application/json으로 지정하고 응답 스트림에 쓴다")
+    void writesToServletResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        JsonResponseWriter.write(response, Map.of("ok", true));
+
+        MockHttpServletResponse preset = new MockHttpServletResponse();
+        preset.setContentType("text/plain");
+        JsonResponseWriter.write(preset, "x");
+
+        assertThat(response.getContentType()).isEqualTo(JsonResponseWriter.CONTENT_TYPE);
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("{\"ok\":true}");
+        assertThat(preset.getContentType()).startsWith("text/plain");
+    }
+
+    @Test
+    @DisplayName("객체 밖의 필드명, 값 없는 필드, 짝이 맞지 않는 닫기, 순환 참조, 닫힌 뒤 쓰기는 IllegalStateException")
+    void rejectsMalformedStructure() throws Exception {
+        JsonResponseWriter topLevel = new JsonResponseWriter(new ByteArrayOutputStream());
+        assertThatThrownBy(() -> topLevel.name("id")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(topLevel::endArray).isInstanceOf(IllegalStateException.class);
+        topLevel.beginObject().name("id");
+        assertThatThrownBy(topLevel::endObject).isInstanceOf(IllegalStateException.class);
+        topLevel.close();
+        assertThatThrownBy(() -> topLevel.value(1)).isInstanceOf(IllegalStateException.class);
+
+        Object[] cycle = new Object[1];
+        cycle[0] = Arrays.asList(cycle);
+        assertThatThrownBy(() -> JsonResponseWriter.toBytes(cycle))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("중첩 깊이 초과");
+    }
+
+    private static String json(Object value) {
+        return new String(JsonResponseWriter.toBytes(value), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.servlet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ReportCache - 세그먼트별 LRU/바이트 상한, TTL 만료, 같은 키 동시 미스의 single-flight 로딩 검증
+ * 세그먼트는 16개, 키 해시의 하위 4비트로 고른다 - 한 글자 키 "A", "Q", "a", "q"는 모두 같은 세그먼트
+ */
+class ReportCacheTest {
+
+    private static final String JSON = "application/json";
+
+    @Test
+    @DisplayName("최대 32건이면 세그먼트당 2건 - 같은 세그먼트에서 가장 오래 쓰지 않은 응답을 제거")
+    void evictsLeastRecentlyUsedWithinSegment() {
+        ReportCache cache = new ReportCache(32, 1_000_000, 0);
+        cache.put("A", response("a"));
+        cache.put("Q", response("q"));
+        cache.getIfPresent("A");
+        cache.put("a", response("a"));
+
+        assertThat(cache.getIfPresent("Q")).isNull();
+        assertThat(cache.getIfPresent("A")).isNotNull();
+        assertThat(cache.getIfPresent("a")).isNotNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("바이트 상한을 넘으면 오래된 응답부터 밀어내고, 세그먼트 용량보다 큰 응답은 저장하지 않는다")
+    void boundsSegmentsByResponseBytes() {
+        // 전체 16,000바이트 -> 세그먼트당 1,000바이트, 항목 고정 비용 96 + 키 2
+        ReportCache cache = new ReportCache(1_000, 16_000, 0);
+        cache.put("A", response(400));
+        cache.put("Q", response(400));
+        assertThat(cache.weightedSize()).isEqualTo(2 * (96 + 2 + 400));
+
+        cache.put("a", response(400));
+        assertThat(cache.getIfPresent("A")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.weightedSize()).isEqualTo(2 * (96 + 2 + 400));
+
+        cache.put("q", response(1_000));
+        assertThat(cache.getIfPresent("q")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+
+        // 같은 키를 다시 넣으면 이전 무게를 빼고 더한다
+        cache.put("Q", response(100));
+        assertThat(cache.weightedSize()).isEqualTo((96 + 2 + 400) + (96 + 2 + 100));
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 항목은 조회 시점에 제거되고 loader로 다시 만든다")
+    void expiresEntriesOnRead() throws Exception {
+        ReportCache cache = new ReportCache(100, 1_000_000, 20);
+        cache.put("report", response("old"));
+        assertThat(cache.getIfPresent("report")).isNotNull();
+
+        Thread.sleep(40);
+
+        ReportCache.CachedResponse reloaded = cache.get("report", () -> response("new"));
+        assertThat(body(reloaded)).isEqualTo("new");
+        assertThat(cache.getExpirationCount()).isEqualTo(1);
+        assertThat(cache.getLoadCount()).isEqualTo(1);
+        assertThat(cache.weightedSize()).isEqualTo(96 + 2 * "report".length() + 3);
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 들어온 미스는 loader를 한 번만 실행하고 모두 같은 응답을 받는다")
+    void coalescesConcurrentMissesForSameKey() throws Exception {
+        ReportCache cache = new ReportCache(100, 1_000_000, 0);
+        int threads = 8;
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ReportCache.CachedResponse>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> cache.get("slow", () -> {
+                    loaderCalls.incrementAndGet();
+                    await(release);
+                    return response("report");
+                })));
+            }
+            awaitCoalesced(cache, threads - 1);
+            release.countDown();
+
+            ReportCache.CachedResponse first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ReportCache.CachedResponse> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loaderCalls.get()).isEqualTo(1);
+        assertThat(cache.stats())
+            .containsEntry("loads", 1L)
+            .containsEntry("coalescedLoads", (long) threads - 1)
+            .containsEntry("size", 1);
+    }
+
+    @Test
+    @DisplayName("loader 실패는 기다리던 요청에도 같은 예외로 전달되고 캐시에 남지 않으며, null 결과는 저장하지 않는다")
+    void propagatesLoaderFailureWithoutCaching() throws Exception {
+        ReportCache cache = new ReportCache(100, 1_000_000, 0);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ReportCache.CachedResponse> owner = executor.submit(() -> cache.get("broken", () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("조회 실패");
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ReportCache.CachedResponse> waiter =
+                executor.submit(() -> cache.get("broken", () -> response("대기 중에는 호출되지 않음")));
+            awaitCoalesced(cache, 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("조회 실패");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.getLoadFailureCount()).isEqualTo(1);
+        assertThat(cache.get("empty", () -> null)).isNull();
+        assertThat(body(cache.get("broken", () -> response("recovered")))).isEqualTo("recovered");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("invalidateIf는 조건에 맞는 키만 제거하고 무게도 함께 줄인다")
+    void invalidatesByKeyPredicate() {
+        ReportCache cache = new ReportCache(100, 1_000_000, 0);
+        cache.put("prod:sales", response("1"));
+        cache.put("prod:users", response("2"));
+        cache.put("dev:sales", response("3"));
+
+        assertThat(cache.invalidateIf(key -> key.startsWith("prod:"))).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.weightedSize()).isEqualTo(96 + 2 * "dev:sales".length() + 1);
+
+        cache.invalidateAll();
+        assertThat(cache.weightedSize()).isZero();
+        assertThatThrownBy(() -> new ReportCache(0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ReportCache.CachedResponse response(String body) {
+        return new ReportCache.CachedResponse(JSON, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ReportCache.CachedResponse response(int bytes) {
+        return new ReportCache.CachedResponse(JSON, new byte[bytes]);
+    }
+
+    private static String body(ReportCache.CachedResponse response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 다른 스레드의 로딩을 기다리는 요청 수 - loader 진행 중에 모두 합류했는지 확인
+     */
+    private static void awaitCoalesced(ReportCache cache, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((Long) cache.stats().get("coalescedLoads") < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(cache.stats()).containsEntry("coalescedLoads", expected);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.servlet;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ReportExportStreamer - CSV/XML 행 단위 기록과 이스케이프, flush 주기, maxRecords 잘림, gzip, 연결 종료 전파 검증
+ */
+class ReportExportStreamerTest {
+
+    private static final String[] COLUMNS = {"id", "name", "memo"};
+
+    @Test
+    @DisplayName("CSV는 BOM + 헤더 뒤에 행을 쓰고, 쉼표/따옴표/줄바꿈이 있는 값만 따옴표로 감싼다 - flushRows 행마다 flush")
+    void streamsCsvRowsWithQuotingAndPeriodicFlush() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Map<String, Object>> rows = List.of(
+            row(1, "kim", "plain"),
+            row(2, "lee, jr", "say \"hi\""),
+            row(3, "park", "line1\nline2"),
+            row(4, "choi", null),
+            row(5, "jung", "끝"));
+
+        ReportExportStreamer.ExportResult result = new ReportExportStreamer(2, 1 << 20, 100)
+            .export(new MockHttpServletRequest(), response, "csv", "orders", COLUMNS, source(rows, null));
+
+        assertThat(result.getRows()).isEqualTo(5);
+        assertThat(result.isTruncated()).isFalse();
+        assertThat(result.getFlushes()).isEqualTo(2);
+        assertThat(response.getContentType()).startsWith("text/csv");
+        assertThat(response.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"orders.csv\"");
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+            "\uFEFFid,name,memo\r\n"
+            + "1,kim,plain\r\n"
+            + "2,\"lee, jr\",\"say \"\"hi\"\"\"\r\n"
+            + "3,park,\"line1\nline2\"\r\n"
+            + "4,choi,\r\n"
+            + "5,jung,끝\r\n");
+    }
+
+    @Test
+    @DisplayName("XML은 특수 문자를 이스케이프하고 null은 빈 요소로 - maxRecords를 넘는 행은 잘라내고 truncated 표시")
+    void streamsXmlAndTruncatesAtMaxRecords() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<Map<String, Object>> rows = new ArrayList<>();
+        rows.add(row(1, "<a&b>", "\"q\"\u0001"));
+        rows.add(row(2, "lee", null));
+        for (int id = 3; id <= 10; id++) {
+            rows.add(row(id, "user" + id, "x"));
+        }
+        AtomicInteger requested = new AtomicInteger();
+
+        ReportExportStreamer.ExportResult result = new ReportExportStreamer(500, 1 << 20, 2)
+            .export(new MockHttpServletRequest(), response, "XML", "users", COLUMNS, (maxRows, sink) -> {
+                requested.set(maxRows);
+                for (Map<String, Object> row : rows.subList(0, Math.min(maxRows, rows.size()))) {
+                    sink.accept(row);
+                }
+            });
+
+        // 잘림 여부를 알기 위해 maxRecords + 1 행만 요청
+        assertThat(requested.get()).isEqualTo(3);
+        assertThat(result.getRows()).isEqualTo(2);
+        assertThat(result.isTruncated()).isTrue();
+        assertThat(response.getHeader("X-Export-Max-Records")).isEqualTo("2");
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<export>\n"
+            + "  <row><id>1</id><name>&lt;a&amp;b&gt;</name><memo>&quot;q&quot;</memo></row>\n"
+            + "  <row><id>2</id><name>lee</name><memo/></row>\n"
+            + "  <truncated>true</truncated>\n"
+            + "</export>\n");
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding에 gzip이 있으면 압축해 보내고, compress 파라미터가 있으면 그 값이 우선한다")
+    void compressesWhenClientAcceptsGzip() throws Exception {
+        List<Map<String, Object>> rows = List.of(row(1, "kim", "a"), row(2, "lee", "b"));
+        MockHttpServletRequest gzipRequest = new MockHttpServletRequest();
+        gzipRequest.addHeader("Accept-Encoding", "deflate, GZIP");
+        MockHttpServletResponse gzipped = new MockHttpServletResponse();
+
+        new ReportExportStreamer(1, 1 << 20, 100).export(gzipRequest, gzipped, "csv", "orders", COLUMNS, source(rows, null));
+
+        assertThat(gzipped.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzipped.getHeader("Content-Disposition")).isEqualTo("attachment; filename=\"orders.csv.gz\"");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo("\uFEFFid,name,memo\r\n1,kim,a\r\n2,lee,b\r\n");
+        }
+
+        MockHttpServletRequest plainRequest = new MockHttpServletRequest();
+        plainRequest.addHeader("Accept-Encoding", "gzip");
+        plainRequest.setParameter("compress", "none");
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        new ReportExportStreamer(1, 1 << 20, 100).export(plainRequest, plain, "csv", "orders", COLUMNS, source(rows, null));
+        assertThat(plain.getHeader("Content-Encoding")).isNull();
+    }
+
+    @Test
+    @DisplayName("클라이언트 연결이 끊기면 IOException이 데이터 소스까지 전파되고, 조회 실패는 RuntimeException으로 감싼다")
+    void propagatesDisconnectToSourceAndWrapsQueryFailures() {
+        MockHttpServletResponse disconnected = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return new BrokenOutputStream();
+            }
+        };
+        AtomicBoolean sourceSawDisconnect = new AtomicBoolean();
+        List<Map<String, Object>> rows = List.of(row(1, "kim", "a"), row(2, "lee", "b"));
+
+        assertThatThrownBy(() -> new ReportExportStreamer(1, 1 << 20, 100).export(
+                new MockHttpServletRequest(), disconnected, "csv", "orders", COLUMNS, source(rows, sourceSawDisconnect)))
+            .isInstanceOf(IOException.class)
+            .hasMessage("Broken pipe");
+        assertThat(sourceSawDisconnect).isTrue();
+
+        assertThatThrownBy(() -> new ReportExportStreamer(1, 1 << 20, 100).export(
+                new MockHttpServletRequest(), new MockHttpServletResponse(), "csv", "orders", COLUMNS, (maxRows, sink) -> {
+                    throw new SQLException("ORA-01555");
+                }))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("내보내기 데이터 조회 실패")
+            .hasRootCauseMessage("ORA-01555");
+    }
+
+    private static Map<String, Object> row(long id, String name, String memo) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", name);
+        row.put("memo", memo);
+        return row;
+    }
+
+    /**
+     * JDBC 커서처럼 행을 하나씩 넘기는 소스 - sink의 IOException을 받으면 기록하고 그대로 전파
+     */
+    private static ReportExportStreamer.RowSource source(List<Map<String, Object>> rows, AtomicBoolean sawDisconnect) {
+        return (maxRows, sink) -> {
+            try {
+                for (Map<String, Object> row : rows.subList(0, Math.min(maxRows, rows.size()))) {
+                    sink.accept(row);
+                }
+            } catch (IOException e) {
+                if (sawDisconnect != null) {
+                    sawDisconnect.set(true);
+                }
+                throw e;
+            }
+        };
+    }
+
+    private static final class BrokenOutputStream extends ServletOutputStream {
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+}